@@ -99,7 +99,24 @@ public final class StringHelper {
      * @return string without trailing spaces
      */
     public static String trimR(String aString) {
-        return aString.replaceAll("\\s+$", "");
+
+        int end = aString.length();
+        while (end > 0 && isRegexWhitespace(aString.charAt(end - 1))) {
+            end--;
+        }
+
+        return aString.substring(0, end);
+    }
+
+    /**
+     * Returns <code>true</code> for the characters matched by <code>\s</code>
+     * of a regular expression.
+     * 
+     * @param aChar - character that is tested
+     * @return <code>true</code>, if the character is a white space
+     */
+    private static boolean isRegexWhitespace(char aChar) {
+        return aChar == ' ' || aChar == '\t' || aChar == '\n' || aChar == '\u000B' || aChar == '\f' || aChar == '\r';
     }
 
     /**
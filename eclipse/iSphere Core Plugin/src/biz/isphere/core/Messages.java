@@ -428,6 +428,8 @@ public class Messages extends NLS {
 
     public static String Spooled_files_A_of_B;
 
+    public static String Spooled_files_A_last_refresh_B_rows_fetched_C_rows_changed_D_ms;
+
     public static String Status;
 
     public static String Page;
@@ -475,6 +477,13 @@ public class Messages extends NLS {
     public static String Confirm_Deletion_Spooled_Files;
 
     public static String Export_to_Excel;
+    public static String Excel_Workbook;
+    public static String Excel_97_2003_Workbook;
+    public static String CSV_comma_delimited;
+    public static String Exported_A_rows_B_rows_per_second;
+    public static String Cannot_export_A_rows_to_an_Excel_97_2003_workbook_B;
+    public static String Saved_A_of_B_spooled_files_C_files_per_second_D_KB_per_second;
+    public static String Could_not_save_A_of_B_spooled_files;
 
     public static String Source_file;
 
@@ -1249,6 +1258,10 @@ public class Messages extends NLS {
     public static String Merge_filters_and_sort_items_by_creation_time;
 
     public static String Load_spooled_files_asynchronously;
+    public static String Cache_transformed_spooled_files;
+    public static String Maximum_cache_size_MB_colon;
+    public static String Cache_size_A_MB;
+    public static String Clear_cache;
 
     public static String Loading_spooled_file;
 
@@ -1387,6 +1400,7 @@ public class Messages extends NLS {
     public static String To_time;
 
     public static String The_value_in_field_max_Num_SplF_is_not_valid;
+    public static String The_value_in_field_max_cache_size_is_not_valid;
 
     public static String Substitution_variables_for_file_name;
 
@@ -1777,6 +1791,7 @@ public class Messages extends NLS {
     public static String GenericSearchOption_StmF_Type;
 
     public static String GenericSearchOption_Max_Depth;
+    public static String GenericSearchOption_Parallel_Jobs;
 
     public static String Stream_file_type_colon;
 
@@ -1883,6 +1898,11 @@ public class Messages extends NLS {
     public static String Max_depth_colon;
 
     public static String Specifies_the_maximum_depth_of_sub_directories_included_in_the_search;
+    public static String Parallel_jobs_colon;
+    public static String Preparing_search_elements_A_of_B;
+    public static String Specifies_the_number_of_host_jobs_that_search_the_members_concurrently;
+    public static String Specifies_the_number_of_host_jobs_that_search_the_stream_files_concurrently;
+    public static String Specifies_the_number_of_host_jobs_that_search_the_message_files_concurrently;
 
     /*
      * Warning messages
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Team
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.json;
+
+/**
+ * Array element, that derives some of its exposed fields on demand. The
+ * {@link JsonStreamExporter} lets the element set these fields right before
+ * the element is written and clear them right after, so that the derived
+ * values are not kept in memory for all elements.
+ */
+public interface IJsonStreamElement {
+
+    /**
+     * Called before the element is written to the Json file.
+     */
+    public void prepareJsonSerialization();
+
+    /**
+     * Called after the element has been written to the Json file.
+     */
+    public void finishJsonSerialization();
+}
@@ -0,0 +1,25 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Team
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.json;
+
+/**
+ * Listener, that receives the array elements read by the
+ * {@link JsonStreamImporter}.
+ *
+ * @param <E> - type of the array elements
+ */
+public interface IJsonStreamListener<E> {
+
+    /**
+     * Called for each element of the array, in the order of the Json file.
+     *
+     * @param element - element that has been read
+     */
+    public void elementRead(E element);
+}
@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Team
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.json;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.Collection;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Exports an object to a Json file, without building the Json tree of the
+ * complete object.
+ * <p>
+ * The elements of the array specified by the path are written one by one. The
+ * array is written after all other properties of the object that contains
+ * the array, so that the {@link JsonStreamImporter} can apply these
+ * properties before the first element is read. The file format is compatible
+ * with the {@link JsonImporter}. Elements, that implement
+ * {@link IJsonStreamElement}, are prepared right before they are written.
+ * <p>
+ * Files, whose name ends with <code>.gz</code>, are gzip compressed.
+ *
+ * @param <M> - type of the Json object
+ * @param <E> - type of the array elements
+ */
+public class JsonStreamExporter<M extends JsonSerializable, E> {
+
+    public static final String GZIP_EXTENSION = ".gz"; //$NON-NLS-1$
+
+    /*
+     * Number of elements between two progress updates.
+     */
+    private static final int PROGRESS_INTERVAL = 100;
+
+    private Class<E> elementType;
+    private String[] path;
+
+    private boolean isCanceled;
+
+    /**
+     * Produces a new JsonStreamExporter object.
+     *
+     * @param elementType - type of the array elements
+     * @param path - names of the properties, that lead to the array
+     */
+    public JsonStreamExporter(Class<E> elementType, String... path) {
+        this.elementType = elementType;
+        this.path = path;
+    }
+
+    /**
+     * Returns <code>true</code>, when the export has been canceled by the
+     * user.
+     *
+     * @return <code>true</code>, when canceled
+     */
+    public boolean isCanceled() {
+        return isCanceled;
+    }
+
+    /**
+     * Exports an object to a Json file. When the export is canceled, the
+     * incomplete file is deleted.
+     *
+     * @param object - object that is exported
+     * @param elements - elements of the array
+     * @param file - path of the Json file
+     * @param monitor - progress monitor
+     * @return path of the Json file or <code>null</code>, when canceled
+     * @throws IOException
+     */
+    public String execute(M object, Collection<E> elements, String file, IProgressMonitor monitor) throws IOException {
+
+        if (monitor == null) {
+            monitor = new NullProgressMonitor();
+        }
+
+        isCanceled = false;
+
+        Gson gson = createGson(false);
+        JsonObject header = createGson(true).toJsonTree(object).getAsJsonObject();
+
+        OutputStreamWriter out = null;
+
+        try {
+
+            monitor.beginTask(new File(file).getName(), elements.size());
+
+            out = new OutputStreamWriter(openStream(file));
+            JsonWriter writer = new JsonWriter(out);
+            writeObject(writer, gson, header, 0, elements, monitor);
+            writer.flush();
+
+        } finally {
+            if (out != null) {
+                out.close();
+            }
+            monitor.done();
+        }
+
+        if (isCanceled) {
+            new File(file).delete();
+            return null;
+        }
+
+        return file;
+    }
+
+    private Gson createGson(boolean isHeader) {
+
+        JsonSerializer<java.sql.Date> sqlDateSerializer = new SQLDateSerializer();
+
+        JsonSerializer<java.sql.Time> sqlTimeSerializer = new SQLTimeSerializer();
+
+        JsonSerializer<java.sql.Timestamp> sqlTimestampSerializer = new SQLTimestampSerializer();
+
+        GsonBuilder gsonBuilder = new GsonBuilder().excludeFieldsWithoutExposeAnnotation();
+        gsonBuilder.registerTypeAdapter(java.sql.Date.class, sqlDateSerializer);
+        gsonBuilder.registerTypeAdapter(java.sql.Time.class, sqlTimeSerializer);
+        gsonBuilder.registerTypeAdapter(java.sql.Timestamp.class, sqlTimestampSerializer);
+
+        if (isHeader) {
+            gsonBuilder.addSerializationExclusionStrategy(new ArrayExclusionStrategy(path[path.length - 1]));
+        }
+
+        return gsonBuilder.create();
+    }
+
+    private OutputStream openStream(String file) throws IOException {
+
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+
+        if (file.toLowerCase().endsWith(GZIP_EXTENSION)) {
+            return new GZIPOutputStream(out);
+        }
+
+        return out;
+    }
+
+    /*
+     * Writes the properties of a Json object and, at the end of the path, the
+     * array elements.
+     */
+    private void writeObject(JsonWriter writer, Gson gson, JsonObject header, int depth, Collection<E> elements, IProgressMonitor monitor)
+        throws IOException {
+
+        writer.beginObject();
+
+        for (Map.Entry<String, JsonElement> entry : header.entrySet()) {
+            writer.name(entry.getKey());
+            if (depth < path.length - 1 && entry.getKey().equals(path[depth]) && entry.getValue().isJsonObject()) {
+                writeObject(writer, gson, entry.getValue().getAsJsonObject(), depth + 1, elements, monitor);
+            } else {
+                gson.toJson(entry.getValue(), writer);
+            }
+        }
+
+        if (depth == path.length - 1) {
+            writer.name(path[depth]);
+            writeArray(writer, gson, elements, monitor);
+        }
+
+        writer.endObject();
+    }
+
+    private void writeArray(JsonWriter writer, Gson gson, Collection<E> elements, IProgressMonitor monitor) throws IOException {
+
+        int count = 0;
+
+        writer.beginArray();
+        for (E element : elements) {
+
+            if (monitor.isCanceled()) {
+                isCanceled = true;
+                break;
+            }
+
+            writeElement(writer, gson, element);
+            count++;
+
+            if (count % PROGRESS_INTERVAL == 0) {
+                monitor.worked(PROGRESS_INTERVAL);
+            }
+        }
+        writer.endArray();
+    }
+
+    private void writeElement(JsonWriter writer, Gson gson, E element) throws IOException {
+
+        if (!(element instanceof IJsonStreamElement)) {
+            gson.toJson(element, elementType, writer);
+            return;
+        }
+
+        IJsonStreamElement streamElement = (IJsonStreamElement)element;
+
+        streamElement.prepareJsonSerialization();
+        try {
+            gson.toJson(element, elementType, writer);
+        } finally {
+            streamElement.finishJsonSerialization();
+        }
+    }
+
+    /**
+     * Excludes the array from the Json tree of the properties.
+     */
+    private static class ArrayExclusionStrategy implements ExclusionStrategy {
+
+        private String fieldName;
+
+        public ArrayExclusionStrategy(String fieldName) {
+            this.fieldName = fieldName;
+        }
+
+        public boolean shouldSkipField(FieldAttributes attributes) {
+
+            if (!fieldName.equals(attributes.getName())) {
+                return false;
+            }
+
+            Class<?> type = attributes.getDeclaredClass();
+
+            return type.isArray() || Collection.class.isAssignableFrom(type);
+        }
+
+        public boolean shouldSkipClass(Class<?> clazz) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Team
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.json;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.InstanceCreator;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Imports a Json file, that has been written by the {@link JsonExporter} or
+ * the {@link JsonStreamExporter}, without loading the complete file at once.
+ * <p>
+ * The elements of the array specified by the path are read one by one and are
+ * passed to a listener. All other properties are applied to the object passed
+ * to the <code>execute()</code> method. Properties, that precede the array,
+ * are applied before the first element is read. Nested objects along the path
+ * must be registered with {@link #addInstance(Class, Object)}, so that they
+ * are updated instead of being replaced.
+ * <p>
+ * Gzip compressed files are detected automatically.
+ *
+ * @param <M> - type of the Json object
+ * @param <E> - type of the array elements
+ */
+public class JsonStreamImporter<M extends JsonSerializable, E> {
+
+    /*
+     * Number of elements between two progress updates.
+     */
+    private static final int PROGRESS_INTERVAL = 100;
+
+    private Class<M> type;
+    private Class<E> elementType;
+    private String[] path;
+    private Map<Class<?>, Object> instances;
+
+    private Gson gson;
+    private JsonParser parser;
+    private CountingInputStream countingStream;
+    private long bytesReported;
+    private int numElements;
+    private boolean isCanceled;
+
+    /**
+     * Produces a new JsonStreamImporter object.
+     *
+     * @param type - type of the Json object
+     * @param elementType - type of the array elements
+     * @param path - names of the properties, that lead to the array
+     */
+    public JsonStreamImporter(Class<M> type, Class<E> elementType, String... path) {
+        this.type = type;
+        this.elementType = elementType;
+        this.path = path;
+        this.instances = new HashMap<Class<?>, Object>();
+    }
+
+    /**
+     * Registers a nested object along the path, that is updated instead of
+     * being replaced by a new instance.
+     *
+     * @param type - type of the nested object
+     * @param instance - nested object
+     */
+    public <T> void addInstance(Class<T> type, T instance) {
+        instances.put(type, instance);
+    }
+
+    /**
+     * Returns <code>true</code>, when the import has been canceled by the
+     * user.
+     *
+     * @return <code>true</code>, when canceled
+     */
+    public boolean isCanceled() {
+        return isCanceled;
+    }
+
+    /**
+     * Returns the number of array elements that have been read.
+     *
+     * @return number of elements
+     */
+    public int getNumberOfElements() {
+        return numElements;
+    }
+
+    /**
+     * Imports a Json file.
+     *
+     * @param jsonFile - Json file, optionally gzip compressed
+     * @param object - object, that receives the properties of the Json file
+     * @param listener - listener, that receives the array elements
+     * @param monitor - progress monitor
+     * @return the object passed in
+     * @throws IOException
+     */
+    public M execute(File jsonFile, M object, IJsonStreamListener<E> listener, IProgressMonitor monitor) throws IOException {
+
+        if (monitor == null) {
+            monitor = new NullProgressMonitor();
+        }
+
+        addInstance(type, object);
+
+        gson = createGson();
+        parser = new JsonParser();
+        bytesReported = 0;
+        numElements = 0;
+        isCanceled = false;
+
+        JsonReader reader = null;
+
+        try {
+
+            monitor.beginTask(jsonFile.getName(), (int)Math.min(jsonFile.length() / 1024, Integer.MAX_VALUE));
+
+            countingStream = new CountingInputStream(new FileInputStream(jsonFile));
+            reader = new JsonReader(new InputStreamReader(openStream(countingStream)));
+
+            JsonObject[] headers = new JsonObject[path.length];
+            if (readObject(reader, 0, headers, listener, monitor)) {
+                applyHeaders(headers, path.length - 1);
+            }
+
+        } finally {
+            if (reader != null) {
+                reader.close();
+            } else if (countingStream != null) {
+                countingStream.close();
+            }
+            monitor.done();
+        }
+
+        return object;
+    }
+
+    private Gson createGson() {
+
+        JsonSerializer<java.sql.Date> sqlDateSerializer = new SQLDateSerializer();
+
+        JsonSerializer<java.sql.Time> sqlTimeSerializer = new SQLTimeSerializer();
+
+        JsonSerializer<java.sql.Timestamp> sqlTimestampSerializer = new SQLTimestampSerializer();
+
+        GsonBuilder gsonBuilder = new GsonBuilder();
+        gsonBuilder.registerTypeAdapter(java.sql.Date.class, sqlDateSerializer);
+        gsonBuilder.registerTypeAdapter(java.sql.Time.class, sqlTimeSerializer);
+        gsonBuilder.registerTypeAdapter(java.sql.Timestamp.class, sqlTimestampSerializer);
+
+        for (Map.Entry<Class<?>, Object> entry : instances.entrySet()) {
+            final Object instance = entry.getValue();
+            gsonBuilder.registerTypeAdapter(entry.getKey(), new InstanceCreator<Object>() {
+                public Object createInstance(Type type) {
+                    return instance;
+                }
+            });
+        }
+
+        return gsonBuilder.create();
+    }
+
+    private InputStream openStream(InputStream in) throws IOException {
+
+        BufferedInputStream bufferedIn = new BufferedInputStream(in);
+
+        bufferedIn.mark(2);
+        int magic = bufferedIn.read() | (bufferedIn.read() << 8);
+        bufferedIn.reset();
+
+        if (magic == GZIPInputStream.GZIP_MAGIC) {
+            return new GZIPInputStream(bufferedIn);
+        }
+
+        return bufferedIn;
+    }
+
+    /*
+     * Reads a Json object along the path. Returns false, when the import has
+     * been canceled.
+     */
+    private boolean readObject(JsonReader reader, int depth, JsonObject[] headers, IJsonStreamListener<E> listener, IProgressMonitor monitor)
+        throws IOException {
+
+        headers[depth] = new JsonObject();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals(path[depth]) && reader.peek() != JsonToken.NULL) {
+                if (depth == path.length - 1) {
+                    applyHeaders(headers, depth);
+                    if (!readArray(reader, listener, monitor)) {
+                        return false;
+                    }
+                } else {
+                    if (!readObject(reader, depth + 1, headers, listener, monitor)) {
+                        return false;
+                    }
+                }
+            } else {
+                headers[depth].add(name, parser.parse(reader));
+            }
+        }
+        reader.endObject();
+
+        return true;
+    }
+
+    private boolean readArray(JsonReader reader, IJsonStreamListener<E> listener, IProgressMonitor monitor) throws IOException {
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+
+            if (monitor.isCanceled()) {
+                isCanceled = true;
+                return false;
+            }
+
+            E element = gson.fromJson(reader, elementType);
+            numElements++;
+            listener.elementRead(element);
+
+            if (numElements % PROGRESS_INTERVAL == 0) {
+                reportProgress(monitor);
+            }
+        }
+        reader.endArray();
+
+        reportProgress(monitor);
+
+        return true;
+    }
+
+    /*
+     * Applies the properties, that have been read so far, to the object and
+     * to the nested objects up to the specified depth.
+     */
+    private void applyHeaders(JsonObject[] headers, int depth) {
+
+        JsonObject root = headers[0];
+        JsonObject parent = root;
+        for (int i = 1; i <= depth && headers[i] != null; i++) {
+            parent.add(path[i - 1], headers[i]);
+            parent = headers[i];
+        }
+
+        gson.fromJson(root, type);
+
+        for (int i = 0; i <= depth; i++) {
+            if (headers[i] != null) {
+                headers[i] = new JsonObject();
+            }
+        }
+    }
+
+    private void reportProgress(IProgressMonitor monitor) {
+
+        long bytesRead = countingStream.getCount();
+        int worked = (int)((bytesRead - bytesReported) / 1024);
+        if (worked > 0) {
+            monitor.worked(worked);
+            bytesReported = bytesReported + worked * 1024L;
+        }
+    }
+
+    /**
+     * Input stream, that counts the bytes read from the file.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        public CountingInputStream(InputStream in) {
+            super(in);
+            this.count = 0;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int numBytes = super.read(buffer, offset, length);
+            if (numBytes > 0) {
+                count += numBytes;
+            }
+            return numBytes;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long numBytes = super.skip(n);
+            count += numBytes;
+            return numBytes;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials 
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.messagefilesearch;
+
+import biz.isphere.core.search.SearchOptions;
+
+/**
+ * Search post run, that receives the search results while the search job is
+ * still running on the host. {@link #addResults(SearchResult[], SearchOptions)}
+ * is called from the search job with the results, that have been finished
+ * since the last call. {@link #run(SearchResult[], SearchOptions)} is called
+ * at the end of the search with all search results.
+ */
+public interface IIncrementalSearchPostRun extends ISearchPostRun {
+
+    public void addResults(SearchResult[] _searchResults, SearchOptions searchOptions);
+
+}
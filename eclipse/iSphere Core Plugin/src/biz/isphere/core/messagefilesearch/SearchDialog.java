@@ -21,11 +21,14 @@ import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Group;
+import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Shell;
 
+import biz.isphere.base.internal.IntHelper;
 import biz.isphere.core.Messages;
 import biz.isphere.core.preferences.Preferences;
 import biz.isphere.core.search.AbstractSearchDialog;
@@ -40,11 +43,13 @@ public class SearchDialog extends AbstractSearchDialog<SearchElement> {
     private static final String EXTERNAL_INCLUDE_FIRST_LEVEL_TEXT = "includeFirstLevelText";
     private static final String EXTERNAL_INCLUDE_SECOND_LEVEL_TEXT = "includeSecondLevelText";
     private static final String EXTERNAL_INCLUDE_MESSAGE_ID = "includeMessageId";
+    private static final String PARALLEL_JOBS = "parallelJobs"; //$NON-NLS-1$
 
     private Map<String, SearchElement> searchElements;
     private Button includeFirstLevelTextButton;
     private Button includeSecondLevelTextButton;
     private Button includeMessageIdButton;
+    private Combo parallelJobsCombo;
 
     public SearchDialog(Shell parentShell, Map<String, SearchElement> searchElements) {
         super(parentShell, SearchArgument.MAX_MESSAGE_FILE_SEARCH_COLUMN, false, SearchOptions.MAX_STRING_SIZE_MESSAGE_FILE_SEARCH, false);
@@ -117,6 +122,10 @@ public class SearchDialog extends AbstractSearchDialog<SearchElement> {
         return includeMessageIdButton.getSelection();
     }
 
+    private int getParallelJobs() {
+        return Math.max(1, IntHelper.tryParseInt(parallelJobsCombo.getText(), 1));
+    }
+
     @Override
     protected void createOptionsGroup(Composite container) {
 
@@ -159,7 +168,7 @@ public class SearchDialog extends AbstractSearchDialog<SearchElement> {
         includeMessageIdButton = WidgetFactory.createCheckbox(groupOptions);
         includeMessageIdButton.setText(Messages.IncludeMessageId);
         includeMessageIdButton.setToolTipText(Messages.Specify_whether_or_not_to_include_the_message_id);
-        tGridData = new GridData(SWT.HORIZONTAL, SWT.DEFAULT, false, false, 1, 1);
+        tGridData = new GridData(SWT.HORIZONTAL, SWT.DEFAULT, false, false, 2, 1);
         tGridData.grabExcessHorizontalSpace = false;
         includeMessageIdButton.setLayoutData(tGridData);
         includeMessageIdButton.addSelectionListener(new SelectionListener() {
@@ -170,6 +179,18 @@ public class SearchDialog extends AbstractSearchDialog<SearchElement> {
             public void widgetDefaultSelected(SelectionEvent arg0) {
             }
         });
+
+        Label parallelJobsLabel = new Label(groupOptions, SWT.NONE);
+        parallelJobsLabel.setLayoutData(new GridData());
+        parallelJobsLabel.setText(Messages.Parallel_jobs_colon);
+        parallelJobsLabel.setToolTipText(Messages.Specifies_the_number_of_host_jobs_that_search_the_message_files_concurrently);
+
+        parallelJobsCombo = WidgetFactory.createIntegerCombo(groupOptions);
+        GridData parallelJobsGridData = new GridData();
+        parallelJobsGridData.widthHint = 100;
+        parallelJobsCombo.setLayoutData(parallelJobsGridData);
+        parallelJobsCombo.setToolTipText(Messages.Specifies_the_number_of_host_jobs_that_search_the_message_files_concurrently);
+        parallelJobsCombo.setItems(new String[] { "1", "2", "4", "8" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
     }
 
     @Override
@@ -180,6 +201,7 @@ public class SearchDialog extends AbstractSearchDialog<SearchElement> {
         if (!isIncludeFirstLevelText() && !isIncludeSecondLevelText() && !isIncludeMessageId()) {
             includeFirstLevelTextButton.setSelection(true);
         }
+        parallelJobsCombo.setText(Integer.toString(loadIntValue(PARALLEL_JOBS, 1)));
     };
 
     @Override
@@ -187,6 +209,7 @@ public class SearchDialog extends AbstractSearchDialog<SearchElement> {
         storeValue(EXTERNAL_INCLUDE_FIRST_LEVEL_TEXT, isIncludeFirstLevelText());
         storeValue(EXTERNAL_INCLUDE_SECOND_LEVEL_TEXT, isIncludeSecondLevelText());
         storeValue(EXTERNAL_INCLUDE_MESSAGE_ID, isIncludeMessageId());
+        storeValue(PARALLEL_JOBS, getParallelJobs());
     };
 
     @Override
@@ -199,6 +222,7 @@ public class SearchDialog extends AbstractSearchDialog<SearchElement> {
         _searchOptions.setGenericOption(GenericSearchOption.MSGF_INCLUDE_FIRST_LEVEL_TEXT, isIncludeFirstLevelText());
         _searchOptions.setGenericOption(GenericSearchOption.MSGF_INCLUDE_SECOND_LEVEL_TEXT, isIncludeSecondLevelText());
         _searchOptions.setGenericOption(GenericSearchOption.MSGF_INCLUDE_MESSAGE_ID, isIncludeMessageId());
+        _searchOptions.setGenericOption(GenericSearchOption.PARALLEL_JOBS, getParallelJobs());
     };
 
     protected void setSearchOptionsEnablement(Event anEvent) {
@@ -13,6 +13,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -29,10 +33,25 @@ import biz.isphere.core.annotations.CMOne;
 import biz.isphere.core.ibmi.contributions.extension.handler.IBMiHostContributionsHandler;
 import biz.isphere.core.internal.ISphereHelper;
 import biz.isphere.core.internal.MessageDialogAsync;
+import biz.isphere.core.search.GenericSearchOption;
+import biz.isphere.core.search.ISearchPartition;
+import biz.isphere.core.search.SearchCoordinator;
 import biz.isphere.core.search.SearchOptions;
 
 public class SearchExec {
 
+    /*
+     * Minimum interval between two reads of the search results, while the
+     * search job is running on the host.
+     */
+    private static final long INCREMENTAL_UPDATE_INTERVAL = 2000;
+
+    /*
+     * Minimum number of message files per partition, when the search is split
+     * into partitions, that are searched by separate host jobs.
+     */
+    private static final int MIN_SEARCH_ELEMENTS_PER_PARTITION = 20;
+
     private class Search extends Job {
 
         private AS400 _as400;
@@ -99,21 +118,28 @@ public class SearchExec {
 
                         if (_handle > 0) {
 
-                            // Append search elements to XFNDSTRI.
-                            SearchElement.setSearchElements(iSphereLibrary, _jdbcConnection, _handle, _searchElements);
+                            // Split the search elements into partitions, that
+                            // are searched by separate host jobs, and append
+                            // them to XFNDSTRI.
+                            List<Partition> partitions = createPartitions(monitor);
 
-                            int _numberOfSearchElements = new XFNDSTR_getNumberOfSearchElements().run(_as400, _handle);
+                            int _numberOfSearchElements = 0;
+                            for (Partition partition : partitions) {
+                                _numberOfSearchElements += partition.getNumberOfSearchElements();
+                            }
 
                             monitor.beginTask("Searching", _numberOfSearchElements);
 
-                            // Start the search job on the host.
-                            new DoSearch(_as400, _handle, _searchOptions).start();
+                            // Start the search jobs on the host.
+                            SearchCoordinator coordinator = new SearchCoordinator(partitions);
+                            coordinator.start();
 
                             int _lastCounter = 0;
+                            long _lastUpdate = System.currentTimeMillis();
 
-                            // Wait for the end of the search job.
+                            // Wait for the end of the search jobs.
                             // Read XFNDSTRS to update '_counter'
-                            getStatus(monitor);
+                            _counter = coordinator.getCounter();
 
                             while (_counter != -1) {
 
@@ -122,17 +148,24 @@ public class SearchExec {
                                 _lastCounter = _counter;
 
                                 if (monitor.isCanceled()) {
-                                    cancelJob();
+                                    coordinator.cancel();
                                     _status = Status.CANCEL_STATUS;
                                     break;
                                 }
 
+                                if (isIncremental() && System.currentTimeMillis() - _lastUpdate >= INCREMENTAL_UPDATE_INTERVAL) {
+                                    for (Partition partition : partitions) {
+                                        addSearchResults(partition, false);
+                                    }
+                                    _lastUpdate = System.currentTimeMillis();
+                                }
+
                                 try {
                                     Thread.sleep(500);
                                 } catch (InterruptedException e) {
                                 }
 
-                                getStatus(monitor);
+                                _counter = coordinator.getCounter();
 
                             }
 
@@ -141,13 +174,28 @@ public class SearchExec {
                             monitor.done();
 
                             if (!monitor.isCanceled()) {
-                                _searchResults = SearchResult.getSearchResults(iSphereLibrary, _jdbcConnection, _handle, _as400, _connectionName);
+                                List<SearchResult> allSearchResults = new ArrayList<SearchResult>();
+                                for (Partition partition : partitions) {
+                                    if (isIncremental()) {
+                                        addSearchResults(partition, true);
+                                        allSearchResults.addAll(partition.searchResults);
+                                    } else {
+                                        allSearchResults.addAll(Arrays.asList(SearchResult.getSearchResults(iSphereLibrary, _jdbcConnection,
+                                            partition.handle, _as400, _connectionName)));
+                                    }
+                                }
+                                _searchResults = allSearchResults.toArray(new SearchResult[allSearchResults.size()]);
                             }
 
-                            new XFNDSTR_clear().run(_as400, _handle);
+                            removePartitions(partitions);
 
                         }
 
+                    } catch (SQLException e) {
+                        ISpherePlugin.logError("*** Message file search: Could not insert search elements into XFNDSTRI ***", e);
+                        MessageDialogAsync.displayBlockingError(ExceptionHelper.getLocalizedMessage(e));
+                        new XFNDSTR_clear().run(_as400, _handle);
+                        _status = Status.CANCEL_STATUS;
                     } finally {
 
                         try {
@@ -169,9 +217,36 @@ public class SearchExec {
 
         }
 
-        private void getStatus(IProgressMonitor monitor) {
+        private boolean isIncremental() {
+            return _searchPostRun instanceof IIncrementalSearchPostRun;
+        }
+
+        /**
+         * Reads the search results of a partition, that have been added to
+         * XFNDSTRO since the last call, and passes them to the incremental
+         * search post run.
+         * 
+         * @param partition - partition of the search
+         * @param isComplete - specifies whether the search job has ended
+         */
+        private void addSearchResults(Partition partition, boolean isComplete) {
+
+            SearchResult[] searchResults = SearchResult.getSearchResults(iSphereLibrary, _jdbcConnection, partition.handle, _as400, _connectionName,
+                partition.lastSearchResult, isComplete);
+            if (searchResults.length == 0) {
+                return;
+            }
+
+            partition.lastSearchResult = searchResults[searchResults.length - 1];
+            partition.searchResults.addAll(Arrays.asList(searchResults));
+
+            ((IIncrementalSearchPostRun)_searchPostRun).addResults(searchResults, _searchOptions);
+        }
+
+        private int getStatus(IProgressMonitor monitor, int handle) {
 
             Throwable error = null;
+            int counter = 0;
 
             SqlHelper sqlHelper = new SqlHelper(_jdbcConnection);
 
@@ -181,15 +256,15 @@ public class SearchExec {
 
                 preparedStatementSelect = _jdbcConnection
                     .prepareStatement("SELECT XSCNT, XSCNL FROM " + sqlHelper.getObjectName(iSphereLibrary, "XFNDSTRS") + " WHERE XSHDL = ?");
-                preparedStatementSelect.setInt(1, _handle);
+                preparedStatementSelect.setInt(1, handle);
                 resultSet = preparedStatementSelect.executeQuery();
                 if (resultSet.next()) {
-                    _counter = resultSet.getInt("XSCNT");
+                    counter = resultSet.getInt("XSCNT");
                 } else {
-                    ISpherePlugin.logError("*** Message file search: Could not read status record (" + _handle + ") from file XFNDSTRS ***", error);
+                    ISpherePlugin.logError("*** Message file search: Could not read status record (" + handle + ") from file XFNDSTRS ***", error);
                     monitor.setCanceled(true);
                     MessageDialogAsync.displayBlockingError(Messages.bind(Messages.Could_not_read_status_from_file_B_A_for_search_job_handle_C,
-                        new Object[] { "XFNDSTRS", iSphereLibrary, new Integer(_handle) }));
+                        new Object[] { "XFNDSTRS", iSphereLibrary, new Integer(handle) }));
                 }
             } catch (SQLException e) {
                 error = e;
@@ -217,9 +292,10 @@ public class SearchExec {
                 ISpherePlugin.logError("*** Message file search: Unexpected connection error. ***", error);
             }
 
+            return counter;
         }
 
-        private void cancelJob() {
+        private void cancelJob(int handle) {
 
             // String _separator;
             // try {
@@ -237,7 +313,7 @@ public class SearchExec {
             try {
                 preparedStatementUpdate = _jdbcConnection
                     .prepareStatement("UPDATE " + sqlHelper.getObjectName(iSphereLibrary, "XFNDSTRS") + " SET XSCNL = '*YES' WHERE XSHDL = ?");
-                preparedStatementUpdate.setInt(1, _handle);
+                preparedStatementUpdate.setInt(1, handle);
                 preparedStatementUpdate.executeUpdate();
             } catch (SQLException e) {
                 ISpherePlugin.logError("*** Could not cancel host job of message file search ***", e);
@@ -251,23 +327,142 @@ public class SearchExec {
 
         }
 
-    }
+        /**
+         * Splits the search elements into partitions of consecutive message
+         * files and appends them to XFNDSTRI. The message file search does not
+         * resolve generic search elements on the host. Therefore the list of
+         * search elements is split on the client. Each partition gets its own
+         * handle and its own connection, because the host jobs are the remote
+         * command server jobs of the connections. The search is executed as a
+         * single partition, when the partitions cannot be created.
+         * 
+         * @param monitor - progress monitor
+         * @return partitions of the search
+         * @throws SQLException, when the search elements of the single
+         *         partition could not be inserted
+         */
+        private List<Partition> createPartitions(IProgressMonitor monitor) throws SQLException {
+
+            List<Partition> partitions = new ArrayList<Partition>();
+
+            int numberOfPartitions = Math.min(_searchOptions.getGenericIntOption(GenericSearchOption.PARALLEL_JOBS, 1), _searchElements.size()
+                / MIN_SEARCH_ELEMENTS_PER_PARTITION);
+
+            if (numberOfPartitions > 1) {
+                try {
 
-    private class DoSearch extends Thread {
+                    for (List<SearchElement> searchElements : SearchCoordinator.split(getSortedSearchElements(), numberOfPartitions)) {
 
-        private AS400 _as400;
-        private int _handle;
-        private SearchOptions _searchOptions;
+                        int handle = new XFNDSTR_getHandle().run(_as400);
+                        if (handle <= 0) {
+                            throw new Exception("Could not get handle of partition: " + (partitions.size() + 1)); //$NON-NLS-1$
+                        }
 
-        public DoSearch(AS400 _as400, int _handle, SearchOptions _searchOptions) {
-            this._as400 = _as400;
-            this._handle = _handle;
-            this._searchOptions = _searchOptions;
+                        AS400 system = new AS400(_as400);
+                        partitions.add(new Partition(system, handle, searchElements.size(), monitor));
+
+                        SearchElement.setSearchElements(iSphereLibrary, _jdbcConnection, handle, searchElements, SearchElement.DEFAULT_BATCH_SIZE, null);
+
+                        if (!ISphereHelper.setCurrentLibrary(system, iSphereLibrary)) {
+                            throw new Exception("Could not set current library of partition: " + partitions.size()); //$NON-NLS-1$
+                        }
+                    }
+
+                    new XFNDSTR_clear().run(_as400, _handle);
+
+                    return partitions;
+
+                } catch (Exception e) {
+                    ISpherePlugin.logError("*** Could not split message file search into partitions. Searching with a single job. ***", e);
+                    removePartitions(partitions);
+                    partitions.clear();
+                }
+            }
+
+            // Append search elements to XFNDSTRI.
+            SearchElement.setSearchElements(iSphereLibrary, _jdbcConnection, _handle, _searchElements, SearchElement.DEFAULT_BATCH_SIZE, monitor);
+
+            int numberOfSearchElements = new XFNDSTR_getNumberOfSearchElements().run(_as400, _handle);
+            partitions.add(new Partition(_as400, _handle, numberOfSearchElements, monitor));
+
+            return partitions;
         }
 
-        @Override
-        public void run() {
-            new XFNDSTR_search().run(_as400, _handle, _searchOptions);
+        /**
+         * Removes the search data of the partitions from the host and closes
+         * their connections.
+         * 
+         * @param partitions - partitions of the search
+         */
+        private void removePartitions(List<Partition> partitions) {
+
+            for (Partition partition : partitions) {
+                new XFNDSTR_clear().run(_as400, partition.handle);
+                if (partition.system != _as400) {
+                    partition.system.disconnectAllServices();
+                }
+            }
+        }
+
+        /**
+         * Returns the search elements in the order of library and message
+         * file, which is the order of the search results. Hence the search
+         * results of the partitions can be concatenated.
+         * 
+         * @return sorted search elements
+         */
+        private List<SearchElement> getSortedSearchElements() {
+
+            List<SearchElement> searchElements = new ArrayList<SearchElement>(_searchElements);
+            Collections.sort(searchElements, new Comparator<SearchElement>() {
+                public int compare(SearchElement element1, SearchElement element2) {
+                    int rc = element1.getLibrary().compareTo(element2.getLibrary());
+                    if (rc != 0) {
+                        return rc;
+                    }
+                    return element1.getMessageFile().compareTo(element2.getMessageFile());
+                }
+            });
+
+            return searchElements;
+        }
+
+        /**
+         * Partition of the search elements, that is searched by its own host
+         * job.
+         */
+        private class Partition implements ISearchPartition {
+
+            private AS400 system;
+            private int handle;
+            private int numberOfSearchElements;
+            private IProgressMonitor monitor;
+            private List<SearchResult> searchResults;
+            private SearchResult lastSearchResult;
+
+            public Partition(AS400 system, int handle, int numberOfSearchElements, IProgressMonitor monitor) {
+                this.system = system;
+                this.handle = handle;
+                this.numberOfSearchElements = numberOfSearchElements;
+                this.monitor = monitor;
+                this.searchResults = new ArrayList<SearchResult>();
+            }
+
+            public int getNumberOfSearchElements() {
+                return numberOfSearchElements;
+            }
+
+            public boolean search() {
+                return new XFNDSTR_search().run(system, handle, _searchOptions) >= 0;
+            }
+
+            public int getCounter() {
+                return getStatus(monitor, handle);
+            }
+
+            public void cancel() {
+                cancelJob(handle);
+            }
         }
 
     }
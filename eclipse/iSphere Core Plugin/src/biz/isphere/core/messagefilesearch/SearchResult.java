@@ -95,6 +95,28 @@ public class SearchResult {
     }
 
     public static SearchResult[] getSearchResults(String iSphereLibrary, Connection jdbcConnection, int handle, AS400 as400, String connectionName) {
+        return getSearchResults(iSphereLibrary, jdbcConnection, handle, as400, connectionName, null, true);
+    }
+
+    /**
+     * Reads the search results from XFNDSTRO. The host job processes the
+     * message files in the order of library and message file and may still
+     * add or remove the rows of the message file it is searching. Therefore
+     * the result of the last message file is returned only, when the search
+     * job has ended.
+     * 
+     * @param iSphereLibrary - iSphere library
+     * @param jdbcConnection - JDBC connection
+     * @param handle - search job handle
+     * @param as400 - system
+     * @param connectionName - connection name
+     * @param lastSearchResult - last search result, that has been read by the
+     *        previous call or <code>null</code>
+     * @param isComplete - specifies whether the search job has ended
+     * @return search results following the last search result
+     */
+    public static SearchResult[] getSearchResults(String iSphereLibrary, Connection jdbcConnection, int handle, AS400 as400, String connectionName,
+        SearchResult lastSearchResult, boolean isComplete) {
 
         // String _separator;
         // try {
@@ -113,9 +135,21 @@ public class SearchResult {
 
         try {
 
-            preparedStatementSelect = jdbcConnection.prepareStatement("SELECT * FROM " + sqlHelper.getObjectName(iSphereLibrary, "XFNDSTRO")
-                + " WHERE XOHDL = ? ORDER BY XOHDL, XOLIB, XOMSGF", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            StringBuilder sqlStatement = new StringBuilder();
+            sqlStatement.append("SELECT * FROM " + sqlHelper.getObjectName(iSphereLibrary, "XFNDSTRO") + " WHERE XOHDL = ?");
+            if (lastSearchResult != null) {
+                sqlStatement.append(" AND (XOLIB > ? OR (XOLIB = ? AND XOMSGF > ?))");
+            }
+            sqlStatement.append(" ORDER BY XOHDL, XOLIB, XOMSGF, XOMSGID");
+
+            preparedStatementSelect = jdbcConnection.prepareStatement(sqlStatement.toString(), ResultSet.TYPE_SCROLL_INSENSITIVE,
+                ResultSet.CONCUR_READ_ONLY);
             preparedStatementSelect.setString(1, Integer.toString(handle));
+            if (lastSearchResult != null) {
+                preparedStatementSelect.setString(2, lastSearchResult.getLibrary());
+                preparedStatementSelect.setString(3, lastSearchResult.getLibrary());
+                preparedStatementSelect.setString(4, lastSearchResult.getMessageFile());
+            }
             resultSet = preparedStatementSelect.executeQuery();
 
             String _library = "";
@@ -166,7 +200,7 @@ public class SearchResult {
 
             }
 
-            if (_searchResult != null) {
+            if (_searchResult != null && isComplete) {
 
                 SearchResultMessageId[] _messageIds = new SearchResultMessageId[alMessageIds.size()];
                 alMessageIds.toArray(_messageIds);
@@ -274,7 +274,7 @@ public class ViewSearchResults extends ViewPart implements ISelectionChangedList
     public void setFocus() {
     }
 
-    public void addTabItem(String connectionName, String searchString, SearchResult[] searchResults, SearchOptions searchOptions) {
+    public CTabItem addTabItem(String connectionName, String searchString, SearchResult[] searchResults, SearchOptions searchOptions) {
         Composite compositeSearchResult = new Composite(tabFolderSearchResults, SWT.NONE);
         compositeSearchResult.setLayout(new FillLayout());
 
@@ -297,6 +297,31 @@ public class ViewSearchResults extends ViewPart implements ISelectionChangedList
         searchResultTabFolder.addTab(searchResultTab);
         tabItemSearchResult.setData(TAB_PERSISTENCE_DATA, searchResultTab);
         tabItemSearchResult.setToolTipText(searchResultTab.toText());
+
+        return tabItemSearchResult;
+    }
+
+    /**
+     * Adds search results to a tab, that has been created by
+     * {@link #addTabItem(String, String, SearchResult[], SearchOptions)}.
+     * Used for showing the results while the search job is running.
+     * 
+     * @param tabItem - tab item the search results are added to
+     * @param searchResults - search results, that are added
+     */
+    public void addSearchResults(CTabItem tabItem, SearchResult[] searchResults) {
+
+        if (tabItem.isDisposed()) {
+            return;
+        }
+
+        SearchResultViewer _searchResultViewer = (SearchResultViewer)tabItem.getData(TAB_DATA_VIEWER);
+        _searchResultViewer.addSearchResults(searchResults);
+
+        SearchResultTab searchResultTab = (SearchResultTab)tabItem.getData(TAB_PERSISTENCE_DATA);
+        searchResultTab.setSearchResult(_searchResultViewer.getSearchResults());
+
+        setActionEnablement();
     }
 
     public void exportToObjectFilter() {
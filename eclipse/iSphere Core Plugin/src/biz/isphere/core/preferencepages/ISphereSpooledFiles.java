@@ -45,6 +45,7 @@ import biz.isphere.core.Messages;
 import biz.isphere.core.internal.Validator;
 import biz.isphere.core.preferences.Preferences;
 import biz.isphere.core.spooledfiles.SpooledFile;
+import biz.isphere.core.spooledfiles.SpooledFileContentCache;
 import biz.isphere.core.spooledfiles.SpooledFileTransformerPDF;
 import biz.isphere.core.spooledfiles.SpooledFileTransformerPDF.PageSize;
 import biz.isphere.core.swt.widgets.WidgetFactory;
@@ -117,6 +118,11 @@ public class ISphereSpooledFiles extends PreferencePage implements IWorkbenchPre
     private String suggestedFileName;
     private Text textRSEDescription;
     private String rseDescription;
+    private Button buttonCacheEnabled;
+    private boolean isCacheEnabled;
+    private Text textCacheMaxSize;
+    private int cacheMaxSize;
+    private Label labelCacheSize;
 
     public ISphereSpooledFiles() {
         super();
@@ -205,6 +211,43 @@ public class ISphereSpooledFiles extends PreferencePage implements IWorkbenchPre
             }
         });
 
+        buttonCacheEnabled = WidgetFactory.createCheckbox(container);
+        buttonCacheEnabled.setLayoutData(createGroupLayoutData());
+        buttonCacheEnabled.setText(Messages.Cache_transformed_spooled_files);
+        buttonCacheEnabled.addSelectionListener(new SelectionAdapter() {
+            @Override
+            public void widgetSelected(SelectionEvent e) {
+                isCacheEnabled = buttonCacheEnabled.getSelection();
+                setCacheOptionsEnablement();
+            }
+        });
+
+        new Label(container, SWT.NONE).setText(Messages.Maximum_cache_size_MB_colon);
+
+        textCacheMaxSize = WidgetFactory.createIntegerText(container);
+        textCacheMaxSize.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyReleased(KeyEvent e) {
+                checkError();
+            }
+        });
+        textCacheMaxSize.setLayoutData(createLayoutData());
+        textCacheMaxSize.setTextLimit(6);
+
+        labelCacheSize = new Label(container, SWT.NONE);
+        labelCacheSize.setLayoutData(createLayoutData());
+
+        Button buttonClearCache = WidgetFactory.createPushButton(container, Messages.Clear_cache);
+        buttonClearCache.addSelectionListener(new SelectionAdapter() {
+            @Override
+            public void widgetSelected(SelectionEvent e) {
+                SpooledFileContentCache.getInstance().clear();
+                setCacheSize();
+            }
+        });
+
+        setCacheSize();
+
         createGroupSubstitutionVariables(container, Messages.Substitution_variables_for_file_name);
 
         return container;
@@ -746,6 +789,13 @@ public class ISphereSpooledFiles extends PreferencePage implements IWorkbenchPre
             return;
         }
 
+        cacheMaxSize = IntHelper.tryParseInt(textCacheMaxSize.getText(), -1);
+        if (cacheMaxSize <= 0) {
+            setErrorMessage(Messages.The_value_in_field_max_cache_size_is_not_valid);
+            setValid(false);
+            return;
+        }
+
         setErrorMessage(null);
         setValid(true);
         return;
@@ -796,6 +846,13 @@ public class ISphereSpooledFiles extends PreferencePage implements IWorkbenchPre
         Preferences.getInstance().setSpooledFileMaxFilesToLoad(maxNumSpooledFiles);
 
         Preferences.getInstance().setSpooledFileRSEDescription(rseDescription);
+
+        Preferences.getInstance().setSpooledFileCacheEnabled(isCacheEnabled);
+        Preferences.getInstance().setSpooledFileCacheMaxSize(cacheMaxSize);
+        if (!isCacheEnabled) {
+            SpooledFileContentCache.getInstance().clear();
+            setCacheSize();
+        }
     }
 
     protected void setScreenToValues() {
@@ -825,6 +882,9 @@ public class ISphereSpooledFiles extends PreferencePage implements IWorkbenchPre
 
         rseDescription = Preferences.getInstance().getSpooledFileRSEDescription();
 
+        isCacheEnabled = Preferences.getInstance().isSpooledFileCacheEnabled();
+        cacheMaxSize = Preferences.getInstance().getSpooledFileCacheMaxSize();
+
         setScreenValues();
 
     }
@@ -856,6 +916,9 @@ public class ISphereSpooledFiles extends PreferencePage implements IWorkbenchPre
 
         rseDescription = Preferences.getInstance().getDefaultSpooledFileRSEDescription();
 
+        isCacheEnabled = Preferences.getInstance().getDefaultSpooledFileCacheEnabled();
+        cacheMaxSize = Preferences.getInstance().getDefaultSpooledFileCacheMaxSize();
+
         setScreenValues();
 
     }
@@ -980,6 +1043,20 @@ public class ISphereSpooledFiles extends PreferencePage implements IWorkbenchPre
         textMaxNumSpooledFiles.setText(Integer.toString(maxNumSpooledFiles));
 
         textRSEDescription.setText(rseDescription);
+
+        buttonCacheEnabled.setSelection(isCacheEnabled);
+        textCacheMaxSize.setText(Integer.toString(cacheMaxSize));
+        setCacheOptionsEnablement();
+    }
+
+    private void setCacheOptionsEnablement() {
+        textCacheMaxSize.setEnabled(isCacheEnabled);
+    }
+
+    private void setCacheSize() {
+
+        long megaBytes = (SpooledFileContentCache.getInstance().getSize() + 1024 * 1024 - 1) / (1024 * 1024);
+        labelCacheSize.setText(Messages.bind(Messages.Cache_size_A_MB, Long.toString(megaBytes)));
     }
 
     public void init(IWorkbench workbench) {
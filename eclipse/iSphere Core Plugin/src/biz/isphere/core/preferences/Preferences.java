@@ -115,6 +115,8 @@ public final class Preferences {
     private static final String SPOOLED_FILES_DEFAULT_FORMAT = DOMAIN + "SPOOLED_FILES.DEFAULT_FORMAT"; //$NON-NLS-1$
     private static final String SPOOLED_FILES_MAX_FILES_TO_LOAD = DOMAIN + "MAX_FILES_TO_LOAD"; //$NON-NLS-1$
     private static final String SPOOLED_FILES_RSE_DESCRIPTION = DOMAIN + "RSE_DESCRIPTION"; //$NON-NLS-1$
+    private static final String SPOOLED_FILES_CACHE_ENABLED = DOMAIN + "SPOOLED_FILES.CACHE.ENABLED"; //$NON-NLS-1$
+    private static final String SPOOLED_FILES_CACHE_MAX_SIZE = DOMAIN + "SPOOLED_FILES.CACHE.MAX_SIZE"; //$NON-NLS-1$
 
     private static final String BACKUP_MEMBER_NAME_CURRENT_RULE = DOMAIN + "BACKUP_MEMBER_NAME.CURRENT_RULE"; //$NON-NLS-1$
     private static final String BACKUP_MEMBER_NAME_ENABLE_MEMBER_PRECHECK = DOMAIN + "BACKUP_MEMBER_NAME.ENABLE_MEMBER_PRECHECK"; //$NON-NLS-1$
@@ -346,6 +348,19 @@ public final class Preferences {
         return preferenceStore.getInt(SPOOLED_FILES_MAX_FILES_TO_LOAD);
     }
 
+    public boolean isSpooledFileCacheEnabled() {
+        return preferenceStore.getBoolean(SPOOLED_FILES_CACHE_ENABLED);
+    }
+
+    /**
+     * Returns the maximum size of the spooled file cache.
+     * 
+     * @return maximum cache size in MB
+     */
+    public int getSpooledFileCacheMaxSize() {
+        return preferenceStore.getInt(SPOOLED_FILES_CACHE_MAX_SIZE);
+    }
+
     public String getSpooledFileRSEDescription() {
         return preferenceStore.getString(SPOOLED_FILES_RSE_DESCRIPTION);
     }
@@ -900,6 +915,14 @@ public final class Preferences {
         preferenceStore.setValue(SPOOLED_FILES_MAX_FILES_TO_LOAD, count);
     }
 
+    public void setSpooledFileCacheEnabled(boolean enabled) {
+        preferenceStore.setValue(SPOOLED_FILES_CACHE_ENABLED, enabled);
+    }
+
+    public void setSpooledFileCacheMaxSize(int megaBytes) {
+        preferenceStore.setValue(SPOOLED_FILES_CACHE_MAX_SIZE, megaBytes);
+    }
+
     public void setSpooledFileRSEDescription(String description) {
         preferenceStore.setValue(SPOOLED_FILES_RSE_DESCRIPTION, description);
     }
@@ -1165,6 +1188,8 @@ public final class Preferences {
 
         preferenceStore.setDefault(SPOOLED_FILES_MAX_FILES_TO_LOAD, getDefaultSpooledFileMaxFilesToLoad());
         preferenceStore.setDefault(SPOOLED_FILES_RSE_DESCRIPTION, getDefaultSpooledFileRSEDescription());
+        preferenceStore.setDefault(SPOOLED_FILES_CACHE_ENABLED, getDefaultSpooledFileCacheEnabled());
+        preferenceStore.setDefault(SPOOLED_FILES_CACHE_MAX_SIZE, getDefaultSpooledFileCacheMaxSize());
 
         preferenceStore.setDefault(SPOOLED_FILES_CONVERSION_TEXT, getDefaultSpooledFileConversionText());
         preferenceStore.setDefault(SPOOLED_FILES_CONVERSION_TEXT_COMMAND, getDefaultSpooledFileConversionTextCommand());
@@ -1377,6 +1402,25 @@ public final class Preferences {
         return 5000;
     }
 
+    /**
+     * Returns the default value, whether transformed spooled files are cached
+     * on disk.
+     * 
+     * @return default value for the spooled file cache
+     */
+    public boolean getDefaultSpooledFileCacheEnabled() {
+        return true;
+    }
+
+    /**
+     * Returns the default maximum size of the spooled file cache.
+     * 
+     * @return default maximum cache size in MB
+     */
+    public int getDefaultSpooledFileCacheMaxSize() {
+        return 100;
+    }
+
     /**
      * Returns the default spooled file description.
      * 
@@ -26,6 +26,9 @@ public class GenericSearchOption implements Map.Entry<String, Object> {
     public static final GenericSearchOption.Key STMF_TYPE = GenericSearchOption.Key.STMF_TYPE;
     public static final GenericSearchOption.Key MAX_DEPTH = GenericSearchOption.Key.MAX_DEPTH;
 
+    // Search job options
+    public static final GenericSearchOption.Key PARALLEL_JOBS = GenericSearchOption.Key.PARALLEL_JOBS;
+
     private GenericSearchOption.Key key;
     private Object value;
 
@@ -52,6 +55,8 @@ public class GenericSearchOption implements Map.Entry<String, Object> {
             return Messages.GenericSearchOption_StmF_Type;
         } else if (GenericSearchOption.MAX_DEPTH.equals(key)) {
             return Messages.GenericSearchOption_Max_Depth;
+        } else if (GenericSearchOption.PARALLEL_JOBS.equals(key)) {
+            return Messages.GenericSearchOption_Parallel_Jobs;
         } else {
             return "*ERROR"; //$NON-NLS-1$
         }
@@ -90,7 +95,8 @@ public class GenericSearchOption implements Map.Entry<String, Object> {
         MSGF_INCLUDE_SECOND_LEVEL_TEXT ("INCLUDE_SECOND_LEVEL_TEXT"),
         MSGF_INCLUDE_FIRST_LEVEL_TEXT ("INCLUDE_FIRST_LEVEL_TEXT"),
         STMF_TYPE ("STMF_TYPE"),
-        MAX_DEPTH ("MAX_DEPTH");
+        MAX_DEPTH ("MAX_DEPTH"),
+        PARALLEL_JOBS ("PARALLEL_JOBS");
 
         private String keyValue;
 
@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials 
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.search;
+
+/**
+ * A partition of a search, that is executed by a {@link SearchCoordinator}.
+ * Each partition is searched by its own host job.
+ */
+public interface ISearchPartition {
+
+    /**
+     * Returns the number of search elements of this partition.
+     * 
+     * @return number of search elements
+     */
+    public int getNumberOfSearchElements();
+
+    /**
+     * Searches the elements of this partition. The method is called on a
+     * thread of the coordinator and returns when the host job has ended.
+     * 
+     * @return <code>true</code> on success, else <code>false</code>
+     */
+    public boolean search();
+
+    /**
+     * Returns the number of search elements, that have been processed by the
+     * host job.
+     * 
+     * @return number of processed search elements or -1, when the host job has
+     *         ended
+     */
+    public int getCounter();
+
+    /**
+     * Requests the host job to end.
+     */
+    public void cancel();
+
+}
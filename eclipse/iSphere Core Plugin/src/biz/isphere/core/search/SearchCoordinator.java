@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials 
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs the partitions of a search concurrently and merges their progress. The
+ * caller polls {@link #getCounter()} until it returns -1, the same way it polls
+ * the status of a single host job.
+ */
+public class SearchCoordinator {
+
+    private List<? extends ISearchPartition> partitions;
+    private boolean[] isFinished;
+    private volatile boolean isFailed;
+    private ExecutorService executor;
+
+    public SearchCoordinator(List<? extends ISearchPartition> partitions) {
+
+        if (partitions.isEmpty()) {
+            throw new IllegalArgumentException("Parameter 'partitions' must not be empty."); //$NON-NLS-1$
+        }
+
+        this.partitions = partitions;
+        this.isFinished = new boolean[partitions.size()];
+        this.isFailed = false;
+    }
+
+    /**
+     * Splits a list of search elements into partitions of consecutive
+     * elements. The sizes of the partitions differ by one element at most.
+     * 
+     * @param elements - search elements
+     * @param numPartitions - requested number of partitions
+     * @return partitions, but no more than the number of elements
+     */
+    public static <T> List<List<T>> split(List<T> elements, int numPartitions) {
+
+        int count = Math.max(1, Math.min(numPartitions, elements.size()));
+        List<List<T>> result = new ArrayList<List<T>>(count);
+
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            int end = start + (elements.size() - start) / (count - i);
+            result.add(new ArrayList<T>(elements.subList(start, end)));
+            start = end;
+        }
+
+        return result;
+    }
+
+    public int getNumberOfPartitions() {
+        return partitions.size();
+    }
+
+    /**
+     * Starts the search of all partitions.
+     */
+    public void start() {
+
+        executor = Executors.newFixedThreadPool(partitions.size(), new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "iSphere search partition"); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        for (final ISearchPartition partition : partitions) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    if (!partition.search()) {
+                        isFailed = true;
+                    }
+                }
+            });
+        }
+
+        executor.shutdown();
+    }
+
+    /**
+     * Returns the number of search elements, that have been processed by all
+     * partitions.
+     * 
+     * @return number of processed search elements or -1, when the host jobs of
+     *         all partitions have ended
+     */
+    public int getCounter() {
+
+        int counter = 0;
+        boolean isFinishedAll = true;
+
+        for (int i = 0; i < partitions.size(); i++) {
+
+            ISearchPartition partition = partitions.get(i);
+
+            if (!isFinished[i]) {
+                int partitionCounter = partition.getCounter();
+                if (partitionCounter == -1) {
+                    isFinished[i] = true;
+                } else {
+                    counter += partitionCounter;
+                    isFinishedAll = false;
+                    continue;
+                }
+            }
+
+            counter += partition.getNumberOfSearchElements();
+        }
+
+        if (isFinishedAll) {
+            return -1;
+        }
+
+        return counter;
+    }
+
+    /**
+     * Returns whether the search of a partition has failed.
+     * 
+     * @return <code>true</code>, if a partition has failed, else
+     *         <code>false</code>
+     */
+    public boolean isFailed() {
+        return isFailed;
+    }
+
+    /**
+     * Requests the host jobs of all partitions to end.
+     */
+    public void cancel() {
+
+        for (int i = 0; i < partitions.size(); i++) {
+            if (!isFinished[i]) {
+                partitions.get(i).cancel();
+            }
+        }
+    }
+}
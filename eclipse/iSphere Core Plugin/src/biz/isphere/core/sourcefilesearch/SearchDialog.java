@@ -33,6 +33,7 @@ import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.Text;
 import org.eclipse.ui.progress.WorkbenchJob;
 
+import biz.isphere.base.internal.IntHelper;
 import biz.isphere.base.internal.StringHelper;
 import biz.isphere.core.Messages;
 import biz.isphere.core.annotations.CMOne;
@@ -47,10 +48,12 @@ import biz.isphere.core.swt.widgets.WidgetFactory;
 public class SearchDialog extends AbstractSearchDialog<SearchElement> {
 
     private static final String SHOW_RECORDS = "showRecords"; //$NON-NLS-1$
+    private static final String PARALLEL_JOBS = "parallelJobs"; //$NON-NLS-1$
 
     private Map<String, SearchElement> searchElements;
     private Button showAllRecordsButton;
     private Combo filterSrcTypeCombo;
+    private Combo parallelJobsCombo;
     private RefreshJob refreshJob = new RefreshJob();
 
     /**
@@ -182,6 +185,18 @@ public class SearchDialog extends AbstractSearchDialog<SearchElement> {
             }
         });
 
+        Label parallelJobsLabel = new Label(groupOptions, SWT.NONE);
+        parallelJobsLabel.setLayoutData(new GridData());
+        parallelJobsLabel.setText(Messages.Parallel_jobs_colon);
+        parallelJobsLabel.setToolTipText(Messages.Specifies_the_number_of_host_jobs_that_search_the_members_concurrently);
+
+        parallelJobsCombo = WidgetFactory.createIntegerCombo(groupOptions);
+        GridData parallelJobsGridData = new GridData();
+        parallelJobsGridData.widthHint = 100;
+        parallelJobsCombo.setLayoutData(parallelJobsGridData);
+        parallelJobsCombo.setToolTipText(Messages.Specifies_the_number_of_host_jobs_that_search_the_members_concurrently);
+        parallelJobsCombo.setItems(new String[] { "1", "2", "4", "8" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
         showAllRecordsButton = WidgetFactory.createCheckbox(groupOptions);
         showAllRecordsButton.setText(Messages.ShowAllRecords);
         showAllRecordsButton.setToolTipText(Messages.Specify_whether_all_matching_records_are_returned);
@@ -213,23 +228,30 @@ public class SearchDialog extends AbstractSearchDialog<SearchElement> {
     @Override
     protected void loadElementValues() {
         showAllRecordsButton.setSelection(loadBooleanValue(SHOW_RECORDS, true));
+        parallelJobsCombo.setText(Integer.toString(loadIntValue(PARALLEL_JOBS, 1)));
     };
 
     @Override
     protected void saveElementValues() {
         storeValue(SHOW_RECORDS, isShowAllRecords());
+        storeValue(PARALLEL_JOBS, getParallelJobs());
     };
 
     @Override
     protected void setElementsSearchOptions(SearchOptions _searchOptions) {
         _searchOptions.setShowAllItems(isShowAllRecords());
         _searchOptions.setGenericOption(GenericSearchOption.SRCMBR_SRC_TYPE, filterSrcTypeCombo.getText());
+        _searchOptions.setGenericOption(GenericSearchOption.PARALLEL_JOBS, getParallelJobs());
     };
 
     private boolean isShowAllRecords() {
         return showAllRecordsButton.getSelection();
     }
 
+    private int getParallelJobs() {
+        return Math.max(1, IntHelper.tryParseInt(parallelJobsCombo.getText(), 1));
+    }
+
     private void refreshMemberList(Control control) {
 
         int autoRefreshDelay = Preferences.getInstance().getAutoRefreshDelay();
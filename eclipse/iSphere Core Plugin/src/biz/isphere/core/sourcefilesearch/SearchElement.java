@@ -9,19 +9,29 @@
 package biz.isphere.core.sourcefilesearch;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
 
 import biz.isphere.base.internal.SqlHelper;
 import biz.isphere.base.internal.StringHelper;
 import biz.isphere.core.ISpherePlugin;
+import biz.isphere.core.Messages;
 import biz.isphere.core.annotations.CMOne;
 
 @CMOne(info = "Be careful, when changing this class! Also test CMOne source file search.")
 public class SearchElement {
 
+    /**
+     * Default number of rows inserted by one batch of
+     * {@link #setSearchElements(String, Connection, int, List, int, IProgressMonitor)}.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
     private String library;
     private String file;
     private String member;
@@ -114,76 +124,65 @@ public class SearchElement {
 
     public static void setSearchElements(String iSphereLibrary, Connection jdbcConnection, int handle, ArrayList<SearchElement> _searchElements) {
 
-        // String _separator;
-        // try {
-        // _separator = jdbcConnection.getMetaData().getCatalogSeparator();
-        // } catch (SQLException e) {
-        // _separator = ".";
-        // ISpherePlugin.logError("*** Source file search, setSearchElements():
-        // Could not get JDBC meta data. Using '.' as SQL separator ***",
-        // e);
-        // }
-
-        SqlHelper sqlHelper = new SqlHelper(jdbcConnection);
-
-        if (_searchElements.size() > 0) {
-
-            int _start;
-            int _end;
-            int _elements = 500;
-
-            _start = 1;
-
-            do {
-
-                _end = _start + _elements - 1;
-
-                if (_end > _searchElements.size()) {
-                    _end = _searchElements.size();
-                }
+        try {
+            setSearchElements(iSphereLibrary, jdbcConnection, handle, _searchElements, DEFAULT_BATCH_SIZE, null);
+        } catch (SQLException e) {
+            ISpherePlugin.logError("*** Source file search, setSearchElements(): Could not insert search elements into FNDSTRI ***", e);
+        }
+    }
 
-                StringBuffer sqlInsert = new StringBuffer();
-                sqlInsert.append("INSERT INTO " + sqlHelper.getObjectName(iSphereLibrary, "FNDSTRI") + " (XIHDL, XILIB, XIFILE, XIMBR) VALUES");
-                boolean first = true;
+    /**
+     * Inserts the search elements into FNDSTRI. The rows are inserted with a
+     * prepared statement, that is executed in batches.
+     * 
+     * @param iSphereLibrary - iSphere library
+     * @param jdbcConnection - JDBC connection
+     * @param handle - search job handle
+     * @param _searchElements - search elements
+     * @param batchSize - number of rows per batch, must be greater than zero
+     * @param monitor - progress monitor or <code>null</code>
+     * @throws SQLException, when a batch could not be inserted
+     */
+    public static void setSearchElements(String iSphereLibrary, Connection jdbcConnection, int handle, List<SearchElement> _searchElements,
+        int batchSize, IProgressMonitor monitor) throws SQLException {
+
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than zero: " + batchSize); //$NON-NLS-1$
+        }
 
-                for (int idx = _start - 1; idx <= _end - 1; idx++) {
+        if (_searchElements.size() == 0) {
+            return;
+        }
 
-                    if (first) {
-                        first = false;
-                        sqlInsert.append(" ");
-                    } else {
-                        sqlInsert.append(", ");
-                    }
+        SqlHelper sqlHelper = new SqlHelper(jdbcConnection);
 
-                    sqlInsert.append("('" + Integer.toString(handle) + "', " + "'" + _searchElements.get(idx).getLibrary() + "', " + "'"
-                        + _searchElements.get(idx).getFile() + "', " + "'" + _searchElements.get(idx).getMember() + "'");
+        PreparedStatement preparedStatementInsert = null;
 
-                    sqlInsert.append(")");
-                }
+        try {
 
-                String _sqlInsert = sqlInsert.toString();
+            preparedStatementInsert = jdbcConnection.prepareStatement("INSERT INTO " + sqlHelper.getObjectName(iSphereLibrary, "FNDSTRI")
+                + " (XIHDL, XILIB, XIFILE, XIMBR) VALUES (?, ?, ?, ?)");
 
-                Statement statementInsert = null;
+            int count = 0;
+            for (SearchElement searchElement : _searchElements) {
 
-                try {
-                    statementInsert = jdbcConnection.createStatement();
-                    statementInsert.executeUpdate(_sqlInsert);
-                } catch (SQLException e) {
-                    ISpherePlugin.logError("*** Source file search, setSearchElements(): Could not insert search elements into FNDSTRI ***", e);
-                }
+                preparedStatementInsert.setInt(1, handle);
+                preparedStatementInsert.setString(2, searchElement.getLibrary());
+                preparedStatementInsert.setString(3, searchElement.getFile());
+                preparedStatementInsert.setString(4, searchElement.getMember());
+                preparedStatementInsert.addBatch();
+                count++;
 
-                if (statementInsert != null) {
-                    try {
-                        statementInsert.close();
-                    } catch (SQLException e) {
-                        e.printStackTrace();
+                if (count % batchSize == 0 || count == _searchElements.size()) {
+                    preparedStatementInsert.executeBatch();
+                    if (monitor != null) {
+                        monitor.subTask(Messages.bind(Messages.Preparing_search_elements_A_of_B, count, _searchElements.size()));
                     }
                 }
+            }
 
-                _start = _start + _elements;
-
-            } while (_end < _searchElements.size());
-
+        } finally {
+            sqlHelper.close(preparedStatementInsert);
         }
 
     }
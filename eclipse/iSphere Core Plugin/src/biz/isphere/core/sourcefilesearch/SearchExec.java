@@ -14,6 +14,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -31,10 +33,25 @@ import biz.isphere.core.annotations.CMOne;
 import biz.isphere.core.ibmi.contributions.extension.handler.IBMiHostContributionsHandler;
 import biz.isphere.core.internal.ISphereHelper;
 import biz.isphere.core.internal.MessageDialogAsync;
+import biz.isphere.core.search.GenericSearchOption;
+import biz.isphere.core.search.ISearchPartition;
+import biz.isphere.core.search.SearchCoordinator;
 import biz.isphere.core.search.SearchOptions;
 
 public class SearchExec {
 
+    /*
+     * Minimum interval between two reads of the search results, while the
+     * search job is running on the host.
+     */
+    private static final long INCREMENTAL_UPDATE_INTERVAL = 2000;
+
+    /*
+     * Minimum number of members per partition, when the search is split into
+     * partitions, that are searched by separate host jobs.
+     */
+    private static final int MIN_SEARCH_ELEMENTS_PER_PARTITION = 20;
+
     private class Search extends Job {
 
         private AS400 _as400;
@@ -109,7 +126,8 @@ public class SearchExec {
                         if (_handle > 0) {
 
                             // Append search elements to FNDSTRI.
-                            SearchElement.setSearchElements(iSphereLibrary, _jdbcConnection, _handle, _searchElements);
+                            SearchElement.setSearchElements(iSphereLibrary, _jdbcConnection, _handle, _searchElements, SearchElement.DEFAULT_BATCH_SIZE,
+                                monitor);
 
                             // Expand generic search elements in FNDSTRI.
                             new FNDSTR_resolveGenericSearchElements().run(_as400, _handle);
@@ -118,14 +136,20 @@ public class SearchExec {
 
                             monitor.beginTask(Messages.Searching, _numberOfSearchElements); //$NON-NLS-1$
 
-                            // Start the search job on the host.
-                            new DoSearch(_as400, _handle, _searchOptions, monitor).start();
+                            // Split the search elements into partitions, that
+                            // are searched by separate host jobs.
+                            List<Partition> partitions = createPartitions(_numberOfSearchElements, monitor);
+
+                            // Start the search jobs on the host.
+                            SearchCoordinator coordinator = new SearchCoordinator(partitions);
+                            coordinator.start();
 
                             int _lastCounter = 0;
+                            long _lastUpdate = System.currentTimeMillis();
 
-                            // Wait for the end of the search job.
+                            // Wait for the end of the search jobs.
                             // Read FNDSTRS to update '_counter'
-                            getStatus(monitor);
+                            _counter = coordinator.getCounter();
 
                             while (_counter != -1) {
 
@@ -133,18 +157,29 @@ public class SearchExec {
 
                                 _lastCounter = _counter;
 
+                                if (coordinator.isFailed()) {
+                                    monitor.setCanceled(true);
+                                }
+
                                 if (monitor.isCanceled()) {
-                                    cancelJob();
+                                    coordinator.cancel();
                                     _status = Status.CANCEL_STATUS;
                                     break;
                                 }
 
+                                if (isIncremental() && System.currentTimeMillis() - _lastUpdate >= INCREMENTAL_UPDATE_INTERVAL) {
+                                    for (Partition partition : partitions) {
+                                        addSearchResults(partition, false);
+                                    }
+                                    _lastUpdate = System.currentTimeMillis();
+                                }
+
                                 try {
                                     Thread.sleep(500);
                                 } catch (InterruptedException e) {
                                 }
 
-                                getStatus(monitor);
+                                _counter = coordinator.getCounter();
 
                             }
 
@@ -153,13 +188,28 @@ public class SearchExec {
                             monitor.done();
 
                             if (!monitor.isCanceled()) {
-                                _searchResults = getSearchResults(iSphereLibrary, _jdbcConnection, _handle);
+                                List<SearchResult> allSearchResults = new ArrayList<SearchResult>();
+                                for (Partition partition : partitions) {
+                                    if (isIncremental()) {
+                                        addSearchResults(partition, true);
+                                        allSearchResults.addAll(partition.searchResults);
+                                    } else {
+                                        allSearchResults.addAll(Arrays.asList(getSearchResults(iSphereLibrary, _jdbcConnection, partition.handle, null,
+                                            true)));
+                                    }
+                                }
+                                _searchResults = allSearchResults.toArray(new SearchResult[allSearchResults.size()]);
                             }
 
-                            new FNDSTR_clear().run(_as400, _handle);
+                            removePartitions(partitions);
 
                         }
 
+                    } catch (SQLException e) {
+                        ISpherePlugin.logError("*** Source file search: Could not insert search elements into FNDSTRI ***", e);
+                        MessageDialogAsync.displayBlockingError(ExceptionHelper.getLocalizedMessage(e));
+                        new FNDSTR_clear().run(_as400, _handle);
+                        _status = Status.CANCEL_STATUS;
                     } finally {
 
                         try {
@@ -181,7 +231,48 @@ public class SearchExec {
 
         }
 
-        private SearchResult[] getSearchResults(String iSphereLibrary, Connection jdbcConnection, int handle) {
+        private boolean isIncremental() {
+            return _searchPostRun instanceof IIncrementalSearchPostRun;
+        }
+
+        /**
+         * Reads the search results of a partition, that have been added to
+         * FNDSTRO since the last call, and passes them to the incremental
+         * search post run.
+         * 
+         * @param partition - partition of the search
+         * @param isComplete - specifies whether the search job has ended
+         */
+        private void addSearchResults(Partition partition, boolean isComplete) {
+
+            SearchResult[] searchResults = getSearchResults(iSphereLibrary, _jdbcConnection, partition.handle, partition.lastSearchResult, isComplete);
+            if (searchResults.length == 0) {
+                return;
+            }
+
+            partition.lastSearchResult = searchResults[searchResults.length - 1];
+            partition.searchResults.addAll(Arrays.asList(searchResults));
+
+            ((IIncrementalSearchPostRun)_searchPostRun).addResults(searchResults, _searchOptions);
+        }
+
+        /**
+         * Reads the search results from FNDSTRO. The host job processes the
+         * members in the order of library, file and member and may still add
+         * or remove the rows of the member it is searching. Therefore the
+         * result of the last member is returned only, when the search job has
+         * ended.
+         * 
+         * @param iSphereLibrary - iSphere library
+         * @param jdbcConnection - JDBC connection
+         * @param handle - search job handle
+         * @param lastSearchResult - last search result, that has been read by
+         *        the previous call or <code>null</code>
+         * @param isComplete - specifies whether the search job has ended
+         * @return search results following the last search result
+         */
+        private SearchResult[] getSearchResults(String iSphereLibrary, Connection jdbcConnection, int handle, SearchResult lastSearchResult,
+            boolean isComplete) {
 
             // String _separator;
             // try {
@@ -201,9 +292,23 @@ public class SearchExec {
 
             try {
 
-                preparedStatementSelect = jdbcConnection.prepareStatement("SELECT * FROM " + sqlHelper.getObjectName(iSphereLibrary, "FNDSTRO")
-                    + " WHERE XOHDL = ? ORDER BY XOHDL, XOLIB, XOFILE, XOMBR, XOFLCD", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+                StringBuilder sqlStatement = new StringBuilder();
+                sqlStatement.append("SELECT * FROM " + sqlHelper.getObjectName(iSphereLibrary, "FNDSTRO") + " WHERE XOHDL = ?");
+                if (lastSearchResult != null) {
+                    sqlStatement.append(" AND (XOLIB > ? OR (XOLIB = ? AND (XOFILE > ? OR (XOFILE = ? AND XOMBR > ?))))");
+                }
+                sqlStatement.append(" ORDER BY XOHDL, XOLIB, XOFILE, XOMBR, XOFLCD");
+
+                preparedStatementSelect = jdbcConnection.prepareStatement(sqlStatement.toString(), ResultSet.TYPE_SCROLL_INSENSITIVE,
+                    ResultSet.CONCUR_READ_ONLY);
                 preparedStatementSelect.setString(1, Integer.toString(handle));
+                if (lastSearchResult != null) {
+                    preparedStatementSelect.setString(2, lastSearchResult.getLibrary());
+                    preparedStatementSelect.setString(3, lastSearchResult.getLibrary());
+                    preparedStatementSelect.setString(4, lastSearchResult.getFile());
+                    preparedStatementSelect.setString(5, lastSearchResult.getFile());
+                    preparedStatementSelect.setString(6, lastSearchResult.getMember());
+                }
                 resultSet = preparedStatementSelect.executeQuery();
 
                 String _library = ""; //$NON-NLS-1$
@@ -262,7 +367,7 @@ public class SearchExec {
 
                 }
 
-                if (_searchResult != null) {
+                if (_searchResult != null && isComplete) {
 
                     SearchResultStatement[] _statements = new SearchResultStatement[alStatements.size()];
                     alStatements.toArray(_statements);
@@ -299,9 +404,10 @@ public class SearchExec {
 
         }
 
-        private void getStatus(IProgressMonitor monitor) {
+        private int getStatus(IProgressMonitor monitor, int handle) {
 
             Throwable error = null;
+            int counter = 0;
 
             // String _separator;
             // try {
@@ -319,15 +425,15 @@ public class SearchExec {
             try {
                 preparedStatementSelect = _jdbcConnection.prepareStatement("SELECT XSCNT, XSCNL FROM "
                     + sqlHelper.getObjectName(iSphereLibrary, "FNDSTRS") + " WHERE XSHDL = ?");
-                preparedStatementSelect.setInt(1, _handle);
+                preparedStatementSelect.setInt(1, handle);
                 resultSet = preparedStatementSelect.executeQuery();
                 if (resultSet.next()) {
-                    _counter = resultSet.getInt("XSCNT"); //$NON-NLS-1$
+                    counter = resultSet.getInt("XSCNT"); //$NON-NLS-1$
                 } else {
-                    ISpherePlugin.logError("*** Source file search: Could not read status record (" + _handle + ") from file FNDSTRS ***", error);
+                    ISpherePlugin.logError("*** Source file search: Could not read status record (" + handle + ") from file FNDSTRS ***", error);
                     monitor.setCanceled(true);
                     MessageDialogAsync.displayBlockingError(Messages.bind(Messages.Could_not_read_status_from_file_B_A_for_search_job_handle_C, new Object[] {
-                        "FNDSTRS", iSphereLibrary, new Integer(_handle) }));
+                        "FNDSTRS", iSphereLibrary, new Integer(handle) }));
                 }
             } catch (SQLException e) {
                 error = e;
@@ -355,9 +461,10 @@ public class SearchExec {
                 ISpherePlugin.logError("*** Source file search: Unexpected connection error. ***", error);
             }
 
+            return counter;
         }
 
-        private void cancelJob() {
+        private void cancelJob(int handle) {
 
             // String _separator;
             // try {
@@ -374,7 +481,7 @@ public class SearchExec {
             try {
                 preparedStatementUpdate = _jdbcConnection.prepareStatement("UPDATE " + sqlHelper.getObjectName(iSphereLibrary, "FNDSTRS")
                     + " SET XSCNL = '*YES' WHERE XSHDL = ?");
-                preparedStatementUpdate.setInt(1, _handle);
+                preparedStatementUpdate.setInt(1, handle);
                 preparedStatementUpdate.executeUpdate();
             } catch (SQLException e) {
                 ISpherePlugin.logError("*** Could not cancel host job of source file search ***", e);
@@ -389,26 +496,143 @@ public class SearchExec {
 
         }
 
-    }
+        /**
+         * Splits the resolved search elements of the search handle into
+         * partitions of consecutive members. Each partition gets its own
+         * handle and its own connection, because the host jobs are the remote
+         * command server jobs of the connections. The search is executed as a
+         * single partition, when the partitions cannot be created.
+         * 
+         * @param numberOfSearchElements - number of resolved search elements
+         * @param monitor - progress monitor
+         * @return partitions of the search
+         */
+        private List<Partition> createPartitions(int numberOfSearchElements, IProgressMonitor monitor) {
+
+            List<Partition> partitions = new ArrayList<Partition>();
+
+            int numberOfPartitions = Math.min(_searchOptions.getGenericIntOption(GenericSearchOption.PARALLEL_JOBS, 1), numberOfSearchElements
+                / MIN_SEARCH_ELEMENTS_PER_PARTITION);
+
+            if (numberOfPartitions > 1) {
+                try {
 
-    private class DoSearch extends Thread {
+                    for (List<SearchElement> searchElements : SearchCoordinator.split(getResolvedSearchElements(), numberOfPartitions)) {
 
-        private AS400 _as400;
-        private int _handle;
-        private SearchOptions _searchOptions;
-        private IProgressMonitor _monitor;
+                        int handle = new FNDSTR_getHandle().run(_as400);
+                        if (handle <= 0) {
+                            throw new Exception("Could not get handle of partition: " + (partitions.size() + 1)); //$NON-NLS-1$
+                        }
 
-        public DoSearch(AS400 _as400, int _handle, SearchOptions _searchOptions, IProgressMonitor _monitor) {
-            this._as400 = _as400;
-            this._handle = _handle;
-            this._searchOptions = _searchOptions;
-            this._monitor = _monitor;
+                        AS400 system = new AS400(_as400);
+                        partitions.add(new Partition(system, handle, searchElements.size(), monitor));
+
+                        SearchElement.setSearchElements(iSphereLibrary, _jdbcConnection, handle, searchElements, SearchElement.DEFAULT_BATCH_SIZE, null);
+
+                        if (!ISphereHelper.setCurrentLibrary(system, iSphereLibrary)) {
+                            throw new Exception("Could not set current library of partition: " + partitions.size()); //$NON-NLS-1$
+                        }
+                    }
+
+                    new FNDSTR_clear().run(_as400, _handle);
+
+                    return partitions;
+
+                } catch (Exception e) {
+                    ISpherePlugin.logError("*** Could not split source file search into partitions. Searching with a single job. ***", e);
+                    removePartitions(partitions);
+                    partitions.clear();
+                }
+            }
+
+            partitions.add(new Partition(_as400, _handle, numberOfSearchElements, monitor));
+
+            return partitions;
         }
 
-        @Override
-        public void run() {
-            if (new FNDSTR_search().run(_as400, _handle, _searchOptions) < 0) {
-                _monitor.setCanceled(true);
+        /**
+         * Removes the search data of the partitions from the host and closes
+         * their connections.
+         * 
+         * @param partitions - partitions of the search
+         */
+        private void removePartitions(List<Partition> partitions) {
+
+            for (Partition partition : partitions) {
+                new FNDSTR_clear().run(_as400, partition.handle);
+                if (partition.system != _as400) {
+                    partition.system.disconnectAllServices();
+                }
+            }
+        }
+
+        private List<SearchElement> getResolvedSearchElements() throws SQLException {
+
+            SqlHelper sqlHelper = new SqlHelper(_jdbcConnection);
+
+            List<SearchElement> searchElements = new ArrayList<SearchElement>();
+
+            PreparedStatement preparedStatementSelect = null;
+            ResultSet resultSet = null;
+
+            try {
+
+                preparedStatementSelect = _jdbcConnection.prepareStatement("SELECT XILIB, XIFILE, XIMBR FROM "
+                    + sqlHelper.getObjectName(iSphereLibrary, "FNDSTRI") + " WHERE XIHDL = ? ORDER BY XILIB, XIFILE, XIMBR");
+                preparedStatementSelect.setInt(1, _handle);
+                resultSet = preparedStatementSelect.executeQuery();
+
+                while (resultSet.next()) {
+                    SearchElement searchElement = new SearchElement();
+                    searchElement.setLibrary(resultSet.getString("XILIB").trim()); //$NON-NLS-1$
+                    searchElement.setFile(resultSet.getString("XIFILE").trim()); //$NON-NLS-1$
+                    searchElement.setMember(resultSet.getString("XIMBR").trim()); //$NON-NLS-1$
+                    searchElements.add(searchElement);
+                }
+
+            } finally {
+                sqlHelper.close(resultSet);
+                sqlHelper.close(preparedStatementSelect);
+            }
+
+            return searchElements;
+        }
+
+        /**
+         * Partition of the resolved search elements, that is searched by its
+         * own host job.
+         */
+        private class Partition implements ISearchPartition {
+
+            private AS400 system;
+            private int handle;
+            private int numberOfSearchElements;
+            private IProgressMonitor monitor;
+            private List<SearchResult> searchResults;
+            private SearchResult lastSearchResult;
+
+            public Partition(AS400 system, int handle, int numberOfSearchElements, IProgressMonitor monitor) {
+                this.system = system;
+                this.handle = handle;
+                this.numberOfSearchElements = numberOfSearchElements;
+                this.monitor = monitor;
+                this.searchResults = new ArrayList<SearchResult>();
+            }
+
+            public int getNumberOfSearchElements() {
+                return numberOfSearchElements;
+            }
+
+            public boolean search() {
+                return new FNDSTR_search().run(system, handle, _searchOptions) >= 0;
+            }
+
+            public int getCounter() {
+                return getStatus(monitor, handle);
+            }
+
+            public void cancel() {
+                cancelJob(handle);
             }
         }
 
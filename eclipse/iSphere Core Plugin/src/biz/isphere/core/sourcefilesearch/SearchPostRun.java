@@ -10,12 +10,13 @@ package biz.isphere.core.sourcefilesearch;
 
 import java.util.Map;
 
+import org.eclipse.swt.custom.CTabItem;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PartInitException;
 
 import biz.isphere.core.search.SearchOptions;
 
-public class SearchPostRun implements ISearchPostRun {
+public class SearchPostRun implements IIncrementalSearchPostRun {
 
     private class ShowView extends Thread {
 
@@ -43,7 +44,11 @@ public class SearchPostRun implements ISearchPostRun {
                     try {
                         ViewSearchResults viewSearchResults = (ViewSearchResults)(_workbenchWindow.getActivePage()
                             .showView("biz.isphere.core.sourcefilesearch.ViewSearchResults")); //$NON-NLS-1$
-                        viewSearchResults.addTabItem(_connectionName, _searchString, _searchResults, _searchOptions);
+                        if (_tabItem == null) {
+                            _tabItem = viewSearchResults.addTabItem(_connectionName, _searchString, _searchResults, _searchOptions);
+                        } else {
+                            viewSearchResults.addSearchResults(_tabItem, _searchResults);
+                        }
                     } catch (PartInitException e) {
                         e.printStackTrace();
                     }
@@ -57,6 +62,8 @@ public class SearchPostRun implements ISearchPostRun {
     private String _searchString;
     private Map<String, SearchElement> _searchElements;
     private IWorkbenchWindow _workbenchWindow;
+    private boolean _isShown;
+    private CTabItem _tabItem;
 
     public Object getConnection() {
         return _connection;
@@ -98,19 +105,26 @@ public class SearchPostRun implements ISearchPostRun {
         this._workbenchWindow = _workbenchWindow;
     }
 
-    public void run(SearchResult[] _searchResults, SearchOptions _searchOptions) {
+    /**
+     * Adds the search results, that have been found while the search job is
+     * running. The first call opens the view, the following calls add the
+     * search results to the tab of the first call.
+     */
+    public void addResults(SearchResult[] _searchResults, SearchOptions _searchOptions) {
 
-        if (_searchResults != null) {
+        setDescriptions(_searchResults);
 
-            for (int idx = 0; idx < _searchResults.length; idx++) {
+        _isShown = true;
 
-                String key = _searchResults[idx].getLibrary() + "-" + _searchResults[idx].getFile() + "-" + _searchResults[idx].getMember(); //$NON-NLS-1$ //$NON-NLS-2$
-                SearchElement _searchElement = _searchElements.get(key);
-                if (_searchElement != null) {
-                    _searchResults[idx].setDescription(_searchElement.getDescription());
-                }
+        // Called on the search job thread, to keep the order of the updates.
+        new ShowView(_workbenchWindow, _connectionName, _searchString, _searchResults, _searchOptions).run();
+    }
 
-            }
+    public void run(SearchResult[] _searchResults, SearchOptions _searchOptions) {
+
+        if (_searchResults != null && !_isShown) {
+
+            setDescriptions(_searchResults);
 
             new ShowView(_workbenchWindow, _connectionName, _searchString, _searchResults, _searchOptions).start();
 
@@ -118,4 +132,18 @@ public class SearchPostRun implements ISearchPostRun {
 
     }
 
+    private void setDescriptions(SearchResult[] _searchResults) {
+
+        for (int idx = 0; idx < _searchResults.length; idx++) {
+
+            String key = _searchResults[idx].getLibrary() + "-" + _searchResults[idx].getFile() + "-" + _searchResults[idx].getMember(); //$NON-NLS-1$ //$NON-NLS-2$
+            SearchElement _searchElement = _searchElements.get(key);
+            if (_searchElement != null) {
+                _searchResults[idx].setDescription(_searchElement.getDescription());
+            }
+
+        }
+
+    }
+
 }
@@ -41,6 +41,10 @@ public class SearchResultTab implements ISearchResultTab, Serializable {
         return searchResult;
     }
 
+    public void setSearchResult(SearchResult[] searchResult) {
+        this.searchResult = searchResult;
+    }
+
     public SearchOptions getSearchOptions() {
         return searchOptions;
     }
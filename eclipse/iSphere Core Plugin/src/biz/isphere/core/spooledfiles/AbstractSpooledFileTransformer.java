@@ -9,13 +9,21 @@
 package biz.isphere.core.spooledfiles;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 
 import biz.isphere.base.internal.StringHelper;
 import biz.isphere.core.ISpherePlugin;
 import biz.isphere.core.ccsid.CcsidUtil;
+import biz.isphere.core.preferences.Preferences;
 
 import com.ibm.as400.access.PrintObject;
 import com.ibm.as400.access.PrintParameterList;
@@ -42,14 +50,25 @@ public abstract class AbstractSpooledFileTransformer implements ISpooledFileTran
      */
     protected static final byte DC1 = 0x11;
 
+    /**
+     * Statuses of spooled files, whose content cannot change anymore.
+     */
+    private static final Set<String> FINAL_STATUSES = new HashSet<String>(Arrays.asList(new String[] { "*READY", "*HELD", "*SAVED" })); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
     private String connectionName;
     private SpooledFile spooledFile;
     private DecimalFormat jobNumberFormat;
 
+    private boolean isAttributesLoaded;
+    private Integer jobCcsid;
     private Float cpi;
     private Integer lpi;
     private Float pageWidth;
     private Float pageHeight;
+    private String userData;
+    private Integer pages;
+
+    private boolean isCacheBypassed;
 
     public AbstractSpooledFileTransformer(String connectionName, SpooledFile spooledFile) {
         this.connectionName = connectionName;
@@ -57,6 +76,17 @@ public abstract class AbstractSpooledFileTransformer implements ISpooledFileTran
         this.jobNumberFormat = new DecimalFormat("000000");
     }
 
+    /**
+     * Specifies whether the spooled file cache is bypassed. The cache is
+     * bypassed for bulk exports, which would otherwise evict the spooled files
+     * that are displayed by the user.
+     * 
+     * @param isCacheBypassed - <code>true</code> to bypass the cache
+     */
+    public void setCacheBypassed(boolean isCacheBypassed) {
+        this.isCacheBypassed = isCacheBypassed;
+    }
+
     protected String getISphereLibrary() {
         return ISpherePlugin.getISphereLibrary(connectionName);
     }
@@ -71,31 +101,18 @@ public abstract class AbstractSpooledFileTransformer implements ISpooledFileTran
 
     protected String getUserData() {
 
-        String userdata;
-        try {
-            userdata = spooledFile.getStringAttribute(PrintObject.ATTR_USERDATA);
-        } catch (Exception e) {
-            userdata = null;
-        }
+        loadAttributes();
 
-        if (userdata == null) {
+        if (userData == null) {
             return "";
         }
 
-        return userdata;
+        return userData;
     }
 
     protected float getPageHeightInLines() {
 
-        if (pageHeight != null) {
-            return pageHeight;
-        }
-
-        try {
-            pageHeight = spooledFile.getFloatAttribute(PrintObject.ATTR_PAGELEN);
-        } catch (Exception e) {
-            pageHeight = null;
-        }
+        loadAttributes();
 
         if (pageHeight == null) {
             return 66;
@@ -106,15 +123,7 @@ public abstract class AbstractSpooledFileTransformer implements ISpooledFileTran
 
     protected float getPageWidthInChars() {
 
-        if (pageWidth != null) {
-            return pageWidth;
-        }
-
-        try {
-            pageWidth = spooledFile.getFloatAttribute(PrintObject.ATTR_PAGEWIDTH);
-        } catch (Exception e) {
-            pageWidth = null;
-        }
+        loadAttributes();
 
         if (pageWidth == null) {
             return 132;
@@ -125,15 +134,7 @@ public abstract class AbstractSpooledFileTransformer implements ISpooledFileTran
 
     protected int getLPI() {
 
-        if (lpi != null) {
-            return lpi;
-        }
-
-        try {
-            lpi = spooledFile.getIntegerAttribute(PrintObject.ATTR_LPI);
-        } catch (Exception e) {
-            lpi = null;
-        }
+        loadAttributes();
 
         if (lpi == null) {
             return 6;
@@ -144,8 +145,64 @@ public abstract class AbstractSpooledFileTransformer implements ISpooledFileTran
 
     protected float getCPI() {
 
-        if (cpi != null) {
-            return cpi;
+        loadAttributes();
+
+        if (cpi == null) {
+            return 10;
+        }
+
+        return cpi.floatValue();
+    }
+
+    /**
+     * Returns the number of pages of the spooled file.
+     * 
+     * @return number of pages or <code>0</code>, if the number of pages is
+     *         not known
+     */
+    protected int getNumberOfPages() {
+
+        loadAttributes();
+
+        if (pages == null) {
+            return 0;
+        }
+
+        return pages.intValue();
+    }
+
+    /**
+     * Retrieves the print attributes of the spooled file, unless they have
+     * been loaded from the spooled file cache.
+     */
+    private void loadAttributes() {
+
+        if (isAttributesLoaded) {
+            return;
+        }
+
+        try {
+            jobCcsid = spooledFile.getIntegerAttribute(PrintObject.ATTR_JOBCCSID);
+        } catch (Exception e) {
+            jobCcsid = null;
+        }
+
+        try {
+            pageHeight = spooledFile.getFloatAttribute(PrintObject.ATTR_PAGELEN);
+        } catch (Exception e) {
+            pageHeight = null;
+        }
+
+        try {
+            pageWidth = spooledFile.getFloatAttribute(PrintObject.ATTR_PAGEWIDTH);
+        } catch (Exception e) {
+            pageWidth = null;
+        }
+
+        try {
+            lpi = spooledFile.getIntegerAttribute(PrintObject.ATTR_LPI);
+        } catch (Exception e) {
+            lpi = null;
         }
 
         try {
@@ -154,34 +211,176 @@ public abstract class AbstractSpooledFileTransformer implements ISpooledFileTran
             cpi = null;
         }
 
-        if (cpi == null) {
-            return 10;
+        try {
+            userData = spooledFile.getStringAttribute(PrintObject.ATTR_USERDATA);
+        } catch (Exception e) {
+            userData = null;
         }
 
-        return cpi.floatValue();
+        try {
+            pages = spooledFile.getIntegerAttribute(PrintObject.ATTR_PAGES);
+        } catch (Exception e) {
+            pages = null;
+        }
+
+        isAttributesLoaded = true;
     }
 
-    public boolean transformSpooledFile(String target) throws Exception {
+    /**
+     * Returns the transformed data stream of the spooled file. The data stream
+     * is taken from the spooled file cache. Spooled files that are not yet
+     * cached are retrieved from the host and added to the cache.
+     * 
+     * @return transformed data stream
+     * @throws Exception
+     */
+    private InputStream getTransformedInputStream() throws Exception {
 
-        BufferedReader reader = null;
+        String key = getCacheKey();
+        if (key == null) {
+            return getTransformedInputStreamFromHost();
+        }
 
-        boolean cleanUp = false;
+        SpooledFileContentCache cache = SpooledFileContentCache.getInstance();
+
+        SpooledFileContent content = cache.get(key);
+        if (content == null) {
+
+            InputStream in = getTransformedInputStreamFromHost();
+
+            try {
+                content = cache.put(key, getAttributes(), in);
+            } catch (IOException e) {
+                ISpherePlugin.logError("*** Could not add spooled file to cache: " + key + " ***", e); //$NON-NLS-1$ //$NON-NLS-2$
+                content = null;
+            } finally {
+                in.close();
+            }
+
+            if (content == null) {
+                return getTransformedInputStreamFromHost();
+            }
+        }
+
+        jobCcsid = content.getJobCcsid();
+        pageHeight = content.getPageLength();
+        pageWidth = content.getPageWidth();
+        lpi = content.getLPI();
+        cpi = content.getCPI();
+        userData = content.getUserData();
+        pages = content.getPages();
+        isAttributesLoaded = true;
+
+        return content.getInputStream();
+    }
+
+    private InputStream getTransformedInputStreamFromHost() throws Exception {
+
+        QSYSObjectPathName wscst = getWorkstationCustomizationObject();
+
+        PrintParameterList transformParameters = new PrintParameterList();
+        transformParameters.setParameter(PrintObject.ATTR_WORKSTATION_CUST_OBJECT, wscst.getPath());
+        transformParameters.setParameter(PrintObject.ATTR_MFGTYPE, "*WSCST");
+
+        return spooledFile.getTransformedInputStream(transformParameters);
+    }
 
+    private SpooledFileContent getAttributes() {
+
+        loadAttributes();
+
+        SpooledFileContent attributes = new SpooledFileContent();
+        attributes.setJobCcsid(jobCcsid);
+        attributes.setPageLength(pageHeight);
+        attributes.setPageWidth(pageWidth);
+        attributes.setLPI(lpi);
+        attributes.setCPI(cpi);
+        attributes.setUserData(userData);
+        attributes.setPages(pages);
+
+        return attributes;
+    }
+
+    /**
+     * Returns the key of the spooled file in the spooled file cache. The
+     * *WSCST objects of iSphere produce the same data stream for all output
+     * formats. Therefore the key does not include the output format. The
+     * number of pages is part of the key as a second line of defense against
+     * spooled files that have changed.
+     * 
+     * @return key of the spooled file or <code>null</code>, if the spooled
+     *         file cannot be cached
+     */
+    private String getCacheKey() {
+
+        if (isCacheBypassed || !Preferences.getInstance().isSpooledFileCacheEnabled()) {
+            return null;
+        }
+
+        /*
+         * Refresh the attributes, because the attributes of the spooled file
+         * list may be outdated. Open spooled files may still grow. Hence only
+         * spooled files with a final status are cached.
+         */
+        String status;
         try {
+            spooledFile.update();
+            status = spooledFile.getStringAttribute(PrintObject.ATTR_SPLFSTATUS);
+        } catch (Exception e) {
+            return null;
+        }
+
+        if (!isFinalStatus(status)) {
+            return null;
+        }
+
+        loadAttributes();
+        if (pages == null) {
+            return null;
+        }
+
+        String creationDate = spooledFile.getCreateDate();
+        String creationTime = spooledFile.getCreateTime();
+        if (StringHelper.isNullOrEmpty(creationDate) || StringHelper.isNullOrEmpty(creationTime)) {
+            return null;
+        }
+
+        String delimiter = "/"; //$NON-NLS-1$
+
+        return spooledFile.getSystem().getSystemName() + delimiter + spooledFile.getJobSysName() + delimiter + getJob() + delimiter
+            + getName() + delimiter + spooledFile.getNumber() + delimiter + creationDate + delimiter + creationTime + delimiter + pages;
+    }
+
+    private boolean isFinalStatus(String status) {
+
+        if (status == null) {
+            return false;
+        }
+
+        return FINAL_STATUSES.contains(status.trim());
+    }
+
+    public boolean transformSpooledFile(String target) throws Exception {
+        return transformSpooledFile(target, new NullProgressMonitor());
+    }
+
+    public boolean transformSpooledFile(String target, IProgressMonitor monitor) throws Exception {
 
-            QSYSObjectPathName wscst = getWorkstationCustomizationObject();
+        BufferedReader reader = null;
 
-            PrintParameterList transformParameters = new PrintParameterList();
-            transformParameters.setParameter(PrintObject.ATTR_WORKSTATION_CUST_OBJECT, wscst.getPath());
-            transformParameters.setParameter(PrintObject.ATTR_MFGTYPE, "*WSCST");
+        try {
 
-            InputStream in = spooledFile.getTransformedInputStream(transformParameters);
+            InputStream in = getTransformedInputStream();
 
             // TODO: check CcsidUtil and ebcdicAsciiMapping.txt
-            int ccsid = spooledFile.getIntegerAttribute(PrintObject.ATTR_JOBCCSID).intValue();
+            loadAttributes();
+            if (jobCcsid == null) {
+                in.close();
+                throw new Exception("Could not retrieve job CCSID of spooled file: " + getName()); //$NON-NLS-1$
+            }
 
             CcsidUtil util = new CcsidUtil();
-            String ascii = util.getAsciiCodepage(ccsid);
+            String ascii = util.getAsciiCodepage(jobCcsid.intValue());
 
             if (ascii != null) {
                 reader = new BufferedReader(new InputStreamReader(in, ascii));
@@ -189,20 +388,59 @@ public abstract class AbstractSpooledFileTransformer implements ISpooledFileTran
                 reader = new BufferedReader(new InputStreamReader(in));
             }
 
+            return transformSpooledFile(reader, target, monitor);
+
+        } finally {
+            if (reader != null) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Transforms the data stream of a spooled file page by page. A page is
+     * passed to the printer line by line and is finished with
+     * {@link #formfeed()}, before the next page is read. Therefore the memory
+     * used for transforming a spooled file does not depend on the number of
+     * pages, as long as the printer writes finished pages to the target.
+     * <p>
+     * The progress monitor is advanced by one for each page. The
+     * transformation stops, when the progress monitor is canceled.
+     * 
+     * @param reader - transformed data stream of the spooled file
+     * @param target - path name of the output file
+     * @param monitor - progress monitor
+     * @return <code>true</code>, when the spooled file has been transformed,
+     *         <code>false</code>, when the transformation has been canceled
+     * @throws Exception
+     */
+    protected boolean transformSpooledFile(BufferedReader reader, String target, IProgressMonitor monitor) throws Exception {
+
+        boolean cleanUp = false;
+
+        int numPages = getNumberOfPages();
+        if (numPages > 0) {
+            monitor.beginTask(getName(), numPages);
+        } else {
+            monitor.beginTask(getName(), IProgressMonitor.UNKNOWN);
+        }
+
+        try {
+
             openPrinter(target);
             initPrinter();
 
             String line;
             boolean isDelayedFormfeed = false;
-            while ((line = reader.readLine()) != null) {
+            while (!monitor.isCanceled() && (line = reader.readLine()) != null) {
                 if (isDelayedFormfeed) {
-                    formfeed();
+                    startNewPage(monitor);
                     isDelayedFormfeed = false;
                 }
 
                 if (line.startsWith(FF)) {
                     line = line.substring(1);
-                    formfeed();
+                    startNewPage(monitor);
                     line = handleDC1(line);
                     if (line.length() > 1) {
                         print(line);
@@ -224,21 +462,28 @@ public abstract class AbstractSpooledFileTransformer implements ISpooledFileTran
                 }
             }
 
+            if (monitor.isCanceled()) {
+                return false;
+            }
+
             resetPrinter();
+            monitor.worked(1);
 
             cleanUp = true;
 
         } finally {
-            if (reader != null) {
-                reader.close();
-            }
-
             closePrinter();
+            monitor.done();
         }
 
         return cleanUp;
     }
 
+    private void startNewPage(IProgressMonitor monitor) throws Exception {
+        formfeed();
+        monitor.worked(1);
+    }
+
     /**
      * Strips that special "fake" lines used by *SCS printer files for BOLD and
      * UNDERLINED printing.
@@ -385,7 +630,8 @@ public abstract class AbstractSpooledFileTransformer implements ISpooledFileTran
     /**
      * Starts a new page.
      * <p>
-     * Is not used for the first page.
+     * Is not used for the first page. The previous page is complete and
+     * should be written to the target, instead of keeping it in memory.
      * 
      * @throws Exception
      */
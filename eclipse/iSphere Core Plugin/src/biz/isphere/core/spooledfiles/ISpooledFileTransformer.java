@@ -8,8 +8,12 @@
 
 package biz.isphere.core.spooledfiles;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+
 public interface ISpooledFileTransformer {
 
     public boolean transformSpooledFile(String target) throws Exception;
 
+    public boolean transformSpooledFile(String target, IProgressMonitor monitor) throws Exception;
+
 }
@@ -17,6 +17,7 @@ import java.util.Date;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.dialogs.MessageDialog;
@@ -668,8 +669,11 @@ public class SpooledFile implements ISpooledFileBrief, IPropertySource {
                 try {
 
                     source = ISPHERE_IFS_TMP_DIRECTORY + IBMI_FILE_SEPARATOR + getTemporaryName(format);
-                    final IFile file = getLocalSpooledFile(format, source);
+                    final IFile file = getLocalSpooledFile(format, source, monitor);
                     if (file == null) {
+                        if (monitor.isCanceled()) {
+                            return Status.CANCEL_STATUS;
+                        }
                         MessageDialogAsync.displayNonBlockingError(shell, Messages.Could_not_create_stream_file_for_spooled_file_on_host);
                         return Status.OK_STATUS;
                     }
@@ -721,7 +725,7 @@ public class SpooledFile implements ISpooledFileBrief, IPropertySource {
         try {
 
             source = ISPHERE_IFS_TMP_DIRECTORY + IBMI_FILE_SEPARATOR + getTemporaryName(format);
-            IFile file = getLocalSpooledFile(format, source);
+            IFile file = getLocalSpooledFile(format, source, new NullProgressMonitor());
             if (file == null) {
                 return Messages.Could_not_create_stream_file_for_spooled_file_on_host;
             }
@@ -792,27 +796,27 @@ public class SpooledFile implements ISpooledFileBrief, IPropertySource {
     public IFile downloadSpooledFile(String format, IFile target) throws Exception {
 
         String source = ISPHERE_IFS_TMP_DIRECTORY + IBMI_FILE_SEPARATOR + getTemporaryName(format);
-        IFile file = getLocalSpooledFile(format, source, target);
+        IFile file = getLocalSpooledFile(format, source, target, new NullProgressMonitor());
 
         return file;
     }
 
-    private IFile getLocalSpooledFile(String format, String source) throws Exception {
+    private IFile getLocalSpooledFile(String format, String source, IProgressMonitor monitor) throws Exception {
 
         // CHANGED: Rz, 29.05.2018
         IFile target = ISpherePlugin.getDefault().getSpooledFilesProject().getFile(getTemporaryName(format)); // .getLocation().toOSString();
 
-        return getLocalSpooledFile(format, source, target);
+        return getLocalSpooledFile(format, source, target, monitor);
     }
 
     // CHANGED: Rz, 29.05.2018
-    private IFile getLocalSpooledFile(String format, String source, IFile target) throws Exception {
+    private IFile getLocalSpooledFile(String format, String source, IFile target, IProgressMonitor monitor) throws Exception {
 
         boolean hasSpooledFile = false;
 
         if (doTransformSpooledFile(format)) {
             // CHANGED: Rz, 29.05.2018
-            hasSpooledFile = transformSpooledFile(format, target.getLocation().toOSString());
+            hasSpooledFile = transformSpooledFile(format, target.getLocation().toOSString(), monitor);
         } else {
             if (createStreamFile(format)) {
                 // CHANGED: Rz, 29.05.2018
@@ -995,9 +999,13 @@ public class SpooledFile implements ISpooledFileBrief, IPropertySource {
         return mask.replaceAll(variable, value.replaceAll("\\$", "\\\\\\$"));
     }
 
-    private boolean transformSpooledFile(String format, String target) throws Exception {
+    private boolean transformSpooledFile(String format, String target, IProgressMonitor monitor) throws Exception {
+        return transformSpooledFile(format, target, monitor, false);
+    }
+
+    private boolean transformSpooledFile(String format, String target, IProgressMonitor monitor, boolean isCacheBypassed) throws Exception {
 
-        ISpooledFileTransformer transformer = null;
+        AbstractSpooledFileTransformer transformer = null;
 
         if (IPreferences.OUTPUT_FORMAT_TEXT.equals(format)) {
             transformer = new SpooledFileTransformerText(connectionName, getToolboxSpooledFile());
@@ -1009,7 +1017,9 @@ public class SpooledFile implements ISpooledFileBrief, IPropertySource {
             return false;
         }
 
-        return transformer.transformSpooledFile(target);
+        transformer.setCacheBypassed(isCacheBypassed);
+
+        return transformer.transformSpooledFile(target, monitor);
 
     }
 
@@ -1148,6 +1158,22 @@ public class SpooledFile implements ISpooledFileBrief, IPropertySource {
 
     public String saveToDirectory(String format, String directory) {
 
+        String file = getFileInDirectory(format, directory);
+
+        return saveInternally(format, file);
+
+    }
+
+    /**
+     * Returns the path of the file that is created by
+     * {@link #saveToDirectory(String, String)}.
+     * 
+     * @param format - output format
+     * @param directory - target directory
+     * @return path of the target file
+     */
+    public String getFileInDirectory(String format, String directory) {
+
         String fileExtension = "";
         if (format.equals(IPreferences.OUTPUT_FORMAT_TEXT)) {
             fileExtension = ".txt";
@@ -1160,8 +1186,89 @@ public class SpooledFile implements ISpooledFileBrief, IPropertySource {
         String file = new File(directory, replaceVariables(Preferences.getInstance().getQualifiedSpooledFileName() + fileExtension, format))
             .getPath();
 
-        return saveInternally(format, file);
+        return file;
+    }
+
+    /**
+     * Saves the spooled file to a given file for exporting it. Other than
+     * {@link #saveToDirectory(String, String)}, the spooled file is neither
+     * added to the spooled file cache nor is the save directory changed.
+     * Errors are thrown to the caller and a partially written file is deleted.
+     * An error deleting the temporary stream file on the host is only logged,
+     * because the spooled file has been saved.
+     * 
+     * @param format - output format
+     * @param file - path of the target file
+     * @throws Exception
+     */
+    public void exportToFile(String format, String file) throws Exception {
+
+        String source = ISPHERE_IFS_TMP_DIRECTORY + IBMI_FILE_SEPARATOR + getTemporaryName(format);
+
+        boolean hasSpooledFile = false;
+
+        try {
+
+            if (doTransformSpooledFile(format)) {
+                hasSpooledFile = transformSpooledFile(format, file, new NullProgressMonitor(), true);
+            } else {
+                if (createStreamFile(format)) {
+                    hasSpooledFile = uploadStreamFile(source, file);
+                }
+            }
+
+            if (!hasSpooledFile) {
+                throw new Exception(Messages.Could_not_create_stream_file_for_spooled_file_on_host);
+            }
 
+        } finally {
+
+            if (!hasSpooledFile) {
+                File partialFile = new File(file);
+                if (partialFile.exists()) {
+                    partialFile.delete();
+                }
+            }
+        }
+
+        try {
+            deleteStreamFile(source);
+        } catch (Exception e) {
+            ISpherePlugin.logError("*** Could not delete temporary stream file " + source + " ***", e); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    /**
+     * Returns a copy of this spooled file, that uses a given system for
+     * accessing the host, e.g. for saving spooled files concurrently.
+     * 
+     * @param system - system that is used by the copy
+     * @return copy of the spooled file
+     */
+    public SpooledFile copy(AS400 system) {
+
+        SpooledFile spooledFile = new SpooledFile();
+        spooledFile.setAS400(system);
+        spooledFile.setFile(getFile());
+        spooledFile.setFileNumber(getFileNumber());
+        spooledFile.setJobName(getJobName());
+        spooledFile.setJobUser(getJobUser());
+        spooledFile.setJobNumber(getJobNumber());
+        spooledFile.setJobSystem(getJobSystem());
+        spooledFile.setCreationDate(getCreationDate());
+        spooledFile.setCreationTime(getCreationTime());
+        spooledFile.setStatus(getStatus());
+        spooledFile.setOutputQueue(getOutputQueue());
+        spooledFile.setOutputQueueLibrary(getOutputQueueLibrary());
+        spooledFile.setOutputPriority(getOutputPriority());
+        spooledFile.setUserData(getUserData());
+        spooledFile.setFormType(getFormType());
+        spooledFile.setCopies(getCopies());
+        spooledFile.setPages(getPages());
+        spooledFile.setCurrentPage(getCurrentPage());
+        spooledFile.setConnectionName(getConnectionName());
+
+        return spooledFile;
     }
 
     private String saveInternally(String format, String file) {
@@ -1179,7 +1286,7 @@ public class SpooledFile implements ISpooledFileBrief, IPropertySource {
             try {
 
                 if (doTransformSpooledFile) {
-                    hasSpooledFile = transformSpooledFile(format, target);
+                    hasSpooledFile = transformSpooledFile(format, target, new NullProgressMonitor());
                 } else {
                     if (createStreamFile(format)) {
                         hasSpooledFile = uploadStreamFile(source, target);
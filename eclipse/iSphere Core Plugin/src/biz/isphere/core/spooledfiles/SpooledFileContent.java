@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.spooledfiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Transformed data stream and print attributes of a spooled file, as used by
+ * the {@link AbstractSpooledFileTransformer}. Attributes that could not be
+ * retrieved are <code>null</code>.
+ */
+class SpooledFileContent {
+
+    private Integer jobCcsid;
+    private Float pageLength;
+    private Float pageWidth;
+    private Integer lpi;
+    private Float cpi;
+    private String userData;
+    private Integer pages;
+
+    private InputStream inputStream;
+
+    public Integer getJobCcsid() {
+        return jobCcsid;
+    }
+
+    public void setJobCcsid(Integer jobCcsid) {
+        this.jobCcsid = jobCcsid;
+    }
+
+    public Float getPageLength() {
+        return pageLength;
+    }
+
+    public void setPageLength(Float pageLength) {
+        this.pageLength = pageLength;
+    }
+
+    public Float getPageWidth() {
+        return pageWidth;
+    }
+
+    public void setPageWidth(Float pageWidth) {
+        this.pageWidth = pageWidth;
+    }
+
+    public Integer getLPI() {
+        return lpi;
+    }
+
+    public void setLPI(Integer lpi) {
+        this.lpi = lpi;
+    }
+
+    public Float getCPI() {
+        return cpi;
+    }
+
+    public void setCPI(Float cpi) {
+        this.cpi = cpi;
+    }
+
+    public String getUserData() {
+        return userData;
+    }
+
+    public void setUserData(String userData) {
+        this.userData = userData;
+    }
+
+    public Integer getPages() {
+        return pages;
+    }
+
+    public void setPages(Integer pages) {
+        this.pages = pages;
+    }
+
+    /**
+     * Returns the transformed data stream of the spooled file. The stream must
+     * be closed by the caller.
+     *
+     * @return transformed data stream
+     */
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    public void setInputStream(InputStream inputStream) {
+        this.inputStream = inputStream;
+    }
+
+    public void close() throws IOException {
+
+        if (inputStream != null) {
+            inputStream.close();
+            inputStream = null;
+        }
+    }
+}
@@ -0,0 +1,455 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.spooledfiles;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import biz.isphere.core.ISpherePlugin;
+import biz.isphere.core.preferences.Preferences;
+
+/**
+ * Cache of transformed spooled files. The data stream that is returned by the
+ * host for the *WSCST objects of iSphere and the print attributes used by the
+ * transformers are stored in the state location of the plug-in. Opening a
+ * spooled file again, either in the same or in another format, does not go
+ * back to the host.
+ * <p>
+ * The spooled files are identified by their creation timestamp and their
+ * number of pages. Only spooled files, whose content cannot change anymore,
+ * are cached. The cache can be disabled on the preference page. Its size is
+ * limited by a preference. When the limit is exceeded, the least recently
+ * used spooled files are removed from the cache.
+ */
+public final class SpooledFileContentCache {
+
+    private static final String DIRECTORY_NAME = "spooledfilecache"; //$NON-NLS-1$
+    private static final String FILE_EXTENSION = ".splf"; //$NON-NLS-1$
+
+    private static final int FILE_MAGIC = 0x53504C46; // SPLF
+    private static final int FILE_VERSION = 2;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The instance of this Singleton class.
+     */
+    private static SpooledFileContentCache instance;
+
+    private int hitCount;
+    private int missCount;
+
+    private SpooledFileContentCache() {
+    }
+
+    /**
+     * Thread-safe method that returns the instance of this Singleton class.
+     */
+    public synchronized static SpooledFileContentCache getInstance() {
+        if (instance == null) {
+            instance = new SpooledFileContentCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the number of spooled files that have been found in the cache.
+     *
+     * @return number of cache hits
+     */
+    public synchronized int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of spooled files that have not been found in the
+     * cache.
+     *
+     * @return number of cache misses
+     */
+    public synchronized int getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the size of the cache files.
+     *
+     * @return size of the cache in bytes
+     */
+    public synchronized long getSize() {
+
+        File directory = getDirectory();
+        if (directory == null) {
+            return 0;
+        }
+
+        long size = 0;
+        for (File file : listCacheFiles(directory)) {
+            size += file.length();
+        }
+
+        return size;
+    }
+
+    /**
+     * Removes all spooled files from the cache and resets the statistics.
+     */
+    public synchronized void clear() {
+
+        hitCount = 0;
+        missCount = 0;
+
+        File directory = getDirectory();
+        if (directory == null) {
+            return;
+        }
+
+        for (File file : listCacheFiles(directory)) {
+            file.delete();
+        }
+    }
+
+    /**
+     * Returns the cached content of a given spooled file. The input stream of
+     * the content must be closed by the caller.
+     *
+     * @param key - key of the spooled file
+     * @return content or <code>null</code>, if the spooled file is not cached
+     */
+    SpooledFileContent get(String key) {
+
+        SpooledFileContent content = open(key);
+
+        synchronized (this) {
+            if (content == null) {
+                missCount++;
+            } else {
+                hitCount++;
+            }
+        }
+
+        return content;
+    }
+
+    /**
+     * Puts a spooled file into the cache and returns the cached content. The
+     * data stream is read until the end, but it is not closed.
+     *
+     * @param key - key of the spooled file
+     * @param attributes - print attributes of the spooled file
+     * @param in - transformed data stream of the spooled file
+     * @return content or <code>null</code>, if the spooled file could not be
+     *         cached
+     * @throws IOException
+     */
+    SpooledFileContent put(String key, SpooledFileContent attributes, InputStream in) throws IOException {
+
+        File file = getFile(key);
+        if (file == null) {
+            return null;
+        }
+
+        File tempFile = new File(file.getParentFile(), file.getName() + "." + Thread.currentThread().getId()); //$NON-NLS-1$
+
+        OutputStream out = null;
+
+        try {
+
+            DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tempFile))));
+            out = dataOut;
+
+            dataOut.writeInt(FILE_MAGIC);
+            dataOut.writeInt(FILE_VERSION);
+            dataOut.writeUTF(key);
+            writeAttributes(dataOut, attributes);
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                dataOut.write(buffer, 0, count);
+            }
+
+            out = null;
+            dataOut.close();
+
+            synchronized (this) {
+                file.delete();
+                if (!tempFile.renameTo(file)) {
+                    tempFile.delete();
+                }
+                removeLeastRecentlyUsed(file.getParentFile(), file);
+            }
+
+        } catch (IOException e) {
+            close(out);
+            tempFile.delete();
+            throw e;
+        }
+
+        return open(key);
+    }
+
+    private SpooledFileContent open(String key) {
+
+        File file = getFile(key);
+        if (file == null || !file.exists()) {
+            return null;
+        }
+
+        InputStream in = null;
+        boolean isDamaged = false;
+
+        try {
+
+            DataInputStream dataIn = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file)), BUFFER_SIZE));
+            in = dataIn;
+
+            if (dataIn.readInt() != FILE_MAGIC || dataIn.readInt() != FILE_VERSION || !key.equals(dataIn.readUTF())) {
+                return null;
+            }
+
+            SpooledFileContent content = readAttributes(dataIn);
+            content.setInputStream(dataIn);
+            in = null;
+
+            // Mark the spooled file as recently used.
+            file.setLastModified(System.currentTimeMillis());
+
+            return content;
+
+        } catch (Throwable e) {
+            ISpherePlugin.logError("*** Could not load spooled file from cache file: " + file.getAbsolutePath() + " ***", e); //$NON-NLS-1$ //$NON-NLS-2$
+            isDamaged = true;
+        } finally {
+            close(in);
+        }
+
+        if (isDamaged) {
+            file.delete();
+        }
+
+        return null;
+    }
+
+    private void writeAttributes(DataOutputStream out, SpooledFileContent attributes) throws IOException {
+
+        writeInteger(out, attributes.getJobCcsid());
+        writeFloat(out, attributes.getPageLength());
+        writeFloat(out, attributes.getPageWidth());
+        writeInteger(out, attributes.getLPI());
+        writeFloat(out, attributes.getCPI());
+
+        if (attributes.getUserData() == null) {
+            out.writeBoolean(false);
+        } else {
+            out.writeBoolean(true);
+            out.writeUTF(attributes.getUserData());
+        }
+
+        writeInteger(out, attributes.getPages());
+    }
+
+    private SpooledFileContent readAttributes(DataInputStream in) throws IOException {
+
+        SpooledFileContent content = new SpooledFileContent();
+        content.setJobCcsid(readInteger(in));
+        content.setPageLength(readFloat(in));
+        content.setPageWidth(readFloat(in));
+        content.setLPI(readInteger(in));
+        content.setCPI(readFloat(in));
+
+        if (in.readBoolean()) {
+            content.setUserData(in.readUTF());
+        }
+
+        content.setPages(readInteger(in));
+
+        return content;
+    }
+
+    private void writeInteger(DataOutputStream out, Integer value) throws IOException {
+
+        if (value == null) {
+            out.writeBoolean(false);
+        } else {
+            out.writeBoolean(true);
+            out.writeInt(value.intValue());
+        }
+    }
+
+    private Integer readInteger(DataInputStream in) throws IOException {
+
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        return new Integer(in.readInt());
+    }
+
+    private void writeFloat(DataOutputStream out, Float value) throws IOException {
+
+        if (value == null) {
+            out.writeBoolean(false);
+        } else {
+            out.writeBoolean(true);
+            out.writeFloat(value.floatValue());
+        }
+    }
+
+    private Float readFloat(DataInputStream in) throws IOException {
+
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        return new Float(in.readFloat());
+    }
+
+    /*
+     * Removes the least recently used files until the size of the cache is
+     * below its limit. The file that has just been added is kept, even if it
+     * exceeds the limit on its own.
+     */
+    private void removeLeastRecentlyUsed(File directory, File addedFile) {
+
+        long maxCacheSize = getMaxCacheSize();
+
+        File[] files = listCacheFiles(directory);
+
+        long size = 0;
+        for (File file : files) {
+            size += file.length();
+        }
+
+        if (size <= maxCacheSize) {
+            return;
+        }
+
+        Arrays.sort(files, new Comparator<File>() {
+            public int compare(File file1, File file2) {
+                long lastModified1 = file1.lastModified();
+                long lastModified2 = file2.lastModified();
+                if (lastModified1 < lastModified2) {
+                    return -1;
+                } else if (lastModified1 > lastModified2) {
+                    return 1;
+                }
+                return 0;
+            }
+        });
+
+        for (int i = 0; i < files.length && size > maxCacheSize; i++) {
+            if (!files[i].equals(addedFile)) {
+                long length = files[i].length();
+                if (files[i].delete()) {
+                    size -= length;
+                }
+            }
+        }
+    }
+
+    /*
+     * Returns the maximum size of the cache files in bytes.
+     */
+    private long getMaxCacheSize() {
+        return Preferences.getInstance().getSpooledFileCacheMaxSize() * 1024L * 1024L;
+    }
+
+    private File[] listCacheFiles(File directory) {
+
+        File[] files = directory.listFiles(new FileFilter() {
+            public boolean accept(File file) {
+                return file.isFile() && file.getName().endsWith(FILE_EXTENSION);
+            }
+        });
+
+        if (files == null) {
+            return new File[0];
+        }
+
+        return files;
+    }
+
+    private File getFile(String key) {
+
+        File directory = getDirectory();
+        if (directory == null) {
+            return null;
+        }
+
+        return new File(directory, getFileName(key) + FILE_EXTENSION);
+    }
+
+    private String getFileName(String key) {
+
+        try {
+
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes("UTF-8")); //$NON-NLS-1$ //$NON-NLS-2$
+
+            StringBuilder buffer = new StringBuilder();
+            for (byte b : digest) {
+                buffer.append(Integer.toHexString((b & 0xFF) | 0x100).substring(1));
+            }
+
+            return buffer.toString();
+
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(key.hashCode());
+        } catch (IOException e) {
+            return Integer.toHexString(key.hashCode());
+        }
+    }
+
+    private synchronized File getDirectory() {
+
+        if (ISpherePlugin.getDefault() == null) {
+            return null;
+        }
+
+        File directory = new File(ISpherePlugin.getDefault().getStateLocation().toFile(), DIRECTORY_NAME);
+        if (!directory.exists() && !directory.mkdirs()) {
+            return null;
+        }
+
+        return directory;
+    }
+
+    private void close(InputStream in) {
+        try {
+            if (in != null) {
+                in.close();
+            }
+        } catch (Throwable e) {
+        }
+    }
+
+    private void close(OutputStream out) {
+        try {
+            if (out != null) {
+                out.close();
+            }
+        } catch (Throwable e) {
+        }
+    }
+}
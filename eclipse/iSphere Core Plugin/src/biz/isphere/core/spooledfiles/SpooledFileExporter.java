@@ -0,0 +1,318 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.spooledfiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import biz.isphere.core.ISpherePlugin;
+import biz.isphere.core.Messages;
+import biz.isphere.core.preferences.Preferences;
+
+import com.ibm.as400.access.AS400;
+
+/**
+ * Saves spooled files to a directory on the PC. The spooled files are saved
+ * concurrently by a limited number of workers. Each worker uses its own
+ * connection to the host, because the spooled files are converted in the
+ * remote command job of the connection.
+ * <p>
+ * A spooled file that cannot be saved due to an I/O or connection error is
+ * retried up to {@link #MAX_RETRIES} times. Other errors are not retried. The
+ * file of a spooled file that could not be saved is deleted. The export can be
+ * canceled with the progress monitor. Spooled files that are being saved, when
+ * the export is canceled, are finished.
+ * <p>
+ * The exported spooled files are not added to the spooled file cache.
+ */
+public class SpooledFileExporter {
+
+    public static final int DEFAULT_NUMBER_OF_WORKERS = 4;
+
+    private static final int MAX_RETRIES = 2;
+    private static final int PROGRESS_INTERVAL = 250;
+
+    private String format;
+    private String directory;
+    private int numWorkers;
+
+    private SpooledFile[] spooledFiles;
+    private AtomicInteger nextSpooledFile;
+    private AtomicInteger numFilesSaved;
+    private AtomicInteger numFilesFailed;
+    private AtomicLong numBytes;
+    private List<String> errors;
+
+    private volatile boolean isCanceled;
+    private long startTime;
+    private long endTime;
+
+    /**
+     * Constructs a new SpooledFileExporter object.
+     *
+     * @param format - format of the PC files (IPreferences.OUTPUT_FORMAT_TEXT,
+     *        IPreferences.OUTPUT_FORMAT_HTML, IPreferences.OUTPUT_FORMAT_PDF)
+     * @param directory - directory where to store the spooled files
+     * @param numWorkers - maximum number of spooled files saved at the same
+     *        time
+     */
+    public SpooledFileExporter(String format, String directory, int numWorkers) {
+
+        this.format = format;
+        this.directory = directory;
+        this.numWorkers = Math.max(1, numWorkers);
+
+        this.nextSpooledFile = new AtomicInteger();
+        this.numFilesSaved = new AtomicInteger();
+        this.numFilesFailed = new AtomicInteger();
+        this.numBytes = new AtomicLong();
+        this.errors = new ArrayList<String>();
+    }
+
+    /**
+     * Saves a given list of spooled files. Returns when all spooled files have
+     * been saved or the export has been canceled.
+     *
+     * @param spooledFiles - spooled files that are saved
+     * @param monitor - progress monitor
+     * @return <code>true</code>, when all spooled files have been saved,
+     *         else <code>false</code>
+     */
+    public boolean export(SpooledFile[] spooledFiles, IProgressMonitor monitor) {
+
+        this.spooledFiles = spooledFiles;
+        this.startTime = System.currentTimeMillis();
+
+        Preferences.getInstance().setSpooledFileSaveDirectory(directory);
+
+        int numThreads = Math.min(numWorkers, spooledFiles.length);
+        if (numThreads == 0) {
+            endTime = System.currentTimeMillis();
+            return true;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads, new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "iSphere spooled file export"); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        try {
+
+            for (int i = 0; i < numThreads; i++) {
+                executor.execute(new Worker());
+            }
+
+            executor.shutdown();
+
+            int numFilesReported = 0;
+            while (!executor.awaitTermination(PROGRESS_INTERVAL, TimeUnit.MILLISECONDS)) {
+                if (monitor.isCanceled()) {
+                    isCanceled = true;
+                }
+                numFilesReported = reportProgress(monitor, numFilesReported);
+            }
+
+            reportProgress(monitor, numFilesReported);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            isCanceled = true;
+        } finally {
+            executor.shutdown();
+            endTime = System.currentTimeMillis();
+        }
+
+        return !isCanceled && numFilesFailed.get() == 0;
+    }
+
+    public boolean isCanceled() {
+        return isCanceled;
+    }
+
+    public int getNumFilesSaved() {
+        return numFilesSaved.get();
+    }
+
+    public int getNumFilesFailed() {
+        return numFilesFailed.get();
+    }
+
+    /**
+     * Returns the error messages of the spooled files that could not be saved.
+     *
+     * @return error messages
+     */
+    public synchronized String[] getErrors() {
+        return errors.toArray(new String[errors.size()]);
+    }
+
+    /**
+     * Returns the number of spooled files saved per second.
+     *
+     * @return files per second
+     */
+    public long getFilesPerSecond() {
+        return getPerSecond(numFilesSaved.get());
+    }
+
+    /**
+     * Returns the number of bytes written per second.
+     *
+     * @return bytes per second
+     */
+    public long getBytesPerSecond() {
+        return getPerSecond(numBytes.get());
+    }
+
+    /**
+     * Returns a text that reports the number of spooled files saved and the
+     * throughput, for displaying it as the sub task of a progress monitor.
+     *
+     * @return progress text
+     */
+    public String getProgressText() {
+        return Messages.bind(Messages.Saved_A_of_B_spooled_files_C_files_per_second_D_KB_per_second, new Object[] { numFilesSaved.get(),
+            spooledFiles.length, getFilesPerSecond(), getBytesPerSecond() / 1024 });
+    }
+
+    private long getPerSecond(long count) {
+
+        long elapsed;
+        if (endTime > 0) {
+            elapsed = endTime - startTime;
+        } else {
+            elapsed = System.currentTimeMillis() - startTime;
+        }
+
+        if (elapsed <= 0) {
+            return count;
+        }
+
+        return count * 1000 / elapsed;
+    }
+
+    private int reportProgress(IProgressMonitor monitor, int numFilesReported) {
+
+        int numFilesDone = numFilesSaved.get() + numFilesFailed.get();
+        if (numFilesDone > numFilesReported) {
+            monitor.worked(numFilesDone - numFilesReported);
+        }
+
+        monitor.subTask(getProgressText());
+
+        return numFilesDone;
+    }
+
+    private synchronized void addError(SpooledFile spooledFile, String message) {
+        errors.add(spooledFile.getAbsoluteName() + ": " + message); //$NON-NLS-1$
+    }
+
+    /**
+     * Worker, that saves the spooled files until all spooled files have been
+     * taken or the export is canceled. The worker creates one connection per
+     * system and closes its connections at the end.
+     */
+    private class Worker implements Runnable {
+
+        private Map<AS400, AS400> systems = new IdentityHashMap<AS400, AS400>();
+
+        public void run() {
+
+            try {
+
+                int index;
+                while (!isCanceled && (index = nextSpooledFile.getAndIncrement()) < spooledFiles.length) {
+                    save(spooledFiles[index]);
+                }
+
+            } finally {
+                for (AS400 system : systems.values()) {
+                    system.disconnectAllServices();
+                }
+            }
+        }
+
+        private void save(SpooledFile spooledFile) {
+
+            String message = null;
+
+            for (int attempt = 0; attempt <= MAX_RETRIES && !isCanceled; attempt++) {
+
+                try {
+
+                    SpooledFile workerSpooledFile = spooledFile.copy(getSystem(spooledFile.getAS400()));
+                    String file = workerSpooledFile.getFileInDirectory(format, directory);
+                    workerSpooledFile.exportToFile(format, file);
+
+                    numBytes.addAndGet(new File(file).length());
+                    numFilesSaved.incrementAndGet();
+                    return;
+
+                } catch (Throwable e) {
+                    ISpherePlugin.logError("*** Could not save spooled file " + spooledFile.getAbsoluteName() + " ***", e); //$NON-NLS-1$ //$NON-NLS-2$
+                    message = e.getLocalizedMessage();
+                    if (message == null) {
+                        message = e.getClass().getName();
+                    }
+                    if (!isRetryable(e)) {
+                        break;
+                    }
+                }
+            }
+
+            if (message != null) {
+                addError(spooledFile, message);
+                numFilesFailed.incrementAndGet();
+            }
+        }
+
+        /*
+         * Only I/O errors, such as a dropped connection, are worth retrying.
+         * The toolbox reports connection errors as IOExceptions.
+         */
+        private boolean isRetryable(Throwable e) {
+
+            Throwable cause = e;
+            while (cause != null) {
+                if (cause instanceof IOException) {
+                    return true;
+                }
+                cause = cause.getCause();
+            }
+
+            return false;
+        }
+
+        private AS400 getSystem(AS400 system) {
+
+            AS400 workerSystem = systems.get(system);
+            if (workerSystem == null) {
+                workerSystem = new AS400(system);
+                systems.put(system, workerSystem);
+            }
+
+            return workerSystem;
+        }
+    }
+}
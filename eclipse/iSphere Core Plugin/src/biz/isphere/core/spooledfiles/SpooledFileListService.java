@@ -0,0 +1,337 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.spooledfiles;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.eclipse.swt.widgets.Display;
+
+import biz.isphere.base.internal.SqlHelper;
+import biz.isphere.base.internal.StringHelper;
+import biz.isphere.core.ISpherePlugin;
+import biz.isphere.core.Messages;
+import biz.isphere.core.ibmi.contributions.extension.handler.IBMiHostContributionsHandler;
+import biz.isphere.core.internal.ISphereHelper;
+import biz.isphere.core.internal.MessageDialogAsync;
+import biz.isphere.core.preferences.DoNotAskMeAgain;
+import biz.isphere.core.preferences.DoNotAskMeAgainDialog;
+import biz.isphere.core.preferences.Preferences;
+
+import com.ibm.as400.access.AS400;
+
+/**
+ * Loads the spooled files of a connection. The SPLF service program keeps the
+ * filter settings in the host job of the connection. Therefore loading the
+ * spooled files is serialized per connection, but connections do not wait for
+ * each other.
+ * <p>
+ * Requests for the same connection and filter, that arrive while the spooled
+ * files are being loaded, do not start another load, but wait for the running
+ * load and share its result. Each caller gets its own copies of the spooled
+ * files, because the callers update the spooled files independently.
+ */
+public final class SpooledFileListService {
+
+    private static SpooledFileListService instance;
+
+    private Map<String, ConnectionState> connections;
+
+    private SpooledFileListService() {
+        this.connections = new HashMap<String, ConnectionState>();
+    }
+
+    public synchronized static SpooledFileListService getInstance() {
+        if (instance == null) {
+            instance = new SpooledFileListService();
+        }
+        return instance;
+    }
+
+    /**
+     * Loads and returns an unsorted list of spooled files as provided by the
+     * IBM API.
+     *
+     * @param connectionName - name of the RSE connection
+     * @param jdbcConnection - Jdbc connection for loading the spooled files
+     * @param filter - filter data that is passed to the API
+     * @return unsorted but filtered list of spooled files
+     */
+    public SpooledFile[] getSpooledFiles(final String connectionName, final Connection jdbcConnection, final SpooledFileFilter filter) {
+
+        final ConnectionState connection = getConnectionState(connectionName);
+        String filterString = filter.getFilterString();
+
+        FutureTask<SpooledFile[]> request;
+        boolean isOwner = false;
+
+        synchronized (connection) {
+            request = connection.requests.get(filterString);
+            if (request == null) {
+                request = new FutureTask<SpooledFile[]>(new Callable<SpooledFile[]>() {
+                    public SpooledFile[] call() throws Exception {
+                        synchronized (connection.hostJobLock) {
+                            return loadSpooledFiles(connectionName, jdbcConnection, filter);
+                        }
+                    }
+                });
+                connection.requests.put(filterString, request);
+                isOwner = true;
+            }
+        }
+
+        if (isOwner) {
+            try {
+                request.run();
+            } finally {
+                synchronized (connection) {
+                    connection.requests.remove(filterString);
+                }
+            }
+        }
+
+        try {
+            SpooledFile[] spooledFiles = request.get();
+            SpooledFile[] result = new SpooledFile[spooledFiles.length];
+            for (int i = 0; i < spooledFiles.length; i++) {
+                result[i] = spooledFiles[i].copy(spooledFiles[i].getAS400());
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            ISpherePlugin.logError("*** Could not load spooled files of connection: " + connectionName + " ***", e.getCause());
+        }
+
+        return new SpooledFile[0];
+    }
+
+    private synchronized ConnectionState getConnectionState(String connectionName) {
+
+        ConnectionState connection = connections.get(connectionName);
+        if (connection == null) {
+            connection = new ConnectionState();
+            connections.put(connectionName, connection);
+        }
+
+        return connection;
+    }
+
+    private SpooledFile[] loadSpooledFiles(String connectionName, Connection jdbcConnection, SpooledFileFilter filter) {
+
+        AS400 as400 = IBMiHostContributionsHandler.getSystem(connectionName);
+        String iSphereLibrary = ISpherePlugin.getISphereLibrary(connectionName);
+
+        String currentLibrary = null;
+        try {
+            currentLibrary = ISphereHelper.getCurrentLibrary(as400);
+        } catch (Exception e) {
+            ISpherePlugin.logError("*** Could not retrieve current library ***", e);
+        }
+
+        if (currentLibrary == null) {
+            return new SpooledFile[0];
+        }
+
+        boolean ok = false;
+        try {
+            ok = ISphereHelper.setCurrentLibrary(as400, iSphereLibrary);
+        } catch (Exception e1) {
+            ISpherePlugin.logError("*** Could not set current library to: " + iSphereLibrary + " ***", e1);
+        }
+
+        if (!ok) {
+            return new SpooledFile[0];
+        }
+
+        try {
+
+            final int maxNumSpooledFilesToLoad = Preferences.getInstance().getSpooledFilesMaxFilesToLoad();
+
+            int handle = buildSpooledFileList(as400, filter, maxNumSpooledFilesToLoad);
+            if (handle <= 0) {
+                String message = new SPLF_getErrorMessage().run(as400);
+                if (!StringHelper.isNullOrEmpty(message)) {
+                    MessageDialogAsync.displayBlockingError(message);
+                }
+                return new SpooledFile[0];
+            }
+
+            SqlHelper sqlHelper = new SqlHelper(jdbcConnection);
+
+            ArrayList<SpooledFile> arrayListSpooledFiles = new ArrayList<SpooledFile>();
+
+            PreparedStatement preparedStatementSelect = null;
+            ResultSet resultSet = null;
+
+            try {
+
+                preparedStatementSelect = jdbcConnection.prepareStatement(
+                    "SELECT * FROM " + sqlHelper.getObjectName(iSphereLibrary, "SPLF") + " WHERE SFHDL = ? ORDER BY SFHDL, SFCNT",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                preparedStatementSelect.setString(1, Integer.toString(handle));
+                resultSet = preparedStatementSelect.executeQuery();
+
+                while (resultSet.next()) {
+
+                    if (maxNumSpooledFilesToLoad > 0 && arrayListSpooledFiles.size() >= maxNumSpooledFilesToLoad) {
+
+                        Display.getDefault().syncExec(new Runnable() {
+                            public void run() {
+                                DoNotAskMeAgainDialog.openInformation(Display.getDefault().getActiveShell(),
+                                    DoNotAskMeAgain.TOO_MANY_SPOOLED_FILES_WARNING, Messages.bind(
+                                        Messages.Number_of_spooled_files_exceeds_maximum_number_of_spooled_files_to_load_A,
+                                        maxNumSpooledFilesToLoad));
+                            }
+                        });
+
+                        break;
+                    }
+
+                    SpooledFile _spooledFile = new SpooledFile();
+                    _spooledFile.setAS400(as400);
+                    _spooledFile.setFile(resultSet.getString("SFSPLF").trim());
+                    _spooledFile.setFileNumber(resultSet.getInt("SFSPLFNBR"));
+                    _spooledFile.setJobName(resultSet.getString("SFJOBNAME").trim());
+                    _spooledFile.setJobUser(resultSet.getString("SFJOBUSR").trim());
+                    _spooledFile.setJobNumber(resultSet.getString("SFJOBNBR").trim());
+                    _spooledFile.setJobSystem(resultSet.getString("SFJOBSYS").trim());
+                    _spooledFile.setCreationTimestamp(resultSet.getDate("SFCRTDATE"), resultSet.getTime("SFCRTTIME"));
+                    _spooledFile.setStatus(resultSet.getString("SFSTS").trim());
+                    _spooledFile.setOutputQueue(resultSet.getString("SFOUTQ").trim());
+                    _spooledFile.setOutputQueueLibrary(resultSet.getString("SFOUTQLIB").trim());
+                    _spooledFile.setOutputPriority(resultSet.getString("SFOUTPTY").trim());
+                    _spooledFile.setUserData(resultSet.getString("SFUSRDTA").trim());
+                    _spooledFile.setFormType(resultSet.getString("SFFORMTYPE").trim());
+                    _spooledFile.setCopies(resultSet.getInt("SFCOPIES"));
+                    _spooledFile.setPages(resultSet.getInt("SFPAGES"));
+                    _spooledFile.setCurrentPage(0);
+                    _spooledFile.setConnectionName(connectionName);
+
+                    arrayListSpooledFiles.add(_spooledFile);
+
+                }
+
+            } catch (SQLException e) {
+                ISpherePlugin.logError("*** Could not read spooled files of handle: " + handle + " ***", e);
+            } finally {
+                sqlHelper.close(resultSet);
+                sqlHelper.close(preparedStatementSelect);
+            }
+
+            new SPLF_clear().run(as400, handle);
+
+            SpooledFile[] _spooledFiles = new SpooledFile[arrayListSpooledFiles.size()];
+            arrayListSpooledFiles.toArray(_spooledFiles);
+
+            return _spooledFiles;
+
+        } finally {
+
+            try {
+                ISphereHelper.setCurrentLibrary(as400, currentLibrary);
+            } catch (Exception e) {
+                ISpherePlugin.logError("*** Could not restore current library to: " + currentLibrary + " ***", e);
+            }
+        }
+    }
+
+    /**
+     * Passes the filter settings to the SPLF service program and builds the
+     * list of spooled files. Only the settings that differ from the defaults
+     * of SPLF_prepare are sent to the host.
+     *
+     * @param as400 - system of the connection
+     * @param filter - filter data that is passed to the API
+     * @param maxNumSpooledFilesToLoad - maximum number of spooled files
+     * @return handle of the spooled file list
+     */
+    private int buildSpooledFileList(AS400 as400, SpooledFileFilter filter, int maxNumSpooledFilesToLoad) {
+
+        new SPLF_prepare().run(as400);
+
+        if (maxNumSpooledFilesToLoad > 0) {
+            new SPLF_setMaxNumSplF().run(as400, maxNumSpooledFilesToLoad);
+        }
+
+        if (filter.getJobName() != null) {
+            new SPLF_setJob().run(as400, filter.getJobName(), filter.getUser(), filter.getJobNumber());
+        } else {
+
+            /*
+             * IBM documentation link:
+             * https://www.ibm.com/support/knowledgecenter
+             * /ssw_ibm_i_74/apis/QUSLSPL.htm
+             */
+
+            // not allowed with qualified job name
+            if (filter.getUser() != null) {
+                new SPLF_setUser().run(as400, filter.getUser());
+            }
+
+            // not allowed with qualified job name
+            if (filter.getOutputQueue() != null) {
+                String library;
+                if ("*ALL".equals(filter.getOutputQueue())) {
+                    library = "";
+                } else {
+                    if (filter.getOutputQueueLibrary() != null) {
+                        library = filter.getOutputQueueLibrary();
+                    } else {
+                        library = "*LIBL";
+                    }
+                }
+                new SPLF_setOutputQueue().run(as400, filter.getOutputQueue(), library);
+            }
+
+            // not allowed with qualified job name
+            if (filter.getUserData() != null) {
+                new SPLF_setUserData().run(as400, filter.getUserData());
+            }
+
+            // not allowed with qualified job name
+            if (filter.getFormType() != null) {
+                new SPLF_setFormType().run(as400, filter.getFormType());
+            }
+        }
+
+        if (filter.getName() != null) {
+            new SPLF_setName().run(as400, filter.getName());
+        }
+
+        if (filter.getStartingDate() != null || filter.getEndingDate() != null) {
+            int startDate = filter.getStartingDateIntValue();
+            int startTime = filter.getStartingTimeIntValue();
+            int endDate = filter.getEndingDateIntValue();
+            int endTime = filter.getEndingTimeIntValue();
+            new SPLF_setDateTime().run(as400, startDate, startTime, endDate, endTime);
+        }
+
+        return new SPLF_build().run(as400);
+    }
+
+    /**
+     * State of a connection. The host job lock serializes the calls of the SPLF
+     * service program. The requests are the loads that are running, keyed by
+     * filter string.
+     */
+    private static class ConnectionState {
+
+        private Object hostJobLock = new Object();
+        private Map<String, FutureTask<SpooledFile[]>> requests = new HashMap<String, FutureTask<SpooledFile[]>>();
+    }
+}
@@ -53,6 +53,7 @@ public class SpooledFileTransformerHTML extends AbstractSpooledFileTransformer {
     @Override
     protected void formfeed() throws IOException {
         writer.write("</pre><hr/><pre>");
+        writer.flush();
     }
 
     @Override
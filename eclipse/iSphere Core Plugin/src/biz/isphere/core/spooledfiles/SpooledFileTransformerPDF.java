@@ -41,7 +41,17 @@ public class SpooledFileTransformerPDF extends AbstractSpooledFileTransformer {
 
     private static int DOTS_PER_INCH = 72;
 
+    /*
+     * Maximum number of page bookmarks. The bookmarks are kept in memory until
+     * the document is closed. Therefore large spooled files get a bookmark for
+     * every 10th, 100th, ... page only. When the number of pages is not known,
+     * the interval is increased each time another MAX_PAGE_BOOKMARKS bookmarks
+     * have been added.
+     */
+    private static int MAX_PAGE_BOOKMARKS = 1000;
+
     private Document document = null;
+    private PdfWriter writer = null;
     private Font font = null;
     private Set<PageSize> pageSizesPortrait = null;
 
@@ -103,10 +113,13 @@ public class SpooledFileTransformerPDF extends AbstractSpooledFileTransformer {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Writes the finished page to the PDF file.
      */
     @Override
     protected void formfeed() throws DocumentException {
         document.newPage();
+        writer.flush();
     }
 
     /**
@@ -223,19 +236,34 @@ public class SpooledFileTransformerPDF extends AbstractSpooledFileTransformer {
 
         Document pdf = new Document();
 
-        PdfWriter writer = PdfWriter.getInstance(pdf, new FileOutputStream(aPath));
+        writer = PdfWriter.getInstance(pdf, new FileOutputStream(aPath));
         pdf.setPageSize(pageSize.getDimension());
         pdf.setMargins(pageMargins.getLeft(), pageMargins.getRight(), pageMargins.getTop(), pageMargins.getBottom());
         pdf.setMarginMirroring(false);
 
         writer.setViewerPreferences(PdfWriter.PageModeUseOutlines);
-        writer.setPageEvent(new PageEventHandler());
+        writer.setPageEvent(new PageEventHandler(getBookmarkInterval()));
 
         pdf.open();
 
         return pdf;
     }
 
+    /**
+     * Returns the number of pages between two page bookmarks.
+     * 
+     * @return bookmark interval
+     */
+    private int getBookmarkInterval() {
+
+        int interval = 1;
+        while (getNumberOfPages() / interval > MAX_PAGE_BOOKMARKS) {
+            interval = interval * 10;
+        }
+
+        return interval;
+    }
+
     /**
      * Returns the font size measured in dots for a given CPI value. The font
      * size is returned with one decimal position.
@@ -441,14 +469,27 @@ public class SpooledFileTransformerPDF extends AbstractSpooledFileTransformer {
 
     private class PageEventHandler extends PdfPageEventHelper {
         private int i;
+        private int bookmarkInterval;
+        private int numBookmarks;
+
+        public PageEventHandler(int bookmarkInterval) {
+            this.bookmarkInterval = bookmarkInterval;
+        }
 
         @Override
         public void onEndPage(PdfWriter writer, Document document) {
             super.onEndPage(writer, document);
             i++;
+            if ((i - 1) % bookmarkInterval != 0) {
+                return;
+            }
             PdfContentByte cb = writer.getDirectContent();
             PdfDestination destination = new PdfDestination(PdfDestination.FITH);
             new PdfOutline(cb.getRootOutline(), destination, Messages.Page + " " + i);
+            numBookmarks++;
+            if (numBookmarks % MAX_PAGE_BOOKMARKS == 0) {
+                bookmarkInterval = bookmarkInterval * 10;
+            }
         }
     }
 
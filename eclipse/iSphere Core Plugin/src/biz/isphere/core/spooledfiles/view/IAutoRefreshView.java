@@ -18,5 +18,7 @@ public interface IAutoRefreshView extends IJobFinishedListener {
 
     public void refreshData();
 
+    public void refreshDataIncrementally();
+
     public Shell getShell();
 }
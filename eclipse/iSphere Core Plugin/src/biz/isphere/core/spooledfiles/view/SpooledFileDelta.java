@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Team
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.spooledfiles.view;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import biz.isphere.core.spooledfiles.SpooledFile;
+
+/**
+ * Difference between two snapshots of a spooled file list. Spooled files are
+ * matched by job, name, number and creation timestamp. Spooled files that
+ * exist in both snapshots are changed, when an attribute that is displayed in
+ * the table differs.
+ * <p>
+ * Changed spooled files keep the object of the old snapshot, which is still
+ * displayed in the table. Its attributes are updated by
+ * {@link #updateChangedItems()}, that must be called from the UI thread.
+ */
+public class SpooledFileDelta {
+
+    private int numRowsFetched;
+    private List<SpooledFile> added;
+    private List<SpooledFile> removed;
+    private List<SpooledFile> changed;
+    private List<SpooledFile> changedNewValues;
+
+    public SpooledFileDelta(SpooledFile[] oldItems, SpooledFile[] newItems) {
+
+        this.numRowsFetched = newItems.length;
+        this.added = new ArrayList<SpooledFile>();
+        this.removed = new ArrayList<SpooledFile>();
+        this.changed = new ArrayList<SpooledFile>();
+        this.changedNewValues = new ArrayList<SpooledFile>();
+
+        Map<String, SpooledFile> oldItemsByKey = new HashMap<String, SpooledFile>(oldItems.length * 4 / 3 + 1);
+        for (SpooledFile oldItem : oldItems) {
+            oldItemsByKey.put(oldItem.getAbsoluteName(), oldItem);
+        }
+
+        for (SpooledFile newItem : newItems) {
+            SpooledFile oldItem = oldItemsByKey.remove(newItem.getAbsoluteName());
+            if (oldItem == null) {
+                added.add(newItem);
+            } else if (isChanged(oldItem, newItem)) {
+                changed.add(oldItem);
+                changedNewValues.add(newItem);
+            }
+        }
+
+        removed.addAll(oldItemsByKey.values());
+    }
+
+    /**
+     * Returns the number of spooled files of the new snapshot.
+     *
+     * @return number of spooled files loaded from the host
+     */
+    public int getNumRowsFetched() {
+        return numRowsFetched;
+    }
+
+    /**
+     * Returns the number of added, removed and changed spooled files.
+     *
+     * @return number of rows that must be updated in the table
+     */
+    public int getNumRowsChanged() {
+        return added.size() + removed.size() + changed.size();
+    }
+
+    public boolean isEmpty() {
+        return getNumRowsChanged() == 0;
+    }
+
+    public SpooledFile[] getAdded() {
+        return added.toArray(new SpooledFile[added.size()]);
+    }
+
+    public SpooledFile[] getRemoved() {
+        return removed.toArray(new SpooledFile[removed.size()]);
+    }
+
+    public SpooledFile[] getChanged() {
+        return changed.toArray(new SpooledFile[changed.size()]);
+    }
+
+    /**
+     * Copies the attributes of the new snapshot to the changed spooled files
+     * of the old snapshot.
+     */
+    public void updateChangedItems() {
+
+        for (int i = 0; i < changed.size(); i++) {
+
+            SpooledFile oldItem = changed.get(i);
+            SpooledFile newItem = changedNewValues.get(i);
+
+            oldItem.setStatus(newItem.getStatus());
+            oldItem.setOutputQueue(newItem.getOutputQueue());
+            oldItem.setOutputQueueLibrary(newItem.getOutputQueueLibrary());
+            oldItem.setOutputPriority(newItem.getOutputPriority());
+            oldItem.setUserData(newItem.getUserData());
+            oldItem.setFormType(newItem.getFormType());
+            oldItem.setCopies(newItem.getCopies());
+            oldItem.setPages(newItem.getPages());
+        }
+    }
+
+    private boolean isChanged(SpooledFile oldItem, SpooledFile newItem) {
+
+        // @formatter:off
+        if (!isEqual(oldItem.getStatus(), newItem.getStatus())
+            || !isEqual(oldItem.getOutputQueue(), newItem.getOutputQueue())
+            || !isEqual(oldItem.getOutputQueueLibrary(), newItem.getOutputQueueLibrary())
+            || !isEqual(oldItem.getOutputPriority(), newItem.getOutputPriority())
+            || !isEqual(oldItem.getUserData(), newItem.getUserData())
+            || !isEqual(oldItem.getFormType(), newItem.getFormType())
+            || oldItem.getCopies() != newItem.getCopies()
+            || oldItem.getPages() != newItem.getPages()) {
+            return true;
+        }
+        // @formatter:on
+
+        return false;
+    }
+
+    private boolean isEqual(String value1, String value2) {
+
+        if (value1 == null) {
+            return value2 == null;
+        }
+
+        return value1.equals(value2);
+    }
+}
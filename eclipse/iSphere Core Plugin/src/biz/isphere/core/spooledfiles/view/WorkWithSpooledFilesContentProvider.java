@@ -8,6 +8,11 @@
 
 package biz.isphere.core.spooledfiles.view;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.jface.viewers.IStructuredContentProvider;
 import org.eclipse.jface.viewers.Viewer;
 
@@ -28,4 +33,60 @@ public class WorkWithSpooledFilesContentProvider implements IStructuredContentPr
         this.spooledFiles = (SpooledFile[])newInput;
     }
 
+    /**
+     * Returns the spooled files of the input, including the spooled files
+     * added and excluding the spooled files removed afterwards.
+     * 
+     * @return spooled files of the viewer
+     */
+    public SpooledFile[] getSpooledFiles() {
+        return spooledFiles;
+    }
+
+    /**
+     * Adds spooled files to the elements, without changing the input of the
+     * viewer.
+     * 
+     * @param addedSpooledFiles - spooled files that are added
+     */
+    public void add(SpooledFile[] addedSpooledFiles) {
+
+        if (spooledFiles == null || addedSpooledFiles.length == 0) {
+            return;
+        }
+
+        SpooledFile[] newSpooledFiles = new SpooledFile[spooledFiles.length + addedSpooledFiles.length];
+        System.arraycopy(spooledFiles, 0, newSpooledFiles, 0, spooledFiles.length);
+        System.arraycopy(addedSpooledFiles, 0, newSpooledFiles, spooledFiles.length, addedSpooledFiles.length);
+
+        spooledFiles = newSpooledFiles;
+    }
+
+    /**
+     * Removes spooled files from the elements, without changing the input of
+     * the viewer.
+     * 
+     * @param removedSpooledFiles - spooled files that are removed
+     */
+    public void remove(SpooledFile[] removedSpooledFiles) {
+
+        if (spooledFiles == null || removedSpooledFiles.length == 0) {
+            return;
+        }
+
+        Map<SpooledFile, SpooledFile> removedItems = new IdentityHashMap<SpooledFile, SpooledFile>();
+        for (SpooledFile spooledFile : removedSpooledFiles) {
+            removedItems.put(spooledFile, spooledFile);
+        }
+
+        List<SpooledFile> newSpooledFiles = new ArrayList<SpooledFile>(spooledFiles.length);
+        for (SpooledFile spooledFile : spooledFiles) {
+            if (!removedItems.containsKey(spooledFile)) {
+                newSpooledFiles.add(spooledFile);
+            }
+        }
+
+        spooledFiles = newSpooledFiles.toArray(new SpooledFile[newSpooledFiles.size()]);
+    }
+
 }
@@ -68,7 +68,9 @@ public class WorkWithSpooledFilesPanel implements IResizableTableColumnsViewer,
     private Composite panel;
     private TableViewer tableViewer;
     private Table table;
+    private WorkWithSpooledFilesContentProvider contentProvider;
     private WorkWithSpooledFilesSorter tableSorter;
+    private String connectionName;
 
     private Map<String, String> pinProperties;
 
@@ -151,8 +153,9 @@ public class WorkWithSpooledFilesPanel implements IResizableTableColumnsViewer,
      */
     public void setInput(String connectionName, SpooledFile[] spooledFiles) {
 
-        SpooledFile[] oldInput = (SpooledFile[])this.tableViewer.getInput();
+        SpooledFile[] oldInput = contentProvider.getSpooledFiles();
 
+        this.connectionName = connectionName;
         this.tableViewer.setInput(spooledFiles);
 
         if (connectionName == null || spooledFiles == null) {
@@ -190,6 +193,61 @@ public class WorkWithSpooledFilesPanel implements IResizableTableColumnsViewer,
         workWithSpooledFilesHelper.addChangedListener(listener);
     }
 
+    /**
+     * Updates the spooled files that are displayed on this panel with the
+     * changes between the current and the new spooled files. Only added,
+     * removed and changed spooled files are updated in the table. New spooled
+     * files are automatically selected.
+     * <p>
+     * Falls back to {@link #setInput(String, SpooledFile[])}, when the panel
+     * does not display spooled files of the same connection.
+     * 
+     * @param connectionName - name of the remote connection the spooled files
+     *        are loaded from
+     * @param spooledFiles - array of spooled files
+     * @return changes applied to the table or <code>null</code>, when the
+     *         input has been replaced
+     */
+    public SpooledFileDelta updateInput(String connectionName, SpooledFile[] spooledFiles) {
+
+        SpooledFile[] oldInput = contentProvider.getSpooledFiles();
+
+        if (oldInput == null || spooledFiles == null || connectionName == null || !connectionName.equals(this.connectionName)) {
+            setInput(connectionName, spooledFiles);
+            return null;
+        }
+
+        SpooledFileDelta delta = new SpooledFileDelta(oldInput, spooledFiles);
+        if (delta.isEmpty()) {
+            return delta;
+        }
+
+        table.setRedraw(false);
+
+        try {
+
+            delta.updateChangedItems();
+            tableViewer.update(delta.getChanged(), null);
+
+            SpooledFile[] removed = delta.getRemoved();
+            tableViewer.remove(removed);
+            contentProvider.remove(removed);
+
+            SpooledFile[] added = delta.getAdded();
+            tableViewer.add(added);
+            contentProvider.add(added);
+
+            if (added.length > 0) {
+                tableViewer.setSelection(new StructuredSelection(added));
+            }
+
+        } finally {
+            table.setRedraw(true);
+        }
+
+        return delta;
+    }
+
     /**
      * Returns the number of spooled files contained in the list.
      * 
@@ -257,6 +315,7 @@ public class WorkWithSpooledFilesPanel implements IResizableTableColumnsViewer,
      */
     public void remove(SpooledFile[] spooledFiles) {
         tableViewer.remove(spooledFiles);
+        contentProvider.remove(spooledFiles);
         table.update();
     }
 
@@ -413,7 +472,8 @@ public class WorkWithSpooledFilesPanel implements IResizableTableColumnsViewer,
         });
 
         tableViewer.setLabelProvider(new WorkWithSpooledFilesLabelProvider());
-        tableViewer.setContentProvider(new WorkWithSpooledFilesContentProvider());
+        contentProvider = new WorkWithSpooledFilesContentProvider();
+        tableViewer.setContentProvider(contentProvider);
 
         Listener sortListener = new Listener() {
             public void handleEvent(Event e) {
@@ -21,15 +21,22 @@ import biz.isphere.core.internal.MessageDialogAsync;
 import biz.isphere.core.spooledfiles.view.IAutoRefreshView;
 
 /**
- * Job, that periodically refreshes the content of the view.
+ * Job, that periodically refreshes the content of the view. The view is
+ * refreshed incrementally. When a refresh does not change the view, the
+ * interval is doubled up to {@link #MAX_BACK_OFF_FACTOR} times the interval
+ * set by the user. It is reset to the original interval, as soon as the view
+ * changes.
  */
 public class AutoRefreshJob extends Job implements IJobFinishedListener {
 
     final int MILLI_SECONDS = 1000;
 
+    private static final int MAX_BACK_OFF_FACTOR = 8;
+
     private AutoRefreshUIJob autoRefreshUIJob;
     private IAutoRefreshView view;
     private int interval;
+    private int backOffInterval;
 
     private int waitTime;
 
@@ -60,8 +67,8 @@ public class AutoRefreshJob extends Job implements IJobFinishedListener {
                 resetInterval();
                 while ((!monitor.isCanceled() && waitTime > 0) || autoRefreshUIJob != null) {
                     Thread.sleep(SLEEP_INTERVAL);
-                    if (waitTime > interval) {
-                        waitTime = interval;
+                    if (waitTime > backOffInterval) {
+                        waitTime = backOffInterval;
                     }
                     if (waitTime > 0) {
                         waitTime = waitTime - SLEEP_INTERVAL;
@@ -97,11 +104,27 @@ public class AutoRefreshJob extends Job implements IJobFinishedListener {
     public void setInterval(int seconds) {
 
         interval = seconds * MILLI_SECONDS;
+        backOffInterval = interval;
     }
 
     public void resetInterval() {
 
-        waitTime = interval;
+        waitTime = backOffInterval;
+    }
+
+    /**
+     * Called by the view, when the result of a refresh has been applied.
+     * 
+     * @param isChanged - <code>true</code>, when the refresh changed the view,
+     *        else <code>false</code>
+     */
+    public void setChanged(boolean isChanged) {
+
+        if (isChanged) {
+            backOffInterval = interval;
+        } else {
+            backOffInterval = Math.min(backOffInterval * 2, interval * MAX_BACK_OFF_FACTOR);
+        }
     }
 
     public void jobFinished(Job job) {
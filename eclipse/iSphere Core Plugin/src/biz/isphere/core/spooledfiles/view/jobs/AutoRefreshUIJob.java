@@ -31,7 +31,7 @@ public class AutoRefreshUIJob extends UIJob {
 
     @Override
     public IStatus runInUIThread(IProgressMonitor arg0) {
-        view.refreshData();
+        view.refreshDataIncrementally();
         listener.jobFinished(this);
         return Status.OK_STATUS;
     }
@@ -51,6 +51,7 @@ import biz.isphere.core.spooledfiles.view.IAutoRefreshView;
 import biz.isphere.core.spooledfiles.view.ILoadSpooledFilesPostRun;
 import biz.isphere.core.spooledfiles.view.IWaitForRseConnectionPostRun;
 import biz.isphere.core.spooledfiles.view.LoadSpooledFilesJob;
+import biz.isphere.core.spooledfiles.view.SpooledFileDelta;
 import biz.isphere.core.spooledfiles.view.WaitForRseConnectionJob;
 import biz.isphere.core.spooledfiles.view.WorkWithSpooledFilesPanel;
 import biz.isphere.core.spooledfiles.view.actions.AutoRefreshRefreshIntervalAction;
@@ -84,6 +85,11 @@ public abstract class AbstractWorkWithSpooledFilesView extends XViewPart impleme
 
     private AbstractWorkWithSpooledFilesInputData inputData;
     private LoadSpooledFilesJob loadSpooledFilesJob;
+    private boolean isIncrementalRefresh;
+    private long refreshStartTime;
+
+    private SpooledFileDelta lastRefreshDelta;
+    private long lastRefreshElapsedTime;
 
     private RefreshViewAction refreshViewAction;
     private DisableAutoRefreshViewAction disableAutoRefreshViewAction;
@@ -312,7 +318,7 @@ public abstract class AbstractWorkWithSpooledFilesView extends XViewPart impleme
         if (inputData == null) {
             setPinned(false);
         } else {
-            setInputDataInternally(shell, inputData);
+            setInputDataInternally(shell, inputData, false);
         }
     }
 
@@ -357,7 +363,22 @@ public abstract class AbstractWorkWithSpooledFilesView extends XViewPart impleme
          * Do not clear input data to automatically select new spooled files.
          */
 
-        setInputDataInternally(getShell(), this.inputData);
+        setInputDataInternally(getShell(), this.inputData, false);
+    }
+
+    /**
+     * Reloads the spooled files and updates the view with the added, removed
+     * and changed spooled files. Called by the auto-refresh job. <br>
+     * Must be called from the UI thread to get the 'Shell' for displaying error
+     * messages.
+     */
+    public void refreshDataIncrementally() {
+
+        if (!ISphereHelper.checkISphereLibrary(getShell(), inputData.getConnectionName())) {
+            return;
+        }
+
+        setInputDataInternally(getShell(), this.inputData, true);
     }
 
     /**
@@ -386,7 +407,7 @@ public abstract class AbstractWorkWithSpooledFilesView extends XViewPart impleme
          */
         workWithSpooledFilesPanel.setInput(null, null);
 
-        setInputDataInternally(getShell(), inputData);
+        setInputDataInternally(getShell(), inputData, false);
     }
 
     /**
@@ -394,8 +415,10 @@ public abstract class AbstractWorkWithSpooledFilesView extends XViewPart impleme
      * 
      * @param shell - Shell for displaying messages
      * @param inputData - WorkWithSpooledFilesInputData
+     * @param isIncremental - specifies whether only the changed spooled files
+     *        are updated in the view
      */
-    private synchronized void setInputDataInternally(Shell shell, AbstractWorkWithSpooledFilesInputData inputData) {
+    private synchronized void setInputDataInternally(Shell shell, AbstractWorkWithSpooledFilesInputData inputData, boolean isIncremental) {
 
         if (!inputData.isValid()) {
             setPinned(false);
@@ -418,6 +441,9 @@ public abstract class AbstractWorkWithSpooledFilesView extends XViewPart impleme
             autoRefreshJob.resetInterval();
         }
 
+        isIncrementalRefresh = isIncremental;
+        refreshStartTime = System.currentTimeMillis();
+
         loadSpooledFilesJob = new LoadSpooledFilesJob(inputData, this);
         loadSpooledFilesJob.schedule();
     }
@@ -462,7 +488,17 @@ public abstract class AbstractWorkWithSpooledFilesView extends XViewPart impleme
                     return;
                 }
 
-                workWithSpooledFilesPanel.setInput(inputData.getConnectionName(), spooledFiles);
+                if (isIncrementalRefresh) {
+                    lastRefreshDelta = workWithSpooledFilesPanel.updateInput(inputData.getConnectionName(), spooledFiles);
+                    lastRefreshElapsedTime = System.currentTimeMillis() - refreshStartTime;
+                    if (lastRefreshDelta != null && isAutoRefreshOn()) {
+                        autoRefreshJob.setChanged(!lastRefreshDelta.isEmpty());
+                    }
+                } else {
+                    workWithSpooledFilesPanel.setInput(inputData.getConnectionName(), spooledFiles);
+                    lastRefreshDelta = null;
+                }
+
                 workWithSpooledFilesHelper.setShell(getShell());
                 workWithSpooledFilesHelper.setConnection(inputData.getConnectionName());
                 refreshActionsEnablement();
@@ -693,7 +729,12 @@ public abstract class AbstractWorkWithSpooledFilesView extends XViewPart impleme
         if (countTotal == 0) {
             setStatusLineText(Messages.No_data_available);
         } else if (countSelected == 0) {
-            setStatusLineText(Messages.bind(Messages.Spooled_files_A, countTotal));
+            if (lastRefreshDelta != null) {
+                setStatusLineText(Messages.bind(Messages.Spooled_files_A_last_refresh_B_rows_fetched_C_rows_changed_D_ms, new Object[] { countTotal,
+                    lastRefreshDelta.getNumRowsFetched(), lastRefreshDelta.getNumRowsChanged(), lastRefreshElapsedTime }));
+            } else {
+                setStatusLineText(Messages.bind(Messages.Spooled_files_A, countTotal));
+            }
         } else if (countSelected == 1) {
             SpooledFile spooledFile = workWithSpooledFilesPanel.getSelectedItems()[0];
             setStatusLineText(Messages.bind(Messages.Spooled_file_A_B, spooledFile.getFile(), spooledFile.getStatus()));
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.spreadsheet;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Writes the rows to a comma delimited text file as described in RFC 4180.
+ * The file is UTF-8 encoded and starts with a byte order mark, so that Excel
+ * recognizes the encoding. A CSV file has a single sheet without a row limit.
+ */
+class CsvWriter extends SpreadsheetWriter {
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+    private static final String LINE_SEPARATOR = "\r\n"; //$NON-NLS-1$
+
+    private Writer writer;
+
+    public CsvWriter(String file) throws IOException {
+        super(file);
+
+        this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8")); //$NON-NLS-1$
+        this.writer.write(BYTE_ORDER_MARK);
+    }
+
+    @Override
+    protected int getMaxRowsPerSheet() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    protected void startSheet(int index, String name) throws IOException {
+    }
+
+    @Override
+    protected void writeHeadings(String[] headings) throws IOException {
+        writeLine(headings);
+    }
+
+    @Override
+    protected void writeRow(int row, String[] values) throws IOException {
+        writeLine(values);
+    }
+
+    @Override
+    protected void endSheet() throws IOException {
+    }
+
+    @Override
+    protected void finish() throws IOException {
+        writer.close();
+    }
+
+    @Override
+    protected void dispose() throws IOException {
+        writer.close();
+    }
+
+    private void writeLine(String[] values) throws IOException {
+
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(DELIMITER);
+            }
+            writeValue(values[i]);
+        }
+
+        writer.write(LINE_SEPARATOR);
+    }
+
+    private void writeValue(String value) throws IOException {
+
+        if (value == null) {
+            return;
+        }
+
+        if (!isQuotingRequired(value)) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write(QUOTE);
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == QUOTE) {
+                writer.write(QUOTE);
+            }
+            writer.write(ch);
+        }
+        writer.write(QUOTE);
+    }
+
+    private boolean isQuotingRequired(String value) {
+
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == DELIMITER || ch == QUOTE || ch == '\r' || ch == '\n') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,301 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.spreadsheet;
+
+import java.io.File;
+import java.io.IOException;
+
+import biz.isphere.base.internal.FileHelper;
+import biz.isphere.core.Messages;
+
+/**
+ * Base class of the writers, that export rows of data to a spreadsheet file.
+ * <p>
+ * The rows are written one by one, so that the memory used does not depend on
+ * the number of rows. When a sheet is full, a new sheet with the same column
+ * headings is added automatically.
+ * <p>
+ * The format of the file is chosen by the file extension:
+ * <ul>
+ * <li><code>.xlsx</code> - Excel workbook, streamed</li>
+ * <li><code>.csv</code> - comma delimited text file, streamed</li>
+ * <li><code>.xls</code> - Excel 97-2003 workbook, built in memory, single sheet
+ * of up to 65,535 data rows</li>
+ * </ul>
+ */
+public abstract class SpreadsheetWriter {
+
+    public static final String XLSX_EXTENSION = ".xlsx"; //$NON-NLS-1$
+    public static final String XLS_EXTENSION = ".xls"; //$NON-NLS-1$
+    public static final String CSV_EXTENSION = ".csv"; //$NON-NLS-1$
+
+    private static final int MAX_SHEET_NAME_LENGTH = 31;
+    private static final String INVALID_SHEET_NAME_CHARS = "[\\[\\]:*?/\\\\]"; //$NON-NLS-1$
+
+    private String file;
+    private String sheetName;
+    private String[] headings;
+    private int numSheets;
+    private int numRowsInSheet;
+    private long numRows;
+    private long startTime;
+
+    protected SpreadsheetWriter(String file) {
+        this.file = file;
+        this.numSheets = 0;
+        this.numRowsInSheet = 0;
+        this.numRows = 0;
+        this.startTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Creates a writer for the specified file. The format is chosen by the
+     * file extension. Files without a known extension are written as Excel
+     * workbooks.
+     * <p>
+     * Excel 97-2003 workbooks are built in memory and are limited to the rows
+     * of a single sheet. Therefore the export is rejected, before the file is
+     * created, when the number of rows exceeds that limit.
+     *
+     * @param file - path of the spreadsheet file
+     * @param numRows - number of data rows that are going to be written
+     * @return spreadsheet writer
+     * @throws IOException
+     */
+    public static SpreadsheetWriter create(String file, int numRows) throws IOException {
+
+        String lowerCaseFile = file.toLowerCase();
+        if (lowerCaseFile.endsWith(CSV_EXTENSION)) {
+            return new CsvWriter(file);
+        } else if (lowerCaseFile.endsWith(XLS_EXTENSION)) {
+            if (numRows > XlsWriter.MAX_DATA_ROWS) {
+                throw new IOException(Messages.bind(Messages.Cannot_export_A_rows_to_an_Excel_97_2003_workbook_B, new Object[] { numRows,
+                    XlsWriter.MAX_DATA_ROWS }));
+            }
+            return new XlsWriter(file);
+        } else {
+            return new XlsxWriter(file);
+        }
+    }
+
+    /**
+     * Returns the filter names of a file dialog, that match the filter
+     * extensions returned by {@link #getFilterExtensions()}.
+     *
+     * @return filter names
+     */
+    public static String[] getFilterNames() {
+        return new String[] { Messages.Excel_Workbook, Messages.Excel_97_2003_Workbook, Messages.CSV_comma_delimited, FileHelper.getAllFilesText() };
+    }
+
+    /**
+     * Returns the filter extensions of a file dialog.
+     *
+     * @return filter extensions
+     */
+    public static String[] getFilterExtensions() {
+        return new String[] { "*" + XLSX_EXTENSION, "*" + XLS_EXTENSION, "*" + CSV_EXTENSION, FileHelper.getAllFilesFilter() }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    /**
+     * Returns the path of the spreadsheet file.
+     *
+     * @return path of the file
+     */
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * Adds a new sheet and writes the column headings. The headings are
+     * repeated on the sheets that are added, when the sheet is full.
+     *
+     * @param name - name of the sheet
+     * @param headings - column headings or <code>null</code>
+     * @throws IOException
+     */
+    public void addSheet(String name, String[] headings) throws IOException {
+
+        this.sheetName = name;
+        this.headings = headings;
+
+        startNewSheet();
+    }
+
+    /**
+     * Adds a row to the current sheet. Starts a new sheet, when the current
+     * sheet is full.
+     *
+     * @param values - values of the row
+     * @throws IOException
+     */
+    public void addRow(String[] values) throws IOException {
+
+        if (numSheets == 0 || numRowsInSheet >= getMaxRowsPerSheet()) {
+            startNewSheet();
+        }
+
+        writeRow(numRowsInSheet, values);
+        numRowsInSheet++;
+        numRows++;
+    }
+
+    /**
+     * Returns the number of data rows, that have been written.
+     *
+     * @return number of rows
+     */
+    public long getNumberOfRows() {
+        return numRows;
+    }
+
+    /**
+     * Returns the number of sheets.
+     *
+     * @return number of sheets
+     */
+    public int getNumberOfSheets() {
+        return numSheets;
+    }
+
+    /**
+     * Returns the number of data rows written per second.
+     *
+     * @return rows per second
+     */
+    public long getRowsPerSecond() {
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        if (elapsed <= 0) {
+            return numRows;
+        }
+
+        return numRows * 1000 / elapsed;
+    }
+
+    /**
+     * Returns a text that reports the number of rows written and the
+     * throughput, for displaying it as the sub task of a progress monitor.
+     *
+     * @return progress text
+     */
+    public String getProgressText() {
+        return Messages.bind(Messages.Exported_A_rows_B_rows_per_second, new Object[] { numRows, getRowsPerSecond() });
+    }
+
+    /**
+     * Finishes the spreadsheet file and releases all resources.
+     *
+     * @throws IOException
+     */
+    public void close() throws IOException {
+
+        if (numSheets == 0) {
+            startNewSheet();
+        }
+
+        endSheet();
+        finish();
+    }
+
+    /**
+     * Releases all resources and deletes the incomplete spreadsheet file. Used,
+     * when an export has been canceled or has failed.
+     */
+    public void abort() {
+
+        try {
+            dispose();
+        } catch (Throwable e) {
+        }
+
+        new File(file).delete();
+    }
+
+    private void startNewSheet() throws IOException {
+
+        if (numSheets > 0) {
+            endSheet();
+        }
+
+        numSheets++;
+        numRowsInSheet = 0;
+
+        startSheet(numSheets - 1, getSheetName(numSheets));
+
+        if (headings != null) {
+            writeHeadings(headings);
+        }
+    }
+
+    private String getSheetName(int sheetNumber) {
+
+        String name = sheetName;
+        if (name == null || name.trim().length() == 0) {
+            name = "Sheet"; //$NON-NLS-1$
+        }
+
+        name = name.replaceAll(INVALID_SHEET_NAME_CHARS, "_"); //$NON-NLS-1$
+
+        String suffix;
+        if (sheetNumber > 1) {
+            suffix = " (" + sheetNumber + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+        } else {
+            suffix = ""; //$NON-NLS-1$
+        }
+
+        if (name.length() + suffix.length() > MAX_SHEET_NAME_LENGTH) {
+            name = name.substring(0, MAX_SHEET_NAME_LENGTH - suffix.length());
+        }
+
+        return name + suffix;
+    }
+
+    /**
+     * Returns the maximum number of data rows per sheet, not counting the
+     * column headings.
+     */
+    protected abstract int getMaxRowsPerSheet();
+
+    /**
+     * Starts a new sheet.
+     *
+     * @param index - index of the sheet, starting at 0
+     * @param name - name of the sheet
+     */
+    protected abstract void startSheet(int index, String name) throws IOException;
+
+    /**
+     * Writes the column headings of the current sheet.
+     */
+    protected abstract void writeHeadings(String[] headings) throws IOException;
+
+    /**
+     * Writes a data row of the current sheet.
+     *
+     * @param row - index of the data row of the current sheet, starting at 0
+     * @param values - values of the row
+     */
+    protected abstract void writeRow(int row, String[] values) throws IOException;
+
+    /**
+     * Ends the current sheet.
+     */
+    protected abstract void endSheet() throws IOException;
+
+    /**
+     * Finishes the file.
+     */
+    protected abstract void finish() throws IOException;
+
+    /**
+     * Releases all resources without finishing the file.
+     */
+    protected abstract void dispose() throws IOException;
+}
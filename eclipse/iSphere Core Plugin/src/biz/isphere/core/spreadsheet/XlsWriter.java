@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.spreadsheet;
+
+import java.io.File;
+import java.io.IOException;
+
+import jxl.Workbook;
+import jxl.write.Label;
+import jxl.write.WritableSheet;
+import jxl.write.WritableWorkbook;
+import jxl.write.WriteException;
+
+/**
+ * Writes the rows to an Excel 97-2003 workbook. The workbook is built in
+ * memory by the jxl library and is written, when the writer is closed. A sheet
+ * holds up to 65,536 rows. {@link SpreadsheetWriter#create(String, int)} does
+ * not create the writer for more data rows than fit on a single sheet, so
+ * that large exports do not keep the whole workbook in memory.
+ */
+class XlsWriter extends SpreadsheetWriter {
+
+    private static final int MAX_ROWS = 65536;
+
+    /**
+     * Maximum number of data rows, not counting the column headings.
+     */
+    static final int MAX_DATA_ROWS = MAX_ROWS - 1;
+
+    private WritableWorkbook workbook;
+    private WritableSheet sheet;
+
+    public XlsWriter(String file) throws IOException {
+        super(file);
+
+        this.workbook = Workbook.createWorkbook(new File(file));
+    }
+
+    @Override
+    protected int getMaxRowsPerSheet() {
+        return MAX_DATA_ROWS;
+    }
+
+    @Override
+    protected void startSheet(int index, String name) throws IOException {
+        sheet = workbook.createSheet(name, index);
+    }
+
+    @Override
+    protected void writeHeadings(String[] headings) throws IOException {
+        addCells(0, headings);
+    }
+
+    @Override
+    protected void writeRow(int row, String[] values) throws IOException {
+        addCells(row + 1, values);
+    }
+
+    @Override
+    protected void endSheet() throws IOException {
+        sheet = null;
+    }
+
+    @Override
+    protected void finish() throws IOException {
+
+        try {
+            workbook.write();
+            workbook.close();
+        } catch (WriteException e) {
+            throw createIOException(e);
+        }
+    }
+
+    @Override
+    protected void dispose() throws IOException {
+
+        try {
+            workbook.close();
+        } catch (WriteException e) {
+            throw createIOException(e);
+        }
+    }
+
+    private void addCells(int line, String[] values) throws IOException {
+
+        try {
+            for (int col = 0; col < values.length; col++) {
+                sheet.addCell(new Label(col, line, values[col]));
+            }
+        } catch (WriteException e) {
+            throw createIOException(e);
+        }
+    }
+
+    private IOException createIOException(WriteException e) {
+
+        IOException exception = new IOException(e.getLocalizedMessage());
+        exception.initCause(e);
+
+        return exception;
+    }
+}
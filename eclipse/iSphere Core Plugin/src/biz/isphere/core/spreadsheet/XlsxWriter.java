@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.spreadsheet;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the rows to an Excel workbook (Office Open XML). The rows of a sheet
+ * are streamed to the zip entry of the sheet, using inline strings, so that
+ * neither the cells nor a shared strings table are kept in memory. The parts,
+ * that list the sheets, are written when the writer is closed. A sheet holds
+ * up to 1,048,576 rows.
+ */
+class XlsxWriter extends SpreadsheetWriter {
+
+    private static final int MAX_ROWS = 1048576;
+    private static final int MAX_CELL_LENGTH = 32767;
+
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"; //$NON-NLS-1$
+    private static final String NS_MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main"; //$NON-NLS-1$
+    private static final String NS_RELATIONSHIPS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships"; //$NON-NLS-1$
+    private static final String NS_PACKAGE_RELATIONSHIPS = "http://schemas.openxmlformats.org/package/2006/relationships"; //$NON-NLS-1$
+
+    private static final String STYLE_HEADING = "1"; //$NON-NLS-1$
+
+    private ZipOutputStream zipOut;
+    private Writer writer;
+    private List<String> sheetNames;
+    private int currentRow;
+
+    public XlsxWriter(String file) throws IOException {
+        super(file);
+
+        this.zipOut = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        this.writer = new BufferedWriter(new OutputStreamWriter(zipOut, "UTF-8")); //$NON-NLS-1$
+        this.sheetNames = new ArrayList<String>();
+    }
+
+    @Override
+    protected int getMaxRowsPerSheet() {
+        return MAX_ROWS - 1;
+    }
+
+    @Override
+    protected void startSheet(int index, String name) throws IOException {
+
+        sheetNames.add(name);
+        currentRow = 0;
+
+        startEntry("xl/worksheets/sheet" + sheetNames.size() + ".xml"); //$NON-NLS-1$ //$NON-NLS-2$
+        writer.write(XML_HEADER);
+        writer.write("<worksheet xmlns=\"" + NS_MAIN + "\"><sheetData>"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Override
+    protected void writeHeadings(String[] headings) throws IOException {
+        writeCells(headings, STYLE_HEADING);
+    }
+
+    @Override
+    protected void writeRow(int row, String[] values) throws IOException {
+        writeCells(values, null);
+    }
+
+    @Override
+    protected void endSheet() throws IOException {
+
+        writer.write("</sheetData></worksheet>"); //$NON-NLS-1$
+        endEntry();
+    }
+
+    @Override
+    protected void finish() throws IOException {
+
+        writeContentTypes();
+        writeRelationships();
+        writeWorkbook();
+        writeWorkbookRelationships();
+        writeStyles();
+
+        writer.close();
+    }
+
+    @Override
+    protected void dispose() throws IOException {
+        zipOut.close();
+    }
+
+    private void writeCells(String[] values, String style) throws IOException {
+
+        currentRow++;
+
+        writer.write("<row r=\"" + currentRow + "\">"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        for (String value : values) {
+            if (style == null) {
+                writer.write("<c t=\"inlineStr\">"); //$NON-NLS-1$
+            } else {
+                writer.write("<c s=\"" + style + "\" t=\"inlineStr\">"); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            writer.write("<is><t xml:space=\"preserve\">"); //$NON-NLS-1$
+            writeEscaped(value);
+            writer.write("</t></is></c>"); //$NON-NLS-1$
+        }
+
+        writer.write("</row>\n"); //$NON-NLS-1$
+    }
+
+    /*
+     * Escapes the XML markup characters and drops characters, that are not
+     * allowed in XML 1.0 documents.
+     */
+    private void writeEscaped(String value) throws IOException {
+
+        if (value == null) {
+            return;
+        }
+
+        int length = Math.min(value.length(), MAX_CELL_LENGTH);
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+            case '<':
+                writer.write("&lt;"); //$NON-NLS-1$
+                break;
+            case '>':
+                writer.write("&gt;"); //$NON-NLS-1$
+                break;
+            case '&':
+                writer.write("&amp;"); //$NON-NLS-1$
+                break;
+            case '"':
+                writer.write("&quot;"); //$NON-NLS-1$
+                break;
+            default:
+                if (ch >= 0x20 || ch == '\t' || ch == '\n' || ch == '\r') {
+                    if (ch != 0xFFFE && ch != 0xFFFF) {
+                        writer.write(ch);
+                    }
+                }
+                break;
+            }
+        }
+    }
+
+    private void writeContentTypes() throws IOException {
+
+        startEntry("[Content_Types].xml"); //$NON-NLS-1$
+        writer.write(XML_HEADER);
+        writer.write("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"); //$NON-NLS-1$
+        writer.write("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"); //$NON-NLS-1$
+        writer.write("<Default Extension=\"xml\" ContentType=\"application/xml\"/>"); //$NON-NLS-1$
+        writer.write("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"); //$NON-NLS-1$
+        writer.write("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>"); //$NON-NLS-1$
+        for (int i = 1; i <= sheetNames.size(); i++) {
+            writer.write("<Override PartName=\"/xl/worksheets/sheet" + i //$NON-NLS-1$
+                + ".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"); //$NON-NLS-1$
+        }
+        writer.write("</Types>"); //$NON-NLS-1$
+        endEntry();
+    }
+
+    private void writeRelationships() throws IOException {
+
+        startEntry("_rels/.rels"); //$NON-NLS-1$
+        writer.write(XML_HEADER);
+        writer.write("<Relationships xmlns=\"" + NS_PACKAGE_RELATIONSHIPS + "\">"); //$NON-NLS-1$ //$NON-NLS-2$
+        writer.write("<Relationship Id=\"rId1\" Type=\"" + NS_RELATIONSHIPS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"); //$NON-NLS-1$ //$NON-NLS-2$
+        writer.write("</Relationships>"); //$NON-NLS-1$
+        endEntry();
+    }
+
+    private void writeWorkbook() throws IOException {
+
+        startEntry("xl/workbook.xml"); //$NON-NLS-1$
+        writer.write(XML_HEADER);
+        writer.write("<workbook xmlns=\"" + NS_MAIN + "\" xmlns:r=\"" + NS_RELATIONSHIPS + "\"><sheets>"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        for (int i = 1; i <= sheetNames.size(); i++) {
+            writer.write("<sheet name=\""); //$NON-NLS-1$
+            writeEscaped(sheetNames.get(i - 1));
+            writer.write("\" sheetId=\"" + i + "\" r:id=\"rId" + i + "\"/>"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+        writer.write("</sheets></workbook>"); //$NON-NLS-1$
+        endEntry();
+    }
+
+    private void writeWorkbookRelationships() throws IOException {
+
+        startEntry("xl/_rels/workbook.xml.rels"); //$NON-NLS-1$
+        writer.write(XML_HEADER);
+        writer.write("<Relationships xmlns=\"" + NS_PACKAGE_RELATIONSHIPS + "\">"); //$NON-NLS-1$ //$NON-NLS-2$
+        for (int i = 1; i <= sheetNames.size(); i++) {
+            writer.write("<Relationship Id=\"rId" + i + "\" Type=\"" + NS_RELATIONSHIPS + "/worksheet\" Target=\"worksheets/sheet" + i //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + ".xml\"/>"); //$NON-NLS-1$
+        }
+        writer.write("<Relationship Id=\"rId" + (sheetNames.size() + 1) + "\" Type=\"" + NS_RELATIONSHIPS //$NON-NLS-1$ //$NON-NLS-2$
+            + "/styles\" Target=\"styles.xml\"/>"); //$NON-NLS-1$
+        writer.write("</Relationships>"); //$NON-NLS-1$
+        endEntry();
+    }
+
+    private void writeStyles() throws IOException {
+
+        startEntry("xl/styles.xml"); //$NON-NLS-1$
+        writer.write(XML_HEADER);
+        writer.write("<styleSheet xmlns=\"" + NS_MAIN + "\">"); //$NON-NLS-1$ //$NON-NLS-2$
+        writer.write("<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>"); //$NON-NLS-1$
+        writer.write("<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"); //$NON-NLS-1$
+        writer.write("<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill><fill><patternFill patternType=\"gray125\"/></fill></fills>"); //$NON-NLS-1$
+        writer.write("<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"); //$NON-NLS-1$
+        writer.write("<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"); //$NON-NLS-1$
+        writer.write("<cellXfs count=\"2\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"); //$NON-NLS-1$
+        writer.write("<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/></cellXfs>"); //$NON-NLS-1$
+        writer.write("</styleSheet>"); //$NON-NLS-1$
+        endEntry();
+    }
+
+    private void startEntry(String name) throws IOException {
+        zipOut.putNextEntry(new ZipEntry(name));
+    }
+
+    private void endEntry() throws IOException {
+        writer.flush();
+        zipOut.closeEntry();
+    }
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.sqljep;
+
+import java.util.HashMap;
+
+import org.medfoster.sqljep.ParseException;
+
+/**
+ * SQL where clause, that has been compiled for a given column mapping. The
+ * predicate is evaluated against entries, whose column values are read by an
+ * {@link IColumnAccessor}, so that no row array needs to be built.
+ * <p>
+ * A predicate can be shared between threads. Each thread uses its own copy of
+ * the compiled expression. Predicates are obtained from the
+ * {@link PredicateCache}.
+ *
+ * @param <E> - type of the entries
+ */
+public final class CompiledPredicate<E> {
+
+    private String whereClause;
+    private HashMap<String, Integer> columnMapping;
+    private IColumnAccessor<E> columnAccessor;
+    private ThreadLocal<EntryJEP<E>> expressions;
+
+    /**
+     * Compiles the where clause. The expression is compiled once for the
+     * calling thread, which validates the where clause.
+     *
+     * @param whereClause - SQL where clause
+     * @param columnMapping - column names and column indexes
+     * @param columnAccessor - accessor, that reads the column values
+     * @throws ParseException
+     */
+    CompiledPredicate(String whereClause, HashMap<String, Integer> columnMapping, IColumnAccessor<E> columnAccessor) throws ParseException {
+
+        this.whereClause = whereClause;
+        this.columnMapping = columnMapping;
+        this.columnAccessor = columnAccessor;
+        this.expressions = new ThreadLocal<EntryJEP<E>>();
+
+        expressions.set(compile());
+    }
+
+    /**
+     * Returns the where clause of this predicate.
+     *
+     * @return where clause
+     */
+    public String getWhereClause() {
+        return whereClause;
+    }
+
+    /**
+     * Returns <code>true</code> when the specified entry matches the where
+     * clause, else <code>false</code>.
+     *
+     * @param entry - entry that is evaluated
+     * @return <code>true</code>, if the entry matches the where clause
+     * @throws ParseException
+     */
+    public boolean matches(E entry) throws ParseException {
+        return Boolean.TRUE.equals(getExpression().evaluate(entry));
+    }
+
+    private EntryJEP<E> getExpression() throws ParseException {
+
+        EntryJEP<E> expression = expressions.get();
+        if (expression == null) {
+            expression = compile();
+            expressions.set(expression);
+        }
+
+        return expression;
+    }
+
+    private EntryJEP<E> compile() throws ParseException {
+
+        EntryJEP<E> expression = new EntryJEP<E>(whereClause, columnAccessor);
+        expression.parseExpression(columnMapping);
+
+        return expression;
+    }
+
+    @Override
+    public String toString() {
+        return whereClause;
+    }
+}
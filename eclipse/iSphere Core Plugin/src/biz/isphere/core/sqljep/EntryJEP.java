@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.sqljep;
+
+import org.medfoster.sqljep.ParseException;
+import org.medfoster.sqljep.RowJEP;
+
+/**
+ * SQLJEP expression, that reads the column values directly from the entry that
+ * is evaluated, instead of from a row array. Only the columns referenced by
+ * the expression are read.
+ * <p>
+ * The entry being evaluated is kept as internal state. Therefore an expression
+ * must not be shared between threads.
+ *
+ * @param <E> - type of the entries
+ */
+class EntryJEP<E> extends RowJEP {
+
+    private IColumnAccessor<E> columnAccessor;
+    private E entry;
+
+    public EntryJEP(String expression, IColumnAccessor<E> columnAccessor) {
+        super(expression);
+
+        this.columnAccessor = columnAccessor;
+    }
+
+    /**
+     * Evaluates the expression against the specified entry.
+     *
+     * @param entry - entry that is evaluated
+     * @return result of the expression
+     * @throws ParseException
+     */
+    public Comparable<?> evaluate(E entry) throws ParseException {
+
+        this.entry = entry;
+
+        try {
+            return getValue();
+        } finally {
+            this.entry = null;
+        }
+    }
+
+    @Override
+    public Comparable<?> getColumnObject(int column) throws ParseException {
+
+        try {
+            return columnAccessor.getColumnValue(entry, column);
+        } catch (RuntimeException e) {
+            throw new ParseException("Column index: " + column, e); //$NON-NLS-1$
+        }
+    }
+}
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.sqljep;
+
+/**
+ * Interface of the objects, that read the column values of an entry, such as a
+ * journal entry or a job log message, when a {@link CompiledPredicate} is
+ * evaluated. The column index is the index of the column mapping, that has
+ * been used for compiling the predicate.
+ *
+ * @param <E> - type of the entries
+ */
+public interface IColumnAccessor<E> {
+
+    /**
+     * Returns the value of a given column of an entry.
+     *
+     * @param entry - entry whose column value is returned
+     * @param column - index of the column as specified in the column mapping
+     * @return column value
+     */
+    public Comparable<?> getColumnValue(E entry, int column);
+}
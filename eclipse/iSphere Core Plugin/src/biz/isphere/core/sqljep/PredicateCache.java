@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.core.sqljep;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.medfoster.sqljep.ParseException;
+
+/**
+ * Cache of the compiled SQL where clauses, that are used by the explorers for
+ * filtering and searching journal entries, job log messages and job trace
+ * entries.
+ * <p>
+ * Predicates are cached by where clause, column mapping and column accessor,
+ * so that a where clause is compiled only once per record layout. The number
+ * of cached predicates is limited. When the limit is exceeded, the least
+ * recently used predicate is removed from the cache.
+ */
+public final class PredicateCache {
+
+    /*
+     * Maximum number of predicates kept in the cache.
+     */
+    private static final int MAX_CACHE_SIZE = 64;
+
+    /**
+     * The instance of this Singleton class.
+     */
+    private static PredicateCache instance;
+
+    private LinkedHashMap<Key, CompiledPredicate<?>> cache;
+    private int numCompiled;
+
+    @SuppressWarnings("serial")
+    private PredicateCache() {
+        this.cache = new LinkedHashMap<Key, CompiledPredicate<?>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CompiledPredicate<?>> eldest) {
+                return size() > MAX_CACHE_SIZE;
+            }
+        };
+        this.numCompiled = 0;
+    }
+
+    /**
+     * Thread-safe method that returns the instance of this Singleton class.
+     */
+    public synchronized static PredicateCache getInstance() {
+        if (instance == null) {
+            instance = new PredicateCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the compiled predicate of a given where clause. The where clause
+     * is compiled, if it has not yet been compiled for the specified column
+     * mapping and column accessor.
+     *
+     * @param whereClause - SQL where clause
+     * @param columnMapping - column names and column indexes
+     * @param columnAccessor - accessor, that reads the column values of the
+     *        entries
+     * @return compiled predicate
+     * @throws ParseException, if the where clause is invalid
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <E> CompiledPredicate<E> getPredicate(String whereClause, HashMap<String, Integer> columnMapping,
+        IColumnAccessor<E> columnAccessor) throws ParseException {
+
+        Key key = new Key(whereClause, columnMapping, columnAccessor);
+
+        CompiledPredicate<E> predicate = (CompiledPredicate<E>)cache.get(key);
+        if (predicate == null) {
+            HashMap<String, Integer> columnMappingCopy = new HashMap<String, Integer>(columnMapping);
+            predicate = new CompiledPredicate<E>(whereClause, columnMappingCopy, columnAccessor);
+            cache.put(new Key(whereClause, columnMappingCopy, columnAccessor), predicate);
+            numCompiled++;
+        }
+
+        return predicate;
+    }
+
+    /**
+     * Returns the number of times a where clause has been compiled since the
+     * cache has been created or cleared.
+     *
+     * @return number of compiled predicates
+     */
+    public synchronized int getNumCompiled() {
+        return numCompiled;
+    }
+
+    /**
+     * Removes all predicates from the cache.
+     */
+    public synchronized void clear() {
+        cache.clear();
+        numCompiled = 0;
+    }
+
+    private static class Key {
+
+        private String whereClause;
+        private HashMap<String, Integer> columnMapping;
+        private IColumnAccessor<?> columnAccessor;
+        private int hashCode;
+
+        public Key(String whereClause, HashMap<String, Integer> columnMapping, IColumnAccessor<?> columnAccessor) {
+            this.whereClause = whereClause;
+            this.columnMapping = columnMapping;
+            this.columnAccessor = columnAccessor;
+            this.hashCode = (whereClause.hashCode() * 31 + columnMapping.hashCode()) * 31 + columnAccessor.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key)obj;
+
+            return hashCode == other.hashCode && columnAccessor == other.columnAccessor && whereClause.equals(other.whereClause)
+                && columnMapping.equals(other.columnMapping);
+        }
+    }
+}
@@ -51,6 +51,7 @@ public class SearchDialog extends AbstractSearchDialog<SearchElement> {
 
     private static final String MAX_DEPTH = "maxDepth"; //$NON-NLS-1$
     private static final String SHOW_RECORDS = "showRecords"; //$NON-NLS-1$
+    private static final String PARALLEL_JOBS = "parallelJobs"; //$NON-NLS-1$
 
     private Preferences preferences;
 
@@ -59,6 +60,7 @@ public class SearchDialog extends AbstractSearchDialog<SearchElement> {
     private Label labelMaxDepthWarning;
     private Button showAllRecordsButton;
     private Combo filterTypeCombo;
+    private Combo parallelJobsCombo;
     private RefreshJob refreshJob = new RefreshJob();
 
     /**
@@ -236,6 +238,19 @@ public class SearchDialog extends AbstractSearchDialog<SearchElement> {
         labelMaxDepthWarning.setForeground(ColorHelper.getOrange());
         labelMaxDepthWarning.setText(Messages.Warning_Maximum_depth_set_to_more_than_one_level);
 
+        Label parallelJobsLabel = new Label(groupOptions, SWT.NONE);
+        parallelJobsLabel.setLayoutData(new GridData());
+        parallelJobsLabel.setText(Messages.Parallel_jobs_colon);
+        parallelJobsLabel.setToolTipText(Messages.Specifies_the_number_of_host_jobs_that_search_the_stream_files_concurrently);
+
+        parallelJobsCombo = WidgetFactory.createIntegerCombo(groupOptions);
+        GridData parallelJobsGridData = new GridData();
+        parallelJobsGridData.widthHint = 100;
+        parallelJobsGridData.horizontalSpan = 2;
+        parallelJobsCombo.setLayoutData(parallelJobsGridData);
+        parallelJobsCombo.setToolTipText(Messages.Specifies_the_number_of_host_jobs_that_search_the_stream_files_concurrently);
+        parallelJobsCombo.setItems(new String[] { "1", "2", "4", "8" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
         showAllRecordsButton = WidgetFactory.createCheckbox(groupOptions);
         showAllRecordsButton.setText(Messages.ShowAllRecords);
         showAllRecordsButton.setToolTipText(Messages.Specify_whether_all_matching_records_are_returned);
@@ -287,12 +302,14 @@ public class SearchDialog extends AbstractSearchDialog<SearchElement> {
         setMaxDepth(maxDepth);
 
         showAllRecordsButton.setSelection(loadBooleanValue(SHOW_RECORDS, true));
+        parallelJobsCombo.setText(Integer.toString(loadIntValue(PARALLEL_JOBS, 1)));
     };
 
     @Override
     protected void saveElementValues() {
         storeValue(MAX_DEPTH, getMaxDepth());
         storeValue(SHOW_RECORDS, isShowAllRecords());
+        storeValue(PARALLEL_JOBS, getParallelJobs());
     };
 
     /**
@@ -327,12 +344,17 @@ public class SearchDialog extends AbstractSearchDialog<SearchElement> {
         _searchOptions.setShowAllItems(isShowAllRecords());
         _searchOptions.setGenericOption(GenericSearchOption.STMF_TYPE, filterTypeCombo.getText());
         _searchOptions.setGenericOption(GenericSearchOption.MAX_DEPTH, getMaxDepth());
+        _searchOptions.setGenericOption(GenericSearchOption.PARALLEL_JOBS, getParallelJobs());
     };
 
     private boolean isShowAllRecords() {
         return showAllRecordsButton.getSelection();
     }
 
+    private int getParallelJobs() {
+        return Math.max(1, IntHelper.tryParseInt(parallelJobsCombo.getText(), 1));
+    }
+
     private void refreshStreamFileList(Control control) {
 
         int autoRefreshDelay = preferences.getAutoRefreshDelay();
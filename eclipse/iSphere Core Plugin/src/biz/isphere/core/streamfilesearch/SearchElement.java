@@ -9,18 +9,28 @@
 package biz.isphere.core.streamfilesearch;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
 
 import biz.isphere.base.internal.SqlHelper;
 import biz.isphere.core.ISpherePlugin;
+import biz.isphere.core.Messages;
 import biz.isphere.core.annotations.CMOne;
 
 @CMOne(info = "Be careful, when changing this class! Also test CMOne stream file search.")
 public class SearchElement implements Comparable<SearchElement> {
 
+    /**
+     * Default number of rows inserted by one batch of
+     * {@link #setSearchElements(String, Connection, int, List, int, IProgressMonitor)}.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
     private String directory;
     private String streamFile;
     private String type;
@@ -91,80 +101,64 @@ public class SearchElement implements Comparable<SearchElement> {
 
     public static void setSearchElements(String iSphereLibrary, Connection jdbcConnection, int handle, ArrayList<SearchElement> _searchElements) {
 
-        // String _separator;
-        // try {
-        // _separator = jdbcConnection.getMetaData().getCatalogSeparator();
-        // } catch (SQLException e) {
-        // _separator = ".";
-        // ISpherePlugin.logError("*** Stream file search, setSearchElements():
-        // Could not get JDBC meta data. Using '.' as SQL separator ***",
-        // e);
-        // }
-
-        SqlHelper sqlHelper = new SqlHelper(jdbcConnection);
-
-        if (_searchElements.size() > 0) {
-
-            int _start;
-            int _end;
-            int _elements = 100;
-
-            _start = 1;
-
-            do {
-
-                _end = _start + _elements - 1;
+        try {
+            setSearchElements(iSphereLibrary, jdbcConnection, handle, _searchElements, DEFAULT_BATCH_SIZE, null);
+        } catch (SQLException e) {
+            ISpherePlugin.logError("*** Stream file search, setSearchElements(): Could not insert search elements into ZFNDSTRI ***", e);
+        }
+    }
 
-                if (_end > _searchElements.size()) {
-                    _end = _searchElements.size();
-                }
+    /**
+     * Inserts the search elements into ZFNDSTRI. The rows are inserted with a
+     * prepared statement, that is executed in batches.
+     * 
+     * @param iSphereLibrary - iSphere library
+     * @param jdbcConnection - JDBC connection
+     * @param handle - search job handle
+     * @param _searchElements - search elements
+     * @param batchSize - number of rows per batch, must be greater than zero
+     * @param monitor - progress monitor or <code>null</code>
+     * @throws SQLException, when a batch could not be inserted
+     */
+    public static void setSearchElements(String iSphereLibrary, Connection jdbcConnection, int handle, List<SearchElement> _searchElements,
+        int batchSize, IProgressMonitor monitor) throws SQLException {
+
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than zero: " + batchSize); //$NON-NLS-1$
+        }
 
-                StringBuffer sqlInsert = new StringBuffer();
-                sqlInsert.append("INSERT INTO " + sqlHelper.getObjectName(iSphereLibrary, "ZFNDSTRI") + " (XIHDL, XIDIR, XISTMF) VALUES");
-                boolean first = true;
+        if (_searchElements.size() == 0) {
+            return;
+        }
 
-                for (int idx = _start - 1; idx <= _end - 1; idx++) {
+        SqlHelper sqlHelper = new SqlHelper(jdbcConnection);
 
-                    if (first) {
-                        first = false;
-                        sqlInsert.append(" ");
-                    } else {
-                        sqlInsert.append(", ");
-                    }
+        PreparedStatement preparedStatementInsert = null;
 
-                    //@formatter:off
-                    sqlInsert.append("(");
-                    sqlInsert.append(
-                        "'" + Integer.toString(handle) + "', " + 
-                        "'" + _searchElements.get(idx).getDirectory() + "', " + 
-                        "'" + _searchElements.get(idx).getStreamFile() + "'");
-                    sqlInsert.append(")");
-                    //@formatter:on
-                }
+        try {
 
-                String _sqlInsert = sqlInsert.toString();
+            preparedStatementInsert = jdbcConnection.prepareStatement("INSERT INTO " + sqlHelper.getObjectName(iSphereLibrary, "ZFNDSTRI")
+                + " (XIHDL, XIDIR, XISTMF) VALUES (?, ?, ?)");
 
-                Statement statementInsert = null;
+            int count = 0;
+            for (SearchElement searchElement : _searchElements) {
 
-                try {
-                    statementInsert = jdbcConnection.createStatement();
-                    statementInsert.executeUpdate(_sqlInsert);
-                } catch (SQLException e) {
-                    ISpherePlugin.logError("*** Stream file search, setSearchElements(): Could not insert search elements into ZFNDSTRI ***", e);
-                }
+                preparedStatementInsert.setInt(1, handle);
+                preparedStatementInsert.setString(2, searchElement.getDirectory());
+                preparedStatementInsert.setString(3, searchElement.getStreamFile());
+                preparedStatementInsert.addBatch();
+                count++;
 
-                if (statementInsert != null) {
-                    try {
-                        statementInsert.close();
-                    } catch (SQLException e) {
-                        e.printStackTrace();
+                if (count % batchSize == 0 || count == _searchElements.size()) {
+                    preparedStatementInsert.executeBatch();
+                    if (monitor != null) {
+                        monitor.subTask(Messages.bind(Messages.Preparing_search_elements_A_of_B, count, _searchElements.size()));
                     }
                 }
+            }
 
-                _start = _start + _elements;
-
-            } while (_end < _searchElements.size());
-
+        } finally {
+            sqlHelper.close(preparedStatementInsert);
         }
 
     }
@@ -10,12 +10,13 @@ package biz.isphere.core.streamfilesearch;
 
 import java.util.Map;
 
+import org.eclipse.swt.custom.CTabItem;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PartInitException;
 
 import biz.isphere.core.search.SearchOptions;
 
-public class SearchPostRun implements ISearchPostRun {
+public class SearchPostRun implements IIncrementalSearchPostRun {
 
     private class ShowView extends Thread {
 
@@ -43,7 +44,11 @@ public class SearchPostRun implements ISearchPostRun {
                     try {
                         ViewSearchResults viewSearchResults = (ViewSearchResults)(_workbenchWindow.getActivePage()
                             .showView("biz.isphere.core.streamfilesearch.ViewSearchResults")); //$NON-NLS-1$
-                        viewSearchResults.addTabItem(_connectionName, _searchString, _searchResults, _searchOptions);
+                        if (_tabItem == null) {
+                            _tabItem = viewSearchResults.addTabItem(_connectionName, _searchString, _searchResults, _searchOptions);
+                        } else {
+                            viewSearchResults.addSearchResults(_tabItem, _searchResults);
+                        }
                     } catch (PartInitException e) {
                         e.printStackTrace();
                     }
@@ -57,6 +62,8 @@ public class SearchPostRun implements ISearchPostRun {
     private String _searchString;
     private Map<String, SearchElement> _searchElements;
     private IWorkbenchWindow _workbenchWindow;
+    private boolean _isShown;
+    private CTabItem _tabItem;
 
     public Object getConnection() {
         return _connection;
@@ -98,9 +105,22 @@ public class SearchPostRun implements ISearchPostRun {
         this._workbenchWindow = _workbenchWindow;
     }
 
+    /**
+     * Adds the search results, that have been found while the search job is
+     * running. The first call opens the view, the following calls add the
+     * search results to the tab of the first call.
+     */
+    public void addResults(SearchResult[] _searchResults, SearchOptions _searchOptions) {
+
+        _isShown = true;
+
+        // Called on the search job thread, to keep the order of the updates.
+        new ShowView(_workbenchWindow, _connectionName, _searchString, _searchResults, _searchOptions).run();
+    }
+
     public void run(SearchResult[] _searchResults, SearchOptions _searchOptions) {
 
-        if (_searchResults != null) {
+        if (_searchResults != null && !_isShown) {
 
             new ShowView(_workbenchWindow, _connectionName, _searchString, _searchResults, _searchOptions).start();
 
@@ -897,6 +897,14 @@ public class SearchResultViewer implements IResizableTableColumnsViewer {
         return _searchResults;
     }
 
+    public void addSearchResults(SearchResult[] searchResults) {
+
+        List<SearchResult> searchResult = new ArrayList<SearchResult>(Arrays.asList(_searchResults));
+        searchResult.addAll(Arrays.asList(searchResults));
+        _searchResults = searchResult.toArray(new SearchResult[searchResult.size()]);
+        tableViewerStreamFiles.add(searchResults);
+    }
+
     public SearchOptions getSearchOptions() {
         return _searchOptions;
     }
@@ -16,6 +16,9 @@ public class Messages extends NLS {
 
     public static String Job_Parsing_job_log;
     public static String Job_Loading_job_log;
+    public static String Job_Loading_job_log_A_of_B_messages;
+    public static String Job_Loading_job_logs_A_of_B;
+    public static String A_job_logs;
     public static String Job_Log_Explorer;
     public static String Job_Log_Explorer_Tooltip;
 
@@ -35,6 +38,7 @@ public class Messages extends NLS {
     public static String Column_To_Module;
     public static String Column_From_Procedure;
     public static String Column_To_Procedure;
+    public static String Column_Job;
 
     public static String Label_ID;
     public static String Label_Type;
@@ -73,6 +77,7 @@ public class Messages extends NLS {
     public static String LongFieldName_TEXT;
     public static String LongFieldName_HELP;
     public static String LongFieldName_TIMESTAMP;
+    public static String LongFieldName_JOB;
 
     public static String Message_details;
     public static String Number_of_messages_A;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012-2019 iSphere Project Owners
+ * Copyright (c) 2012-2023 iSphere Project Owners
  * All rights reserved. This program and the accompanying materials 
  * are made available under the terms of the Common Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,6 +16,7 @@ import org.eclipse.jface.action.Action;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.swt.graphics.Image;
 
+import biz.isphere.core.spreadsheet.SpreadsheetWriter;
 import biz.isphere.joblogexplorer.ISphereJobLogExplorerPlugin;
 import biz.isphere.joblogexplorer.Messages;
 import biz.isphere.joblogexplorer.export.ExcelExporter;
@@ -48,7 +49,7 @@ public class ExportToExcelAction extends Action {
         }
 
         String sheetName = title.replaceAll("/", "_").replaceAll(":", "_");
-        String suggestedFileName = sheetName + ".xls";
+        String suggestedFileName = sheetName + SpreadsheetWriter.XLSX_EXTENSION;
 
         ExcelExporter exporter = new ExcelExporter();
         exporter.exportToExcel(sheetName, suggestedFileName, selectedItems);
@@ -35,6 +35,7 @@ public class QGYGTLE extends APIProgramCallDocument {
 
     private String requestHandle;
     private int totalNumberOfRecords;
+    private int recordsReturned;
     private boolean isPending;
 
     public QGYGTLE(AS400 system, String requestHandle) {
@@ -68,6 +69,7 @@ public class QGYGTLE extends APIProgramCallDocument {
             openListInformation.setBytes(getParameterList()[3].getOutputData());
 
             totalNumberOfRecords = openListInformation.getTotalRecords();
+            recordsReturned = openListInformation.getRecordsReturned();
             if (OpenListInformation.STATUS_PENDING.equals(openListInformation.getListStatusIndicator())) {
                 isPending = true;
             } else {
@@ -98,6 +100,26 @@ public class QGYGTLE extends APIProgramCallDocument {
         return totalNumberOfRecords;
     }
 
+    /**
+     * Returns the number of list entries returned by the last call.
+     * 
+     * @return number of entries in the receiver
+     */
+    public int getRecordsReturned() {
+        return recordsReturned;
+    }
+
+    /**
+     * Returns the receiver variable of the last call, which contains the list
+     * entries in format OLJL0100. Used for decoding the entries in another
+     * thread, while the next entries are retrieved.
+     * 
+     * @return list entries
+     */
+    public byte[] getReceiverData() {
+        return getParameterList()[0].getOutputData();
+    }
+
     private void processReceivedRecords(OpenListInformation openListInformation) throws CharConversionException, UnsupportedEncodingException {
 
         OLJL0100 oljl0100 = new OLJL0100(getSystem());
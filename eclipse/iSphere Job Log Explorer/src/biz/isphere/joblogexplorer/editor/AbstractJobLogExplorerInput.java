@@ -12,6 +12,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 
 import biz.isphere.joblogexplorer.exceptions.BasicJobLogLoaderException;
 import biz.isphere.joblogexplorer.model.JobLog;
+import biz.isphere.joblogexplorer.model.listeners.JobLogLoadListener;
 
 public abstract class AbstractJobLogExplorerInput {
 
@@ -42,4 +43,18 @@ public abstract class AbstractJobLogExplorerInput {
     }
 
     public abstract JobLog load(IProgressMonitor arg0) throws BasicJobLogLoaderException;
+
+    /**
+     * Loads the job log and hands over the messages to the specified listener,
+     * while loading continues. The default implementation loads the job log
+     * at once and does not call the listener.
+     * 
+     * @param monitor - progress monitor
+     * @param listener - listener that receives the loaded messages
+     * @return the job log
+     * @throws BasicJobLogLoaderException
+     */
+    public JobLog load(IProgressMonitor monitor, JobLogLoadListener listener) throws BasicJobLogLoaderException {
+        return load(monitor);
+    }
 }
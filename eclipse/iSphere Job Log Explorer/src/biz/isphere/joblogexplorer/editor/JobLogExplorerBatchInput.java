@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.joblogexplorer.editor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import biz.isphere.base.internal.ExceptionHelper;
+import biz.isphere.joblogexplorer.Messages;
+import biz.isphere.joblogexplorer.exceptions.BasicJobLogLoaderException;
+import biz.isphere.joblogexplorer.model.JobLog;
+import biz.isphere.joblogexplorer.model.JobLogMessage;
+import biz.isphere.joblogexplorer.model.JobLogPage;
+
+/**
+ * Editor input, that loads the job logs of multiple jobs and merges them into
+ * a single job log. The job logs are loaded concurrently. The messages of the
+ * merged job log are told apart by the qualified job name.
+ * <p>
+ * Job logs that cannot be loaded are reported as errors of the merged job log.
+ */
+public class JobLogExplorerBatchInput extends AbstractJobLogExplorerInput {
+
+    private static final String INPUT_TYPE = "batch://"; //$NON-NLS-1$
+    private static final String DELIMITER = "|"; //$NON-NLS-1$
+
+    /*
+     * Maximum number of job logs loaded at the same time.
+     */
+    private static final int MAX_THREADS = 4;
+
+    private List<AbstractJobLogExplorerInput> inputs;
+    private JobLog jobLog;
+
+    public JobLogExplorerBatchInput(List<AbstractJobLogExplorerInput> inputs) {
+        this.inputs = new ArrayList<AbstractJobLogExplorerInput>(inputs);
+    }
+
+    public JobLog load(IProgressMonitor monitor) throws BasicJobLogLoaderException {
+
+        List<JobLog> jobLogs = new ArrayList<JobLog>();
+        List<String> errors = new ArrayList<String>();
+
+        int numThreads = Math.max(1, Math.min(MAX_THREADS, inputs.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads, new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "iSphere job log batch loader"); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        try {
+
+            final IProgressMonitor loaderMonitor = new NullProgressMonitor();
+
+            List<Future<JobLog>> results = new ArrayList<Future<JobLog>>();
+            for (final AbstractJobLogExplorerInput input : inputs) {
+                results.add(executor.submit(new Callable<JobLog>() {
+                    public JobLog call() throws Exception {
+                        return input.load(loaderMonitor);
+                    }
+                }));
+            }
+
+            // Collect the job logs in the order of the inputs.
+            for (int i = 0; i < results.size(); i++) {
+
+                if (monitor != null) {
+                    monitor.subTask(Messages.bind(Messages.Job_Loading_job_logs_A_of_B, i + 1, results.size()));
+                }
+
+                JobLog loadedJobLog = waitForJobLog(results.get(i), inputs.get(i), monitor, loaderMonitor, errors);
+                if (loadedJobLog != null) {
+                    jobLogs.add(loadedJobLog);
+                }
+
+                if (loaderMonitor.isCanceled()) {
+                    break;
+                }
+            }
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+        jobLog = mergeJobLogs(jobLogs, errors);
+
+        return jobLog;
+    }
+
+    private JobLog waitForJobLog(Future<JobLog> result, AbstractJobLogExplorerInput input, IProgressMonitor monitor,
+        IProgressMonitor loaderMonitor, List<String> errors) {
+
+        while (true) {
+
+            if (monitor != null && monitor.isCanceled()) {
+                loaderMonitor.setCanceled(true);
+                return null;
+            }
+
+            try {
+                return result.get(100, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Check for cancellation
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                loaderMonitor.setCanceled(true);
+                return null;
+            } catch (ExecutionException e) {
+                errors.add(input.getContentId() + ": " + ExceptionHelper.getLocalizedMessage(e.getCause())); //$NON-NLS-1$
+                return null;
+            }
+        }
+    }
+
+    private JobLog mergeJobLogs(List<JobLog> jobLogs, List<String> errors) {
+
+        JobLog mergedJobLog = new JobLog();
+
+        if (!jobLogs.isEmpty()) {
+            mergedJobLog.setSystemName(jobLogs.get(0).getSystemName());
+        }
+
+        for (JobLog jobLog : jobLogs) {
+            addMessages(mergedJobLog, jobLog);
+        }
+
+        for (String error : errors) {
+            JobLogMessage message = JobLogMessage.createEmpty();
+            Exception exception = new Exception(error);
+            message.setError(exception);
+            mergedJobLog.addError(exception, message);
+        }
+
+        return mergedJobLog;
+    }
+
+    /*
+     * Adds the pages and messages of a job log to the merged job log. A new
+     * page is started with the first message of each page.
+     */
+    private void addMessages(JobLog mergedJobLog, JobLog jobLog) {
+
+        JobLogPage[] pages = jobLog.getPages();
+        int nextPage = 0;
+
+        List<JobLogMessage> messages = new ArrayList<JobLogMessage>();
+
+        for (JobLogMessage message : jobLog.getMessages()) {
+
+            while (nextPage < pages.length && (pages[nextPage].getFirstMessage() == message || pages[nextPage].getFirstMessage() == null)) {
+                if (pages[nextPage].getFirstMessage() == message) {
+                    if (!messages.isEmpty()) {
+                        mergedJobLog.addMessages(messages);
+                        messages = new ArrayList<JobLogMessage>();
+                    }
+                    mergedJobLog.addPage().setPageNumber(pages[nextPage].getPageNumber());
+                }
+                nextPage++;
+            }
+
+            messages.add(message);
+        }
+
+        if (!messages.isEmpty()) {
+            mergedJobLog.addMessages(messages);
+        }
+    }
+
+    public String getName() {
+        return Messages.bind(Messages.A_job_logs, inputs.size());
+    }
+
+    public String getToolTipText() {
+
+        StringBuilder buffer = new StringBuilder();
+
+        for (AbstractJobLogExplorerInput input : inputs) {
+            if (buffer.length() > 0) {
+                buffer.append("\n"); //$NON-NLS-1$
+            }
+            buffer.append(input.getToolTipText());
+        }
+
+        return buffer.toString();
+    }
+
+    @Override
+    public String getContentId() {
+
+        StringBuilder buffer = new StringBuilder(INPUT_TYPE);
+
+        for (AbstractJobLogExplorerInput input : inputs) {
+            if (buffer.length() > INPUT_TYPE.length()) {
+                buffer.append(DELIMITER);
+            }
+            buffer.append(input.getContentId());
+        }
+
+        return buffer.toString();
+    }
+}
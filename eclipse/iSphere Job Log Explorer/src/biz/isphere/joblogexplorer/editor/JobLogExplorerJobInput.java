@@ -16,6 +16,7 @@ import biz.isphere.joblogexplorer.exceptions.JobLogNotLoadedException;
 import biz.isphere.joblogexplorer.exceptions.JobNotFoundException;
 import biz.isphere.joblogexplorer.model.JobLog;
 import biz.isphere.joblogexplorer.model.JobLogReader;
+import biz.isphere.joblogexplorer.model.listeners.JobLogLoadListener;
 
 import com.ibm.as400.access.AS400;
 
@@ -51,11 +52,16 @@ public class JobLogExplorerJobInput extends AbstractJobLogExplorerInput {
     }
 
     public JobLog load(IProgressMonitor monitor) throws JobNotFoundException, JobLogNotLoadedException {
+        return load(monitor, null);
+    }
+
+    @Override
+    public JobLog load(IProgressMonitor monitor, JobLogLoadListener listener) throws JobNotFoundException, JobLogNotLoadedException {
 
         AS400 as400 = IBMiHostContributionsHandler.getSystem(getConnectionName());
 
-        JobLogReader reader = new JobLogReader();
-        jobLog = reader.loadFromJob(as400, getJobName(), getUserName(), getJobNumber());
+        JobLogReader reader = new JobLogReader(listener);
+        jobLog = reader.loadFromJob(as400, getJobName(), getUserName(), getJobNumber(), monitor);
 
         return jobLog;
     }
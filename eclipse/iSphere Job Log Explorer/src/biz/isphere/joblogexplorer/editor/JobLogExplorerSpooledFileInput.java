@@ -25,6 +25,7 @@ import biz.isphere.core.spooledfiles.SpooledFileFactory;
 import biz.isphere.joblogexplorer.exceptions.BasicJobLogLoaderException;
 import biz.isphere.joblogexplorer.exceptions.DownloadSpooledFileException;
 import biz.isphere.joblogexplorer.model.JobLog;
+import biz.isphere.joblogexplorer.model.JobLogCache;
 import biz.isphere.joblogexplorer.model.JobLogParser;
 
 public class JobLogExplorerSpooledFileInput extends AbstractJobLogExplorerInput {
@@ -64,6 +65,14 @@ public class JobLogExplorerSpooledFileInput extends AbstractJobLogExplorerInput
 
     public JobLog load(IProgressMonitor monitor) throws BasicJobLogLoaderException {
 
+        String cacheKey = getCacheKey();
+        if (cacheKey != null) {
+            jobLog = JobLogCache.getInstance().get(cacheKey);
+            if (jobLog != null) {
+                return jobLog;
+            }
+        }
+
         try {
 
             if (spooledFile == null) {
@@ -93,6 +102,10 @@ public class JobLogExplorerSpooledFileInput extends AbstractJobLogExplorerInput
         JobLogParser reader = new JobLogParser(monitor);
         jobLog = reader.loadFromStmf(editorInput.getPath());
 
+        if (cacheKey != null) {
+            JobLogCache.getInstance().put(cacheKey, jobLog);
+        }
+
         return jobLog;
     }
 
@@ -101,6 +114,12 @@ public class JobLogExplorerSpooledFileInput extends AbstractJobLogExplorerInput
     }
 
     public String getToolTipText() {
+
+        if (spooledFile == null) {
+            // Job log loaded from the cache
+            return connectionName + ":" + getAbsoluteNameInternal(); //$NON-NLS-1$
+        }
+
         return spooledFile.getToolTip(IPreferences.OUTPUT_FORMAT_TEXT);
     }
 
@@ -109,6 +128,22 @@ public class JobLogExplorerSpooledFileInput extends AbstractJobLogExplorerInput
         return INPUT_TYPE + getAbsoluteNameInternal();
     }
 
+    /**
+     * Returns the key of the job log in the {@link JobLogCache}. Job logs are
+     * cached only, when the spooled file is identified by its creation
+     * timestamp, because otherwise the spooled file could have been replaced.
+     * 
+     * @return cache key or <code>null</code>
+     */
+    private String getCacheKey() {
+
+        if (jobSystemName == null || creationTimestamp == null) {
+            return null;
+        }
+
+        return connectionName + ":" + getContentId(); //$NON-NLS-1$
+    }
+
     private void init(String connectionName, String splfName, int splfNumber, String jobName, String userName, String jobNumber,
         String jobSystemName, Date creationTimestamp) {
 
@@ -29,7 +29,8 @@ public enum Columns {
     FROM_MODULE ("fromModule", Index.FROM_MODULE, 100), //$NON-NLS-1$
     TO_MODULE ("toModule", Index.TO_MODULE, 100), //$NON-NLS-1$
     FROM_PROCEDURE ("fromProcedure", Index.FROM_PROCEDURE, 200), //$NON-NLS-1$
-    TO_PROCEDURE ("toProcedure", Index.TO_PROCEDURE, 200); //$NON-NLS-1$
+    TO_PROCEDURE ("toProcedure", Index.TO_PROCEDURE, 200), //$NON-NLS-1$
+    JOB ("job", Index.JOB, 200); //$NON-NLS-1$
 
     public final String name;
     public final int index;
@@ -69,6 +70,7 @@ public enum Columns {
         public static int TO_MODULE = 14;
         public static int FROM_PROCEDURE = 15;
         public static int TO_PROCEDURE = 16;
+        public static int JOB = 17;
     }
 
 }
@@ -145,6 +145,9 @@ public class JobLogExplorerLabelProvider extends LabelProvider implements ITable
         case Columns.Index.TO_PROCEDURE:
             result = jobLogMessage.getToProcedure();
             break;
+        case Columns.Index.JOB:
+            result = jobLogMessage.getQualifiedJobName();
+            break;
         default:
             break;
         }
@@ -96,6 +96,16 @@ public class JobLogExplorerTableViewer implements SelectionListener {
     public void setInputData(JobLog jobLog) {
         tableViewer.setInput(jobLog);
     }
+
+    /**
+     * Adds messages to the viewer, that have been added to the job log after
+     * it has been set as input data.
+     * 
+     * @param messages - messages that are added
+     */
+    public void addMessages(List<JobLogMessage> messages) {
+        tableViewer.add(messages.toArray());
+    }
     public ISelection getSelection() {
         return tableViewer.getSelection();
     }
@@ -387,6 +397,9 @@ public class JobLogExplorerTableViewer implements SelectionListener {
             }
         });
 
+        // 18. column with qualified job name
+        createColumn(table, Columns.JOB, Messages.Column_Job);
+
         return table;
     }
 
@@ -9,22 +9,22 @@
 package biz.isphere.joblogexplorer.editor.tableviewer.filters;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.jface.viewers.ViewerFilter;
 import org.medfoster.sqljep.ParseException;
-import org.medfoster.sqljep.RowJEP;
 
 import biz.isphere.base.internal.StringHelper;
 import biz.isphere.core.ISpherePlugin;
+import biz.isphere.core.sqljep.CompiledPredicate;
+import biz.isphere.core.sqljep.PredicateCache;
 import biz.isphere.joblogexplorer.model.JobLogMessage;
 
 public class MasterFilter extends ViewerFilter {
 
     List<IMessagePropertyFilter> filters;
-    RowJEP sqljep;
+    CompiledPredicate<JobLogMessage> predicate;
     boolean isLogError;
 
     public MasterFilter() {
@@ -50,13 +50,11 @@ public class MasterFilter extends ViewerFilter {
         isLogError = true;
 
         if (StringHelper.isNullOrEmpty(whereClause)) {
-            sqljep = null;
+            predicate = null;
             return;
         }
 
-        HashMap<String, Integer> columnMapping = JobLogMessage.getColumnMapping();
-        sqljep = new RowJEP(whereClause);
-        sqljep.parseExpression(columnMapping);
+        predicate = PredicateCache.getInstance().getPredicate(whereClause, JobLogMessage.getColumnMapping(), JobLogMessage.getColumnAccessor());
     }
 
     public void addFilter(IMessagePropertyFilter filter) throws ParseException {
@@ -92,7 +90,7 @@ public class MasterFilter extends ViewerFilter {
                 return true;
             }
 
-            if (sqljep == null) {
+            if (predicate == null) {
 
                 /*
                  * Should never be used anymore.
@@ -113,7 +111,7 @@ public class MasterFilter extends ViewerFilter {
                 // System.out.println("==> Using SQLJEP ...");
 
                 try {
-                    return (Boolean)sqljep.getValue(jobLogMessage.getRow());
+                    return predicate.matches(jobLogMessage);
                 } catch (ParseException e) {
                     if (isLogError) {
                         ISpherePlugin.logError("*** MasterFilter: Failed to get SQL compare result ***", e); //$NON-NLS-1$
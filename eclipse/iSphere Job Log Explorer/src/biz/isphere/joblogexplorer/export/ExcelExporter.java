@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012-2016 iSphere Project Owners
+ * Copyright (c) 2012-2023 iSphere Project Owners
  * All rights reserved. This program and the accompanying materials 
  * are made available under the terms of the Common Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,36 +8,45 @@
 
 package biz.isphere.joblogexplorer.export;
 
-import java.io.File;
-import java.io.IOException;
-
-import jxl.Workbook;
-import jxl.write.WritableSheet;
-import jxl.write.WritableWorkbook;
-import jxl.write.WriteException;
-
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.swt.SWT;
-import org.eclipse.swt.custom.BusyIndicator;
-import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.progress.UIJob;
 
-import biz.isphere.base.internal.FileHelper;
+import biz.isphere.base.internal.ExceptionHelper;
+import biz.isphere.core.spreadsheet.SpreadsheetWriter;
 import biz.isphere.core.swt.widgets.WidgetFactory;
 import biz.isphere.core.swt.widgets.extension.point.IFileDialog;
 import biz.isphere.joblogexplorer.Messages;
 import biz.isphere.joblogexplorer.model.JobLogMessage;
 import biz.isphere.joblogexplorer.preferences.Preferences;
 
+/**
+ * Exports job log messages to a spreadsheet file. The export runs as a
+ * background job, that can be canceled. The format of the file is chosen by
+ * the file extension, see {@link SpreadsheetWriter}.
+ */
 public class ExcelExporter {
 
+    /*
+     * Number of rows between two progress updates.
+     */
+    private static final int PROGRESS_INTERVAL = 1000;
+
     public void exportToExcel(String sheetName, String suggestedFileName, JobLogMessage[] jobLogMessages) {
 
         String exportFolder = Preferences.getInstance().getExportFolder();
 
-        IFileDialog dialog = WidgetFactory.getFileDialog(PlatformUI.getWorkbench().getActiveWorkbenchWindow().getShell(), SWT.SAVE);
-        dialog.setFilterNames(new String[] { Messages.SaveDialog_Excel_Workbook, Messages.SaveDialog_All_Files });
-        dialog.setFilterExtensions(new String[] { "*.xls", "*.*" });
-        dialog.setFilterPath(FileHelper.getDefaultRootDirectory());
+        Shell shell = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getShell();
+
+        IFileDialog dialog = WidgetFactory.getFileDialog(shell, SWT.SAVE);
+        dialog.setFilterNames(SpreadsheetWriter.getFilterNames());
+        dialog.setFilterExtensions(SpreadsheetWriter.getFilterExtensions());
         dialog.setFileName(suggestedFileName);
         dialog.setFilterPath(exportFolder);
         dialog.setOverwrite(true);
@@ -49,84 +58,88 @@ public class ExcelExporter {
 
         Preferences.getInstance().setExportFolder(dialog.getFilterPath());
 
-        File file = new File(fileName);
-        Display display = PlatformUI.getWorkbench().getDisplay();
-
-        BusyIndicator.showWhile(display, new ExportRunnable(file, jobLogMessages, sheetName));
+        ExportJob exportJob = new ExportJob(shell, fileName, jobLogMessages, sheetName);
+        exportJob.schedule();
     }
 
-    private class ExportRunnable implements Runnable {
+    private class ExportJob extends Job {
 
-        private File file;
+        private Shell shell;
+        private String fileName;
         private JobLogMessage[] jobLogMessages;
         private String sheetName;
 
-        public ExportRunnable(File file, JobLogMessage[] jobLogMessages, String sheetName) {
-            this.file = file;
+        public ExportJob(Shell shell, String fileName, JobLogMessage[] jobLogMessages, String sheetName) {
+            super(Messages.Exort_to_Excel);
+
+            this.shell = shell;
+            this.fileName = fileName;
             this.jobLogMessages = jobLogMessages;
             this.sheetName = sheetName;
         }
 
-        public void run() {
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+
+            SpreadsheetWriter writer = null;
 
             try {
 
-                WritableWorkbook workbook = Workbook.createWorkbook(file);
-
-                WritableSheet sheet;
-
-                sheet = workbook.createSheet(sheetName, 0);
-
-                sheet.addCell(new jxl.write.Label(0, 0, Messages.Column_Date_sent));
-                sheet.addCell(new jxl.write.Label(1, 0, Messages.Column_Time_sent));
-                sheet.addCell(new jxl.write.Label(2, 0, Messages.Column_ID));
-                sheet.addCell(new jxl.write.Label(3, 0, Messages.Column_Type));
-                sheet.addCell(new jxl.write.Label(4, 0, Messages.Column_Severity));
-                sheet.addCell(new jxl.write.Label(5, 0, Messages.Column_Text));
-                sheet.addCell(new jxl.write.Label(6, 0, Messages.Column_From_Library));
-                sheet.addCell(new jxl.write.Label(7, 0, Messages.Column_From_Program));
-                sheet.addCell(new jxl.write.Label(8, 0, Messages.Column_From_Stmt));
-                sheet.addCell(new jxl.write.Label(9, 0, Messages.Column_To_Library));
-                sheet.addCell(new jxl.write.Label(10, 0, Messages.Column_To_Program));
-                sheet.addCell(new jxl.write.Label(11, 0, Messages.Column_To_Stmt));
-                sheet.addCell(new jxl.write.Label(12, 0, Messages.Column_From_Module));
-                sheet.addCell(new jxl.write.Label(13, 0, Messages.Column_To_Module));
-                sheet.addCell(new jxl.write.Label(14, 0, Messages.Column_From_Procedure));
-                sheet.addCell(new jxl.write.Label(15, 0, Messages.Column_To_Procedure));
-
-                int line = 1;
+                monitor.beginTask(Messages.Exort_to_Excel, jobLogMessages.length);
+
+                writer = SpreadsheetWriter.create(fileName, jobLogMessages.length);
+
+                writer.addSheet(sheetName, new String[] { Messages.Column_Date_sent, Messages.Column_Time_sent, Messages.Column_ID,
+                    Messages.Column_Type, Messages.Column_Severity, Messages.Column_Text, Messages.Column_From_Library, Messages.Column_From_Program,
+                    Messages.Column_From_Stmt, Messages.Column_To_Library, Messages.Column_To_Program, Messages.Column_To_Stmt,
+                    Messages.Column_From_Module, Messages.Column_To_Module, Messages.Column_From_Procedure, Messages.Column_To_Procedure });
+
+                int count = 0;
                 for (JobLogMessage jobLogMessage : jobLogMessages) {
 
-                    sheet.addCell(new jxl.write.Label(0, line, jobLogMessage.getDate()));
-                    sheet.addCell(new jxl.write.Label(1, line, jobLogMessage.getTime()));
-                    sheet.addCell(new jxl.write.Label(2, line, jobLogMessage.getId()));
-                    sheet.addCell(new jxl.write.Label(3, line, jobLogMessage.getType()));
-                    sheet.addCell(new jxl.write.Label(4, line, jobLogMessage.getSeverity()));
-                    sheet.addCell(new jxl.write.Label(5, line, jobLogMessage.getText()));
-                    sheet.addCell(new jxl.write.Label(6, line, jobLogMessage.getFromLibrary()));
-                    sheet.addCell(new jxl.write.Label(7, line, jobLogMessage.getFromProgram()));
-                    sheet.addCell(new jxl.write.Label(8, line, jobLogMessage.getFromStatement()));
-                    sheet.addCell(new jxl.write.Label(9, line, jobLogMessage.getToLibrary()));
-                    sheet.addCell(new jxl.write.Label(10, line, jobLogMessage.getToProgram()));
-                    sheet.addCell(new jxl.write.Label(11, line, jobLogMessage.getToStatement()));
-                    sheet.addCell(new jxl.write.Label(12, line, jobLogMessage.getFromModule()));
-                    sheet.addCell(new jxl.write.Label(13, line, jobLogMessage.getToModule()));
-                    sheet.addCell(new jxl.write.Label(14, line, jobLogMessage.getFromProcedure()));
-                    sheet.addCell(new jxl.write.Label(15, line, jobLogMessage.getToProcedure()));
-
-                    line++;
+                    if (monitor.isCanceled()) {
+                        writer.abort();
+                        return Status.CANCEL_STATUS;
+                    }
+
+                    writer.addRow(new String[] { jobLogMessage.getDate(), jobLogMessage.getTime(), jobLogMessage.getId(),
+                        jobLogMessage.getType(), jobLogMessage.getSeverity(), jobLogMessage.getText(), jobLogMessage.getFromLibrary(),
+                        jobLogMessage.getFromProgram(), jobLogMessage.getFromStatement(), jobLogMessage.getToLibrary(),
+                        jobLogMessage.getToProgram(), jobLogMessage.getToStatement(), jobLogMessage.getFromModule(),
+                        jobLogMessage.getToModule(), jobLogMessage.getFromProcedure(), jobLogMessage.getToProcedure() });
+                    count++;
+
+                    if (count % PROGRESS_INTERVAL == 0) {
+                        monitor.worked(PROGRESS_INTERVAL);
+                        monitor.subTask(writer.getProgressText());
+                    }
                 }
 
-                workbook.write();
-                workbook.close();
+                writer.close();
 
-            } catch (IOException e) {
-                e.printStackTrace();
-            } catch (WriteException e) {
-                e.printStackTrace();
+            } catch (Exception e) {
+                if (writer != null) {
+                    writer.abort();
+                }
+                displayError(ExceptionHelper.getLocalizedMessage(e));
+            } finally {
+                monitor.done();
             }
+
+            return Status.OK_STATUS;
         }
 
-    }
+        private void displayError(final String message) {
 
+            UIJob displayErrorJob = new UIJob(Messages.Exort_to_Excel) {
+                @Override
+                public IStatus runInUIThread(IProgressMonitor monitor) {
+                    MessageDialog.openError(shell, Messages.E_R_R_O_R, message);
+                    return Status.OK_STATUS;
+                }
+            };
+
+            displayErrorJob.schedule();
+        }
+    }
 }
@@ -9,12 +9,16 @@
 package biz.isphere.joblogexplorer.externalapi;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 import org.eclipse.swt.widgets.Shell;
 
 import biz.isphere.base.externalapi.AbstractAccess;
 import biz.isphere.core.spooledfiles.ISpooledFileBrief;
+import biz.isphere.joblogexplorer.editor.AbstractJobLogExplorerInput;
+import biz.isphere.joblogexplorer.editor.JobLogExplorerBatchInput;
 import biz.isphere.joblogexplorer.editor.JobLogExplorerFileInput;
 import biz.isphere.joblogexplorer.editor.JobLogExplorerJobInput;
 import biz.isphere.joblogexplorer.editor.JobLogExplorerSpooledFileInput;
@@ -110,6 +114,26 @@ public class Access extends AbstractAccess {
         JobLogExplorerView.openJobLog(ensureShell(shell), input);
     }
 
+    /**
+     * Opens the job log explorer for exploring the job logs printed to
+     * multiple QPJOBLOG spooled files. The job logs are loaded concurrently
+     * and merged into a single view.
+     * 
+     * @param shell - the parent shell.
+     * @param spooledFiles - iSphere spooled file identifiers.
+     * @throws Exception
+     */
+    public static void openJobLogExplorer(Shell shell, ISpooledFileBrief[] spooledFiles) throws Exception {
+
+        List<AbstractJobLogExplorerInput> inputs = new ArrayList<AbstractJobLogExplorerInput>();
+        for (ISpooledFileBrief spooledFile : spooledFiles) {
+            inputs.add(new JobLogExplorerSpooledFileInput(spooledFile));
+        }
+
+        JobLogExplorerBatchInput input = new JobLogExplorerBatchInput(inputs);
+        JobLogExplorerView.openJobLog(ensureShell(shell), input);
+    }
+
     /**
      * Open the job log explorer for exploring the job log printed to a QPJOBLOG
      * spooled file and exported as a PC text file.<br>
@@ -231,6 +231,44 @@ public class JobLog implements MessageModifyListener, IAdaptable {
 
         message.addModifyChangedListener(this);
 
+        appendMessage(message);
+
+        return message;
+    }
+
+    /**
+     * Adds messages, that have been created outside of the job log, such as
+     * the messages loaded by the {@link JobLogReader}. The message properties
+     * are added to the filter items of the job log.
+     * 
+     * @param messages - messages that are added to the current page
+     */
+    public void addMessages(List<JobLogMessage> messages) {
+
+        for (JobLogMessage message : messages) {
+
+            addNotNullOrEmptyFilterItem(messageIds, message.getId());
+            addNotNullOrEmptyFilterItem(messageTypes, message.getType());
+            addNotNullOrEmptyFilterItem(messageSeverities, message.getSeverity());
+            addNotNullOrEmptyFilterItem(messageFromLibraries, message.getFromLibrary());
+            addNotNullOrEmptyFilterItem(messageFromPrograms, message.getFromProgram());
+            addNotNullOrEmptyFilterItem(messageFromStmts, message.getFromStatement());
+            addNotNullOrEmptyFilterItem(messageToLibraries, message.getToLibrary());
+            addNotNullOrEmptyFilterItem(messageToPrograms, message.getToProgram());
+            addNotNullOrEmptyFilterItem(messageToStmts, message.getToStatement());
+
+            message.addModifyChangedListener(this);
+
+            appendMessage(message);
+        }
+    }
+
+    private void appendMessage(JobLogMessage message) {
+
+        if (message.getQualifiedJobName() == null && getJobName() != null) {
+            message.setQualifiedJobName(getQualifiedJobName());
+        }
+
         jobLogMessages.add(message);
 
         if (currentPage != null) {
@@ -239,8 +277,6 @@ public class JobLog implements MessageModifyListener, IAdaptable {
             }
             currentPage.setLastMessage(message);
         }
-
-        return message;
     }
 
     private void addNotNullOrEmptyFilterItem(Set<String> set, String value) {
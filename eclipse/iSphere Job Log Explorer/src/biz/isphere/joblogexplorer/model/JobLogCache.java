@@ -0,0 +1,489 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.joblogexplorer.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import biz.isphere.core.ISpherePlugin;
+import biz.isphere.joblogexplorer.ISphereJobLogExplorerPlugin;
+
+/**
+ * Cache of parsed job logs. The job logs are stored in a compact binary form
+ * in the state location of the plug-in, so that a job log that has already
+ * been parsed can be opened without downloading and parsing it again.
+ * <p>
+ * Only job logs, whose content cannot change, must be put into the cache, such
+ * as the job log of a spooled file identified by its creation timestamp. The
+ * number of cached job logs is limited. When the limit is exceeded, the least
+ * recently used job logs are removed from the cache.
+ */
+public final class JobLogCache {
+
+    private static final String DIRECTORY_NAME = "joblogcache"; //$NON-NLS-1$
+    private static final String FILE_EXTENSION = ".joblog"; //$NON-NLS-1$
+
+    private static final int FILE_MAGIC = 0x4A4F424C; // JOBL
+    /*
+     * Version of the file format. Must be incremented, when the file format or
+     * the parser of the job logs changes, because the job logs are cached
+     * after they have been parsed.
+     */
+    private static final int FILE_VERSION = 2;
+
+    /*
+     * Maximum number of job logs kept in the cache.
+     */
+    private static final int MAX_CACHE_SIZE = 250;
+
+    /**
+     * The instance of this Singleton class.
+     */
+    private static JobLogCache instance;
+
+    private JobLogCache() {
+    }
+
+    /**
+     * Thread-safe method that returns the instance of this Singleton class.
+     */
+    public synchronized static JobLogCache getInstance() {
+        if (instance == null) {
+            instance = new JobLogCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the cached job log of a given key. A new job log is returned on
+     * each call, because job logs are modified by the viewers, e.g. when
+     * messages are selected.
+     *
+     * @param key - key of the job log, e.g. the spooled file identification
+     * @return job log or <code>null</code>, if the job log is not cached
+     */
+    public JobLog get(String key) {
+
+        File file = getFile(key);
+        if (file == null || !file.exists()) {
+            return null;
+        }
+
+        InputStream in = null;
+        boolean isDamaged = false;
+
+        try {
+
+            DataInputStream dataIn = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))));
+            in = dataIn;
+
+            if (dataIn.readInt() != FILE_MAGIC || dataIn.readInt() != FILE_VERSION || !key.equals(dataIn.readUTF())) {
+                return null;
+            }
+
+            JobLog jobLog = readJobLog(dataIn);
+
+            // Mark the job log as recently used.
+            file.setLastModified(System.currentTimeMillis());
+
+            return jobLog;
+
+        } catch (Throwable e) {
+            ISpherePlugin.logError("*** Could not load job log from cache file: " + file.getAbsolutePath() + " ***", e); //$NON-NLS-1$ //$NON-NLS-2$
+            isDamaged = true;
+        } finally {
+            close(in);
+        }
+
+        if (isDamaged) {
+            file.delete();
+        }
+
+        return null;
+    }
+
+    /**
+     * Puts a job log into the cache. Job logs with errors are not cached.
+     *
+     * @param key - key of the job log, e.g. the spooled file identification
+     * @param jobLog - job log that is cached
+     */
+    public void put(String key, JobLog jobLog) {
+
+        if (jobLog == null || jobLog.getErrorCount() > 0) {
+            return;
+        }
+
+        File file = getFile(key);
+        if (file == null) {
+            return;
+        }
+
+        File tempFile = new File(file.getParentFile(), file.getName() + "." + Thread.currentThread().getId()); //$NON-NLS-1$
+
+        OutputStream out = null;
+
+        try {
+
+            DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tempFile))));
+            out = dataOut;
+
+            dataOut.writeInt(FILE_MAGIC);
+            dataOut.writeInt(FILE_VERSION);
+            dataOut.writeUTF(key);
+            writeJobLog(dataOut, jobLog);
+
+            out = null;
+            dataOut.close();
+
+            synchronized (this) {
+                file.delete();
+                if (!tempFile.renameTo(file)) {
+                    tempFile.delete();
+                }
+                removeLeastRecentlyUsed(file.getParentFile());
+            }
+
+        } catch (Throwable e) {
+            ISpherePlugin.logError("*** Could not save job log to cache file: " + file.getAbsolutePath() + " ***", e); //$NON-NLS-1$ //$NON-NLS-2$
+            close(out);
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * Removes the job log of a given key from the cache.
+     *
+     * @param key - key of the job log, e.g. the spooled file identification
+     */
+    public synchronized void remove(String key) {
+
+        File file = getFile(key);
+        if (file != null) {
+            file.delete();
+        }
+    }
+
+    /**
+     * Removes all job logs from the cache.
+     */
+    public synchronized void clear() {
+
+        File directory = getDirectory();
+        if (directory == null) {
+            return;
+        }
+
+        for (File file : listCacheFiles(directory)) {
+            file.delete();
+        }
+    }
+
+    private void writeJobLog(DataOutputStream out, JobLog jobLog) throws IOException {
+
+        writeString(out, jobLog.getSystemName());
+        writeString(out, jobLog.getJobName());
+        writeString(out, jobLog.getJobUserName());
+        writeString(out, jobLog.getJobNumber());
+        writeString(out, jobLog.getJobDescriptionName());
+        writeString(out, jobLog.getJobDescriptionLibraryName());
+
+        List<JobLogMessage> messages = jobLog.getMessages();
+
+        Map<JobLogMessage, Integer> messageIndexes = new IdentityHashMap<JobLogMessage, Integer>();
+        int index = 0;
+        for (JobLogMessage message : messages) {
+            messageIndexes.put(message, index);
+            index++;
+        }
+
+        JobLogPage[] pages = jobLog.getPages();
+        out.writeInt(pages.length);
+        for (JobLogPage page : pages) {
+            out.writeInt(page.getPageNumber());
+            Integer firstMessage = messageIndexes.get(page.getFirstMessage());
+            if (firstMessage == null) {
+                out.writeInt(-1);
+            } else {
+                out.writeInt(firstMessage.intValue());
+            }
+        }
+
+        out.writeInt(messages.size());
+        for (JobLogMessage message : messages) {
+            out.writeInt(message.getPageNumber());
+            writeString(out, message.getId());
+            writeString(out, message.getType());
+            writeString(out, message.getSeverity());
+            writeString(out, message.getDate());
+            writeString(out, message.getTime());
+            writeTimestamp(out, message.getTimestamp());
+            writeString(out, message.getText());
+            writeString(out, message.getHelp());
+            writeString(out, message.getToLibrary());
+            writeString(out, message.getToProgram());
+            writeString(out, message.getToModule());
+            writeString(out, message.getToProcedure());
+            writeString(out, message.getToStatement());
+            writeString(out, message.getFromLibrary());
+            writeString(out, message.getFromProgram());
+            writeString(out, message.getFromModule());
+            writeString(out, message.getFromProcedure());
+            writeString(out, message.getFromStatement());
+        }
+    }
+
+    private JobLog readJobLog(DataInputStream in) throws IOException {
+
+        JobLog jobLog = new JobLog();
+        jobLog.setSystemName(readString(in));
+        jobLog.setJobName(readString(in));
+        jobLog.setJobUserName(readString(in));
+        jobLog.setJobNumber(readString(in));
+        jobLog.setJobDescriptionName(readString(in));
+        jobLog.setJobDescriptionLibraryName(readString(in));
+
+        int numPages = in.readInt();
+        int[] pageNumbers = new int[numPages];
+        int[] firstMessages = new int[numPages];
+        for (int i = 0; i < numPages; i++) {
+            pageNumbers[i] = in.readInt();
+            firstMessages[i] = in.readInt();
+        }
+
+        int numMessages = in.readInt();
+        int nextPage = 0;
+        List<JobLogMessage> messages = new ArrayList<JobLogMessage>();
+
+        for (int i = 0; i < numMessages; i++) {
+
+            // Add the pages that start with the current message.
+            while (nextPage < numPages && (firstMessages[nextPage] == i || firstMessages[nextPage] == -1)) {
+                if (!messages.isEmpty()) {
+                    jobLog.addMessages(messages);
+                    messages = new ArrayList<JobLogMessage>();
+                }
+                jobLog.addPage().setPageNumber(pageNumbers[nextPage]);
+                nextPage++;
+            }
+
+            JobLogMessage message = new JobLogMessage(in.readInt());
+            message.setId(readString(in));
+            message.setType(readString(in));
+            message.setSeverity(readString(in));
+            message.setDate(readString(in));
+            message.setTime(readString(in));
+            message.setTimestamp(readTimestamp(in));
+            String text = readString(in);
+            if (text != null) {
+                message.setText(text);
+            }
+            message.setHelp(readString(in));
+            message.setToLibrary(readString(in));
+            message.setToProgram(readString(in));
+            message.setToModule(readString(in));
+            message.setToProcedure(readString(in));
+            message.setToStatement(readString(in));
+            message.setFromLibrary(readString(in));
+            message.setFromProgram(readString(in));
+            message.setFromModule(readString(in));
+            message.setFromProcedure(readString(in));
+            message.setFromStatement(readString(in));
+
+            messages.add(message);
+        }
+
+        if (!messages.isEmpty()) {
+            jobLog.addMessages(messages);
+        }
+
+        while (nextPage < numPages) {
+            jobLog.addPage().setPageNumber(pageNumbers[nextPage]);
+            nextPage++;
+        }
+
+        return jobLog;
+    }
+
+    /*
+     * Strings are written as UTF-8 bytes with a length prefix, because
+     * writeUTF() is limited to 64k bytes, which could be exceeded by the
+     * message help text.
+     */
+    private void writeString(DataOutputStream out, String value) throws IOException {
+
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes("UTF-8"); //$NON-NLS-1$
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+
+        return new String(bytes, "UTF-8"); //$NON-NLS-1$
+    }
+
+    private void writeTimestamp(DataOutputStream out, Timestamp timestamp) throws IOException {
+
+        if (timestamp == null) {
+            out.writeBoolean(false);
+            return;
+        }
+
+        out.writeBoolean(true);
+        out.writeLong(timestamp.getTime());
+        out.writeInt(timestamp.getNanos());
+    }
+
+    private Timestamp readTimestamp(DataInputStream in) throws IOException {
+
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        Timestamp timestamp = new Timestamp(in.readLong());
+        timestamp.setNanos(in.readInt());
+
+        return timestamp;
+    }
+
+    private void removeLeastRecentlyUsed(File directory) {
+
+        File[] files = listCacheFiles(directory);
+        if (files.length <= MAX_CACHE_SIZE) {
+            return;
+        }
+
+        Arrays.sort(files, new Comparator<File>() {
+            public int compare(File file1, File file2) {
+                long lastModified1 = file1.lastModified();
+                long lastModified2 = file2.lastModified();
+                if (lastModified1 < lastModified2) {
+                    return -1;
+                } else if (lastModified1 > lastModified2) {
+                    return 1;
+                }
+                return 0;
+            }
+        });
+
+        for (int i = 0; i < files.length - MAX_CACHE_SIZE; i++) {
+            files[i].delete();
+        }
+    }
+
+    private File[] listCacheFiles(File directory) {
+
+        File[] files = directory.listFiles(new FileFilter() {
+            public boolean accept(File file) {
+                return file.isFile() && file.getName().endsWith(FILE_EXTENSION);
+            }
+        });
+
+        if (files == null) {
+            return new File[0];
+        }
+
+        return files;
+    }
+
+    private File getFile(String key) {
+
+        File directory = getDirectory();
+        if (directory == null) {
+            return null;
+        }
+
+        return new File(directory, getFileName(key) + FILE_EXTENSION);
+    }
+
+    private String getFileName(String key) {
+
+        try {
+
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes("UTF-8")); //$NON-NLS-1$ //$NON-NLS-2$
+
+            StringBuilder buffer = new StringBuilder();
+            for (byte b : digest) {
+                buffer.append(Integer.toHexString((b & 0xFF) | 0x100).substring(1));
+            }
+
+            return buffer.toString();
+
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(key.hashCode());
+        } catch (IOException e) {
+            return Integer.toHexString(key.hashCode());
+        }
+    }
+
+    private synchronized File getDirectory() {
+
+        if (ISphereJobLogExplorerPlugin.getDefault() == null) {
+            return null;
+        }
+
+        File directory = new File(ISphereJobLogExplorerPlugin.getDefault().getStateLocation().toFile(), DIRECTORY_NAME);
+        if (!directory.exists() && !directory.mkdirs()) {
+            return null;
+        }
+
+        return directory;
+    }
+
+    private void close(InputStream in) {
+        try {
+            if (in != null) {
+                in.close();
+            }
+        } catch (Throwable e) {
+        }
+    }
+
+    private void close(OutputStream out) {
+        try {
+            if (out != null) {
+                out.close();
+            }
+        } catch (Throwable e) {
+        }
+    }
+}
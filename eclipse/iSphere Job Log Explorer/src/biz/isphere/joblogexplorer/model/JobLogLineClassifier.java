@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.joblogexplorer.model;
+
+import java.util.regex.Matcher;
+
+/**
+ * Classifies the lines of a job log for the {@link JobLogParser}. Most lines
+ * of a job log are message text lines, that are rejected by cheap checks,
+ * before the regular expressions of the {@link JobLogParserConfiguration} are
+ * applied:
+ * <ul>
+ * <li>Start-of-page lines must be at least as long as the shortest line
+ * matched by the start-of-page expression and start with the licensed program
+ * and release of the first page of the job log.</li>
+ * <li>Start-of-message lines cannot start with a blank, unless the message id
+ * property allows it.</li>
+ * <li>Message attribute lines must be indented by the minimum message
+ * continuation line indention and contain a colon.</li>
+ * </ul>
+ * The classifier reuses its matchers. Therefore it must not be shared between
+ * threads and a matcher that is returned by the classifier is valid until the
+ * next call of the same method.
+ */
+class JobLogLineClassifier {
+
+    private Matcher startOfPage;
+    private Matcher startOfMessage;
+    private Matcher messageAttribute;
+
+    private boolean isStartOfMessageStartingWithBlank;
+    private int minMessageAttributeIndention;
+    private int minStartOfPageLength;
+
+    private String startOfPagePrefix;
+
+    public JobLogLineClassifier(JobLogParserConfiguration configuration) {
+        this(configuration, null);
+    }
+
+    /**
+     * Constructs a new JobLogLineClassifier object with the start-of-page
+     * prefix, that has been learned by another classifier.
+     *
+     * @param configuration - job log parser configuration
+     * @param startOfPagePrefix - prefix of the start-of-page lines or
+     *        <code>null</code>
+     */
+    public JobLogLineClassifier(JobLogParserConfiguration configuration, String startOfPagePrefix) {
+
+        this.startOfPage = configuration.getStartOfPage().matcher(""); //$NON-NLS-1$
+        this.startOfMessage = configuration.getStartOfMessage().matcher(""); //$NON-NLS-1$
+        this.messageAttribute = configuration.getMessageAttribute().matcher(""); //$NON-NLS-1$
+
+        this.isStartOfMessageStartingWithBlank = configuration.isStartOfMessageStartingWithBlank();
+        this.minMessageAttributeIndention = configuration.getMinMessageAttributeIndention();
+        this.minStartOfPageLength = configuration.getMinStartOfPageLength();
+
+        this.startOfPagePrefix = startOfPagePrefix;
+    }
+
+    /**
+     * Returns the prefix of the start-of-page lines, that has been learned
+     * from the first start-of-page line.
+     *
+     * @return prefix of the start-of-page lines or <code>null</code>
+     */
+    public String getStartOfPagePrefix() {
+        return startOfPagePrefix;
+    }
+
+    /**
+     * Returns the matcher of the start-of-page line, if the given line is the
+     * first line of a page. The prefix of the first start-of-page line, up to
+     * the release, is used for rejecting the lines that follow.
+     *
+     * @param line - line of the job log
+     * @return matcher on success, else <code>null</code>
+     */
+    public Matcher matchStartOfPage(String line) {
+
+        if (line.length() < minStartOfPageLength) {
+            return null;
+        }
+
+        if (startOfPagePrefix != null && !line.startsWith(startOfPagePrefix)) {
+            return null;
+        }
+
+        if (!startOfPage.reset(line).lookingAt()) {
+            return null;
+        }
+
+        if (startOfPagePrefix == null) {
+            startOfPagePrefix = line.substring(0, startOfPage.end(2));
+        }
+
+        return startOfPage;
+    }
+
+    /**
+     * Returns the matcher of the start-of-message line, if the given line is
+     * the first line of a message.
+     *
+     * @param line - line of the job log
+     * @return matcher on success, else <code>null</code>
+     */
+    public Matcher matchStartOfMessage(String line) {
+
+        if (!isStartOfMessageStartingWithBlank && line.length() > 0 && line.charAt(0) == ' ') {
+            return null;
+        }
+
+        if (!startOfMessage.reset(line).lookingAt()) {
+            return null;
+        }
+
+        return startOfMessage;
+    }
+
+    /**
+     * Returns the matcher of the message attribute line, if the given line
+     * starts a message attribute, such as 'Message' or 'Cause'.
+     *
+     * @param line - line of the job log
+     * @return matcher on success, else <code>null</code>
+     */
+    public Matcher matchMessageAttribute(String line) {
+
+        if (line.length() < minMessageAttributeIndention || line.indexOf(':', minMessageAttributeIndention) < 0) {
+            return null;
+        }
+
+        for (int i = 0; i < minMessageAttributeIndention; i++) {
+            if (line.charAt(i) != ' ') {
+                return null;
+            }
+        }
+
+        if (!messageAttribute.reset(line).lookingAt()) {
+            return null;
+        }
+
+        return messageAttribute;
+    }
+
+    /**
+     * Returns whether a given line is empty or contains only blanks and
+     * control characters. Same as <code>line.trim().length() == 0</code>, but
+     * without creating a new string.
+     *
+     * @param line - line of the job log
+     * @return <code>true</code>, if the line is blank, else <code>false</code>
+     */
+    public static boolean isBlank(String line) {
+
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) > ' ') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -17,6 +17,7 @@ import java.util.Map;
 
 import biz.isphere.base.internal.IntHelper;
 import biz.isphere.base.internal.StringHelper;
+import biz.isphere.core.sqljep.IColumnAccessor;
 import biz.isphere.core.swt.widgets.ContentAssistProposal;
 import biz.isphere.joblogexplorer.Messages;
 import biz.isphere.joblogexplorer.editor.tableviewer.filters.AbstractIntegerFilter;
@@ -51,6 +52,8 @@ public class JobLogMessage {
     private String fromProcedure;
     private String fromStatement;
 
+    private String qualifiedJobName;
+
     private transient int severityInt;
     private transient String lowerCaseText;
     private transient String error;
@@ -75,7 +78,8 @@ public class JobLogMessage {
         TO_STATEMENT ("TO_STATEMENT", 12, "CHAR(10)"),
         TEXT ("TEXT", 13, "CHAR(*)"),
         HELP ("HELP", 14, "CHAR(*)"),
-        TIMESTAMP ("TIMESTAMP_SENT", 15, "TIMESTAMP()");
+        TIMESTAMP ("TIMESTAMP_SENT", 15, "TIMESTAMP()"),
+        JOB ("JOB", 16, "CHAR(28)");
 
         private String fieldName;
         private int fieldIndex;
@@ -119,12 +123,27 @@ public class JobLogMessage {
         addColumnMappingEntry(columnMappings, Fields.TEXT);
         addColumnMappingEntry(columnMappings, Fields.HELP);
         addColumnMappingEntry(columnMappings, Fields.TIMESTAMP);
+        addColumnMappingEntry(columnMappings, Fields.JOB);
     }
 
     private static void addColumnMappingEntry(Map<String, Integer> columnMappings, Fields field) {
         columnMappings.put(field.fieldName(), field.fieldIndex());
     }
 
+    private static Fields[] fieldsByIndex;
+    static {
+        fieldsByIndex = new Fields[Fields.values().length];
+        for (Fields field : Fields.values()) {
+            fieldsByIndex[field.fieldIndex()] = field;
+        }
+    }
+
+    private static final IColumnAccessor<JobLogMessage> columnAccessor = new IColumnAccessor<JobLogMessage>() {
+        public Comparable<?> getColumnValue(JobLogMessage message, int column) {
+            return message.getColumnValue(column);
+        }
+    };
+
     private static List<ContentAssistProposal> proposals;
     static {
         proposals = new LinkedList<ContentAssistProposal>();
@@ -146,6 +165,7 @@ public class JobLogMessage {
         proposals.add(new ContentAssistProposal(Fields.TEXT.fieldName(), getLabel(Fields.TEXT, Messages.LongFieldName_TEXT)));
         proposals.add(new ContentAssistProposal(Fields.HELP.fieldName(), getLabel(Fields.HELP, Messages.LongFieldName_HELP)));
         proposals.add(new ContentAssistProposal(Fields.TIMESTAMP.fieldName(), getLabel(Fields.TIMESTAMP, Messages.LongFieldName_TIMESTAMP)));
+        proposals.add(new ContentAssistProposal(Fields.JOB.fieldName(), getLabel(Fields.JOB, Messages.LongFieldName_JOB)));
     }
 
     private static String getLabel(Fields fields, String description) {
@@ -402,6 +422,20 @@ public class JobLogMessage {
         notifyModifyListeners(new MessageModifyEvent(MessageModifyEvent.FROM_STMT, this.fromStatement));
     }
 
+    /**
+     * Returns the qualified name of the job, that the message belongs to.
+     * Used for telling apart the messages of a merged job log.
+     * 
+     * @return qualified job name
+     */
+    public String getQualifiedJobName() {
+        return qualifiedJobName;
+    }
+
+    public void setQualifiedJobName(String qualifiedJobName) {
+        this.qualifiedJobName = qualifiedJobName;
+    }
+
     private void setSeverityIntValue(String severity) {
         if (StringHelper.isNullOrEmpty(severity)) {
             severityInt = SEVERITY_BLANK;
@@ -441,30 +475,76 @@ public class JobLogMessage {
         return columnMappings;
     }
 
+    /**
+     * Returns the accessor, that reads the column values of a job log message
+     * when a compiled where clause is evaluated.
+     * 
+     * @return column accessor
+     */
+    public static IColumnAccessor<JobLogMessage> getColumnAccessor() {
+        return columnAccessor;
+    }
+
     public Comparable<?>[] getRow() {
 
         Comparable<?>[] row = new Comparable[columnMappings.size()];
 
-        row[Fields.ID.fieldIndex()] = getId();
-        row[Fields.TYPE.fieldIndex()] = getType();
-        row[Fields.SEVERITY.fieldIndex()] = getSeverityInt();
-        row[Fields.FROM_LIBRARY.fieldIndex()] = getFromLibrary();
-        row[Fields.FROM_PROGRAM.fieldIndex()] = getFromProgram();
-        row[Fields.FROM_MODULE.fieldIndex()] = getFromModule();
-        row[Fields.FROM_PROCEDURE.fieldIndex()] = getFromProcedure();
-        row[Fields.FROM_STATEMENT.fieldIndex()] = getFromStatement();
-        row[Fields.TO_LIBRARY.fieldIndex()] = getToLibrary();
-        row[Fields.TO_PROGRAM.fieldIndex()] = getToProgram();
-        row[Fields.TO_MODULE.fieldIndex()] = getToModule();
-        row[Fields.TO_PROCEDURE.fieldIndex()] = getToProcedure();
-        row[Fields.TO_STATEMENT.fieldIndex()] = getToStatement();
-        row[Fields.TEXT.fieldIndex()] = getText();
-        row[Fields.HELP.fieldIndex()] = getHelp();
-        row[Fields.TIMESTAMP.fieldIndex()] = getTimestamp();
+        for (int i = 0; i < row.length; i++) {
+            row[i] = getColumnValue(i);
+        }
 
         return row;
     }
 
+    /**
+     * Returns the value of the column with the specified index of the column
+     * mapping.
+     * 
+     * @param column - index of the column
+     * @return column value
+     */
+    public Comparable<?> getColumnValue(int column) {
+
+        switch (fieldsByIndex[column]) {
+        case ID:
+            return getId();
+        case TYPE:
+            return getType();
+        case SEVERITY:
+            return getSeverityInt();
+        case FROM_LIBRARY:
+            return getFromLibrary();
+        case FROM_PROGRAM:
+            return getFromProgram();
+        case FROM_MODULE:
+            return getFromModule();
+        case FROM_PROCEDURE:
+            return getFromProcedure();
+        case FROM_STATEMENT:
+            return getFromStatement();
+        case TO_LIBRARY:
+            return getToLibrary();
+        case TO_PROGRAM:
+            return getToProgram();
+        case TO_MODULE:
+            return getToModule();
+        case TO_PROCEDURE:
+            return getToProcedure();
+        case TO_STATEMENT:
+            return getToStatement();
+        case TEXT:
+            return getText();
+        case HELP:
+            return getHelp();
+        case TIMESTAMP:
+            return getTimestamp();
+        case JOB:
+            return getQualifiedJobName();
+        default:
+            return null;
+        }
+    }
+
     public static List<ContentAssistProposal> getContentAssistProposals() {
         return proposals;
     }
@@ -504,6 +584,7 @@ public class JobLogMessage {
         result = prime * result + ((toProgram == null) ? 0 : toProgram.hashCode());
         result = prime * result + ((toStatement == null) ? 0 : toStatement.hashCode());
         result = prime * result + ((type == null) ? 0 : type.hashCode());
+        result = prime * result + ((qualifiedJobName == null) ? 0 : qualifiedJobName.hashCode());
         return result;
     }
 
@@ -567,6 +648,9 @@ public class JobLogMessage {
         if (type == null) {
             if (other.type != null) return false;
         } else if (!type.equals(other.type)) return false;
+        if (qualifiedJobName == null) {
+            if (other.qualifiedJobName != null) return false;
+        } else if (!qualifiedJobName.equals(other.qualifiedJobName)) return false;
         return true;
     }
 }
@@ -9,13 +9,23 @@
 package biz.isphere.joblogexplorer.model;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.regex.Matcher;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -23,13 +33,23 @@ import org.medfoster.sqljep.ParseException;
 
 import biz.isphere.base.internal.IBMiDateFormat;
 import biz.isphere.base.internal.IBMiHelper;
+import biz.isphere.base.internal.IntHelper;
 import biz.isphere.base.internal.StringHelper;
-import biz.isphere.core.internal.DateTimeHelper;
 import biz.isphere.joblogexplorer.Messages;
 import biz.isphere.joblogexplorer.exceptions.InvalidJobLogFormatException;
 import biz.isphere.joblogexplorer.exceptions.JobLogNotLoadedException;
 import biz.isphere.joblogexplorer.preferences.Preferences;
 
+/**
+ * Parser of job logs, that have been printed to a spooled file and saved to a
+ * plain-text stream file.
+ * <p>
+ * The lines are read through a large buffer and checked by a
+ * {@link JobLogLineClassifier}, before the regular expressions of the
+ * {@link JobLogParserConfiguration} are applied. Large job logs are split into
+ * sections at the start-of-page lines. The sections are parsed concurrently
+ * and appended to the job log in the order of the job log.
+ */
 public class JobLogParser {
 
     private static final int NUMBER_OF_LINES_TO_SCAN_FOR_FIRST_LINE_OF_JOB_LOG = 3;
@@ -37,18 +57,35 @@ public class JobLogParser {
     private static final int PARSE_PAGE_HEADER = 2;
     private static final int PARSE_MESSAGE = 3;
 
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+
+    /*
+     * Minimum number of lines of a section. A section ends at the first
+     * start-of-page line after the minimum number of lines.
+     */
+    private static final int MIN_LINES_PER_SECTION = 10000;
+
+    /*
+     * Minimum file size for parsing the sections concurrently.
+     */
+    private static final long MIN_FILE_SIZE_FOR_PARALLEL_PARSING = 4 * 1024 * 1024;
+
+    /*
+     * Maximum number of threads used for parsing the sections.
+     */
+    private static final int MAX_THREADS = 4;
+
     private IProgressMonitor monitor;
+    private int numThreads;
+    private int minLinesPerSection;
+    private long minFileSizeForParallelParsing;
     private JobLogParserConfiguration configuration;
+    private JobLogLineClassifier classifier;
+    private String dateFormat;
     private int mode;
     private int headerCount;
 
     private JobLog jobLog;
-    private JobLogPage jobLogPage;
-    private JobLogMessage jobLogMessage;
-
-    private String messageIndent;
-    private List<String> messageAttributes;
-    private int lastMessageAttribute;
 
     /**
      * Constructs a new JobLogParser object.
@@ -66,10 +103,33 @@ public class JobLogParser {
     public JobLogParser(IProgressMonitor monitor) {
 
         this.monitor = monitor;
+        this.numThreads = Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors());
+        this.minLinesPerSection = MIN_LINES_PER_SECTION;
+        this.minFileSizeForParallelParsing = MIN_FILE_SIZE_FOR_PARALLEL_PARSING;
         this.configuration = new JobLogParserConfiguration();
         this.configuration.loadConfiguration(Locale.getDefault().getLanguage());
     }
 
+    /**
+     * Overrides the number of threads and the size of the sections, regardless
+     * of the size of the job log. Used by the unit tests for splitting small
+     * job logs into sections and parsing them sequentially or concurrently.
+     * 
+     * @param numThreads - number of threads, 1 parses the sections
+     *        sequentially
+     * @param minLinesPerSection - minimum number of lines of a section
+     */
+    public void setParallelParsing(int numThreads, int minLinesPerSection) {
+
+        if (numThreads < 1 || minLinesPerSection < 1) {
+            throw new IllegalArgumentException("Number of threads and lines per section must be greater than zero."); //$NON-NLS-1$
+        }
+
+        this.numThreads = numThreads;
+        this.minLinesPerSection = minLinesPerSection;
+        this.minFileSizeForParallelParsing = 0;
+    }
+
     /**
      * This method loads a given job log from a plain-text stream file.
      * 
@@ -81,9 +141,9 @@ public class JobLogParser {
 
         BufferedReader br = null;
         jobLog = new JobLog();
-        messageIndent = null;
-        messageAttributes = new LinkedList<String>();
-        lastMessageAttribute = -1;
+        classifier = new JobLogLineClassifier(configuration);
+        dateFormat = Preferences.getInstance().getJobLogDateFormat();
+        headerCount = 0;
 
         int numLinesToScanForFirstLineOfJobLog = NUMBER_OF_LINES_TO_SCAN_FOR_FIRST_LINE_OF_JOB_LOG;
 
@@ -91,10 +151,12 @@ public class JobLogParser {
 
             String line;
 
-            br = new BufferedReader(new FileReader(pathName));
+            File file = new File(pathName);
+            br = new BufferedReader(new InputStreamReader(new FileInputStream(file)), READ_BUFFER_SIZE);
 
+            // Scan for the first page and parse the page header.
             mode = IDLE;
-            while (!isCanceled() && (line = br.readLine()) != null && numLinesToScanForFirstLineOfJobLog > 0) {
+            while (!isCanceled() && mode != PARSE_MESSAGE && (line = br.readLine()) != null && numLinesToScanForFirstLineOfJobLog > 0) {
 
                 mode = checkForStartOfPage(line);
                 if (mode == IDLE) {
@@ -102,27 +164,17 @@ public class JobLogParser {
                     continue;
                 }
 
-                switch (mode) {
-                case PARSE_PAGE_HEADER:
+                if (mode == PARSE_PAGE_HEADER) {
                     mode = parsePageHeader(line);
-                    break;
-
-                case PARSE_MESSAGE:
-                    mode = parseMessage(line);
-                    break;
-
-                default:
-                    break;
                 }
-
             }
 
             if (mode == IDLE) {
                 throw new InvalidJobLogFormatException();
             }
 
-            if (jobLogMessage != null && messageAttributes.size() > 0) {
-                updateMessageAttributes(jobLogMessage, messageAttributes);
+            if (mode == PARSE_MESSAGE) {
+                parseMessages(br, file.length());
             }
 
         } catch (IOException e) {
@@ -153,23 +205,19 @@ public class JobLogParser {
      */
     private int checkForStartOfPage(String line) {
 
-        if (line.length() <= 116) {
+        Matcher matcher = classifier.matchStartOfPage(line);
+        if (matcher == null) {
             return mode;
         }
 
-        Matcher matcher = configuration.getStartOfPage().matcher(line);
-        while (!isCanceled() && matcher.find()) {
-            jobLogPage = jobLog.addPage();
-            jobLogPage.setPageNumber(new Integer(matcher.group(8).trim()).intValue());
-            jobLog.setSystemName(matcher.group(3).trim());
-            if (!jobLog.isHeaderComplete()) {
-                return PARSE_PAGE_HEADER;
-            } else {
-                return mode;
-            }
+        JobLogPage jobLogPage = jobLog.addPage();
+        jobLogPage.setPageNumber(new Integer(matcher.group(8).trim()).intValue());
+        jobLog.setSystemName(matcher.group(3).trim());
+        if (!jobLog.isHeaderComplete()) {
+            return PARSE_PAGE_HEADER;
+        } else {
+            return mode;
         }
-
-        return mode;
     }
 
     /**
@@ -228,11 +276,154 @@ public class JobLogParser {
     }
 
     /**
-     * This method parses a given line of the job log in order to:
-     * <ul>
-     * <li>Start a new message.</li>
-     * <li>Collect the attributes of the current message.</li>
-     * </ul>
+     * This method reads the remaining lines of the job log, splits them into
+     * sections and parses the messages of the sections. The sections are
+     * parsed concurrently, when the job log is large enough. The parsed
+     * sections are appended to the job log in the order they have been read.
+     * 
+     * @param br - reader of the job log
+     * @param fileSize - size of the job log file
+     * @throws IOException
+     */
+    private void parseMessages(BufferedReader br, long fileSize) throws IOException {
+
+        ExecutorService executor = null;
+        int maxPendingSections = 0;
+
+        if (numThreads > 1 && fileSize >= minFileSizeForParallelParsing) {
+            executor = Executors.newFixedThreadPool(numThreads, new ThreadFactory() {
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "iSphere job log parser"); //$NON-NLS-1$
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            maxPendingSections = numThreads * 2;
+        }
+
+        int pageNumber = jobLog.getLastPage().getPageNumber();
+        LinkedList<Future<ParsedSection>> pendingSections = new LinkedList<Future<ParsedSection>>();
+        MessageState openMessage = null;
+
+        try {
+
+            String line;
+            List<String> lines = new ArrayList<String>();
+
+            while (!isCanceled() && (line = br.readLine()) != null) {
+
+                if (lines.size() >= minLinesPerSection && classifier.matchStartOfPage(line) != null) {
+                    SectionParser sectionParser = new SectionParser(lines, pageNumber, classifier.getStartOfPagePrefix());
+                    if (executor == null) {
+                        openMessage = appendSection(sectionParser.call(), openMessage);
+                    } else {
+                        pendingSections.add(executor.submit(sectionParser));
+                        while (pendingSections.size() > maxPendingSections) {
+                            openMessage = appendSection(waitForSection(pendingSections.removeFirst()), openMessage);
+                        }
+                    }
+                    lines = new ArrayList<String>();
+                }
+
+                lines.add(line);
+            }
+
+            SectionParser sectionParser = new SectionParser(lines, pageNumber, classifier.getStartOfPagePrefix());
+            if (executor == null) {
+                openMessage = appendSection(sectionParser.call(), openMessage);
+            } else {
+                pendingSections.add(executor.submit(sectionParser));
+                while (!pendingSections.isEmpty()) {
+                    openMessage = appendSection(waitForSection(pendingSections.removeFirst()), openMessage);
+                }
+            }
+
+            if (openMessage != null) {
+                updateMessageAttributes(openMessage.message, openMessage.attributes);
+            }
+
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Waits for a section, that is parsed by the executor.
+     * 
+     * @param result - future of the parsed section
+     * @return parsed section
+     */
+    private ParsedSection waitForSection(Future<ParsedSection> result) {
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error)e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Appends the pages and messages of a parsed section to the job log. The
+     * lines of the section that precede its first message belong to the last
+     * message of the previous section, which is still open.
+     * 
+     * @param section - parsed section
+     * @param openMessage - last message of the previous section
+     * @return last message of the job log, that is still open
+     */
+    private MessageState appendSection(ParsedSection section, MessageState openMessage) {
+
+        if (openMessage != null) {
+            for (String line : section.leadingLines) {
+                parseMessageAttribute(openMessage, line, classifier);
+            }
+        }
+
+        for (ParsedPage page : section.pages) {
+
+            if (page.isNewPage) {
+                JobLogPage jobLogPage = jobLog.addPage();
+                jobLogPage.setPageNumber(page.pageNumber);
+                jobLog.setSystemName(page.systemName);
+            }
+
+            if (page.messages.isEmpty()) {
+                continue;
+            }
+
+            List<JobLogMessage> messages = new ArrayList<JobLogMessage>(page.messages.size());
+            for (MessageState message : page.messages) {
+                messages.add(message.message);
+            }
+
+            jobLog.addMessages(messages);
+
+            for (MessageState message : page.messages) {
+                if (openMessage != null) {
+                    updateMessageAttributes(openMessage.message, openMessage.attributes);
+                }
+                if (message.error != null) {
+                    jobLog.addError(message.error, message.message);
+                }
+                openMessage = message;
+            }
+        }
+
+        return openMessage;
+    }
+
+    /**
+     * This method creates a new message from the first line of the message.
      * <p>
      * 
      * <pre>
@@ -240,100 +431,99 @@ public class JobLogParser {
      *   (1)         (2)                 (3)      (4)          (5)           (6)        (7)         (8)        (9)       (10)        (11)
      * </pre>
      * 
-     * <pre>
-     * From module . . . . . . . . : LIBL#LOAD
-     * From procedure  . . . . . . : LIBL#LOAD
-     * Statement . . . . . . . . . : 5500
-     * To module . . . . . . . . . : START#RZ
-     * To procedure  . . . . . . . : START#RZ
-     * Statement . . . . . . . . . : 5300
-     * Message . . . . : ISPHEREDVP PY27V5R4 ...
-     * Cause . . . . . : Es ist kein zusaetzlicher ...
-     * </pre>
-     * 
-     * @param line - current line of the job log.
-     * @return new parser mode
+     * @param matcher - matcher of the start-of-message line
+     * @param pageNumber - number of the page of the message
+     * @return new message
      */
-    private int parseMessage(String line) {
+    private MessageState createMessage(Matcher matcher, int pageNumber) {
 
-        Matcher matcher;
+        MessageState messageState = new MessageState(new JobLogMessage(pageNumber));
+        JobLogMessage jobLogMessage = messageState.message;
 
-        if (line.trim().length() == 0) {
-            return mode;
+        jobLogMessage.setId(matcher.group(1));
+        jobLogMessage.setType(matcher.group(2));
+        if (matcher.group(3) != null) {
+            jobLogMessage.setSeverity(matcher.group(3));
+        } else {
+            jobLogMessage.setSeverity("");
         }
 
-        // Scan for the first line of the message
-        matcher = configuration.getStartOfMessage().matcher(line);
-        while (!isCanceled() && matcher.find()) {
-            updateMessageAttributes(jobLogMessage, messageAttributes);
-            jobLogMessage = jobLog.addMessage();
-            jobLogMessage.setId(matcher.group(1));
-            jobLogMessage.setType(matcher.group(2));
-            if (matcher.group(3) != null) {
-                jobLogMessage.setSeverity(matcher.group(3));
-            } else {
-                jobLogMessage.setSeverity("");
-            }
-
-            try {
+        try {
 
-                String timeWithoutDelimiters = removeTimeDelimiters(matcher.group(5));
-                Date time = IBMiHelper.hhmmssToTime(timeWithoutDelimiters);
+            String timeWithoutDelimiters = removeDelimiters(matcher.group(5), ":. ,"); //$NON-NLS-1$
+            int time = hhmmssToMillis(timeWithoutDelimiters);
 
-                String dateWithoutDelimiters = removeDateDelimiters(matcher.group(4));
-                Date date;
+            String dateWithoutDelimiters = removeDelimiters(matcher.group(4), "-. ,/"); //$NON-NLS-1$
+            Date date;
 
-                String dateFormat = Preferences.getInstance().getJobLogDateFormat();
-                if (IBMiDateFormat.JUL.label().equals(dateFormat) || dateWithoutDelimiters.length() == 5) {
-                    date = IBMiHelper.julianToDate(dateWithoutDelimiters);
-                } else {
-                    if (IBMiDateFormat.YMD.label().equals(dateFormat)) {
-                        date = IBMiHelper.ymdToDate(dateWithoutDelimiters);
-                    } else if (IBMiDateFormat.DMY.label().equals(dateFormat)) {
-                        date = IBMiHelper.dmyToDate(dateWithoutDelimiters);
-                    } else if (IBMiDateFormat.MDY.label().equals(dateFormat)) {
-                        date = IBMiHelper.mdyToDate(dateWithoutDelimiters);
-                    } else {
-                        date = null;
-                    }
-                }
-
-                if (time == null) {
-                    Exception e = new ParseException(Messages.bind(Messages.ParserError_Could_not_parse_time_A, matcher.group(5)));
-                    jobLogMessage.setError(e);
-                    jobLog.addError(e, jobLogMessage);
-                } else if (date == null) {
-                    Exception e = new ParseException(Messages.bind(Messages.ParserError_Could_not_parse_date_A, matcher.group(4)));
-                    jobLogMessage.setError(e);
-                    jobLog.addError(e, jobLogMessage);
+            if (IBMiDateFormat.JUL.label().equals(dateFormat) || dateWithoutDelimiters.length() == 5) {
+                date = IBMiHelper.julianToDate(dateWithoutDelimiters);
+            } else {
+                if (IBMiDateFormat.YMD.label().equals(dateFormat)) {
+                    date = IBMiHelper.ymdToDate(dateWithoutDelimiters);
+                } else if (IBMiDateFormat.DMY.label().equals(dateFormat)) {
+                    date = IBMiHelper.dmyToDate(dateWithoutDelimiters);
+                } else if (IBMiDateFormat.MDY.label().equals(dateFormat)) {
+                    date = IBMiHelper.mdyToDate(dateWithoutDelimiters);
                 } else {
-                    jobLogMessage.setTimestamp(new Timestamp(DateTimeHelper.combineDateTime(date, time).getTime()));
+                    date = null;
                 }
+            }
 
-            } catch (Exception e) {
+            if (time < 0) {
+                Exception e = new ParseException(Messages.bind(Messages.ParserError_Could_not_parse_time_A, matcher.group(5)));
+                jobLogMessage.setError(e);
+                messageState.error = e;
+            } else if (date == null) {
+                Exception e = new ParseException(Messages.bind(Messages.ParserError_Could_not_parse_date_A, matcher.group(4)));
                 jobLogMessage.setError(e);
-                jobLog.addError(e, jobLogMessage);
+                messageState.error = e;
+            } else {
+                jobLogMessage.setTimestamp(combineDateTime(date, time));
             }
 
-            jobLogMessage.setDate(matcher.group(4));
-            jobLogMessage.setTime(matcher.group(5));
+        } catch (Exception e) {
+            jobLogMessage.setError(e);
+            messageState.error = e;
+        }
 
-            jobLogMessage.setFromProgram(matcher.group(6));
-            jobLogMessage.setFromLibrary(matcher.group(7));
-            jobLogMessage.setFromStatement(matcher.group(8));
-            jobLogMessage.setToProgram(matcher.group(9));
-            jobLogMessage.setToLibrary(matcher.group(10));
-            jobLogMessage.setToStatement(matcher.group(11));
+        jobLogMessage.setDate(matcher.group(4));
+        jobLogMessage.setTime(matcher.group(5));
 
-            messageIndent = null;
-            messageAttributes.clear();
-            lastMessageAttribute = -1;
+        jobLogMessage.setFromProgram(matcher.group(6));
+        jobLogMessage.setFromLibrary(matcher.group(7));
+        jobLogMessage.setFromStatement(matcher.group(8));
+        jobLogMessage.setToProgram(matcher.group(9));
+        jobLogMessage.setToLibrary(matcher.group(10));
+        jobLogMessage.setToStatement(matcher.group(11));
 
-            return mode;
-        }
+        return messageState;
+    }
 
-        if (jobLogMessage == null) {
-            return mode;
+    /**
+     * This method parses a given line of the job log in order to collect the
+     * attributes of the current message.
+     * <p>
+     * 
+     * <pre>
+     * From module . . . . . . . . : LIBL#LOAD
+     * From procedure  . . . . . . : LIBL#LOAD
+     * Statement . . . . . . . . . : 5500
+     * To module . . . . . . . . . : START#RZ
+     * To procedure  . . . . . . . : START#RZ
+     * Statement . . . . . . . . . : 5300
+     * Message . . . . : ISPHEREDVP PY27V5R4 ...
+     * Cause . . . . . : Es ist kein zusaetzlicher ...
+     * </pre>
+     * 
+     * @param messageState - current message
+     * @param line - current line of the job log.
+     * @param classifier - classifier of the current thread
+     */
+    private void parseMessageAttribute(MessageState messageState, String line, JobLogLineClassifier classifier) {
+
+        if (JobLogLineClassifier.isBlank(line)) {
+            return;
         }
 
         // Scan for message attributes such as:
@@ -341,30 +531,97 @@ public class JobLogParser {
         // From procedure
         // From statement
         // ...
-        matcher = configuration.getMessageAttribute().matcher(line);
-        while (!isCanceled() && matcher.find()) {
-            if (messageAttributes.size() == 0) {
-                messageIndent = getMessageContinuationIndention(line);
+        Matcher matcher = classifier.matchMessageAttribute(line);
+        if (matcher != null) {
+            if (messageState.attributes.size() == 0) {
+                messageState.indent = getMessageContinuationIndention(line);
             }
-            messageAttributes.add(matcher.group(2));
-            lastMessageAttribute = messageAttributes.size() - 1;
+            messageState.attributes.add(matcher.group(2));
+            messageState.lastAttribute = messageState.attributes.size() - 1;
         }
 
         // Check line for message continuation
-        if (messageIndent != null && line.startsWith(messageIndent) && lastMessageAttribute >= 0) {
-            String attributeValue = concatenate(messageAttributes.get(lastMessageAttribute), line.substring(messageIndent.length()));
-            messageAttributes.set(lastMessageAttribute, attributeValue);
+        if (messageState.indent != null && line.startsWith(messageState.indent) && messageState.lastAttribute >= 0) {
+            String attributeValue = concatenate(messageState.attributes.get(messageState.lastAttribute),
+                line.substring(messageState.indent.length()));
+            messageState.attributes.set(messageState.lastAttribute, attributeValue);
+        }
+    }
+
+    /**
+     * Removes the delimiter characters from a date or time value.
+     * 
+     * @param value - date or time value
+     * @param delimiters - delimiter characters
+     * @return value without delimiters
+     */
+    private String removeDelimiters(String value, String delimiters) {
+
+        StringBuilder buffer = new StringBuilder(value.length());
+
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (delimiters.indexOf(ch) < 0) {
+                buffer.append(ch);
+            }
         }
 
-        return mode;
+        return buffer.toString().trim();
     }
 
-    private String removeTimeDelimiters(String timeString) {
-        return timeString.replaceAll("[:. ,]", "").trim();
+    /**
+     * Converts a time value in the form 'hhmmss[ffffff]' to milliseconds of
+     * the day. Same rules as {@link IBMiHelper#hhmmssToTime(String)}, but
+     * without the shared date formatter, which cannot be used by the section
+     * parsers concurrently.
+     * 
+     * @param hhmmss - time value without delimiters
+     * @return milliseconds of the day or -1, if the time value is invalid
+     */
+    private int hhmmssToMillis(String hhmmss) {
+
+        if (hhmmss.length() < 6) {
+            return -1;
+        }
+
+        for (int i = 0; i < 6; i++) {
+            if (!Character.isDigit(hhmmss.charAt(i))) {
+                return -1;
+            }
+        }
+
+        int hours = Integer.parseInt(hhmmss.substring(0, 2));
+        int minutes = Integer.parseInt(hhmmss.substring(2, 4));
+        int seconds = Integer.parseInt(hhmmss.substring(4, 6));
+        int secondsOfDay = (hours * 3600 + minutes * 60 + seconds) % (24 * 3600);
+
+        int millis = 0;
+        if (hhmmss.length() > 6) {
+            Timestamp timestamp = new Timestamp(0);
+            timestamp.setNanos(IntHelper.tryParseInt(hhmmss.substring(6), 0) * 1000);
+            millis = timestamp.getNanos() / 1000000;
+        }
+
+        return secondsOfDay * 1000 + millis;
     }
 
-    private String removeDateDelimiters(String dateString) {
-        return dateString.replaceAll("[-. ,/]", "").trim();
+    /**
+     * Combines a date and the milliseconds of the day to a timestamp.
+     * 
+     * @param date - date
+     * @param millisOfDay - milliseconds of the day
+     * @return timestamp
+     */
+    private Timestamp combineDateTime(Date date, int millisOfDay) {
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(date);
+        calendar.set(Calendar.HOUR_OF_DAY, millisOfDay / 3600000);
+        calendar.set(Calendar.MINUTE, (millisOfDay / 60000) % 60);
+        calendar.set(Calendar.SECOND, (millisOfDay / 1000) % 60);
+        calendar.set(Calendar.MILLISECOND, millisOfDay % 1000);
+
+        return new Timestamp(calendar.getTimeInMillis());
     }
 
     /**
@@ -493,4 +750,115 @@ public class JobLogParser {
 
     }
 
+    /**
+     * Parses the messages of a section of the job log. The section parser
+     * does not modify the job log. Pages and messages are collected in a
+     * {@link ParsedSection} and appended to the job log by the reading thread.
+     */
+    private class SectionParser implements Callable<ParsedSection> {
+
+        private List<String> lines;
+        private int pageNumber;
+        private String startOfPagePrefix;
+
+        public SectionParser(List<String> lines, int pageNumber, String startOfPagePrefix) {
+            this.lines = lines;
+            this.pageNumber = pageNumber;
+            this.startOfPagePrefix = startOfPagePrefix;
+        }
+
+        public ParsedSection call() {
+
+            JobLogLineClassifier classifier = new JobLogLineClassifier(configuration, startOfPagePrefix);
+
+            ParsedSection section = new ParsedSection();
+            ParsedPage page = section.addPage(false, pageNumber, null);
+            MessageState messageState = null;
+
+            for (String line : lines) {
+
+                Matcher matcher = classifier.matchStartOfPage(line);
+                if (matcher != null) {
+                    page = section.addPage(true, new Integer(matcher.group(8).trim()).intValue(), matcher.group(3).trim());
+                }
+
+                if (JobLogLineClassifier.isBlank(line)) {
+                    continue;
+                }
+
+                // Scan for the first line of the message
+                matcher = classifier.matchStartOfMessage(line);
+                if (matcher != null) {
+                    messageState = createMessage(matcher, page.pageNumber);
+                    page.messages.add(messageState);
+                } else if (messageState == null) {
+                    section.leadingLines.add(line);
+                } else {
+                    parseMessageAttribute(messageState, line, classifier);
+                }
+            }
+
+            return section;
+        }
+    }
+
+    /**
+     * Pages and messages of a parsed section of the job log. The lines, that
+     * precede the first message of the section, are kept for the last message
+     * of the previous section.
+     */
+    private static class ParsedSection {
+
+        private List<String> leadingLines = new ArrayList<String>();
+        private List<ParsedPage> pages = new ArrayList<ParsedPage>();
+
+        public ParsedPage addPage(boolean isNewPage, int pageNumber, String systemName) {
+
+            ParsedPage page = new ParsedPage(isNewPage, pageNumber, systemName);
+            pages.add(page);
+
+            return page;
+        }
+    }
+
+    /**
+     * Page of a parsed section. The first page of a section continues the
+     * current page of the job log, unless the section starts with a
+     * start-of-page line.
+     */
+    private static class ParsedPage {
+
+        private boolean isNewPage;
+        private int pageNumber;
+        private String systemName;
+        private List<MessageState> messages;
+
+        public ParsedPage(boolean isNewPage, int pageNumber, String systemName) {
+            this.isNewPage = isNewPage;
+            this.pageNumber = pageNumber;
+            this.systemName = systemName;
+            this.messages = new ArrayList<MessageState>();
+        }
+    }
+
+    /**
+     * Message and the attributes, that are collected while parsing the lines
+     * of the message.
+     */
+    private static class MessageState {
+
+        private JobLogMessage message;
+        private List<String> attributes;
+        private String indent;
+        private int lastAttribute;
+        private Exception error;
+
+        public MessageState(JobLogMessage message) {
+            this.message = message;
+            this.attributes = new LinkedList<String>();
+            this.indent = null;
+            this.lastAttribute = -1;
+            this.error = null;
+        }
+    }
 }
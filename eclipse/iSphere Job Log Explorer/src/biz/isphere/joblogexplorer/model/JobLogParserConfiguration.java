@@ -122,6 +122,12 @@ public class JobLogParserConfiguration {
     private Pattern pattern_messageFirstLine;
     private Pattern pattern_messageContinuationLine;
 
+    // Pre-checks, that are used for rejecting lines before applying the
+    // regular expressions
+    private boolean isMessageIdStartingWithBlank;
+    private int minMessageContinuationLineIndention;
+    private int minStartOfPageLength;
+
     /**
      * Constructs a new JobLogParserConfiguration object.
      */
@@ -188,6 +194,41 @@ public class JobLogParserConfiguration {
         return pattern_messageContinuationLine;
     }
 
+    /**
+     * Returns whether the start-of-message line can start with a blank. The
+     * value is derived from the message id property. It is <code>true</code>
+     * when it cannot be proven, that the message id does not start with a
+     * blank.
+     * 
+     * @return <code>true</code>, if the start-of-message line can start with a
+     *         blank, else <code>false</code>
+     */
+    public boolean isStartOfMessageStartingWithBlank() {
+        return isMessageIdStartingWithBlank;
+    }
+
+    /**
+     * Returns the minimum number of leading blanks of a message attribute line.
+     * The value is derived from the message continuation line indention
+     * property. It is 0 when the indention is not a plain sequence of blanks.
+     * 
+     * @return minimum number of leading blanks
+     */
+    public int getMinMessageAttributeIndention() {
+        return minMessageContinuationLineIndention;
+    }
+
+    /**
+     * Returns the minimum length of a start-of-page line. The value is derived
+     * from the start-of-page expression. It is 0 when the expression contains
+     * a construct, whose length cannot be determined.
+     * 
+     * @return minimum length of a start-of-page line
+     */
+    public int getMinStartOfPageLength() {
+        return minStartOfPageLength;
+    }
+
     /**
      * Tests whether the configuration file for a given language exists.
      * 
@@ -533,6 +574,302 @@ public class JobLogParserConfiguration {
         pattern_headerAttribute = Pattern.compile(regex_headerAttribute);
         pattern_messageFirstLine = Pattern.compile(regex_messageFirstLine);
         pattern_messageContinuationLine = Pattern.compile(regex_messageContinuationLine);
+
+        isMessageIdStartingWithBlank = canStartWithBlank(MESSAGE_ID);
+        minMessageContinuationLineIndention = getMinimumNumberOfBlanks(MESSAGE_CONTINUATION_LINE_INDENTION);
+        minStartOfPageLength = getMinimumLength(regex_startOfPage);
+    }
+
+    /**
+     * Tests whether a given regular expression can match a string that starts
+     * with a blank. The test is conservative. It returns <code>true</code> for
+     * all expressions that contain a construct, that may match a blank, and
+     * for expressions that match the empty string.
+     * 
+     * @param regex - regular expression
+     * @return <code>false</code>, if the expression cannot match a string that
+     *         starts with a blank, else <code>true</code>
+     */
+    private boolean canStartWithBlank(String regex) {
+
+        if (Pattern.compile(regex).matcher("").matches()) { //$NON-NLS-1$
+            return true;
+        }
+
+        for (int i = 0; i < regex.length(); i++) {
+            char ch = regex.charAt(i);
+            if (ch <= ' ' || ch == '.') {
+                return true;
+            }
+            if (ch == '[' && i + 1 < regex.length() && regex.charAt(i + 1) == '^') {
+                return true;
+            }
+            if (ch == '(' && i + 1 < regex.length() && regex.charAt(i + 1) == '?') {
+                if (i + 2 >= regex.length() || regex.charAt(i + 2) != ':') {
+                    return true;
+                }
+            }
+            if (ch == '\\' && i + 1 < regex.length()) {
+                i++;
+                if ("shHvVxu0cDWpPQN".indexOf(regex.charAt(i)) >= 0) { //$NON-NLS-1$
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the minimum number of blanks that are matched by a regular
+     * expression of the form <code>[ ]{n,}</code>, <code>[ ]+</code> or
+     * <code>[ ]*</code>.
+     * 
+     * @param regex - regular expression
+     * @return minimum number of blanks or 0, if the expression has a different
+     *         form
+     */
+    private int getMinimumNumberOfBlanks(String regex) {
+
+        Matcher matcher = Pattern.compile("^(?:\\[ \\]| )(?:\\{([0-9]{1,4})(?:,[0-9]*)?\\}|(\\+)|(\\*))?$").matcher(regex); //$NON-NLS-1$
+        if (!matcher.matches()) {
+            return 0;
+        }
+
+        if (matcher.group(1) != null) {
+            return Integer.parseInt(matcher.group(1));
+        } else if (matcher.group(3) != null) {
+            return 0;
+        }
+
+        return 1;
+    }
+
+    /**
+     * Returns the minimum length of the strings matched by a regular
+     * expression. The result is a lower bound. Constructs, that may match the
+     * empty string, such as anchors, lookarounds, back references and
+     * optional items, are counted as 0.
+     * 
+     * @param regex - regular expression
+     * @return minimum length or 0, if the expression uses the comments flag
+     *         or cannot be analyzed
+     */
+    private int getMinimumLength(String regex) {
+
+        if (Pattern.compile("\\(\\?[a-zA-Z]*x").matcher(regex).find()) { //$NON-NLS-1$
+            return 0;
+        }
+
+        try {
+            long minLength = getMinimumLength(regex, new int[] { 0 });
+            return (int)Math.min(minLength, Integer.MAX_VALUE);
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the minimum length of the alternatives of a regular expression,
+     * starting at the given position, up to the closing parenthesis of the
+     * current group or the end of the expression.
+     * 
+     * @param regex - regular expression
+     * @param position - position in the regular expression, that is updated
+     * @return minimum length
+     */
+    private long getMinimumLength(String regex, int[] position) {
+
+        long minLength = Long.MAX_VALUE;
+        long length = 0;
+
+        while (position[0] < regex.length()) {
+
+            char ch = regex.charAt(position[0]);
+            long itemLength;
+
+            if (ch == ')') {
+                break;
+            } else if (ch == '|') {
+                minLength = Math.min(minLength, length);
+                length = 0;
+                position[0]++;
+                continue;
+            } else if (ch == '(') {
+                boolean isLookaround = skipGroupPrefix(regex, position);
+                itemLength = getMinimumLength(regex, position);
+                position[0]++;
+                if (isLookaround) {
+                    itemLength = 0;
+                }
+            } else if (ch == '[') {
+                skipCharacterClass(regex, position);
+                itemLength = 1;
+            } else if (ch == '\\') {
+                itemLength = skipEscapeSequence(regex, position);
+            } else if (ch == '^' || ch == '$') {
+                position[0]++;
+                itemLength = 0;
+            } else {
+                position[0]++;
+                itemLength = 1;
+            }
+
+            length += getMinimumRepetitions(regex, position) * itemLength;
+        }
+
+        return Math.min(minLength, length);
+    }
+
+    /*
+     * Skips the opening parenthesis and the prefix of a group, such as '?:'
+     * or '?<name>'. Returns true for lookarounds, which do not consume
+     * characters.
+     */
+    private boolean skipGroupPrefix(String regex, int[] position) {
+
+        position[0]++;
+        if (position[0] >= regex.length() || regex.charAt(position[0]) != '?') {
+            return false;
+        }
+
+        position[0]++;
+        char ch = regex.charAt(position[0]);
+        if (ch == '=' || ch == '!') {
+            position[0]++;
+            return true;
+        } else if (ch == '<') {
+            position[0]++;
+            ch = regex.charAt(position[0]);
+            if (ch == '=' || ch == '!') {
+                position[0]++;
+                return true;
+            }
+            position[0] = regex.indexOf('>', position[0]) + 1;
+        } else if (ch == ':' || ch == '>') {
+            position[0]++;
+        } else {
+            // Inline flags, such as '(?i)' or '(?i:'
+            while (regex.charAt(position[0]) != ':' && regex.charAt(position[0]) != ')') {
+                position[0]++;
+            }
+            if (regex.charAt(position[0]) == ':') {
+                position[0]++;
+            }
+        }
+
+        return false;
+    }
+
+    /*
+     * Skips a character class including nested classes and escaped
+     * characters.
+     */
+    private void skipCharacterClass(String regex, int[] position) {
+
+        int depth = 0;
+        do {
+            char ch = regex.charAt(position[0]);
+            if (ch == '\\') {
+                position[0]++;
+            } else if (ch == '[') {
+                depth++;
+                if (regex.charAt(position[0] + 1) == '^') {
+                    position[0]++;
+                }
+                if (regex.charAt(position[0] + 1) == ']') {
+                    position[0]++;
+                }
+            } else if (ch == ']') {
+                depth--;
+            }
+            position[0]++;
+        } while (depth > 0);
+    }
+
+    /*
+     * Skips an escape sequence and returns the number of characters it
+     * matches.
+     */
+    private long skipEscapeSequence(String regex, int[] position) {
+
+        position[0]++;
+        char ch = regex.charAt(position[0]);
+        position[0]++;
+
+        if (ch == 'Q') {
+            int end = regex.indexOf("\\E", position[0]); //$NON-NLS-1$
+            if (end < 0) {
+                end = regex.length();
+            }
+            long length = end - position[0];
+            position[0] = Math.min(end + 2, regex.length());
+            return length;
+        } else if ("bBAGZz".indexOf(ch) >= 0) { //$NON-NLS-1$
+            return 0;
+        } else if (ch == 'k') {
+            position[0] = regex.indexOf('>', position[0]) + 1;
+            return 0;
+        } else if (ch >= '1' && ch <= '9') {
+            while (position[0] < regex.length() && Character.isDigit(regex.charAt(position[0]))) {
+                position[0]++;
+            }
+            return 0;
+        } else if (ch == 'x' && regex.charAt(position[0]) == '{' || ch == 'p' || ch == 'P') {
+            if (regex.charAt(position[0]) == '{') {
+                position[0] = regex.indexOf('}', position[0]) + 1;
+            } else {
+                position[0]++;
+            }
+        } else if (ch == 'x') {
+            position[0] += 2;
+        } else if (ch == 'u') {
+            position[0] += 4;
+        } else if (ch == 'c') {
+            position[0]++;
+        } else if (ch == '0') {
+            int end = Math.min(position[0] + 3, regex.length());
+            while (position[0] < end && regex.charAt(position[0]) >= '0' && regex.charAt(position[0]) <= '7') {
+                position[0]++;
+            }
+        }
+
+        return 1;
+    }
+
+    /*
+     * Skips the quantifier of an item, if any, and returns the minimum number
+     * of repetitions of the item.
+     */
+    private long getMinimumRepetitions(String regex, int[] position) {
+
+        if (position[0] >= regex.length()) {
+            return 1;
+        }
+
+        long repetitions;
+        char ch = regex.charAt(position[0]);
+        if (ch == '*' || ch == '?') {
+            repetitions = 0;
+            position[0]++;
+        } else if (ch == '+') {
+            repetitions = 1;
+            position[0]++;
+        } else if (ch == '{') {
+            int end = regex.indexOf('}', position[0]);
+            String minimum = regex.substring(position[0] + 1, end).split(",")[0].trim(); //$NON-NLS-1$
+            repetitions = Long.parseLong(minimum);
+            position[0] = end + 1;
+        } else {
+            return 1;
+        }
+
+        // Reluctant or possessive quantifier
+        if (position[0] < regex.length() && (regex.charAt(position[0]) == '?' || regex.charAt(position[0]) == '+')) {
+            position[0]++;
+        }
+
+        return repetitions;
     }
 
     /**
@@ -9,11 +9,26 @@
 package biz.isphere.joblogexplorer.model;
 
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
 
 import com.ibm.as400.access.AS400;
 
 import biz.isphere.base.internal.Buffer;
+import biz.isphere.base.internal.ExceptionHelper;
 import biz.isphere.core.ibmi.contributions.extension.handler.IBMiHostContributionsHandler;
+import biz.isphere.joblogexplorer.Messages;
 import biz.isphere.joblogexplorer.api.listjoblog.JobLogListener;
 import biz.isphere.joblogexplorer.api.listjoblog.MessageSelectionInformation;
 import biz.isphere.joblogexplorer.api.listjoblog.OLJL0100;
@@ -25,12 +40,71 @@ import biz.isphere.joblogexplorer.api.retrievejobinformation.QUSRJOBI;
 import biz.isphere.joblogexplorer.api.retrievenetworkattributes.QWCRNETA;
 import biz.isphere.joblogexplorer.exceptions.JobLogNotLoadedException;
 import biz.isphere.joblogexplorer.exceptions.JobNotFoundException;
-
+import biz.isphere.joblogexplorer.model.listeners.JobLogLoadListener;
+
+/**
+ * This class loads the job log of a job with the list APIs.
+ * <p>
+ * The job and network attributes are retrieved in the background, while the
+ * list of messages is opened. The list entries are retrieved by a background
+ * thread, while the entries already received are decoded. When a
+ * {@link JobLogLoadListener} has been set, the messages are handed over to the
+ * listener in batches, so that they can be displayed while loading continues.
+ */
 public class JobLogReader implements JobLogListener {
 
     private static final String JOB_NOT_FOUND_MSGID = "CPF3C53"; //$NON-NLS-1$
 
+    /*
+     * Maximum number of messages and maximum time in milliseconds, before the
+     * loaded messages are handed over to the load listener.
+     */
+    private static final int BATCH_SIZE = 1000;
+    private static final long PUBLISH_INTERVAL = 500;
+
+    /*
+     * Maximum number of received list entry buffers, that wait for being
+     * decoded.
+     */
+    private static final int MAX_PENDING_BUFFERS = 4;
+
+    /*
+     * Time in milliseconds, the fetcher waits for a free queue slot, before it
+     * checks whether it has been canceled.
+     */
+    private static final long OFFER_TIMEOUT = 100;
+
+    /*
+     * Minimum and maximum time in milliseconds, the fetcher waits, before it
+     * asks again for the entries of a list that is still being built.
+     */
+    private static final long MIN_PENDING_DELAY = 50;
+    private static final long MAX_PENDING_DELAY = 1000;
+
+    private static final ListEntries END_OF_LIST = new ListEntries(null, 0);
+
+    private JobLogLoadListener loadListener;
+
     private JobLog jobLog;
+    private int pageNumber;
+    private boolean isPublishingEnabled;
+    private List<JobLogMessage> batch;
+    private long lastPublishTime;
+    private int numMessagesLoaded;
+
+    public JobLogReader() {
+        this(null);
+    }
+
+    /**
+     * Produces a new job log reader, that hands over the loaded messages to the
+     * specified listener.
+     * 
+     * @param loadListener - listener that receives the messages
+     */
+    public JobLogReader(JobLogLoadListener loadListener) {
+        this.loadListener = loadListener;
+    }
 
     /**
      * This method retrieves the job log of a given server job.
@@ -62,6 +136,27 @@ public class JobLogReader implements JobLogListener {
      * @throws JobLogNotLoadedException
      */
     public JobLog loadFromJob(AS400 as400, String jobName, String jobUser, String jobNumber) throws JobNotFoundException, JobLogNotLoadedException {
+        return loadFromJob(as400, jobName, jobUser, jobNumber, null);
+    }
+
+    /**
+     * This method retrieves the job log of a given server job. When a load
+     * listener has been set, the messages are not added to the returned job
+     * log by the reader, but are handed over to the listener.
+     * <p>
+     * When the monitor is canceled, the messages loaded so far are returned.
+     * 
+     * @param as400 - IBM i system object.
+     * @param jobName - Job name.
+     * @param jobUser - Job user name.
+     * @param jobNumber - Job number.
+     * @param monitor - progress monitor or <code>null</code>
+     * @return the job log
+     * @throws JobNotFoundException
+     * @throws JobLogNotLoadedException
+     */
+    public JobLog loadFromJob(final AS400 as400, String jobName, String jobUser, String jobNumber, IProgressMonitor monitor)
+        throws JobNotFoundException, JobLogNotLoadedException {
 
         jobLog = new JobLog();
         jobLog.setSystemName(as400.getSystemName());
@@ -69,11 +164,17 @@ public class JobLogReader implements JobLogListener {
         jobLog.setJobUserName(jobUser);
         jobLog.setJobNumber(jobNumber);
 
-        JOBI0400 jobi0400 = new JOBI0400(as400);
-        QUSRJOBI qusrjobi = new QUSRJOBI(as400);
+        pageNumber = jobLog.addPage().getPageNumber();
+        isPublishingEnabled = false;
+        batch = new ArrayList<JobLogMessage>(BATCH_SIZE);
+        lastPublishTime = System.currentTimeMillis();
+        numMessagesLoaded = 0;
+
+        final JOBI0400 jobi0400 = new JOBI0400(as400);
+        final QUSRJOBI qusrjobi = new QUSRJOBI(as400);
         qusrjobi.setJob(jobLog.getJobName(), jobLog.getJobUserName(), jobLog.getJobNumber());
 
-        QWCRNETA qwcrneta = new QWCRNETA(as400);
+        final QWCRNETA qwcrneta = new QWCRNETA(as400);
 
         QGYOLJBL qgyljbl = new QGYOLJBL(as400);
         qgyljbl.addKey(MessageSelectionInformation.KEY_MESSAGE_WITH_REPLACEMENT_DATA);
@@ -91,14 +192,39 @@ public class JobLogReader implements JobLogListener {
         qgyljbl.setJob(jobLog.getJobName(), jobLog.getJobUserName(), jobLog.getJobNumber());
         qgyljbl.addListener(this);
 
+        ExecutorService executor = Executors.newFixedThreadPool(2, new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "iSphere job log reader"); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
         String requestHandle = null;
+        ListEntriesFetcher fetcher = null;
+        BlockingQueue<ListEntries> queue = null;
 
         try {
 
-            boolean rc;
+            // Retrieve job and network attributes, while the list is opened.
+            Future<Boolean> jobAttributes = executor.submit(new Callable<Boolean>() {
+                public Boolean call() throws Exception {
+                    return qusrjobi.execute(jobi0400);
+                }
+            });
 
-            rc = qusrjobi.execute(jobi0400);
-            if (!rc) {
+            Future<Boolean> networkAttributes = executor.submit(new Callable<Boolean>() {
+                public Boolean call() throws Exception {
+                    return qwcrneta.execute(QWCRNETA.Key.SYSNAME);
+                }
+            });
+
+            boolean rc = qgyljbl.execute(Buffer.size("64k")); //$NON-NLS-1$
+            if (rc) {
+                requestHandle = qgyljbl.getRequestHandle();
+            }
+
+            if (!getResult(jobAttributes)) {
                 String errorID = qusrjobi.getErrorMessageID();
                 if (JOB_NOT_FOUND_MSGID.equals(errorID)) {
                     throw new JobNotFoundException(jobName, jobUser, jobNumber, qusrjobi.getErrorMessage());
@@ -109,50 +235,72 @@ public class JobLogReader implements JobLogListener {
             jobLog.setJobDescriptionName(jobi0400.getJobDescriptionName());
             jobLog.setJobDescriptionLibraryName(jobi0400.getJobDescriptionLibraryName());
 
-            rc = qwcrneta.execute(QWCRNETA.Key.SYSNAME);
-            if (rc) {
+            if (getResult(networkAttributes)) {
                 jobLog.setSystemName(qwcrneta.getCharValue());
             } else {
                 jobLog.setSystemName("*ERROR");//$NON-NLS-1$
             }
 
-            rc = qgyljbl.execute(Buffer.size("64k"));
             if (!rc) {
-                String errorID = qusrjobi.getErrorMessageID();
+                String errorID = qgyljbl.getErrorMessageID();
                 if (JOB_NOT_FOUND_MSGID.equals(errorID)) {
                     throw new JobNotFoundException(jobLog.getJobName(), jobLog.getJobUserName(), jobLog.getJobNumber(), qgyljbl.getErrorMessage());
                 }
                 throw new JobLogNotLoadedException(jobLog.getJobName(), jobLog.getJobUserName(), jobLog.getJobNumber(), qgyljbl.getErrorMessage());
             }
 
-            requestHandle = qgyljbl.getRequestHandle();
+            // The job log header is complete, messages can be published now.
+            isPublishingEnabled = true;
+            publishMessages(false);
 
-            boolean isPending = qgyljbl.isPending();
             int totalNumberOfRecords = qgyljbl.getTotalNumberOfRecords();
+            int numRecordsReceived = numMessagesLoaded + batch.size();
 
-            QGYGTLE qgygtle = null;
-            while (rc && (isPending || jobLog.getMessages().size() < totalNumberOfRecords)) {
+            if (qgyljbl.isPending() || numRecordsReceived < totalNumberOfRecords) {
 
-                if (jobLog.getFirstPage() == null) {
-                    jobLog.addPage();
-                }
+                queue = new ArrayBlockingQueue<ListEntries>(MAX_PENDING_BUFFERS);
+                fetcher = new ListEntriesFetcher(as400, requestHandle, numRecordsReceived + 1, qgyljbl.isPending(), totalNumberOfRecords, queue);
+                executor.submit(fetcher);
 
-                if (qgygtle == null) {
-                    qgygtle = new QGYGTLE(as400, requestHandle);
-                    qgygtle.addListener(this);
-                }
+                OLJL0100 oljl0100 = new OLJL0100(as400);
 
-                rc = qgygtle.execute(jobLog.getMessages().size() + 1);
-                if (!rc) {
-                    break;
-                }
+                ListEntries listEntries;
+                while ((listEntries = queue.take()) != END_OF_LIST) {
+
+                    if (isCanceled(monitor)) {
+                        break;
+                    }
 
-                isPending = qgygtle.isPending();
-                totalNumberOfRecords = qgygtle.getTotalNumberOfRecords();
+                    addListEntries(oljl0100, listEntries);
+
+                    if (monitor != null) {
+                        monitor.subTask(Messages.bind(Messages.Job_Loading_job_log_A_of_B_messages, numMessagesLoaded + batch.size(),
+                            fetcher.getTotalNumberOfRecords()));
+                    }
+                }
             }
 
+            publishMessages(true);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JobLogNotLoadedException(jobName, jobUser, jobNumber, ExceptionHelper.getLocalizedMessage(e));
+
         } finally {
 
+            if (fetcher != null) {
+                fetcher.cancel();
+            }
+
+            // Release a fetcher that waits for a free queue slot.
+            executor.shutdownNow();
+            if (queue != null) {
+                queue.clear();
+            }
+
+            // Wait for the fetcher, before the list is closed.
+            awaitTermination(executor);
+
             if (requestHandle != null) {
                 QGYCLST qgyclst = new QGYCLST(as400, requestHandle);
                 qgyclst.execute();
@@ -163,13 +311,70 @@ public class JobLogReader implements JobLogListener {
         return jobLog;
     }
 
+    private boolean getResult(Future<Boolean> future) throws InterruptedException {
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    /*
+     * Waits until the current API call of the fetcher has ended. The list must
+     * not be closed while the fetcher still uses it, therefore an interrupt
+     * does not stop waiting, but is restored afterwards.
+     */
+    private void awaitTermination(ExecutorService executor) {
+
+        boolean isInterrupted = false;
+
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isCanceled(IProgressMonitor monitor) {
+
+        if (monitor != null && monitor.isCanceled()) {
+            return true;
+        }
+
+        return false;
+    }
+
+    private void addListEntries(OLJL0100 oljl0100, ListEntries listEntries) {
+
+        oljl0100.setBytes(listEntries.getData());
+
+        for (int i = 0; i < listEntries.getNumberOfEntries(); i++) {
+            if (i == 0) {
+                oljl0100.setOffset(0);
+            } else {
+                oljl0100.setOffset(oljl0100.getOffsetToNextEntry());
+            }
+
+            addNewEntry(oljl0100);
+        }
+    }
+
     public void addNewEntry(OLJL0100 oljl0100) {
 
         try {
 
             String type = oljl0100.getMessageType();
 
-            JobLogMessage message = jobLog.addMessage();
+            JobLogMessage message = new JobLogMessage(pageNumber);
 
             message.setType(type);
 
@@ -201,10 +406,157 @@ public class JobLogReader implements JobLogListener {
             message.setFromProcedure(oljl0100.getFieldData(MessageSelectionInformation.KEY_SENDING_PROCEDURE_NAME));
             message.setFromStatement(oljl0100.getFieldData(MessageSelectionInformation.KEY_SENDING_STATEMENT_NUMBER));
 
+            batch.add(message);
+
+            publishMessages(false);
+
         } catch (UnsupportedEncodingException e) {
             e.printStackTrace();
         }
 
     }
 
+    /*
+     * Hands over the loaded messages to the load listener or adds them to the
+     * job log, when no listener has been set. Messages are collected, until the
+     * batch is full or the publish interval has elapsed.
+     */
+    private void publishMessages(boolean isFinal) {
+
+        if (!isPublishingEnabled || batch.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (!isFinal && batch.size() < BATCH_SIZE && now - lastPublishTime < PUBLISH_INTERVAL) {
+            return;
+        }
+
+        if (loadListener == null) {
+            jobLog.addMessages(batch);
+        } else {
+            loadListener.messagesLoaded(jobLog, batch);
+        }
+
+        numMessagesLoaded += batch.size();
+        batch = new ArrayList<JobLogMessage>(BATCH_SIZE);
+        lastPublishTime = now;
+    }
+
+    /**
+     * Buffer of list entries in format OLJL0100, as returned by the QGYGTLE
+     * API.
+     */
+    private static class ListEntries {
+
+        private byte[] data;
+        private int numberOfEntries;
+
+        public ListEntries(byte[] data, int numberOfEntries) {
+            this.data = data;
+            this.numberOfEntries = numberOfEntries;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+        public int getNumberOfEntries() {
+            return numberOfEntries;
+        }
+    }
+
+    /**
+     * Retrieves the entries of an open list and puts them into a queue. The
+     * end of the list is marked by {@link JobLogReader#END_OF_LIST}, unless the
+     * fetcher has been canceled.
+     */
+    private static class ListEntriesFetcher implements Runnable {
+
+        private AS400 as400;
+        private String requestHandle;
+        private int startingRecord;
+        private boolean isPending;
+        private volatile int totalNumberOfRecords;
+        private BlockingQueue<ListEntries> queue;
+        private volatile boolean isCanceled;
+
+        public ListEntriesFetcher(AS400 as400, String requestHandle, int startingRecord, boolean isPending, int totalNumberOfRecords,
+            BlockingQueue<ListEntries> queue) {
+
+            this.as400 = as400;
+            this.requestHandle = requestHandle;
+            this.startingRecord = startingRecord;
+            this.isPending = isPending;
+            this.totalNumberOfRecords = totalNumberOfRecords;
+            this.queue = queue;
+            this.isCanceled = false;
+        }
+
+        public void cancel() {
+            isCanceled = true;
+        }
+
+        public int getTotalNumberOfRecords() {
+            return totalNumberOfRecords;
+        }
+
+        public void run() {
+
+            try {
+
+                QGYGTLE qgygtle = new QGYGTLE(as400, requestHandle);
+                long pendingDelay = MIN_PENDING_DELAY;
+
+                while (!isCanceled && (isPending || startingRecord <= totalNumberOfRecords)) {
+
+                    if (!qgygtle.execute(startingRecord)) {
+                        break;
+                    }
+
+                    isPending = qgygtle.isPending();
+                    totalNumberOfRecords = qgygtle.getTotalNumberOfRecords();
+
+                    int recordsReturned = qgygtle.getRecordsReturned();
+                    if (recordsReturned > 0) {
+                        if (!put(new ListEntries(qgygtle.getReceiverData(), recordsReturned))) {
+                            break;
+                        }
+                        startingRecord += recordsReturned;
+                        pendingDelay = MIN_PENDING_DELAY;
+                    } else if (!isPending) {
+                        break;
+                    } else {
+                        // The list is still being built on the host.
+                        Thread.sleep(pendingDelay);
+                        pendingDelay = Math.min(pendingDelay * 2, MAX_PENDING_DELAY);
+                    }
+                }
+
+            } catch (InterruptedException e) {
+                isCanceled = true;
+            } finally {
+                try {
+                    put(END_OF_LIST);
+                } catch (InterruptedException e) {
+                    // Nobody waits for the end of the list
+                }
+            }
+        }
+
+        /*
+         * Puts list entries into the queue. Returns false, when the fetcher has
+         * been canceled, while it waited for a free queue slot.
+         */
+        private boolean put(ListEntries listEntries) throws InterruptedException {
+
+            while (!isCanceled) {
+                if (queue.offer(listEntries, OFFER_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
 }
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials 
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.joblogexplorer.model.listeners;
+
+import java.util.List;
+
+import biz.isphere.joblogexplorer.model.JobLog;
+import biz.isphere.joblogexplorer.model.JobLogMessage;
+
+public interface JobLogLoadListener {
+    /**
+     * Sent by the job log reader, when a batch of messages has been loaded,
+     * while loading the job log continues. The messages have not yet been
+     * added to the job log. The listener must add them with
+     * {@link JobLog#addMessages(List)} in the thread, that displays the job
+     * log.
+     * 
+     * @param jobLog - job log that is loaded
+     * @param messages - messages that have been loaded
+     */
+    public void messagesLoaded(JobLog jobLog, List<JobLogMessage> messages);
+
+}
@@ -43,7 +43,7 @@ public class OpenJobLogExplorerContributionItem implements ISpooledFilePopupMenu
 
     public boolean isEnabled() {
 
-        if (spooledFiles.length != 1) {
+        if (spooledFiles.length == 0) {
             return false;
         }
 
@@ -62,8 +62,10 @@ public class OpenJobLogExplorerContributionItem implements ISpooledFilePopupMenu
             return;
         }
 
-        for (ISpooledFileBrief spooledFile : spooledFiles) {
-            Access.openJobLogExplorer(shell, spooledFile);
+        if (spooledFiles.length == 1) {
+            Access.openJobLogExplorer(shell, spooledFiles[0]);
+        } else {
+            Access.openJobLogExplorer(shell, spooledFiles);
         }
     }
 }
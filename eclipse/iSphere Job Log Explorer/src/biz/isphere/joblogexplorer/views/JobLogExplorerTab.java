@@ -70,6 +70,7 @@ import biz.isphere.joblogexplorer.exceptions.JobLogNotLoadedException;
 import biz.isphere.joblogexplorer.exceptions.JobNotFoundException;
 import biz.isphere.joblogexplorer.model.JobLog;
 import biz.isphere.joblogexplorer.model.JobLogMessage;
+import biz.isphere.joblogexplorer.model.listeners.JobLogLoadListener;
 
 public class JobLogExplorerTab extends CTabItem implements IResizableTableColumnsViewer, IJobLogExplorerStatusChangedListener {
 
@@ -558,7 +559,16 @@ public class JobLogExplorerTab extends CTabItem implements IResizableTableColumn
 
             try {
 
-                JobLog jobLog = input.load(monitor);
+                JobLog jobLog = input.load(monitor, new JobLogLoadListener() {
+                    public void messagesLoaded(final JobLog jobLog, final List<JobLogMessage> messages) {
+                        getDisplay().asyncExec(new Runnable() {
+                            public void run() {
+                                addLoadedMessages(jobLog, messages);
+                            }
+                        });
+                    }
+                });
+
                 new SetEditorInputJob(input, jobLog, viewer, filterPanel, selectedItems, isCloseTabOnError).schedule();
 
             } catch (DownloadSpooledFileException e) {
@@ -576,6 +586,24 @@ public class JobLogExplorerTab extends CTabItem implements IResizableTableColumn
             return Status.OK_STATUS;
         }
 
+        /*
+         * Displays the messages, that have been loaded so far. The job log is
+         * set as input data with the first batch of messages.
+         */
+        private void addLoadedMessages(JobLog jobLog, List<JobLogMessage> messages) {
+
+            if (JobLogExplorerTab.this.isDisposed() || viewer.isDisposed()) {
+                return;
+            }
+
+            jobLog.addMessages(messages);
+
+            if (viewer.getInputData() != jobLog) {
+                viewer.setInputData(jobLog);
+            } else {
+                viewer.addMessages(messages);
+            }
+        }
     }
 
     private class SetEditorInputJob extends UIJob {
@@ -617,7 +645,9 @@ public class JobLogExplorerTab extends CTabItem implements IResizableTableColumn
                     setToolTipText(input.getToolTipText());
                 }
 
-                viewer.setInputData(jobLog);
+                if (viewer.getInputData() != jobLog) {
+                    viewer.setInputData(jobLog);
+                }
 
                 if (isAvailable(filterPanel)) {
                     setFilterPanelOptions();
@@ -34,6 +34,7 @@ public class ISphereJobTraceExplorerCorePlugin extends AbstractUIPlugin {
     public static final String IMAGE_SHOW_PROCEDURE = "show_proc.png";
     public static final String IMAGE_SEARCH_UP = "search_up_small.png";
     public static final String IMAGE_SEARCH_DOWN = "search_down_small.png";
+    public static final String IMAGE_PROFILE = "profile.png";
 
     // The plug-in ID
     public static final String PLUGIN_ID = "biz.isphere.jobtraceexplorer.core"; //$NON-NLS-1$
@@ -93,6 +94,7 @@ public class ISphereJobTraceExplorerCorePlugin extends AbstractUIPlugin {
         reg.put(IMAGE_JSON, getImageDescriptor(IMAGE_JSON));
         reg.put(IMAGE_SEARCH_UP, getImageDescriptor(IMAGE_SEARCH_UP));
         reg.put(IMAGE_SEARCH_DOWN, getImageDescriptor(IMAGE_SEARCH_DOWN));
+        reg.put(IMAGE_PROFILE, getImageDescriptor(IMAGE_PROFILE));
     }
 
     /**
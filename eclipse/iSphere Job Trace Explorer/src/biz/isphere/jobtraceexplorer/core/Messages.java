@@ -30,6 +30,8 @@ public class Messages extends NLS {
     public static String GroupLabel_Limitation_Properties;
     public static String ButtonLabel_Maximum_number_of_rows_to_fetch;
     public static String ButtonTooltip_Maximum_number_of_rows_to_fetch_tooltip;
+    public static String ButtonLabel_Paged_loading;
+    public static String ButtonTooltip_Paged_loading;
     public static String ButtonLabel_Exclude_IBM_data_SQL_WHERE_clause;
     public static String ButtonTooltip_Exclude_IBM_data_SQL_WHERE_clause;
 
@@ -49,6 +51,23 @@ public class Messages extends NLS {
     public static String LongFieldName_Caller_procedure_name;
     public static String LongFieldName_Caller_Invocation_call_level;
 
+    // Profile view
+    public static String Label_Level;
+    public static String Level_Program;
+    public static String Level_Module;
+    public static String Level_Procedure;
+    public static String Label_Hot_path;
+    public static String ColumnLabel_Name;
+    public static String ColumnLabel_Calls;
+    public static String ColumnLabel_Inclusive_time;
+    public static String ColumnLabel_Exclusive_time;
+    public static String ColumnLabel_Exclusive_percent;
+    public static String ColumnLabel_Average_time;
+    public static String ColumnLabel_Maximum_time;
+    public static String ColumnLabel_Caller;
+    public static String ColumnLabel_Callee;
+    public static String Profile_of_A_B_entries_C_milliseconds;
+
     public static String Tooltip_ID;
     public static String Tooltip_Nanoseconds_since_collection_started;
     public static String Tooltip_Timestamp;
@@ -67,6 +86,7 @@ public class Messages extends NLS {
     // Column values: Event sub type
     public static String Called_by;
     public static String Returned_to;
+    public static String Loading;
 
     // Properties
     public static String Property_connection_name;
@@ -85,12 +105,17 @@ public class Messages extends NLS {
     public static String Status_Searching_for_procedure_entry;
     public static String Status_Exporting_to_Json;
     public static String Status_Importing_from_Json;
+    public static String Status_Computing_profile;
+    public static String Status_Exporting_collapsed_stacks;
 
     // Actions
     public static String Action_ReloadEntries;
     public static String JobTraceExplorerView_OpenJobTraceSession;
     public static String JobTraceExplorerView_Export_to_Json;
     public static String JobTraceExplorerView_Import_from_Json;
+    public static String JobTraceExplorerView_Show_profile;
+    public static String JobTraceProfileView_Export_to_Json;
+    public static String JobTraceProfileView_Export_collapsed_stacks;
     public static String MenuItem_Jump_to_procedure_entry;
     public static String MenuItem_Jump_to_procedure_exit;
     public static String MenuItem_Highlight_procedure;
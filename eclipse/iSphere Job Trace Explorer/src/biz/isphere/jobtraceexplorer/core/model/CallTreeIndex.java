@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.jobtraceexplorer.core.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index, that matches the procedure entry events of a list of job trace
+ * entries with their procedure exit events. The index is built in a single
+ * pass over the list.
+ * <p>
+ * The matching exit of a <code>*PRCENTRY</code> event is the next event with
+ * the same call level. The matching entry of a <code>*PRCEXIT</code> event is
+ * the previous event with the same call level.
+ */
+class CallTreeIndex {
+
+    private static final int NOT_FOUND = -1;
+
+    private int[] partners;
+
+    /**
+     * Builds the call tree index of the specified job trace entries.
+     *
+     * @param jobTraceEntries - list of job trace entries
+     */
+    public CallTreeIndex(List<JobTraceEntry> jobTraceEntries) {
+
+        this.partners = new int[jobTraceEntries.size()];
+        Arrays.fill(partners, NOT_FOUND);
+
+        int[] lastIndexOfCallLevel = new int[64];
+        Arrays.fill(lastIndexOfCallLevel, NOT_FOUND);
+
+        boolean[] isProcEntry = new boolean[partners.length];
+
+        int index = 0;
+        for (JobTraceEntry jobTraceEntry : jobTraceEntries) {
+
+            int callLevel = jobTraceEntry.getCallLevel();
+            if (callLevel >= 0) {
+
+                if (callLevel >= lastIndexOfCallLevel.length) {
+                    lastIndexOfCallLevel = grow(lastIndexOfCallLevel, callLevel);
+                }
+
+                int previousIndex = lastIndexOfCallLevel[callLevel];
+                if (previousIndex != NOT_FOUND && isProcEntry[previousIndex]) {
+                    partners[previousIndex] = index;
+                }
+
+                if (jobTraceEntry.isProcEntry()) {
+                    isProcEntry[index] = true;
+                } else if (jobTraceEntry.isProcExit()) {
+                    partners[index] = previousIndex;
+                }
+
+                lastIndexOfCallLevel[callLevel] = index;
+            }
+
+            index++;
+        }
+    }
+
+    /**
+     * Returns the index of the procedure exit event of a procedure entry
+     * event or the index of the procedure entry event of a procedure exit
+     * event.
+     *
+     * @param index - index of a procedure entry or exit event
+     * @return index of the matching event or -1, if not found
+     */
+    public int getPartner(int index) {
+
+        if (index < 0 || index >= partners.length) {
+            return NOT_FOUND;
+        }
+
+        return partners[index];
+    }
+
+    private int[] grow(int[] array, int minIndex) {
+
+        int length = array.length;
+        while (length <= minIndex) {
+            length = length * 2;
+        }
+
+        int[] newArray = new int[length];
+        Arrays.fill(newArray, NOT_FOUND);
+        System.arraycopy(array, 0, newArray, 0, array.length);
+
+        return newArray;
+    }
+}
@@ -9,8 +9,8 @@
 package biz.isphere.jobtraceexplorer.core.model;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -56,7 +56,7 @@ public class ExcludedEntries {
 
         List<JobTraceEntry> entries = excludedEntries.get(nanosSinceStarted);
         if (entries == null) {
-            entries = new LinkedList<JobTraceEntry>();
+            entries = new ArrayList<JobTraceEntry>();
             excludedEntries.put(nanosSinceStarted, entries);
         }
 
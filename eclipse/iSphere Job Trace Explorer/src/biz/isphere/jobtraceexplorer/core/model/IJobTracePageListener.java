@@ -0,0 +1,26 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+
+package biz.isphere.jobtraceexplorer.core.model;
+
+/**
+ * Interface of a listener, that is notified, when a page of a job trace
+ * session, that is loaded page by page, has been loaded in the background.
+ */
+public interface IJobTracePageListener {
+
+    /**
+     * Called, when the job trace entries of a page have been loaded. May be
+     * called from any thread.
+     * 
+     * @param fromIndex - index of the first job trace entry of the page
+     * @param toIndex - index of the last job trace entry of the page
+     */
+    public void pageLoaded(int fromIndex, int toIndex);
+}
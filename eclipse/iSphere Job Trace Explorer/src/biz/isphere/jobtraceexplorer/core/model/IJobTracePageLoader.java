@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.jobtraceexplorer.core.model;
+
+import java.util.List;
+
+/**
+ * Interface of a data source, that loads the job trace entries of a large job
+ * trace session page by page.
+ */
+public interface IJobTracePageLoader {
+
+    /**
+     * Returns the number of job trace entries of a page.
+     * 
+     * @return page size
+     */
+    public int getPageSize();
+
+    /**
+     * Returns the total number of job trace entries of the session.
+     * 
+     * @return number of job trace entries
+     */
+    public int getNumberOfRows();
+
+    /**
+     * Loads the job trace entries of a given page.
+     * 
+     * @param pageNumber - number of the page, starting at 0
+     * @return job trace entries of the page
+     * @throws Exception
+     */
+    public List<JobTraceEntry> loadPage(int pageNumber) throws Exception;
+}
@@ -9,16 +9,19 @@
 package biz.isphere.jobtraceexplorer.core.model;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.medfoster.sqljep.ParseException;
-import org.medfoster.sqljep.RowJEP;
 
 import biz.isphere.base.internal.StringHelper;
+import biz.isphere.core.sqljep.CompiledPredicate;
+import biz.isphere.core.sqljep.PredicateCache;
 import biz.isphere.jobtraceexplorer.core.ISphereJobTraceExplorerCorePlugin;
 import biz.isphere.jobtraceexplorer.core.model.api.IBMiMessage;
 
@@ -44,6 +47,8 @@ public class JobTraceEntries {
     private ExcludedEntries excludedEntries;
 
     private transient List<JobTraceEntry> filteredJobTraceEntries;
+    private transient CallTreeIndex callTreeIndex;
+    private transient List<IJobTracePageListener> pageListeners;
 
     public JobTraceEntries() {
         initialize();
@@ -61,29 +66,164 @@ public class JobTraceEntries {
         return highlightedAttributes.isHighlighted(index, value);
     }
 
-    public int excludeJobTraceEntries(BigInteger nanosSinceStarted, List<JobTraceEntry> excludedJobTraceEntries) {
+    /**
+     * Excludes a range of the displayed job trace entries. The entries are
+     * removed from the filtered and the unfiltered list.
+     * 
+     * @param nanosSinceStarted - key of the excluded entries
+     * @param fromIndex - index of the first excluded entry
+     * @param toIndex - index of the last excluded entry
+     * @return number of entries removed from the displayed list
+     */
+    public int excludeJobTraceEntries(BigInteger nanosSinceStarted, int fromIndex, int toIndex) {
 
-        int count = jobTraceEntries.size();
+        List<JobTraceEntry> range = getItems().subList(fromIndex, toIndex + 1);
+        List<JobTraceEntry> excludedJobTraceEntries = new ArrayList<JobTraceEntry>(range);
 
         this.excludedEntries.addAll(nanosSinceStarted, excludedJobTraceEntries);
-        this.jobTraceEntries.removeAll(excludedJobTraceEntries);
+        range.clear();
 
-        count = count - jobTraceEntries.size();
+        if (isFiltered()) {
+            removeAll(jobTraceEntries, excludedJobTraceEntries);
+        }
+
+        callTreeIndex = null;
 
-        return count;
+        return excludedJobTraceEntries.size();
     }
 
+    /**
+     * Includes the job trace entries, that have been excluded with the
+     * specified key.
+     * 
+     * @param index - index of the displayed list, where the entries are
+     *        inserted
+     * @param nanonsSinceStarted - key of the excluded entries
+     * @return number of entries added to the displayed list
+     */
     public int includeJobTraceEntries(int index, BigInteger nanonsSinceStarted) {
 
-        int count = jobTraceEntries.size();
-
         JobTraceEntry[] excludedJobTraceEntries = excludedEntries.getAll(nanonsSinceStarted);
-        jobTraceEntries.addAll(index, Arrays.asList(excludedJobTraceEntries));
+        List<JobTraceEntry> includedJobTraceEntries = Arrays.asList(excludedJobTraceEntries);
+
+        getItems().addAll(index, includedJobTraceEntries);
+
+        if (isFiltered() && excludedJobTraceEntries.length > 0) {
+            int unfilteredIndex = findInsertionIndex(jobTraceEntries, excludedJobTraceEntries[0].getId());
+            jobTraceEntries.addAll(unfilteredIndex, includedJobTraceEntries);
+        }
+
         excludedEntries.removeAll(nanonsSinceStarted);
 
-        count = jobTraceEntries.size() - count;
+        callTreeIndex = null;
+
+        return excludedJobTraceEntries.length;
+    }
+
+    /**
+     * Returns the index of the procedure exit event, that belongs to the
+     * procedure entry event at the specified index of the displayed list. For
+     * other events, the index of the next event with the same call level is
+     * returned.
+     * 
+     * @param index - index of a procedure entry event
+     * @return index of the procedure exit event or -1, if not found
+     */
+    public int findProcExit(int index) {
+
+        if (getItem(index).isProcEntry() && !isPaged()) {
+            return getCallTreeIndex().getPartner(index);
+        }
+
+        return findCallLevel(index, 1);
+    }
+
+    /**
+     * Returns the index of the procedure entry event, that belongs to the
+     * procedure exit event at the specified index of the displayed list. For
+     * other events, the index of the previous event with the same call level
+     * is returned.
+     * 
+     * @param index - index of a procedure exit event
+     * @return index of the procedure entry event or -1, if not found
+     */
+    public int findProcEntry(int index) {
+
+        if (getItem(index).isProcExit() && !isPaged()) {
+            return getCallTreeIndex().getPartner(index);
+        }
+
+        return findCallLevel(index, -1);
+    }
+
+    private synchronized CallTreeIndex getCallTreeIndex() {
+
+        if (callTreeIndex == null) {
+            Date startTime = new Date();
+            callTreeIndex = new CallTreeIndex(getItems());
+            ISphereJobTraceExplorerCorePlugin.debug("mSecs total: " + timeElapsed(startTime) + ", CALL-TREE-INDEX: " + size()); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        return callTreeIndex;
+    }
+
+    private int findCallLevel(int index, int direction) {
+
+        List<JobTraceEntry> items = getItems();
+        int callLevel = items.get(index).getCallLevel();
+
+        index = index + direction;
+        while (index >= 0 && index < items.size()) {
+            if (items.get(index).getCallLevel() == callLevel) {
+                return index;
+            }
+            index = index + direction;
+        }
+
+        return -1;
+    }
+
+    /*
+     * Removes the specified entries with a single pass over the list.
+     */
+    private void removeAll(List<JobTraceEntry> list, List<JobTraceEntry> entries) {
+
+        Map<JobTraceEntry, Boolean> removedEntries = new IdentityHashMap<JobTraceEntry, Boolean>();
+        for (JobTraceEntry jobTraceEntry : entries) {
+            removedEntries.put(jobTraceEntry, Boolean.TRUE);
+        }
+
+        int count = 0;
+        for (int i = 0; i < list.size(); i++) {
+            JobTraceEntry jobTraceEntry = list.get(i);
+            if (!removedEntries.containsKey(jobTraceEntry)) {
+                list.set(count, jobTraceEntry);
+                count++;
+            }
+        }
 
-        return count;
+        list.subList(count, list.size()).clear();
+    }
+
+    /*
+     * Returns the index of the first entry, whose id is greater than the
+     * specified id. The entries are sorted by id, because the ids are
+     * assigned in ascending order when the entries are loaded.
+     */
+    private int findInsertionIndex(List<JobTraceEntry> list, int id) {
+
+        int low = 0;
+        int high = list.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (list.get(middle).getId() <= id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
     }
 
     public boolean isExcluded(BigInteger nanosSinceStarted) {
@@ -140,19 +280,19 @@ public class JobTraceEntries {
             return;
         }
 
-        HashMap<String, Integer> columnMapping = JobTraceEntry.getColumnMapping();
-        RowJEP sqljep = new RowJEP(filterWhereClause);
-        sqljep.parseExpression(columnMapping);
+        CompiledPredicate<JobTraceEntry> predicate = PredicateCache.getInstance().getPredicate(filterWhereClause,
+            JobTraceEntry.getColumnMapping(), JobTraceEntry.getColumnAccessor());
 
-        filteredJobTraceEntries = new LinkedList<JobTraceEntry>();
+        filteredJobTraceEntries = new ArrayList<JobTraceEntry>();
 
         for (JobTraceEntry jobTraceEntry : jobTraceEntries) {
-            Comparable<?>[] row = jobTraceEntry.getRow();
-            if ((Boolean)sqljep.getValue(row)) {
+            if (predicate.matches(jobTraceEntry)) {
                 filteredJobTraceEntries.add(jobTraceEntry);
             }
         }
 
+        callTreeIndex = null;
+
         ISphereJobTraceExplorerCorePlugin.debug("mSecs total: " + timeElapsed(startTime) + ", FILTER-CLAUSE: " + filterWhereClause);
     }
 
@@ -162,6 +302,7 @@ public class JobTraceEntries {
 
     public void removeFilter() {
         this.filteredJobTraceEntries = null;
+        this.callTreeIndex = null;
     }
 
     public boolean isCanceled() {
@@ -181,6 +322,8 @@ public class JobTraceEntries {
         getItems().add(jobTraceEntry);
         jobTraceEntry.setParent(this);
         jobTraceEntry.setId(jobTraceEntries.size());
+
+        callTreeIndex = null;
     }
 
     public List<JobTraceEntry> getItems() {
@@ -192,11 +335,90 @@ public class JobTraceEntries {
         }
     }
 
+    /**
+     * Replaces the job trace entries with a list, that loads the entries page
+     * by page from the specified page loader, when they are accessed. Used for
+     * job trace sessions, that are too large for loading all entries at once.
+     * 
+     * @param pageLoader - loader, that retrieves the pages
+     */
+    public void setPageLoader(IJobTracePageLoader pageLoader) {
+
+        this.jobTraceEntries = new PagedJobTraceEntryList(pageLoader, this);
+        this.filteredJobTraceEntries = null;
+        this.callTreeIndex = null;
+    }
+
+    /**
+     * Returns <code>true</code>, when the job trace entries are loaded page by
+     * page. Paged job trace entries cannot be modified.
+     * 
+     * @return <code>true</code>, when the entries are loaded page by page
+     */
+    public boolean isPaged() {
+        return jobTraceEntries instanceof PagedJobTraceEntryList;
+    }
+
+    /**
+     * Returns all job trace entries, regardless of an active filter.
+     * 
+     * @return list of job trace entries
+     */
+    public List<JobTraceEntry> getUnfilteredItems() {
+        return jobTraceEntries;
+    }
+
     public JobTraceEntry getItem(int index) {
 
         return getItems().get(index);
     }
 
+    /**
+     * Returns the job trace entry at the specified position. Other than
+     * {@link #getItem(int)}, this method does not wait for the page of a paged
+     * job trace entry. Instead it returns a placeholder and notifies the page
+     * listeners, when the page has been loaded.
+     * 
+     * @param index - index of the job trace entry
+     * @return job trace entry or placeholder
+     */
+    public JobTraceEntry getItemOrPlaceholder(int index) {
+
+        if (isPaged() && !isFiltered()) {
+            return ((PagedJobTraceEntryList)jobTraceEntries).getOrPlaceholder(index);
+        }
+
+        return getItem(index);
+    }
+
+    public void addPageListener(IJobTracePageListener listener) {
+
+        if (pageListeners == null) {
+            pageListeners = new CopyOnWriteArrayList<IJobTracePageListener>();
+        }
+
+        pageListeners.add(listener);
+    }
+
+    public void removePageListener(IJobTracePageListener listener) {
+
+        if (pageListeners != null) {
+            pageListeners.remove(listener);
+        }
+    }
+
+    void firePageLoaded(int fromIndex, int toIndex) {
+
+        List<IJobTracePageListener> listeners = pageListeners;
+        if (listeners == null) {
+            return;
+        }
+
+        for (IJobTracePageListener listener : listeners) {
+            listener.pageLoaded(fromIndex, toIndex);
+        }
+    }
+
     public boolean isOverflow() {
         return isOverflow;
     }
@@ -235,8 +457,9 @@ public class JobTraceEntries {
 
     private void reset(boolean fullReset) {
 
-        this.jobTraceEntries = new LinkedList<JobTraceEntry>();
+        this.jobTraceEntries = new ArrayList<JobTraceEntry>();
         this.filteredJobTraceEntries = null;
+        this.callTreeIndex = null;
         this.isOverflow = false;
         this.numAvailableRows = -1;
         this.messages = null;
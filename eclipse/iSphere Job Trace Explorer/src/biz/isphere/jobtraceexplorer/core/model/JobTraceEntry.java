@@ -17,6 +17,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map.Entry;
 
+import biz.isphere.core.sqljep.IColumnAccessor;
 import biz.isphere.core.swt.widgets.ContentAssistProposal;
 import biz.isphere.jobtraceexplorer.core.Messages;
 import biz.isphere.jobtraceexplorer.core.model.dao.ColumnsDAO;
@@ -44,6 +45,14 @@ public class JobTraceEntry {
         columnMappings.put(ColumnsDAO.CALLER_CALL_LEVEL.name(), ColumnsDAO.CALLER_CALL_LEVEL.ordinal());
     }
 
+    private static final ColumnsDAO[] columns = ColumnsDAO.values();
+
+    private static final IColumnAccessor<JobTraceEntry> columnAccessor = new IColumnAccessor<JobTraceEntry>() {
+        public Comparable<?> getColumnValue(JobTraceEntry jobTraceEntry, int column) {
+            return jobTraceEntry.getColumnValue(column);
+        }
+    };
+
     private static List<ContentAssistProposal> proposals;
     static {
         // @formatter:off
@@ -108,6 +117,7 @@ public class JobTraceEntry {
     private transient JobTraceEntries parent;
     private transient DecimalFormat bin8Formatter;
     private transient SimpleDateFormat timestampFormatter;
+    private transient boolean isPlaceholder;
 
     /**
      * Produces a new TraceEntry. This constructor is used when loading job
@@ -121,10 +131,38 @@ public class JobTraceEntry {
         this.timestampFormatter = new SimpleDateFormat("yyyy-MM-dd-HH.mm.ss.SSS"); //$NON-NLS-1$
     }
 
+    /**
+     * Produces a placeholder, that is displayed in the viewer, while the page
+     * of the job trace entry is loaded in the background.
+     * 
+     * @param parent - list of job trace entries
+     * @param id - id of the job trace entry
+     * @return placeholder
+     */
+    public static JobTraceEntry createPlaceholder(JobTraceEntries parent, int id) {
+
+        JobTraceEntry jobTraceEntry = new JobTraceEntry();
+        jobTraceEntry.setParent(parent);
+        jobTraceEntry.setId(id);
+        jobTraceEntry.isPlaceholder = true;
+
+        return jobTraceEntry;
+    }
+
     public static HashMap<String, Integer> getColumnMapping() {
         return columnMappings;
     }
 
+    /**
+     * Returns the accessor, that reads the column values of a job trace entry
+     * when a compiled where clause is evaluated.
+     * 
+     * @return column accessor
+     */
+    public static IColumnAccessor<JobTraceEntry> getColumnAccessor() {
+        return columnAccessor;
+    }
+
     public static String getColumnName(int index) {
 
         for (Entry<String, Integer> mapping : columnMappings.entrySet()) {
@@ -171,24 +209,56 @@ public class JobTraceEntry {
 
         Comparable<?>[] row = new Comparable[columnMappings.size()];
 
-        row[ColumnsDAO.ID.ordinal()] = getId();
-        row[ColumnsDAO.NANOS_SINE_STARTED.ordinal()] = getNanosSinceStarted();
-        row[ColumnsDAO.TIMESTAMP.ordinal()] = getTimestamp();
-        row[ColumnsDAO.PGM_NAME.ordinal()] = getProgramName();
-        row[ColumnsDAO.PGM_LIB.ordinal()] = getProgramLibrary();
-        row[ColumnsDAO.MOD_NAME.ordinal()] = getModuleName();
-        row[ColumnsDAO.MOD_LIB.ordinal()] = getModuleLibrary();
-        row[ColumnsDAO.HLL_STMT_NBR.ordinal()] = getHLLStmtNbr();
-        row[ColumnsDAO.PROC_NAME.ordinal()] = getProcedureName();
-        row[ColumnsDAO.CALL_LEVEL.ordinal()] = getCallLevel();
-        row[ColumnsDAO.EVENT_SUB_TYPE.ordinal()] = getEventSubType();
-        row[ColumnsDAO.CALLER_HLL_STMT_NBR.ordinal()] = getCallerHLLStmtNbr();
-        row[ColumnsDAO.CALLER_PROC_NAME.ordinal()] = getCallerProcedureName();
-        row[ColumnsDAO.CALLER_CALL_LEVEL.ordinal()] = getCallerCallLevel();
+        for (int i = 0; i < row.length; i++) {
+            row[i] = getColumnValue(i);
+        }
 
         return row;
     }
 
+    /**
+     * Returns the value of the column with the specified index of the column
+     * mapping.
+     * 
+     * @param column - index of the column
+     * @return column value
+     */
+    public Comparable<?> getColumnValue(int column) {
+
+        switch (columns[column]) {
+        case ID:
+            return getId();
+        case NANOS_SINE_STARTED:
+            return getNanosSinceStarted();
+        case TIMESTAMP:
+            return getTimestamp();
+        case PGM_NAME:
+            return getProgramName();
+        case PGM_LIB:
+            return getProgramLibrary();
+        case MOD_NAME:
+            return getModuleName();
+        case MOD_LIB:
+            return getModuleLibrary();
+        case HLL_STMT_NBR:
+            return getHLLStmtNbr();
+        case PROC_NAME:
+            return getProcedureName();
+        case CALL_LEVEL:
+            return getCallLevel();
+        case EVENT_SUB_TYPE:
+            return getEventSubType();
+        case CALLER_HLL_STMT_NBR:
+            return getCallerHLLStmtNbr();
+        case CALLER_PROC_NAME:
+            return getCallerProcedureName();
+        case CALLER_CALL_LEVEL:
+            return getCallerCallLevel();
+        default:
+            return null;
+        }
+    }
+
     // //////////////////////////////////////////////////////////
     // / Getters / Setters
     // //////////////////////////////////////////////////////////
@@ -353,8 +423,21 @@ public class JobTraceEntry {
         return getValueForUi(ColumnsDAO.valueOf(columnName));
     }
 
+    public boolean isPlaceholder() {
+        return isPlaceholder;
+    }
+
     public String getValueForUi(ColumnsDAO columnsDAO) {
 
+        if (isPlaceholder) {
+            if (ColumnsDAO.ID.equals(columnsDAO)) {
+                return toString(getId());
+            } else if (ColumnsDAO.PROC_NAME.equals(columnsDAO)) {
+                return Messages.Loading;
+            }
+            return ""; //$NON-NLS-1$
+        }
+
         if (ColumnsDAO.ID.equals(columnsDAO)) {
             return toString(getId());
         } else if (ColumnsDAO.NANOS_SINE_STARTED.equals(columnsDAO)) {
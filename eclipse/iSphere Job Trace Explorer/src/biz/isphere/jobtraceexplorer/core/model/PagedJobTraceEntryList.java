@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.jobtraceexplorer.core.model;
+
+import java.util.AbstractList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import biz.isphere.jobtraceexplorer.core.ISphereJobTraceExplorerCorePlugin;
+import biz.isphere.jobtraceexplorer.core.Messages;
+
+/**
+ * Read-only list of the job trace entries of a large job trace session. The
+ * entries are loaded page by page, when they are accessed. Only the most
+ * recently used pages are kept in memory. The neighbors of a page, that has
+ * been loaded on demand, are prefetched in the background, so that scrolling
+ * does not wait for the host.
+ * <p>
+ * The viewer uses {@link #getOrPlaceholder(int)}, which never waits for the
+ * host. A page is loaded only once at a time. Threads, that need a page, that
+ * is being loaded, wait for it.
+ */
+class PagedJobTraceEntryList extends AbstractList<JobTraceEntry> implements RandomAccess {
+
+    private static final int MAX_CACHED_PAGES = 64;
+
+    private IJobTracePageLoader pageLoader;
+    private JobTraceEntries parent;
+    private int pageSize;
+    private int size;
+
+    private Map<Integer, List<JobTraceEntry>> pages;
+    private Set<Integer> pendingPages;
+
+    public PagedJobTraceEntryList(IJobTracePageLoader pageLoader, JobTraceEntries parent) {
+
+        this.pageLoader = pageLoader;
+        this.parent = parent;
+        this.pageSize = pageLoader.getPageSize();
+        this.size = pageLoader.getNumberOfRows();
+
+        this.pages = new LinkedHashMap<Integer, List<JobTraceEntry>>(16, 0.75f, true) {
+            private static final long serialVersionUID = -2304591178460154731L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<JobTraceEntry>> eldest) {
+                return size() > MAX_CACHED_PAGES;
+            }
+        };
+
+        this.pendingPages = new HashSet<Integer>();
+    }
+
+    /**
+     * Returns the job trace entry at the specified position. Loads the page of
+     * the entry, if it is not yet available, or waits for it, if it is being
+     * loaded.
+     */
+    @Override
+    public JobTraceEntry get(int index) {
+
+        checkIndex(index);
+
+        int pageNumber = index / pageSize;
+        List<JobTraceEntry> page = getPage(pageNumber);
+
+        return getEntry(page, pageNumber, index);
+    }
+
+    /**
+     * Returns the job trace entry at the specified position, if its page is
+     * available. Otherwise the page is loaded in the background and a
+     * placeholder is returned. The listeners of the parent list are notified,
+     * when the page has been loaded.
+     * 
+     * @param index - index of the job trace entry
+     * @return job trace entry or placeholder
+     */
+    public JobTraceEntry getOrPlaceholder(int index) {
+
+        checkIndex(index);
+
+        int pageNumber = index / pageSize;
+        List<JobTraceEntry> page = getCachedPage(pageNumber);
+        if (page == null) {
+            loadPageInBackground(pageNumber, true);
+            return JobTraceEntry.createPlaceholder(parent, index + 1);
+        }
+
+        return getEntry(page, pageNumber, index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void checkIndex(int index) {
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    private JobTraceEntry getEntry(List<JobTraceEntry> page, int pageNumber, int index) {
+
+        int offset = index % pageSize;
+        if (offset >= page.size()) {
+            throw new IllegalStateException("Page " + pageNumber + " of job trace session is incomplete."); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        return page.get(offset);
+    }
+
+    private synchronized List<JobTraceEntry> getCachedPage(int pageNumber) {
+        return pages.get(pageNumber);
+    }
+
+    /*
+     * Returns a page, that is loaded by the calling thread, unless another
+     * thread is already loading it.
+     */
+    private List<JobTraceEntry> getPage(int pageNumber) {
+
+        synchronized (this) {
+            while (true) {
+                List<JobTraceEntry> page = pages.get(pageNumber);
+                if (page != null) {
+                    return page;
+                }
+                if (pendingPages.add(pageNumber)) {
+                    break;
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for page " + pageNumber + " of job trace session."); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+            }
+        }
+
+        List<JobTraceEntry> page = loadPage(pageNumber);
+
+        loadPageInBackground(pageNumber - 1, false);
+        loadPageInBackground(pageNumber + 1, false);
+
+        return page;
+    }
+
+    /*
+     * Loads a page, that has been added to the pending pages by the calling
+     * thread.
+     */
+    private List<JobTraceEntry> loadPage(int pageNumber) {
+
+        List<JobTraceEntry> page = null;
+
+        try {
+
+            page = pageLoader.loadPage(pageNumber);
+
+            int id = pageNumber * pageSize;
+            for (JobTraceEntry jobTraceEntry : page) {
+                id++;
+                jobTraceEntry.setParent(parent);
+                jobTraceEntry.setId(id);
+            }
+
+        } catch (Exception e) {
+            ISphereJobTraceExplorerCorePlugin.logError("*** Could not load page " + pageNumber + " of job trace session ***", e); //$NON-NLS-1$ //$NON-NLS-2$
+            throw new IllegalStateException(e.getLocalizedMessage(), e);
+        } finally {
+            synchronized (this) {
+                if (page != null) {
+                    pages.put(pageNumber, page);
+                }
+                pendingPages.remove(pageNumber);
+                notifyAll();
+            }
+        }
+
+        if (!page.isEmpty()) {
+            parent.firePageLoaded(pageNumber * pageSize, pageNumber * pageSize + page.size() - 1);
+        }
+
+        return page;
+    }
+
+    private void loadPageInBackground(final int pageNumber, final boolean isPrefetchNeighbors) {
+
+        if (pageNumber < 0 || pageNumber * pageSize >= size) {
+            return;
+        }
+
+        synchronized (this) {
+            if (pages.containsKey(pageNumber) || !pendingPages.add(pageNumber)) {
+                return;
+            }
+        }
+
+        Job loadPageJob = new Job(Messages.Status_Receiving_job_trace_entries) {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+
+                try {
+                    loadPage(pageNumber);
+                } catch (IllegalStateException e) {
+                    // Already logged. Retried, when the page is accessed.
+                    return Status.OK_STATUS;
+                }
+
+                if (isPrefetchNeighbors) {
+                    loadPageInBackground(pageNumber - 1, false);
+                    loadPageInBackground(pageNumber + 1, false);
+                }
+
+                return Status.OK_STATUS;
+            }
+        };
+
+        loadPageJob.setSystem(true);
+        loadPageJob.schedule();
+    }
+}
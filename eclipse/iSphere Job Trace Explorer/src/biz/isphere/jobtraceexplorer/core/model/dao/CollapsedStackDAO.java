@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.jobtraceexplorer.core.model.dao;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import biz.isphere.jobtraceexplorer.core.model.profile.CallPathNode;
+import biz.isphere.jobtraceexplorer.core.model.profile.JobTraceProfile;
+
+/**
+ * This class saves the call tree of a job trace profile as collapsed stacks,
+ * which is the input format of flame graph tools, such as
+ * <code>flamegraph.pl</code> or speedscope. Each line holds a call path,
+ * with the procedures separated by semicolons, followed by the exclusive
+ * time of the path in nanoseconds:
+ * 
+ * <pre>
+ * LIB/PGM(MOD):MAIN;LIB/PGM(MOD):PROC_A 1250000
+ * </pre>
+ */
+public class CollapsedStackDAO {
+
+    private static final char FRAME_SEPARATOR = ';';
+
+    private String fileName;
+
+    public CollapsedStackDAO(String fileName) {
+
+        this.fileName = fileName;
+    }
+
+    public void save(JobTraceProfile profile) throws IOException {
+
+        CallPathNode callTree = profile.getCallTree();
+        if (callTree == null) {
+            throw new IllegalArgumentException("Call tree of job trace profile is not available."); //$NON-NLS-1$
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fileName), "UTF-8")); //$NON-NLS-1$
+
+        try {
+            StringBuilder path = new StringBuilder();
+            for (CallPathNode child : callTree.getChildren()) {
+                writeCallPath(writer, child, path);
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void writeCallPath(Writer writer, CallPathNode node, StringBuilder path) throws IOException {
+
+        int length = path.length();
+        if (length > 0) {
+            path.append(FRAME_SEPARATOR);
+        }
+
+        path.append(getFrameName(node));
+
+        if (node.getExclusiveNanos() > 0) {
+            writer.write(path.toString());
+            writer.write(' ');
+            writer.write(Long.toString(node.getExclusiveNanos()));
+            writer.write('\n');
+        }
+
+        for (CallPathNode child : node.getChildren()) {
+            writeCallPath(writer, child, path);
+        }
+
+        path.setLength(length);
+    }
+
+    /*
+     * Semicolons separate the frames and line breaks separate the stacks,
+     * therefore they must not appear in a frame name.
+     */
+    private String getFrameName(CallPathNode node) {
+        return node.getProcedure().getLabel().replace(FRAME_SEPARATOR, '_').replace('\n', '_').replace('\r', '_');
+    }
+}
@@ -8,16 +8,31 @@
 
 package biz.isphere.jobtraceexplorer.core.model.dao;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.Date;
+import java.util.zip.GZIPOutputStream;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
-import biz.isphere.core.json.JsonImporter;
+import biz.isphere.core.json.IJsonStreamListener;
+import biz.isphere.core.json.JsonStreamExporter;
+import biz.isphere.core.json.JsonStreamImporter;
 import biz.isphere.jobtraceexplorer.core.ISphereJobTraceExplorerCorePlugin;
 import biz.isphere.jobtraceexplorer.core.Messages;
+import biz.isphere.jobtraceexplorer.core.model.JobTraceEntries;
 import biz.isphere.jobtraceexplorer.core.model.JobTraceEntry;
 import biz.isphere.jobtraceexplorer.core.model.JobTraceSession;
+import biz.isphere.jobtraceexplorer.core.model.profile.JobTraceProfile;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 
 /**
  * This class retrieves journal entries from the journal a given object is
@@ -42,13 +57,23 @@ public class JobTraceJsonDAO {
 
             monitor.setTaskName(Messages.Status_Preparing_to_load_job_trace_entries);
 
-            JsonImporter<JobTraceSession> importer = new JsonImporter<JobTraceSession>(JobTraceSession.class);
+            final JobTraceEntries jobTraceEntries = jobTraceSession.getJobTraceEntries();
+
+            JsonStreamImporter<JobTraceSession, JobTraceEntry> importer = new JsonStreamImporter<JobTraceSession, JobTraceEntry>(
+                JobTraceSession.class, JobTraceEntry.class, "jobTraceEntries", "jobTraceEntries"); //$NON-NLS-1$ //$NON-NLS-2$
+            importer.addInstance(JobTraceEntries.class, jobTraceEntries);
+
+            importer.execute(new File(fileName), jobTraceSession, new IJsonStreamListener<JobTraceEntry>() {
+                public void elementRead(JobTraceEntry jobTraceEntry) {
+                    jobTraceEntries.getUnfilteredItems().add(jobTraceEntry);
+                    jobTraceEntry.setParent(jobTraceEntries);
+                }
+            }, monitor);
 
-            jobTraceSession = importer.execute(null, fileName);
             jobTraceSession.updateFileName(fileName);
 
-            for (JobTraceEntry jobTraceEntry : jobTraceSession.getJobTraceEntries().getItems()) {
-                jobTraceEntry.setParent(jobTraceSession.getJobTraceEntries());
+            if (importer.isCanceled()) {
+                jobTraceEntries.setCanceled(true);
             }
 
         } finally {
@@ -60,6 +85,31 @@ public class JobTraceJsonDAO {
         return jobTraceSession;
     }
 
+    /**
+     * Saves the profile of a job trace session. Files, whose name ends with
+     * <code>.gz</code>, are gzip compressed.
+     * 
+     * @param profile - job trace profile
+     * @throws IOException
+     */
+    public void saveProfile(JobTraceProfile profile) throws IOException {
+
+        Gson gson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
+
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(fileName));
+        if (fileName.toLowerCase().endsWith(JsonStreamExporter.GZIP_EXTENSION)) {
+            out = new GZIPOutputStream(out);
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, "UTF-8")); //$NON-NLS-1$
+
+        try {
+            gson.toJson(profile, writer);
+        } finally {
+            writer.close();
+        }
+    }
+
     private long timeElapsed(Date startTime) {
         return (new Date().getTime() - startTime.getTime());
     }
@@ -8,12 +8,16 @@
 
 package biz.isphere.jobtraceexplorer.core.model.dao;
 
+import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
@@ -21,6 +25,7 @@ import biz.isphere.base.internal.SqlHelper;
 import biz.isphere.core.ibmi.contributions.extension.handler.IBMiHostContributionsHandler;
 import biz.isphere.jobtraceexplorer.core.ISphereJobTraceExplorerCorePlugin;
 import biz.isphere.jobtraceexplorer.core.Messages;
+import biz.isphere.jobtraceexplorer.core.model.IJobTracePageLoader;
 import biz.isphere.jobtraceexplorer.core.model.JobTraceEntries;
 import biz.isphere.jobtraceexplorer.core.model.JobTraceEntry;
 import biz.isphere.jobtraceexplorer.core.model.JobTraceSession;
@@ -30,8 +35,13 @@ import biz.isphere.jobtraceexplorer.core.preferences.Preferences;
 /**
  * This class retrieves journal entries from the journal a given object is
  * associated to.
+ * <p>
+ * Sessions with more entries than the maximum number of entries to retrieve
+ * are loaded page by page, when the paged loading is enabled. The pages are
+ * addressed by the keys (QTITIMN, QRECN) of their first entries, which are
+ * retrieved once, when the session is opened.
  */
-public class JobTraceSQLDAO {
+public class JobTraceSQLDAO implements IJobTracePageLoader {
 
     /**
      * SQL statement for querying the job trace session data. Tables and their
@@ -98,6 +108,18 @@ public class JobTraceSQLDAO {
     private static final String SQL_ORDER_BY =
         " ORDER BY x.QTITIMN";
 
+    private static final String SQL_PAGE_KEYS_STATEMENT = 
+        "SELECT k.QTITIMN, k.QRECN FROM (" +
+            "SELECT x.QTITIMN, x.QRECN, ROW_NUMBER() OVER (ORDER BY x.QTITIMN, x.QRECN) AS ROWNBR " +
+             SQL_FROM_CLAUSE + "%s" +
+        ") k WHERE MOD(k.ROWNBR - 1, %d) = 0 ORDER BY k.ROWNBR";
+
+    private static final String SQL_WHERE_PAGE_START =
+        "(x.QTITIMN > ? OR (x.QTITIMN = ? AND x.QRECN >= ?))";
+
+    private static final String SQL_ORDER_BY_PAGE =
+        " ORDER BY x.QTITIMN, x.QRECN FETCH FIRST %d ROWS ONLY";
+
     private static final String[] OVRDBF_CMD =
       { "OVRDBF FILE(QAYPETIDX)  TOFILE(%S/QAYPETIDX ) MBR(%S) SECURE(*YES) OVRSCOPE(*JOB)" ,
         "OVRDBF FILE(QAYPETBRKT) TOFILE(%S/QAYPETBRKT) MBR(%S) SECURE(*YES) OVRSCOPE(*JOB)" ,
@@ -112,6 +134,21 @@ public class JobTraceSQLDAO {
          
     // @formatter:on
 
+    private static final int PAGE_SIZE = 1000;
+
+    /**
+     * Lock, that serializes the loading of pages, because the table overrides
+     * are scoped to the job of the shared JDBC connection.
+     */
+    private static final Object TABLE_OVERRIDES_LOCK = new Object();
+
+    /**
+     * Job trace sessions, the tables of the JDBC connections are currently
+     * overwritten with. Pages of the same session are loaded without
+     * overwriting the tables again. Guarded by {@link #TABLE_OVERRIDES_LOCK}.
+     */
+    private static final Map<Connection, String> OVERWRITTEN_SESSIONS = new WeakHashMap<Connection, String>();
+
     // private JobTraceSession jobTraceSession;
     private String connectionName;
     private String libraryName;
@@ -120,6 +157,10 @@ public class JobTraceSQLDAO {
 
     private String sqlWhereNoIBMData;
 
+    private int numRowsPaged;
+    private BigDecimal[] pageStartNanos;
+    private long[] pageStartRecords;
+
     public JobTraceSQLDAO(JobTraceSession jobTraceSession) {
 
         this.connectionName = jobTraceSession.getConnectionName();
@@ -164,12 +205,24 @@ public class JobTraceSQLDAO {
             jdbcConnection = IBMiHostContributionsHandler.getJdbcConnection(connectionName);
 
             sqlHelper = new SqlHelper(jdbcConnection);
+            resetOverwrittenSession(jdbcConnection);
             isTableOverWrite = overWriteTables(sqlHelper);
 
             int maxNumRows = Preferences.getInstance().getMaximumNumberOfRowsToFetch();
 
             int numRowsAvailable = getNumRowsAvailable(sqlHelper);
 
+            if (numRowsAvailable > maxNumRows && Preferences.getInstance().isPagedLoading()) {
+
+                monitor.setTaskName(Messages.Status_Executing_query);
+
+                if (loadPageKeys(sqlHelper, monitor) && !isCanceled(monitor, jobTraceSession.getJobTraceEntries())) {
+                    jobTraceSession.getJobTraceEntries().setPageLoader(this);
+                }
+
+                return jobTraceSession;
+            }
+
             preparedStatement = jdbcConnection.prepareStatement(getSQLStatement());
 
             monitor.setTaskName(Messages.Status_Executing_query);
@@ -202,6 +255,7 @@ public class JobTraceSQLDAO {
 
             if (isTableOverWrite) {
                 deleteTableOverWrites(sqlHelper);
+                resetOverwrittenSession(jdbcConnection);
             }
 
             sqlHelper.close(resultSet);
@@ -219,6 +273,131 @@ public class JobTraceSQLDAO {
         return jobTraceSession;
     }
 
+    public int getPageSize() {
+        return PAGE_SIZE;
+    }
+
+    public int getNumberOfRows() {
+        return numRowsPaged;
+    }
+
+    /**
+     * Loads the job trace entries of a given page. The first entry of the page
+     * is located by its key, so that the host does not need to skip the rows
+     * of the previous pages.
+     * <p>
+     * The table overrides are kept, after the page has been loaded. They are
+     * only changed, when a page of another job trace session is loaded with
+     * the same JDBC connection.
+     */
+    public List<JobTraceEntry> loadPage(int pageNumber) throws Exception {
+
+        List<JobTraceEntry> page = new ArrayList<JobTraceEntry>(PAGE_SIZE);
+
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+        SqlHelper sqlHelper = null;
+
+        Date startTime = new Date();
+
+        synchronized (TABLE_OVERRIDES_LOCK) {
+
+            try {
+
+                Connection jdbcConnection = IBMiHostContributionsHandler.getJdbcConnection(connectionName);
+
+                sqlHelper = new SqlHelper(jdbcConnection);
+
+                String sessionKey = getSessionKey();
+                if (!sessionKey.equals(OVERWRITTEN_SESSIONS.get(jdbcConnection))) {
+                    OVERWRITTEN_SESSIONS.remove(jdbcConnection);
+                    if (!overWriteTables(sqlHelper)) {
+                        throw new SQLException("Could not overwrite job trace tables of session " + sessionID + "."); //$NON-NLS-1$ //$NON-NLS-2$
+                    }
+                    OVERWRITTEN_SESSIONS.put(jdbcConnection, sessionKey);
+                }
+
+                preparedStatement = jdbcConnection.prepareStatement(getSQLPageStatement());
+                preparedStatement.setBigDecimal(1, pageStartNanos[pageNumber]);
+                preparedStatement.setBigDecimal(2, pageStartNanos[pageNumber]);
+                preparedStatement.setLong(3, pageStartRecords[pageNumber]);
+
+                resultSet = preparedStatement.executeQuery();
+
+                while (resultSet.next()) {
+                    page.add(populateJobTraceEntry(resultSet, new JobTraceEntry()));
+                }
+
+            } finally {
+
+                if (sqlHelper != null) {
+                    sqlHelper.close(resultSet);
+                    sqlHelper.close(preparedStatement);
+                }
+            }
+        }
+
+        ISphereJobTraceExplorerCorePlugin.debug("mSecs total: " + timeElapsed(startTime) + ", PAGE: " + pageNumber); //$NON-NLS-1$ //$NON-NLS-2$
+
+        return page;
+    }
+
+    /*
+     * Retrieves the keys of the first entries of the pages. Returns false,
+     * when the load has been canceled.
+     */
+    private boolean loadPageKeys(SqlHelper sqlHelper, IProgressMonitor monitor) throws SQLException {
+
+        List<BigDecimal> nanos = new ArrayList<BigDecimal>();
+        List<Long> records = new ArrayList<Long>();
+
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+
+        try {
+
+            Connection jdbcConnection = sqlHelper.getConnection();
+            preparedStatement = jdbcConnection.prepareStatement(getSQLPageKeysStatement());
+            resultSet = preparedStatement.executeQuery();
+
+            while (resultSet.next()) {
+                if (monitor.isCanceled()) {
+                    return false;
+                }
+                nanos.add(resultSet.getBigDecimal(1));
+                records.add(resultSet.getLong(2));
+            }
+
+        } finally {
+            sqlHelper.close(resultSet);
+            sqlHelper.close(preparedStatement);
+        }
+
+        pageStartNanos = nanos.toArray(new BigDecimal[nanos.size()]);
+        pageStartRecords = new long[records.size()];
+        for (int i = 0; i < pageStartRecords.length; i++) {
+            pageStartRecords[i] = records.get(i);
+        }
+
+        numRowsPaged = getNumRowsAvailable(sqlHelper);
+        if (numRowsPaged > pageStartNanos.length * PAGE_SIZE) {
+            numRowsPaged = pageStartNanos.length * PAGE_SIZE;
+        }
+
+        return true;
+    }
+
+    private String getSessionKey() {
+        return libraryName + "/" + sessionID; //$NON-NLS-1$
+    }
+
+    private void resetOverwrittenSession(Connection jdbcConnection) {
+
+        synchronized (TABLE_OVERRIDES_LOCK) {
+            OVERWRITTEN_SESSIONS.remove(jdbcConnection);
+        }
+    }
+
     private boolean overWriteTables(SqlHelper sqlHelper) {
 
         for (String ovrDbfCmd : OVRDBF_CMD) {
@@ -256,6 +435,36 @@ public class JobTraceSQLDAO {
         return buffer.toString();
     }
 
+    private String getSQLPageKeysStatement() {
+
+        StringBuilder buffer = new StringBuilder();
+
+        if (isIBMDataExcluded) {
+            appendWhereClause(buffer);
+        }
+
+        return String.format(SQL_PAGE_KEYS_STATEMENT, buffer.toString(), PAGE_SIZE);
+    }
+
+    private String getSQLPageStatement() {
+
+        StringBuilder buffer = new StringBuilder();
+
+        buffer.append(SQL_STATEMENT);
+
+        if (isIBMDataExcluded) {
+            appendWhereClause(buffer);
+            buffer.append(" AND "); //$NON-NLS-1$
+        } else {
+            buffer.append(" WHERE "); //$NON-NLS-1$
+        }
+
+        buffer.append(SQL_WHERE_PAGE_START);
+        buffer.append(String.format(SQL_ORDER_BY_PAGE, PAGE_SIZE));
+
+        return buffer.toString();
+    }
+
     private String getSQLCountStatement() {
 
         StringBuilder buffer = new StringBuilder();
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.jobtraceexplorer.core.model.profile;
+
+import com.google.gson.annotations.Expose;
+
+/**
+ * Statistics of the calls from a caller procedure to a callee procedure.
+ */
+public class CallEdgeStatistics {
+
+    @Expose(serialize = true, deserialize = true)
+    private String caller;
+    @Expose(serialize = true, deserialize = true)
+    private String callee;
+    @Expose(serialize = true, deserialize = true)
+    private long callCount;
+    @Expose(serialize = true, deserialize = true)
+    private long inclusiveNanos;
+
+    private transient ProfileStatistics callerStatistics;
+    private transient ProfileStatistics calleeStatistics;
+
+    public CallEdgeStatistics(ProfileStatistics callerStatistics, ProfileStatistics calleeStatistics) {
+        this.callerStatistics = callerStatistics;
+        this.calleeStatistics = calleeStatistics;
+        this.caller = callerStatistics.getLabel();
+        this.callee = calleeStatistics.getLabel();
+    }
+
+    public String getCaller() {
+        return caller;
+    }
+
+    public String getCallee() {
+        return callee;
+    }
+
+    public ProfileStatistics getCallerStatistics() {
+        return callerStatistics;
+    }
+
+    public ProfileStatistics getCalleeStatistics() {
+        return calleeStatistics;
+    }
+
+    public long getCallCount() {
+        return callCount;
+    }
+
+    public long getInclusiveNanos() {
+        return inclusiveNanos;
+    }
+
+    void addCall() {
+        callCount++;
+    }
+
+    void addInclusiveNanos(long inclusive) {
+        inclusiveNanos += inclusive;
+    }
+
+    @Override
+    public String toString() {
+        return caller + " -> " + callee; //$NON-NLS-1$
+    }
+}
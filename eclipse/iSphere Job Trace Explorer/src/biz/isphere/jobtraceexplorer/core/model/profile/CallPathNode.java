@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.jobtraceexplorer.core.model.profile;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Node of the call tree of a job trace profile. A node represents a distinct
+ * call path, that is the sequence of procedures from the outermost procedure
+ * down to the procedure of the node. The call paths are merged, so that the
+ * size of the tree depends on the number of distinct call paths, not on the
+ * number of job trace entries.
+ */
+public class CallPathNode {
+
+    private CallPathNode parent;
+    private ProfileStatistics procedure;
+    private Map<ProfileStatistics, CallPathNode> children;
+
+    private long callCount;
+    private long inclusiveNanos;
+    private long exclusiveNanos;
+
+    CallPathNode(CallPathNode parent, ProfileStatistics procedure) {
+        this.parent = parent;
+        this.procedure = procedure;
+        this.children = null;
+    }
+
+    /**
+     * Returns the parent node or <code>null</code> for the root node.
+     * 
+     * @return parent node
+     */
+    public CallPathNode getParent() {
+        return parent;
+    }
+
+    /**
+     * Returns the procedure of the node or <code>null</code> for the root
+     * node.
+     * 
+     * @return procedure statistics
+     */
+    public ProfileStatistics getProcedure() {
+        return procedure;
+    }
+
+    public Collection<CallPathNode> getChildren() {
+
+        if (children == null) {
+            return Collections.emptyList();
+        }
+
+        return children.values();
+    }
+
+    public boolean isRoot() {
+        return parent == null;
+    }
+
+    public long getCallCount() {
+        return callCount;
+    }
+
+    public long getInclusiveNanos() {
+        return inclusiveNanos;
+    }
+
+    public long getExclusiveNanos() {
+        return exclusiveNanos;
+    }
+
+    CallPathNode getChild(ProfileStatistics procedure) {
+
+        if (children == null) {
+            children = new HashMap<ProfileStatistics, CallPathNode>();
+        }
+
+        CallPathNode child = children.get(procedure);
+        if (child == null) {
+            child = new CallPathNode(this, procedure);
+            children.put(procedure, child);
+        }
+
+        return child;
+    }
+
+    void exit(long inclusive, long exclusive) {
+        callCount++;
+        inclusiveNanos += inclusive;
+        exclusiveNanos += exclusive;
+    }
+}
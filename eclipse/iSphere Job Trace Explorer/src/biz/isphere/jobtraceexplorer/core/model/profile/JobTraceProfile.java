@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.jobtraceexplorer.core.model.profile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import biz.isphere.core.json.JsonSerializable;
+
+import com.google.gson.annotations.Expose;
+
+/**
+ * Profile of a job trace session, that tells where the time went. Produced
+ * by the {@link JobTraceProfiler}.
+ */
+public class JobTraceProfile implements JsonSerializable {
+
+    @Expose(serialize = true, deserialize = true)
+    private String sessionName;
+    @Expose(serialize = true, deserialize = true)
+    private int numEntries;
+    @Expose(serialize = true, deserialize = true)
+    private long totalNanos;
+    @Expose(serialize = true, deserialize = true)
+    private List<ProfileStatistics> programs;
+    @Expose(serialize = true, deserialize = true)
+    private List<ProfileStatistics> modules;
+    @Expose(serialize = true, deserialize = true)
+    private List<ProfileStatistics> procedures;
+    @Expose(serialize = true, deserialize = true)
+    private List<CallEdgeStatistics> callEdges;
+    @Expose(serialize = true, deserialize = true)
+    private List<String> hotPath;
+
+    private transient CallPathNode callTree;
+
+    JobTraceProfile(String sessionName, int numEntries, long totalNanos, CallPathNode callTree) {
+        this.sessionName = sessionName;
+        this.numEntries = numEntries;
+        this.totalNanos = totalNanos;
+        this.callTree = callTree;
+        this.programs = new ArrayList<ProfileStatistics>();
+        this.modules = new ArrayList<ProfileStatistics>();
+        this.procedures = new ArrayList<ProfileStatistics>();
+        this.callEdges = new ArrayList<CallEdgeStatistics>();
+        this.hotPath = new ArrayList<String>();
+    }
+
+    public String getSessionName() {
+        return sessionName;
+    }
+
+    /**
+     * Returns the number of job trace entries, that have been profiled.
+     * 
+     * @return number of job trace entries
+     */
+    public int getNumberOfEntries() {
+        return numEntries;
+    }
+
+    /**
+     * Returns the time between the first and the last job trace entry.
+     * 
+     * @return elapsed nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Returns the statistics of a given level, sorted by exclusive time in
+     * descending order.
+     * 
+     * @param level - granularity of the statistics
+     * @return program, module or procedure statistics
+     */
+    public List<ProfileStatistics> getStatistics(ProfileLevel level) {
+
+        if (level == ProfileLevel.PROGRAM) {
+            return programs;
+        } else if (level == ProfileLevel.MODULE) {
+            return modules;
+        } else {
+            return procedures;
+        }
+    }
+
+    /**
+     * Returns the caller-to-callee edges of the procedures, sorted by
+     * inclusive time in descending order.
+     * 
+     * @return call edges
+     */
+    public List<CallEdgeStatistics> getCallEdges() {
+        return callEdges;
+    }
+
+    /**
+     * Returns the hot path, that is the call path, that is found by starting
+     * at the most expensive outermost procedure and descending into the most
+     * expensive callee, until a procedure without callees is reached.
+     * 
+     * @return labels of the procedures of the hot path
+     */
+    public List<String> getHotPath() {
+        return hotPath;
+    }
+
+    /**
+     * Returns the root node of the call tree. The call tree is not available,
+     * when the profile has been loaded from a Json file.
+     * 
+     * @return root node of the call tree
+     */
+    public CallPathNode getCallTree() {
+        return callTree;
+    }
+}
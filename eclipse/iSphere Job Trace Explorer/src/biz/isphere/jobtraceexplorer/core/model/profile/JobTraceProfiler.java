@@ -0,0 +1,299 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.jobtraceexplorer.core.model.profile;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import biz.isphere.jobtraceexplorer.core.model.JobTraceEntry;
+
+/**
+ * Computes the profile of a job trace session in a single pass over the job
+ * trace entries.
+ * <p>
+ * The profiler keeps a stack of the active procedures. A procedure entry
+ * event pushes a frame, the matching procedure exit event, which is the next
+ * exit event with the same call level, pops it. Frames without an exit event
+ * are closed, when an exit event of an outer procedure is found or at the
+ * end of the session. Exit events without a matching entry event are
+ * ignored.
+ */
+public class JobTraceProfiler {
+
+    private static final int MONITOR_INTERVAL = 10000;
+
+    private static final String KEY_SEPARATOR = "\u0000"; //$NON-NLS-1$
+
+    private Map<String, ProfileStatistics>[] statistics;
+    private Map<String, CallEdgeStatistics> callEdges;
+    private CallPathNode callTree;
+    private List<Frame> stack;
+
+    /**
+     * Computes the profile of the specified job trace entries.
+     * 
+     * @param sessionName - name of the job trace session
+     * @param jobTraceEntries - job trace entries sorted by time
+     * @param monitor - progress monitor or <code>null</code>
+     * @return profile or <code>null</code>, if canceled
+     */
+    @SuppressWarnings("unchecked")
+    public JobTraceProfile execute(String sessionName, List<JobTraceEntry> jobTraceEntries, IProgressMonitor monitor) {
+
+        ProfileLevel[] levels = ProfileLevel.values();
+
+        statistics = new Map[levels.length];
+        for (int i = 0; i < levels.length; i++) {
+            statistics[i] = new HashMap<String, ProfileStatistics>();
+        }
+
+        callEdges = new HashMap<String, CallEdgeStatistics>();
+        callTree = new CallPathNode(null, null);
+        stack = new ArrayList<Frame>();
+
+        long firstNanos = -1;
+        long lastNanos = -1;
+        int count = 0;
+
+        for (JobTraceEntry jobTraceEntry : jobTraceEntries) {
+
+            count++;
+            if (monitor != null && count % MONITOR_INTERVAL == 0) {
+                if (monitor.isCanceled()) {
+                    return null;
+                }
+                monitor.worked(MONITOR_INTERVAL);
+            }
+
+            BigInteger nanosSinceStarted = jobTraceEntry.getNanosSinceStarted();
+            if (nanosSinceStarted == null) {
+                continue;
+            }
+
+            long nanos = nanosSinceStarted.longValue();
+            if (firstNanos < 0) {
+                firstNanos = nanos;
+            }
+            lastNanos = nanos;
+
+            if (jobTraceEntry.isProcEntry()) {
+                enterProcedure(jobTraceEntry, nanos);
+            } else if (jobTraceEntry.isProcExit()) {
+                exitProcedure(jobTraceEntry.getCallLevel(), nanos);
+            }
+        }
+
+        while (!stack.isEmpty()) {
+            closeFrame(lastNanos);
+        }
+
+        long totalNanos = 0;
+        if (firstNanos >= 0) {
+            totalNanos = lastNanos - firstNanos;
+        }
+
+        JobTraceProfile profile = new JobTraceProfile(sessionName, count, totalNanos, callTree);
+        for (ProfileLevel level : levels) {
+            List<ProfileStatistics> sortedStatistics = profile.getStatistics(level);
+            sortedStatistics.addAll(statistics[level.ordinal()].values());
+            Collections.sort(sortedStatistics, new ExclusiveTimeComparator());
+        }
+
+        profile.getCallEdges().addAll(callEdges.values());
+        Collections.sort(profile.getCallEdges(), new CallEdgeComparator());
+
+        CallPathNode node = getMostExpensive(callTree.getChildren());
+        while (node != null) {
+            profile.getHotPath().add(node.getProcedure().getLabel());
+            node = getMostExpensive(node.getChildren());
+        }
+
+        statistics = null;
+        callEdges = null;
+        callTree = null;
+        stack = null;
+
+        return profile;
+    }
+
+    private void enterProcedure(JobTraceEntry jobTraceEntry, long nanos) {
+
+        Frame parent = null;
+        if (!stack.isEmpty()) {
+            parent = stack.get(stack.size() - 1);
+        }
+
+        String programLibrary = trim(jobTraceEntry.getProgramLibrary());
+        String programName = trim(jobTraceEntry.getProgramName());
+        String moduleName = trim(jobTraceEntry.getModuleName());
+        String procedureName = trim(jobTraceEntry.getProcedureName());
+
+        ProfileLevel[] levels = ProfileLevel.values();
+        ProfileStatistics[] frameStatistics = new ProfileStatistics[levels.length];
+        for (int i = 0; i < levels.length; i++) {
+            frameStatistics[i] = getStatistics(levels[i], programLibrary, programName, moduleName, procedureName);
+
+            // Calls within the same program or module do not count as calls of
+            // the program or module. Procedures count each call.
+            boolean isNewCall = parent == null || parent.statistics[i] != frameStatistics[i] || levels[i] == ProfileLevel.PROCEDURE;
+            frameStatistics[i].enter(isNewCall);
+        }
+
+        ProfileStatistics procedure = frameStatistics[ProfileLevel.PROCEDURE.ordinal()];
+
+        CallEdgeStatistics callEdge = null;
+        CallPathNode callPath;
+        if (parent == null) {
+            callPath = callTree.getChild(procedure);
+        } else {
+            callEdge = getCallEdge(parent.statistics[ProfileLevel.PROCEDURE.ordinal()], procedure);
+            callEdge.addCall();
+            callPath = parent.callPath.getChild(procedure);
+        }
+
+        stack.add(new Frame(jobTraceEntry.getCallLevel(), nanos, frameStatistics, callEdge, callPath));
+    }
+
+    private void exitProcedure(int callLevel, long nanos) {
+
+        int index = stack.size() - 1;
+        while (index >= 0 && stack.get(index).callLevel != callLevel) {
+            index--;
+        }
+
+        if (index < 0) {
+            return;
+        }
+
+        while (stack.size() > index) {
+            closeFrame(nanos);
+        }
+    }
+
+    private void closeFrame(long nanos) {
+
+        Frame frame = stack.remove(stack.size() - 1);
+
+        long inclusive = Math.max(0, nanos - frame.startNanos);
+        long exclusive = Math.max(0, inclusive - frame.childNanos);
+
+        for (ProfileStatistics frameStatistics : frame.statistics) {
+            frameStatistics.exit(inclusive, exclusive);
+        }
+
+        if (frame.callEdge != null) {
+            frame.callEdge.addInclusiveNanos(inclusive);
+        }
+
+        frame.callPath.exit(inclusive, exclusive);
+
+        if (!stack.isEmpty()) {
+            stack.get(stack.size() - 1).childNanos += inclusive;
+        }
+    }
+
+    private ProfileStatistics getStatistics(ProfileLevel level, String programLibrary, String programName, String moduleName,
+        String procedureName) {
+
+        String key = ProfileStatistics.createLabel(level, programLibrary, programName, moduleName, procedureName);
+
+        Map<String, ProfileStatistics> levelStatistics = statistics[level.ordinal()];
+        ProfileStatistics profileStatistics = levelStatistics.get(key);
+        if (profileStatistics == null) {
+            profileStatistics = new ProfileStatistics(level, programLibrary, programName, moduleName, procedureName);
+            levelStatistics.put(key, profileStatistics);
+        }
+
+        return profileStatistics;
+    }
+
+    private CallEdgeStatistics getCallEdge(ProfileStatistics caller, ProfileStatistics callee) {
+
+        String key = caller.getLabel() + KEY_SEPARATOR + callee.getLabel();
+
+        CallEdgeStatistics callEdge = callEdges.get(key);
+        if (callEdge == null) {
+            callEdge = new CallEdgeStatistics(caller, callee);
+            callEdges.put(key, callEdge);
+        }
+
+        return callEdge;
+    }
+
+    private CallPathNode getMostExpensive(Collection<CallPathNode> nodes) {
+
+        CallPathNode mostExpensive = null;
+        for (CallPathNode node : nodes) {
+            if (mostExpensive == null || node.getInclusiveNanos() > mostExpensive.getInclusiveNanos()) {
+                mostExpensive = node;
+            }
+        }
+
+        return mostExpensive;
+    }
+
+    private String trim(String value) {
+
+        if (value == null) {
+            return ""; //$NON-NLS-1$
+        }
+
+        return value.trim();
+    }
+
+    private static class Frame {
+
+        private int callLevel;
+        private long startNanos;
+        private long childNanos;
+        private ProfileStatistics[] statistics;
+        private CallEdgeStatistics callEdge;
+        private CallPathNode callPath;
+
+        public Frame(int callLevel, long startNanos, ProfileStatistics[] statistics, CallEdgeStatistics callEdge, CallPathNode callPath) {
+            this.callLevel = callLevel;
+            this.startNanos = startNanos;
+            this.childNanos = 0;
+            this.statistics = statistics;
+            this.callEdge = callEdge;
+            this.callPath = callPath;
+        }
+    }
+
+    private static class ExclusiveTimeComparator implements Comparator<ProfileStatistics> {
+        public int compare(ProfileStatistics o1, ProfileStatistics o2) {
+            return compareDescending(o1.getExclusiveNanos(), o2.getExclusiveNanos());
+        }
+    }
+
+    private static class CallEdgeComparator implements Comparator<CallEdgeStatistics> {
+        public int compare(CallEdgeStatistics o1, CallEdgeStatistics o2) {
+            return compareDescending(o1.getInclusiveNanos(), o2.getInclusiveNanos());
+        }
+    }
+
+    private static int compareDescending(long value1, long value2) {
+
+        if (value1 > value2) {
+            return -1;
+        } else if (value1 < value2) {
+            return 1;
+        }
+
+        return 0;
+    }
+}
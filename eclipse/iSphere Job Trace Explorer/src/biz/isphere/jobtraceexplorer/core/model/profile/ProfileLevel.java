@@ -0,0 +1,18 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.jobtraceexplorer.core.model.profile;
+
+/**
+ * Granularity of the statistics of a job trace profile.
+ */
+public enum ProfileLevel {
+    PROGRAM,
+    MODULE,
+    PROCEDURE;
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.jobtraceexplorer.core.model.profile;
+
+import com.google.gson.annotations.Expose;
+
+/**
+ * Statistics of a program, module or procedure of a job trace session.
+ * <p>
+ * The inclusive time is the time spent in the program, module or procedure
+ * including the time spent in the procedures it called. The exclusive time
+ * is the time spent in the program, module or procedure itself. Recursive
+ * calls add to the inclusive time only once.
+ */
+public class ProfileStatistics {
+
+    @Expose(serialize = true, deserialize = true)
+    private ProfileLevel level;
+    @Expose(serialize = true, deserialize = true)
+    private String programLibrary;
+    @Expose(serialize = true, deserialize = true)
+    private String programName;
+    @Expose(serialize = true, deserialize = true)
+    private String moduleName;
+    @Expose(serialize = true, deserialize = true)
+    private String procedureName;
+    @Expose(serialize = true, deserialize = true)
+    private long callCount;
+    @Expose(serialize = true, deserialize = true)
+    private long inclusiveNanos;
+    @Expose(serialize = true, deserialize = true)
+    private long exclusiveNanos;
+    @Expose(serialize = true, deserialize = true)
+    private long maxInclusiveNanos;
+
+    private transient String label;
+    private transient int activeFrames;
+
+    public ProfileStatistics(ProfileLevel level, String programLibrary, String programName, String moduleName, String procedureName) {
+        this.level = level;
+        this.programLibrary = programLibrary;
+        this.programName = programName;
+
+        if (level == ProfileLevel.PROGRAM) {
+            this.moduleName = ""; //$NON-NLS-1$
+        } else {
+            this.moduleName = moduleName;
+        }
+
+        if (level == ProfileLevel.PROCEDURE) {
+            this.procedureName = procedureName;
+        } else {
+            this.procedureName = ""; //$NON-NLS-1$
+        }
+
+        this.label = createLabel(level, programLibrary, programName, moduleName, procedureName);
+    }
+
+    /**
+     * Returns the label of a program, module or procedure, such as
+     * <code>LIBRARY/PROGRAM(MODULE):PROCEDURE</code>. The label is used as
+     * the key of the statistics and as the frame name of the collapsed
+     * stacks.
+     * 
+     * @param level - granularity of the statistics
+     * @param programLibrary - program library
+     * @param programName - program name
+     * @param moduleName - module name
+     * @param procedureName - procedure name
+     * @return label
+     */
+    public static String createLabel(ProfileLevel level, String programLibrary, String programName, String moduleName, String procedureName) {
+
+        StringBuilder buffer = new StringBuilder();
+        buffer.append(programLibrary);
+        buffer.append("/"); //$NON-NLS-1$
+        buffer.append(programName);
+
+        if (level != ProfileLevel.PROGRAM) {
+            buffer.append("("); //$NON-NLS-1$
+            buffer.append(moduleName);
+            buffer.append(")"); //$NON-NLS-1$
+        }
+
+        if (level == ProfileLevel.PROCEDURE) {
+            buffer.append(":"); //$NON-NLS-1$
+            buffer.append(procedureName);
+        }
+
+        return buffer.toString();
+    }
+
+    public ProfileLevel getLevel() {
+        return level;
+    }
+
+    public String getProgramLibrary() {
+        return programLibrary;
+    }
+
+    public String getProgramName() {
+        return programName;
+    }
+
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    public String getProcedureName() {
+        return procedureName;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getCallCount() {
+        return callCount;
+    }
+
+    public long getInclusiveNanos() {
+        return inclusiveNanos;
+    }
+
+    public long getExclusiveNanos() {
+        return exclusiveNanos;
+    }
+
+    public long getMaxInclusiveNanos() {
+        return maxInclusiveNanos;
+    }
+
+    /**
+     * Returns the average inclusive time per call.
+     * 
+     * @return average inclusive nanoseconds
+     */
+    public long getAverageInclusiveNanos() {
+
+        if (callCount == 0) {
+            return 0;
+        }
+
+        return inclusiveNanos / callCount;
+    }
+
+    void enter(boolean isNewCall) {
+
+        if (isNewCall) {
+            callCount++;
+        }
+
+        activeFrames++;
+    }
+
+    void exit(long inclusive, long exclusive) {
+
+        activeFrames--;
+        exclusiveNanos += exclusive;
+
+        if (activeFrames == 0) {
+            inclusiveNanos += inclusive;
+            if (inclusive > maxInclusiveNanos) {
+                maxInclusiveNanos = inclusive;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
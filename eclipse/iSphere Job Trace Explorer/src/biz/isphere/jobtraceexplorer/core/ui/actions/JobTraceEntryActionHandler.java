@@ -73,7 +73,7 @@ public class JobTraceEntryActionHandler {
             @Override
             protected IStatus run(IProgressMonitor monitor) {
 
-                final int indexPosTo = findProcEntry(index, itemCount, monitor);
+                final int indexPosTo = findProcEntry(index, itemCount);
 
                 if (isValidIndex(indexPosTo, itemCount)) {
                     new UIJob(getShell().getDisplay(), Messages.Status_Searching_for_procedure_exit) {
@@ -119,7 +119,7 @@ public class JobTraceEntryActionHandler {
             @Override
             protected IStatus run(IProgressMonitor monitor) {
 
-                final int indexPosTo = findProcExit(index, itemCount, monitor);
+                final int indexPosTo = findProcExit(index, itemCount);
 
                 if (isValidIndex(indexPosTo, itemCount)) {
                     new UIJob(getShell().getDisplay(), Messages.Status_Searching_for_procedure_entry) {
@@ -154,9 +154,9 @@ public class JobTraceEntryActionHandler {
             int endIndex = -1;
             JobTraceEntry jobTraceEntry = getElementAtUI(startIndex);
             if (jobTraceEntry.isProcEntry()) {
-                endIndex = findProcExit(startIndex, getItemCountUI(), null);
+                endIndex = findProcExit(startIndex, getItemCountUI());
             } else if (jobTraceEntry.isProcExit()) {
-                endIndex = findProcEntry(startIndex, getItemCountUI(), null);
+                endIndex = findProcEntry(startIndex, getItemCountUI());
             } else {
                 return;
             }
@@ -224,9 +224,9 @@ public class JobTraceEntryActionHandler {
             int endIndex = -1;
             JobTraceEntry jobTraceEntry = getElementAtUI(startIndex);
             if (jobTraceEntry.isProcEntry()) {
-                endIndex = findProcExit(startIndex, getItemCountUI(), null);
+                endIndex = findProcExit(startIndex, getItemCountUI());
             } else if (jobTraceEntry.isProcExit()) {
-                endIndex = findProcEntry(startIndex, getItemCountUI(), null);
+                endIndex = findProcEntry(startIndex, getItemCountUI());
                 int index = startIndex;
                 startIndex = endIndex;
                 endIndex = index;
@@ -248,21 +248,16 @@ public class JobTraceEntryActionHandler {
 
             BigInteger key = startEntry.getNanosSinceStarted();
 
-            List<JobTraceEntry> excludedEntries = new ArrayList<JobTraceEntry>();
-            if (isValidIndexUI(index) && isValidIndexUI(endIndex)) {
-                while (index <= endIndex) {
-                    JobTraceEntry tempJobTraceEntry = getElementAtUI(index);
-                    excludedEntries.add(tempJobTraceEntry);
-                    index++;
-                }
+            if (!isValidIndexUI(index) || !isValidIndexUI(endIndex)) {
+                return;
             }
 
-            JobTraceEntry endEntry = getElementAtUI(index);
+            JobTraceEntry endEntry = getElementAtUI(endIndex + 1);
 
             startEntry.setExcludedEntriesKey(key);
             endEntry.setExcludedEntriesKey(key);
 
-            int count = jobTraceEntries.excludeJobTraceEntries(key, excludedEntries);
+            int count = jobTraceEntries.excludeJobTraceEntries(key, index, endIndex);
             offset = offset + count;
 
             getTableViewer().refresh();
@@ -289,9 +284,9 @@ public class JobTraceEntryActionHandler {
             int endIndex = -1;
             JobTraceEntry jobTraceEntry = getElementAtUI(startIndex);
             if (jobTraceEntry.isProcEntry()) {
-                endIndex = findProcExit(startIndex, getItemCountUI(), null);
+                endIndex = findProcExit(startIndex, getItemCountUI());
             } else if (jobTraceEntry.isProcExit()) {
-                endIndex = findProcEntry(startIndex, getItemCountUI(), null);
+                endIndex = findProcEntry(startIndex, getItemCountUI());
             } else {
                 return;
             }
@@ -325,56 +320,24 @@ public class JobTraceEntryActionHandler {
     // / Private procedures
     // //////////////////////////////////////////////////////////
 
-    private int findProcExit(int index, int itemCount, IProgressMonitor monitor) {
-        return findProcEntryOrExit(index, itemCount, 1, monitor);
-    }
-
-    private int findProcEntry(int index, int itemCount, IProgressMonitor monitor) {
-        return findProcEntryOrExit(index, itemCount, -1, monitor);
-    }
-
-    private int findProcEntryOrExit(int index, int itemCount, int direction, IProgressMonitor monitor) {
-
-        try {
-
-            beginTaskChecked(monitor, "", index); //$NON-NLS-1$
+    private int findProcExit(int index, int itemCount) {
 
-            int callLevel = getElementAt(index, itemCount).getCallLevel();
-
-            index = index + direction;
-
-            int count = 0;
-            while (isValidIndex(index, itemCount) && callLevel != getElementAt(index, itemCount).getCallLevel()) {
-                if (count % 500 == 0) {
-                    monitorWorkedChecked(monitor, 500);
-                }
-                index = index + direction;
-                count++;
-            }
-
-        } finally {
-            monitorDoneChecked(monitor);
+        JobTraceEntries entries = getJobTraceEntries();
+        if (entries == null || !isValidIndex(index, itemCount)) {
+            return -1;
         }
 
-        return index;
+        return entries.findProcExit(index);
     }
 
-    private void beginTaskChecked(IProgressMonitor monitor, String taskName, int maxValue) {
-        if (monitor != null) {
-            monitor.beginTask(taskName, maxValue);
-        }
-    }
+    private int findProcEntry(int index, int itemCount) {
 
-    private void monitorWorkedChecked(IProgressMonitor monitor, int worked) {
-        if (monitor != null) {
-            monitor.worked(worked);
+        JobTraceEntries entries = getJobTraceEntries();
+        if (entries == null || !isValidIndex(index, itemCount)) {
+            return -1;
         }
-    }
 
-    private void monitorDoneChecked(IProgressMonitor monitor) {
-        if (monitor != null) {
-            monitor.done();
-        }
+        return entries.findProcEntry(index);
     }
 
     private JobTraceEntry getElementAt(int index, int itemCount) {
@@ -52,8 +52,8 @@ public class LoadJobTraceEntriesAction extends Action {
     private void performImportFromJson() {
 
         IFileDialog dialog = WidgetFactory.getFileDialog(shell, SWT.OPEN);
-        dialog.setFilterNames(new String[] { "Json Files", FileHelper.getAllFilesText() }); //$NON-NLS-1$ 
-        dialog.setFilterExtensions(new String[] { "*.json", FileHelper.getAllFilesFilter() }); //$NON-NLS-1$ 
+        dialog.setFilterNames(new String[] { "Json Files", "Json Files (gzip)", FileHelper.getAllFilesText() }); //$NON-NLS-1$ //$NON-NLS-2$
+        dialog.setFilterExtensions(new String[] { "*.json", "*.json.gz", FileHelper.getAllFilesFilter() }); //$NON-NLS-1$ //$NON-NLS-2$
         dialog.setFilterPath(Preferences.getInstance().getExportPath());
         dialog.setFileName(Preferences.getInstance().getExportFileJson());
         dialog.setOverwrite(false);
@@ -21,11 +21,12 @@ import org.eclipse.ui.progress.UIJob;
 
 import biz.isphere.base.internal.ExceptionHelper;
 import biz.isphere.base.internal.FileHelper;
-import biz.isphere.core.json.JsonExporter;
+import biz.isphere.core.json.JsonStreamExporter;
 import biz.isphere.core.swt.widgets.WidgetFactory;
 import biz.isphere.core.swt.widgets.extension.point.IFileDialog;
 import biz.isphere.jobtraceexplorer.core.ISphereJobTraceExplorerCorePlugin;
 import biz.isphere.jobtraceexplorer.core.Messages;
+import biz.isphere.jobtraceexplorer.core.model.JobTraceEntry;
 import biz.isphere.jobtraceexplorer.core.model.JobTraceSession;
 import biz.isphere.jobtraceexplorer.core.preferences.Preferences;
 
@@ -60,8 +61,8 @@ public class SaveJobTraceEntriesAction extends Action {
     private void performExportToJson() {
 
         IFileDialog dialog = WidgetFactory.getFileDialog(shell, SWT.SAVE);
-        dialog.setFilterNames(new String[] { "Json Files", FileHelper.getAllFilesText() }); //$NON-NLS-1$ 
-        dialog.setFilterExtensions(new String[] { "*.json", FileHelper.getAllFilesFilter() }); //$NON-NLS-1$ 
+        dialog.setFilterNames(new String[] { "Json Files", "Json Files (gzip)", FileHelper.getAllFilesText() }); //$NON-NLS-1$ //$NON-NLS-2$
+        dialog.setFilterExtensions(new String[] { "*.json", "*.json.gz", FileHelper.getAllFilesFilter() }); //$NON-NLS-1$ //$NON-NLS-2$
         dialog.setFilterPath(Preferences.getInstance().getExportPath());
         dialog.setFileName(Preferences.getInstance().getExportFileJson());
         dialog.setOverwrite(true);
@@ -82,8 +83,11 @@ public class SaveJobTraceEntriesAction extends Action {
 
                 try {
 
-                    JsonExporter exporter = new JsonExporter();
-                    exporter.execute(shell, selectedItems, exportPath);
+                    JsonStreamExporter<JobTraceSession, JobTraceEntry> exporter = new JsonStreamExporter<JobTraceSession, JobTraceEntry>(
+                        JobTraceEntry.class, "jobTraceEntries", "jobTraceEntries"); //$NON-NLS-1$ //$NON-NLS-2$
+                    if (exporter.execute(selectedItems, selectedItems.getJobTraceEntries().getUnfilteredItems(), exportPath, arg0) == null) {
+                        return Status.CANCEL_STATUS;
+                    }
 
                     displayResultJob = new UIJob(Messages.Display_Export_Result) {
                         @Override
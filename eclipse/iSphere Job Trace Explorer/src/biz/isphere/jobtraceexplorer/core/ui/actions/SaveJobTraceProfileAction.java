@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.jobtraceexplorer.core.ui.actions;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.progress.UIJob;
+
+import biz.isphere.base.internal.ExceptionHelper;
+import biz.isphere.base.internal.FileHelper;
+import biz.isphere.core.swt.widgets.WidgetFactory;
+import biz.isphere.core.swt.widgets.extension.point.IFileDialog;
+import biz.isphere.jobtraceexplorer.core.ISphereJobTraceExplorerCorePlugin;
+import biz.isphere.jobtraceexplorer.core.Messages;
+import biz.isphere.jobtraceexplorer.core.model.dao.CollapsedStackDAO;
+import biz.isphere.jobtraceexplorer.core.model.dao.JobTraceJsonDAO;
+import biz.isphere.jobtraceexplorer.core.model.profile.JobTraceProfile;
+import biz.isphere.jobtraceexplorer.core.preferences.Preferences;
+
+/**
+ * Action, that saves a job trace profile either as a Json file or as a
+ * collapsed stacks file, which can be turned into a flame graph.
+ */
+public class SaveJobTraceProfileAction extends Action {
+
+    private static final String PROFILE_FILE_JSON = "profile.json"; //$NON-NLS-1$
+    private static final String PROFILE_FILE_COLLAPSED_STACKS = "profile.folded"; //$NON-NLS-1$
+
+    private Shell shell;
+    private boolean isCollapsedStacks;
+    private JobTraceProfile profile;
+
+    /**
+     * Produces a new action, that saves a job trace profile.
+     * 
+     * @param shell - parent shell
+     * @param isCollapsedStacks - <code>true</code> for saving the collapsed
+     *        stacks, <code>false</code> for saving a Json file
+     */
+    public SaveJobTraceProfileAction(Shell shell, boolean isCollapsedStacks) {
+        super(getText(isCollapsedStacks));
+
+        this.shell = shell;
+        this.isCollapsedStacks = isCollapsedStacks;
+
+        if (isCollapsedStacks) {
+            setImageDescriptor(ISphereJobTraceExplorerCorePlugin.getDefault().getImageDescriptor(ISphereJobTraceExplorerCorePlugin.IMAGE_PROFILE));
+        } else {
+            setImageDescriptor(ISphereJobTraceExplorerCorePlugin.getDefault().getImageDescriptor(ISphereJobTraceExplorerCorePlugin.IMAGE_JSON));
+        }
+    }
+
+    private static String getText(boolean isCollapsedStacks) {
+
+        if (isCollapsedStacks) {
+            return Messages.JobTraceProfileView_Export_collapsed_stacks;
+        } else {
+            return Messages.JobTraceProfileView_Export_to_Json;
+        }
+    }
+
+    public void setProfile(JobTraceProfile profile) {
+        this.profile = profile;
+        setEnabled(profile != null && (!isCollapsedStacks || profile.getCallTree() != null));
+    }
+
+    @Override
+    public void run() {
+        performExport();
+    }
+
+    private void performExport() {
+
+        if (profile == null) {
+            return;
+        }
+
+        IFileDialog dialog = WidgetFactory.getFileDialog(shell, SWT.SAVE);
+        if (isCollapsedStacks) {
+            dialog.setFilterNames(new String[] { "Collapsed Stacks", FileHelper.getAllFilesText() }); //$NON-NLS-1$
+            dialog.setFilterExtensions(new String[] { "*.folded", FileHelper.getAllFilesFilter() }); //$NON-NLS-1$
+            dialog.setFileName(PROFILE_FILE_COLLAPSED_STACKS);
+        } else {
+            dialog.setFilterNames(new String[] { "Json Files", "Json Files (gzip)", FileHelper.getAllFilesText() }); //$NON-NLS-1$ //$NON-NLS-2$
+            dialog.setFilterExtensions(new String[] { "*.json", "*.json.gz", FileHelper.getAllFilesFilter() }); //$NON-NLS-1$ //$NON-NLS-2$
+            dialog.setFileName(PROFILE_FILE_JSON);
+        }
+        dialog.setFilterPath(Preferences.getInstance().getExportPath());
+        dialog.setOverwrite(true);
+        final String exportPath = dialog.open();
+        if (exportPath == null) {
+            return;
+        }
+
+        Preferences.getInstance().setExportPath(dialog.getFilterPath());
+
+        final JobTraceProfile exportedProfile = profile;
+        final String jobName;
+        if (isCollapsedStacks) {
+            jobName = Messages.Status_Exporting_collapsed_stacks;
+        } else {
+            jobName = Messages.Status_Exporting_to_Json;
+        }
+
+        Job exportJob = new Job(jobName) {
+
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+
+                UIJob displayResultJob = null;
+
+                try {
+
+                    if (isCollapsedStacks) {
+                        new CollapsedStackDAO(exportPath).save(exportedProfile);
+                    } else {
+                        new JobTraceJsonDAO(exportPath).saveProfile(exportedProfile);
+                    }
+
+                    displayResultJob = new UIJob(Messages.Display_Export_Result) {
+                        @Override
+                        public IStatus runInUIThread(IProgressMonitor monitor) {
+                            MessageDialog.openInformation(shell, Messages.MessageDialog_Information,
+                                Messages.bind(Messages.Finished_exporting_data_to_file_A, exportPath));
+                            return Status.OK_STATUS;
+                        }
+                    };
+
+                } catch (Exception e) {
+                    final String message = ExceptionHelper.getLocalizedMessage(e);
+                    displayResultJob = new UIJob(Messages.Display_Export_Result) {
+                        @Override
+                        public IStatus runInUIThread(IProgressMonitor monitor) {
+                            MessageDialog.openError(shell, Messages.E_R_R_O_R, message);
+                            return Status.OK_STATUS;
+                        }
+                    };
+                }
+
+                if (displayResultJob != null) {
+                    displayResultJob.schedule();
+                }
+
+                return Status.OK_STATUS;
+            }
+        };
+
+        exportJob.schedule();
+    }
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.jobtraceexplorer.core.ui.actions;
+
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.progress.UIJob;
+
+import biz.isphere.base.internal.ExceptionHelper;
+import biz.isphere.jobtraceexplorer.core.ISphereJobTraceExplorerCorePlugin;
+import biz.isphere.jobtraceexplorer.core.Messages;
+import biz.isphere.jobtraceexplorer.core.model.JobTraceEntry;
+import biz.isphere.jobtraceexplorer.core.model.JobTraceSession;
+import biz.isphere.jobtraceexplorer.core.model.profile.JobTraceProfile;
+import biz.isphere.jobtraceexplorer.core.model.profile.JobTraceProfiler;
+import biz.isphere.jobtraceexplorer.core.ui.views.JobTraceProfileView;
+
+public class ShowJobTraceProfileAction extends Action {
+
+    private static final String IMAGE = ISphereJobTraceExplorerCorePlugin.IMAGE_PROFILE;
+
+    private Shell shell;
+    private JobTraceSession selectedItems;
+
+    public ShowJobTraceProfileAction(Shell shell) {
+        super(Messages.JobTraceExplorerView_Show_profile);
+
+        this.shell = shell;
+
+        setImageDescriptor(ISphereJobTraceExplorerCorePlugin.getDefault().getImageDescriptor(IMAGE));
+    }
+
+    public Image getImage() {
+        return ISphereJobTraceExplorerCorePlugin.getDefault().getImage(IMAGE);
+    }
+
+    public void setSelectedItems(JobTraceSession selectedItems) {
+        this.selectedItems = selectedItems;
+    }
+
+    @Override
+    public void run() {
+        performShowProfile();
+    }
+
+    private void performShowProfile() {
+
+        if (selectedItems == null) {
+            return;
+        }
+
+        final JobTraceSession jobTraceSession = selectedItems;
+
+        Job profileJob = new Job(Messages.Status_Computing_profile) {
+
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+
+                UIJob displayResultJob = null;
+
+                try {
+
+                    Date startTime = new Date();
+
+                    List<JobTraceEntry> jobTraceEntries = jobTraceSession.getJobTraceEntries().getUnfilteredItems();
+                    monitor.beginTask(Messages.Status_Computing_profile, jobTraceEntries.size());
+
+                    final JobTraceProfile profile = new JobTraceProfiler().execute(jobTraceSession.getQualifiedName(), jobTraceEntries, monitor);
+                    if (profile == null) {
+                        return Status.CANCEL_STATUS;
+                    }
+
+                    ISphereJobTraceExplorerCorePlugin.debug("mSecs total: " + (new Date().getTime() - startTime.getTime()) + ", PROFILE: " //$NON-NLS-1$ //$NON-NLS-2$
+                        + profile.getNumberOfEntries());
+
+                    displayResultJob = new UIJob(Messages.Status_Computing_profile) {
+                        @Override
+                        public IStatus runInUIThread(IProgressMonitor monitor) {
+                            try {
+                                JobTraceProfileView.openProfile(profile);
+                            } catch (Exception e) {
+                                MessageDialog.openError(shell, Messages.E_R_R_O_R, ExceptionHelper.getLocalizedMessage(e));
+                            }
+                            return Status.OK_STATUS;
+                        }
+                    };
+
+                } catch (Exception e) {
+                    final String message = ExceptionHelper.getLocalizedMessage(e);
+                    displayResultJob = new UIJob(Messages.Status_Computing_profile) {
+                        @Override
+                        public IStatus runInUIThread(IProgressMonitor monitor) {
+                            MessageDialog.openError(shell, Messages.E_R_R_O_R, message);
+                            return Status.OK_STATUS;
+                        }
+                    };
+                } finally {
+                    monitor.done();
+                }
+
+                if (displayResultJob != null) {
+                    displayResultJob.schedule();
+                }
+
+                return Status.OK_STATUS;
+            }
+        };
+
+        profileJob.schedule();
+    }
+}
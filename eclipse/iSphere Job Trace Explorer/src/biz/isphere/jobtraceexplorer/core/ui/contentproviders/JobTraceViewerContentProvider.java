@@ -11,13 +11,17 @@ package biz.isphere.jobtraceexplorer.core.ui.contentproviders;
 import org.eclipse.jface.viewers.ILazyContentProvider;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.swt.widgets.Table;
 
+import biz.isphere.jobtraceexplorer.core.model.IJobTracePageListener;
+import biz.isphere.jobtraceexplorer.core.model.JobTraceEntries;
 import biz.isphere.jobtraceexplorer.core.model.JobTraceEntry;
 import biz.isphere.jobtraceexplorer.core.model.JobTraceSession;
 
-public class JobTraceViewerContentProvider implements ILazyContentProvider {
+public class JobTraceViewerContentProvider implements ILazyContentProvider, IJobTracePageListener {
 
     private JobTraceSession inputData;
+    private JobTraceEntries jobTraceEntries;
     private TableViewer viewer;
 
     public JobTraceViewerContentProvider(TableViewer viewer) {
@@ -25,12 +29,17 @@ public class JobTraceViewerContentProvider implements ILazyContentProvider {
     }
 
     public void dispose() {
+        removePageListener();
     }
 
     public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
 
+        removePageListener();
+
         if (newInput != null) {
             inputData = (JobTraceSession)newInput;
+            jobTraceEntries = inputData.getJobTraceEntries();
+            jobTraceEntries.addPageListener(this);
         } else {
             inputData = null;
         }
@@ -42,7 +51,41 @@ public class JobTraceViewerContentProvider implements ILazyContentProvider {
             return;
         }
 
-        viewer.replace(inputData.getJobTraceEntries().getItem(index), index);
+        viewer.replace(inputData.getJobTraceEntries().getItemOrPlaceholder(index), index);
+    }
+
+    /**
+     * Refreshes the placeholders of a page, that has been loaded in the
+     * background.
+     */
+    public void pageLoaded(final int fromIndex, final int toIndex) {
+
+        final Table table = viewer.getTable();
+        if (table.isDisposed()) {
+            return;
+        }
+
+        table.getDisplay().asyncExec(new Runnable() {
+            public void run() {
+
+                if (table.isDisposed()) {
+                    return;
+                }
+
+                int lastIndex = Math.min(toIndex, table.getItemCount() - 1);
+                if (fromIndex <= lastIndex) {
+                    table.clear(fromIndex, lastIndex);
+                }
+            }
+        });
+    }
+
+    private void removePageListener() {
+
+        if (jobTraceEntries != null) {
+            jobTraceEntries.removePageListener(this);
+            jobTraceEntries = null;
+        }
     }
 
     public JobTraceSession getInput() {
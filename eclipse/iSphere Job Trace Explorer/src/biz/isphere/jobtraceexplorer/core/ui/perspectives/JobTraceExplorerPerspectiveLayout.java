@@ -13,6 +13,7 @@ import org.eclipse.ui.IPageLayout;
 import org.eclipse.ui.IPerspectiveFactory;
 
 import biz.isphere.jobtraceexplorer.core.ui.views.JobTraceExplorerView;
+import biz.isphere.jobtraceexplorer.core.ui.views.JobTraceProfileView;
 import biz.isphere.jobtraceexplorer.rse.shared.ui.perspectives.IJobTraceExplorerPerspectiveLayout;
 
 public class JobTraceExplorerPerspectiveLayout implements IPerspectiveFactory, IJobTraceExplorerPerspectiveLayout {
@@ -55,6 +56,7 @@ public class JobTraceExplorerPerspectiveLayout implements IPerspectiveFactory, I
         layout.addShowViewShortcut(REMOTE_SYSTEMS_VIEW_ID);
         layout.addShowViewShortcut("org.eclipse.ui.views.PropertySheet"); //$NON-NLS-1$
         layout.addShowViewShortcut(JobTraceExplorerView.ID);
+        layout.addShowViewShortcut(JobTraceProfileView.ID);
 
         layout.addPerspectiveShortcut(JobTraceExplorerPerspectiveLayout.ID);
 
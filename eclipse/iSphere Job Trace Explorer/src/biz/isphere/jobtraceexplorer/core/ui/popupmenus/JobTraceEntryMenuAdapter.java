@@ -142,7 +142,9 @@ public class JobTraceEntryMenuAdapter extends MenuAdapter {
         if (selectedItemsCount() >= 1) {
             if (isProcEntryOrExit) {
                 menuItemHighlightProc = createMenuItem(new HighlightProcAction(shell, tableViewer));
-                menuItemExcludeProc = createMenuItem(new ExcludeProcAction(shell, tableViewer, getSelectedItem().isExcluded()));
+                if (!getSelectedItem().getParent().isPaged()) {
+                    menuItemExcludeProc = createMenuItem(new ExcludeProcAction(shell, tableViewer, getSelectedItem().isExcluded()));
+                }
                 needProcedureSeparator = true;
             }
         }
@@ -13,8 +13,11 @@ import org.eclipse.jface.preference.PreferencePage;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.ModifyEvent;
 import org.eclipse.swt.events.ModifyListener;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Group;
@@ -32,6 +35,7 @@ import biz.isphere.jobtraceexplorer.core.preferences.Preferences;
 public class JobTraceExplorerPreferencePage extends PreferencePage implements IWorkbenchPreferencePage {
 
     private int maxNumRowsToFetch;
+    private boolean pagedLoading;
 
     private biz.isphere.jobtraceexplorer.core.preferences.Preferences preferences;
 
@@ -41,6 +45,7 @@ public class JobTraceExplorerPreferencePage extends PreferencePage implements IW
 
     private Group groupLimits;
     private Text textMaxNumRowsToFetch;
+    private Button chkboxPagedLoading;
     private Text textSQLWhereNoIBMData;
 
     public JobTraceExplorerPreferencePage() {
@@ -125,6 +130,19 @@ public class JobTraceExplorerPreferencePage extends PreferencePage implements IW
                 maxNumRowsToFetch = IntHelper.tryParseInt(textMaxNumRowsToFetch.getText(), preferences.getInitialMaximumNumberOfRowsToFetch());
             }
         });
+
+        chkboxPagedLoading = WidgetFactory.createCheckbox(groupLimits, Messages.ButtonLabel_Paged_loading);
+        chkboxPagedLoading.setToolTipText(Messages.ButtonTooltip_Paged_loading);
+        chkboxPagedLoading.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 2, 1));
+        chkboxPagedLoading.addSelectionListener(new SelectionListener() {
+            public void widgetSelected(SelectionEvent event) {
+                pagedLoading = chkboxPagedLoading.getSelection();
+            }
+
+            public void widgetDefaultSelected(SelectionEvent event) {
+                widgetSelected(event);
+            }
+        });
     }
 
     @Override
@@ -148,6 +166,7 @@ public class JobTraceExplorerPreferencePage extends PreferencePage implements IW
     protected void setStoreToValues() {
 
         preferences.setMaximumNumberOfRowsToFetch(maxNumRowsToFetch);
+        preferences.setPagedLoading(pagedLoading);
         preferences.setExcludeIBMDataSQLWhereClause(textSQLWhereNoIBMData.getText());
 
         preferences.setColorSeverity(HighlightColor.ATTRIBUTES, buttonAttributesColor.getColorValue());
@@ -158,6 +177,7 @@ public class JobTraceExplorerPreferencePage extends PreferencePage implements IW
     protected void setScreenToValues() {
 
         maxNumRowsToFetch = preferences.getMaximumNumberOfRowsToFetch();
+        pagedLoading = preferences.isPagedLoading();
         textSQLWhereNoIBMData.setText(preferences.getExcludeIBMDataSQLWhereClause());
 
         buttonAttributesColor.setColorValue(preferences.getColorSeverity(HighlightColor.ATTRIBUTES).getRGB());
@@ -170,6 +190,7 @@ public class JobTraceExplorerPreferencePage extends PreferencePage implements IW
     protected void setScreenToDefaultValues() {
 
         maxNumRowsToFetch = preferences.getInitialMaximumNumberOfRowsToFetch();
+        pagedLoading = preferences.getInitialPagedLoading();
         textSQLWhereNoIBMData.setText(preferences.getInitialExcludeIBMDataSQLWhereClause());
 
         buttonAttributesColor.setColorValue(preferences.getDefaultColorSeverity(HighlightColor.ATTRIBUTES));
@@ -182,6 +203,7 @@ public class JobTraceExplorerPreferencePage extends PreferencePage implements IW
     protected void setScreenValues() {
 
         textMaxNumRowsToFetch.setText(Integer.toString(maxNumRowsToFetch));
+        chkboxPagedLoading.setSelection(pagedLoading);
 
         setControlsEnablement();
     }
@@ -54,6 +54,7 @@ import biz.isphere.jobtraceexplorer.core.ui.actions.GenericRefreshAction;
 import biz.isphere.jobtraceexplorer.core.ui.actions.LoadJobTraceEntriesAction;
 import biz.isphere.jobtraceexplorer.core.ui.actions.OpenJobTraceAction;
 import biz.isphere.jobtraceexplorer.core.ui.actions.SaveJobTraceEntriesAction;
+import biz.isphere.jobtraceexplorer.core.ui.actions.ShowJobTraceProfileAction;
 import biz.isphere.jobtraceexplorer.core.ui.widgets.JobTraceExplorerTab;
 
 public class JobTraceExplorerView extends XViewPart implements IDataLoadPostRun, ISelectionChangedListener, SelectionListener, ISelectionProvider {
@@ -67,6 +68,7 @@ public class JobTraceExplorerView extends XViewPart implements IDataLoadPostRun,
 
     private LoadJobTraceEntriesAction loadJournalEntriesAction;
     private SaveJobTraceEntriesAction saveJournalEntriesAction;
+    private ShowJobTraceProfileAction showProfileAction;
 
     private CTabFolder tabFolder;
     private ListenerList selectionChangedListeners;
@@ -184,6 +186,8 @@ public class JobTraceExplorerView extends XViewPart implements IDataLoadPostRun,
         saveJournalEntriesAction.setImageDescriptor(ISpherePlugin.getDefault().getImageRegistry().getDescriptor(ISpherePlugin.IMAGE_SAVE));
         saveJournalEntriesAction.setEnabled(false);
 
+        showProfileAction = new ShowJobTraceProfileAction(getShell());
+        showProfileAction.setEnabled(false);
     }
 
     /**
@@ -417,6 +421,8 @@ public class JobTraceExplorerView extends XViewPart implements IDataLoadPostRun,
         toolBarManager.add(new Separator());
         toolBarManager.add(resetColumnSizeAction);
         toolBarManager.add(new Separator());
+        toolBarManager.add(showProfileAction);
+        toolBarManager.add(new Separator());
         toolBarManager.add(reloadEntriesAction);
     }
 
@@ -465,12 +471,16 @@ public class JobTraceExplorerView extends XViewPart implements IDataLoadPostRun,
             loadJournalEntriesAction.setEnabled(true);
             saveJournalEntriesAction.setEnabled(false);
             saveJournalEntriesAction.setSelectedItems(null);
+            showProfileAction.setEnabled(false);
+            showProfileAction.setSelectedItems(null);
         } else {
             resetColumnSizeAction.setEnabled(true);
             resetColumnSizeAction.setViewer(getSelectedViewer());
             loadJournalEntriesAction.setEnabled(true);
             saveJournalEntriesAction.setEnabled(true);
             saveJournalEntriesAction.setSelectedItems(tabItem.getJobTraceSession());
+            showProfileAction.setEnabled(!tabItem.isLoading());
+            showProfileAction.setSelectedItems(tabItem.getJobTraceSession());
         }
 
     }
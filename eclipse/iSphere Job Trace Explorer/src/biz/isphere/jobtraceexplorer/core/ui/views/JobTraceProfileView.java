@@ -0,0 +1,483 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.jobtraceexplorer.core.ui.views;
+
+import java.text.DecimalFormat;
+import java.util.List;
+
+import org.eclipse.jface.action.IToolBarManager;
+import org.eclipse.jface.viewers.IStructuredContentProvider;
+import org.eclipse.jface.viewers.ITableLabelProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerSorter;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.SashForm;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.events.SelectionListener;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Combo;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.Text;
+import org.eclipse.ui.IViewPart;
+import org.eclipse.ui.part.ViewPart;
+
+import biz.isphere.base.internal.UIHelper;
+import biz.isphere.jobtraceexplorer.core.Messages;
+import biz.isphere.jobtraceexplorer.core.model.profile.CallEdgeStatistics;
+import biz.isphere.jobtraceexplorer.core.model.profile.JobTraceProfile;
+import biz.isphere.jobtraceexplorer.core.model.profile.ProfileLevel;
+import biz.isphere.jobtraceexplorer.core.model.profile.ProfileStatistics;
+import biz.isphere.jobtraceexplorer.core.ui.actions.SaveJobTraceProfileAction;
+
+/**
+ * View, that displays the profile of a job trace session. The upper table
+ * lists the programs, modules or procedures with their call counts and
+ * times, the lower table lists the caller-to-callee edges of the procedures.
+ * The tables are sorted by clicking the column headings.
+ */
+public class JobTraceProfileView extends ViewPart {
+
+    public static final String ID = "biz.isphere.jobtraceexplorer.core.ui.views.JobTraceProfileView"; //$NON-NLS-1$
+
+    private static final String HOT_PATH_SEPARATOR = " > "; //$NON-NLS-1$
+
+    private static final int COLUMN_NAME = 0;
+    private static final int COLUMN_CALLS = 1;
+    private static final int COLUMN_INCLUSIVE = 2;
+    private static final int COLUMN_EXCLUSIVE = 3;
+    private static final int COLUMN_EXCLUSIVE_PERCENT = 4;
+    private static final int COLUMN_AVERAGE = 5;
+    private static final int COLUMN_MAXIMUM = 6;
+
+    private static final int EDGE_COLUMN_CALLER = 0;
+    private static final int EDGE_COLUMN_CALLEE = 1;
+    private static final int EDGE_COLUMN_CALLS = 2;
+    private static final int EDGE_COLUMN_INCLUSIVE = 3;
+
+    private JobTraceProfile profile;
+
+    private Label labelSummary;
+    private Combo comboLevel;
+    private Text textHotPath;
+    private TableViewer tableViewerStatistics;
+    private TableViewer tableViewerCallEdges;
+
+    private SaveJobTraceProfileAction exportToJsonAction;
+    private SaveJobTraceProfileAction exportCollapsedStacksAction;
+
+    private DecimalFormat millisFormatter;
+    private DecimalFormat percentFormatter;
+
+    public JobTraceProfileView() {
+        this.millisFormatter = new DecimalFormat("#,##0.000"); //$NON-NLS-1$
+        this.percentFormatter = new DecimalFormat("0.00"); //$NON-NLS-1$
+    }
+
+    @Override
+    public void createPartControl(Composite parent) {
+
+        Composite container = new Composite(parent, SWT.NONE);
+        GridLayout containerLayout = new GridLayout(2, false);
+        container.setLayout(containerLayout);
+
+        labelSummary = new Label(container, SWT.NONE);
+        labelSummary.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 2, 1));
+
+        Label labelLevel = new Label(container, SWT.NONE);
+        labelLevel.setText(Messages.Label_Level);
+
+        comboLevel = new Combo(container, SWT.READ_ONLY);
+        comboLevel.setItems(new String[] { Messages.Level_Program, Messages.Level_Module, Messages.Level_Procedure });
+        comboLevel.select(ProfileLevel.PROCEDURE.ordinal());
+        comboLevel.addSelectionListener(new SelectionListener() {
+            public void widgetSelected(SelectionEvent event) {
+                setStatisticsInput();
+            }
+
+            public void widgetDefaultSelected(SelectionEvent event) {
+                widgetSelected(event);
+            }
+        });
+
+        Label labelHotPath = new Label(container, SWT.NONE);
+        labelHotPath.setText(Messages.Label_Hot_path);
+
+        textHotPath = new Text(container, SWT.BORDER | SWT.READ_ONLY);
+        textHotPath.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+
+        SashForm sashForm = new SashForm(container, SWT.VERTICAL);
+        sashForm.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 2, 1));
+
+        createStatisticsTable(sashForm);
+        createCallEdgesTable(sashForm);
+
+        sashForm.setWeights(new int[] { 2, 1 });
+
+        createActions();
+
+        setProfile(profile);
+    }
+
+    private void createStatisticsTable(Composite parent) {
+
+        tableViewerStatistics = new TableViewer(parent, SWT.FULL_SELECTION | SWT.BORDER);
+        tableViewerStatistics.setLabelProvider(new StatisticsLabelProvider());
+        tableViewerStatistics.setContentProvider(new ListContentProvider());
+
+        Table table = tableViewerStatistics.getTable();
+        table.setLinesVisible(true);
+        table.setHeaderVisible(true);
+
+        final TableColumn[] columns = new TableColumn[7];
+        columns[COLUMN_NAME] = createTableColumn(table, SWT.LEFT, 350, Messages.ColumnLabel_Name);
+        columns[COLUMN_CALLS] = createTableColumn(table, SWT.RIGHT, 80, Messages.ColumnLabel_Calls);
+        columns[COLUMN_INCLUSIVE] = createTableColumn(table, SWT.RIGHT, 110, Messages.ColumnLabel_Inclusive_time);
+        columns[COLUMN_EXCLUSIVE] = createTableColumn(table, SWT.RIGHT, 110, Messages.ColumnLabel_Exclusive_time);
+        columns[COLUMN_EXCLUSIVE_PERCENT] = createTableColumn(table, SWT.RIGHT, 90, Messages.ColumnLabel_Exclusive_percent);
+        columns[COLUMN_AVERAGE] = createTableColumn(table, SWT.RIGHT, 110, Messages.ColumnLabel_Average_time);
+        columns[COLUMN_MAXIMUM] = createTableColumn(table, SWT.RIGHT, 110, Messages.ColumnLabel_Maximum_time);
+
+        final ProfileSorter sorter = new ProfileSorter(tableViewerStatistics, columns[COLUMN_EXCLUSIVE]);
+        tableViewerStatistics.setSorter(sorter);
+
+        Listener sortListener = new Listener() {
+            public void handleEvent(Event event) {
+                sorter.setOrder((TableColumn)event.widget);
+                tableViewerStatistics.refresh();
+            }
+        };
+
+        for (TableColumn column : columns) {
+            column.addListener(SWT.Selection, sortListener);
+        }
+    }
+
+    private void createCallEdgesTable(Composite parent) {
+
+        tableViewerCallEdges = new TableViewer(parent, SWT.FULL_SELECTION | SWT.BORDER);
+        tableViewerCallEdges.setLabelProvider(new CallEdgesLabelProvider());
+        tableViewerCallEdges.setContentProvider(new ListContentProvider());
+
+        Table table = tableViewerCallEdges.getTable();
+        table.setLinesVisible(true);
+        table.setHeaderVisible(true);
+
+        final TableColumn[] columns = new TableColumn[4];
+        columns[EDGE_COLUMN_CALLER] = createTableColumn(table, SWT.LEFT, 350, Messages.ColumnLabel_Caller);
+        columns[EDGE_COLUMN_CALLEE] = createTableColumn(table, SWT.LEFT, 350, Messages.ColumnLabel_Callee);
+        columns[EDGE_COLUMN_CALLS] = createTableColumn(table, SWT.RIGHT, 80, Messages.ColumnLabel_Calls);
+        columns[EDGE_COLUMN_INCLUSIVE] = createTableColumn(table, SWT.RIGHT, 110, Messages.ColumnLabel_Inclusive_time);
+
+        final ProfileSorter sorter = new ProfileSorter(tableViewerCallEdges, columns[EDGE_COLUMN_INCLUSIVE]);
+        tableViewerCallEdges.setSorter(sorter);
+
+        Listener sortListener = new Listener() {
+            public void handleEvent(Event event) {
+                sorter.setOrder((TableColumn)event.widget);
+                tableViewerCallEdges.refresh();
+            }
+        };
+
+        for (TableColumn column : columns) {
+            column.addListener(SWT.Selection, sortListener);
+        }
+    }
+
+    private TableColumn createTableColumn(Table table, int style, int width, String text) {
+
+        TableColumn column = new TableColumn(table, style);
+        column.setWidth(width);
+        column.setText(text);
+
+        return column;
+    }
+
+    private void createActions() {
+
+        exportToJsonAction = new SaveJobTraceProfileAction(getSite().getShell(), false);
+        exportCollapsedStacksAction = new SaveJobTraceProfileAction(getSite().getShell(), true);
+
+        IToolBarManager toolBarManager = getViewSite().getActionBars().getToolBarManager();
+        toolBarManager.add(exportToJsonAction);
+        toolBarManager.add(exportCollapsedStacksAction);
+    }
+
+    /**
+     * Sets the profile, that is displayed by the view.
+     * 
+     * @param profile - job trace profile
+     */
+    public void setProfile(JobTraceProfile profile) {
+
+        this.profile = profile;
+
+        if (tableViewerStatistics == null || tableViewerStatistics.getTable().isDisposed()) {
+            return;
+        }
+
+        exportToJsonAction.setProfile(profile);
+        exportCollapsedStacksAction.setProfile(profile);
+
+        if (profile == null) {
+            labelSummary.setText(""); //$NON-NLS-1$
+            textHotPath.setText(""); //$NON-NLS-1$
+            tableViewerStatistics.setInput(null);
+            tableViewerCallEdges.setInput(null);
+            return;
+        }
+
+        labelSummary.setText(Messages.bind(Messages.Profile_of_A_B_entries_C_milliseconds, new Object[] { profile.getSessionName(),
+            profile.getNumberOfEntries(), formatMillis(profile.getTotalNanos()) }));
+
+        StringBuilder hotPath = new StringBuilder();
+        for (String procedure : profile.getHotPath()) {
+            if (hotPath.length() > 0) {
+                hotPath.append(HOT_PATH_SEPARATOR);
+            }
+            hotPath.append(procedure);
+        }
+        textHotPath.setText(hotPath.toString());
+
+        setStatisticsInput();
+        tableViewerCallEdges.setInput(profile.getCallEdges());
+    }
+
+    private void setStatisticsInput() {
+
+        if (profile == null) {
+            return;
+        }
+
+        ProfileLevel level = ProfileLevel.values()[Math.max(0, comboLevel.getSelectionIndex())];
+        tableViewerStatistics.setInput(profile.getStatistics(level));
+    }
+
+    @Override
+    public void setFocus() {
+        tableViewerStatistics.getTable().setFocus();
+    }
+
+    private String formatMillis(long nanos) {
+        return millisFormatter.format(nanos / 1000000.0);
+    }
+
+    private String formatPercent(long nanos) {
+
+        if (profile == null || profile.getTotalNanos() <= 0) {
+            return ""; //$NON-NLS-1$
+        }
+
+        return percentFormatter.format(nanos * 100.0 / profile.getTotalNanos());
+    }
+
+    /**
+     * Opens the profile view and displays the specified profile.
+     * 
+     * @param profile - job trace profile
+     */
+    public static void openProfile(JobTraceProfile profile) throws Exception {
+
+        IViewPart view = UIHelper.getActivePage().findView(JobTraceProfileView.ID);
+        if (view == null) {
+            view = UIHelper.getActivePage().showView(JobTraceProfileView.ID);
+        } else {
+            UIHelper.getActivePage().activate(view);
+        }
+
+        if (view instanceof JobTraceProfileView) {
+            ((JobTraceProfileView)view).setProfile(profile);
+        }
+    }
+
+    private class ListContentProvider implements IStructuredContentProvider {
+
+        public Object[] getElements(Object inputElement) {
+
+            if (inputElement instanceof List<?>) {
+                return ((List<?>)inputElement).toArray();
+            }
+
+            return new Object[0];
+        }
+
+        public void dispose() {
+        }
+
+        public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+        }
+    }
+
+    private class StatisticsLabelProvider extends LabelProvider implements ITableLabelProvider {
+
+        public Image getColumnImage(Object element, int columnIndex) {
+            return null;
+        }
+
+        public String getColumnText(Object element, int columnIndex) {
+
+            ProfileStatistics statistics = (ProfileStatistics)element;
+
+            switch (columnIndex) {
+            case COLUMN_NAME:
+                return statistics.getLabel();
+            case COLUMN_CALLS:
+                return Long.toString(statistics.getCallCount());
+            case COLUMN_INCLUSIVE:
+                return formatMillis(statistics.getInclusiveNanos());
+            case COLUMN_EXCLUSIVE:
+                return formatMillis(statistics.getExclusiveNanos());
+            case COLUMN_EXCLUSIVE_PERCENT:
+                return formatPercent(statistics.getExclusiveNanos());
+            case COLUMN_AVERAGE:
+                return formatMillis(statistics.getAverageInclusiveNanos());
+            case COLUMN_MAXIMUM:
+                return formatMillis(statistics.getMaxInclusiveNanos());
+            default:
+                return ""; //$NON-NLS-1$
+            }
+        }
+    }
+
+    private class CallEdgesLabelProvider extends LabelProvider implements ITableLabelProvider {
+
+        public Image getColumnImage(Object element, int columnIndex) {
+            return null;
+        }
+
+        public String getColumnText(Object element, int columnIndex) {
+
+            CallEdgeStatistics callEdge = (CallEdgeStatistics)element;
+
+            switch (columnIndex) {
+            case EDGE_COLUMN_CALLER:
+                return callEdge.getCaller();
+            case EDGE_COLUMN_CALLEE:
+                return callEdge.getCallee();
+            case EDGE_COLUMN_CALLS:
+                return Long.toString(callEdge.getCallCount());
+            case EDGE_COLUMN_INCLUSIVE:
+                return formatMillis(callEdge.getInclusiveNanos());
+            default:
+                return ""; //$NON-NLS-1$
+            }
+        }
+    }
+
+    /**
+     * Sorter of the profile tables. Names are sorted in ascending order,
+     * numbers and times in descending order, when a column is clicked first.
+     * Clicking the column again reverses the order.
+     */
+    private class ProfileSorter extends ViewerSorter {
+
+        private TableViewer tableViewer;
+
+        public ProfileSorter(TableViewer tableViewer, TableColumn initialColumn) {
+
+            this.tableViewer = tableViewer;
+            this.tableViewer.getTable().setSortColumn(initialColumn);
+            this.tableViewer.getTable().setSortDirection(SWT.DOWN);
+        }
+
+        public void setOrder(TableColumn column) {
+
+            Table table = tableViewer.getTable();
+
+            int direction;
+            if (column == table.getSortColumn()) {
+                if (table.getSortDirection() == SWT.UP) {
+                    direction = SWT.DOWN;
+                } else {
+                    direction = SWT.UP;
+                }
+            } else {
+                if ((column.getStyle() & SWT.LEFT) != 0) {
+                    direction = SWT.UP;
+                } else {
+                    direction = SWT.DOWN;
+                }
+            }
+
+            table.setSortColumn(column);
+            table.setSortDirection(direction);
+        }
+
+        @Override
+        public int compare(Viewer viewer, Object e1, Object e2) {
+
+            Table table = tableViewer.getTable();
+            int columnIndex = table.indexOf(table.getSortColumn());
+
+            int result;
+            if (e1 instanceof ProfileStatistics) {
+                result = compareStatistics((ProfileStatistics)e1, (ProfileStatistics)e2, columnIndex);
+            } else {
+                result = compareCallEdges((CallEdgeStatistics)e1, (CallEdgeStatistics)e2, columnIndex);
+            }
+
+            if (table.getSortDirection() == SWT.DOWN) {
+                result = -result;
+            }
+
+            return result;
+        }
+
+        private int compareStatistics(ProfileStatistics s1, ProfileStatistics s2, int columnIndex) {
+
+            switch (columnIndex) {
+            case COLUMN_NAME:
+                return s1.getLabel().compareTo(s2.getLabel());
+            case COLUMN_CALLS:
+                return compareLong(s1.getCallCount(), s2.getCallCount());
+            case COLUMN_INCLUSIVE:
+                return compareLong(s1.getInclusiveNanos(), s2.getInclusiveNanos());
+            case COLUMN_AVERAGE:
+                return compareLong(s1.getAverageInclusiveNanos(), s2.getAverageInclusiveNanos());
+            case COLUMN_MAXIMUM:
+                return compareLong(s1.getMaxInclusiveNanos(), s2.getMaxInclusiveNanos());
+            default:
+                return compareLong(s1.getExclusiveNanos(), s2.getExclusiveNanos());
+            }
+        }
+
+        private int compareCallEdges(CallEdgeStatistics e1, CallEdgeStatistics e2, int columnIndex) {
+
+            switch (columnIndex) {
+            case EDGE_COLUMN_CALLER:
+                return e1.getCaller().compareTo(e2.getCaller());
+            case EDGE_COLUMN_CALLEE:
+                return e1.getCallee().compareTo(e2.getCallee());
+            case EDGE_COLUMN_CALLS:
+                return compareLong(e1.getCallCount(), e2.getCallCount());
+            default:
+                return compareLong(e1.getInclusiveNanos(), e2.getInclusiveNanos());
+            }
+        }
+
+        private int compareLong(long value1, long value2) {
+
+            if (value1 < value2) {
+                return -1;
+            } else if (value1 > value2) {
+                return 1;
+            }
+
+            return 0;
+        }
+    }
+}
@@ -11,15 +11,16 @@ package biz.isphere.jobtraceexplorer.core.ui.widgets.internals;
 import java.util.HashMap;
 
 import org.medfoster.sqljep.ParseException;
-import org.medfoster.sqljep.RowJEP;
 
+import biz.isphere.core.sqljep.CompiledPredicate;
+import biz.isphere.core.sqljep.PredicateCache;
 import biz.isphere.jobtraceexplorer.core.model.JobTraceEntry;
 
 public class SearchComparerSQL implements ISearchComparer {
 
     private HashMap<String, Integer> columnMapping;
     private String whereClause;
-    private RowJEP sqljep;
+    private CompiledPredicate<JobTraceEntry> predicate;
 
     public SearchComparerSQL(HashMap<String, Integer> columnMapping) {
         this.columnMapping = columnMapping;
@@ -27,19 +28,18 @@ public class SearchComparerSQL implements ISearchComparer {
 
     public void setWhereClause(String whereClause) {
         this.whereClause = whereClause;
-        this.sqljep = null;
+        this.predicate = null;
     }
 
     public boolean isMatch(JobTraceEntry jobTraceEntry) {
 
         try {
 
-            if (sqljep == null) {
-                sqljep = new RowJEP(whereClause);
-                sqljep.parseExpression(columnMapping);
+            if (predicate == null) {
+                predicate = PredicateCache.getInstance().getPredicate(whereClause, columnMapping, JobTraceEntry.getColumnAccessor());
             }
 
-            return (Boolean)sqljep.getValue(jobTraceEntry.getRow());
+            return predicate.matches(jobTraceEntry);
 
         } catch (ParseException e) {
             return false;
@@ -21,6 +21,7 @@ import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.eclipse.wb.swt.ResourceManager;
 import org.osgi.framework.BundleContext;
 
+import biz.isphere.journalexplorer.core.model.MetaDataCache;
 import biz.isphere.journalexplorer.core.preferences.Preferences;
 
 /**
@@ -50,6 +51,7 @@ public class ISphereJournalExplorerCorePlugin extends AbstractUIPlugin {
     public static final String IMAGE_COPY_VALUE_TRIMMED = "copy_value_trimmed.gif";
     public static final String IMAGE_OPEN_FILE = "open.png";
     public static final String IMAGE_SAVE = "save.gif";
+    public static final String IMAGE_LIVE_TAIL = "live_tail.gif";
 
     public static final String IMAGE_CHECKED = "checked.gif"; //$NON-NLS-1$
     public static final String IMAGE_UNCHECKED = "unchecked.gif"; //$NON-NLS-1$
@@ -91,6 +93,7 @@ public class ISphereJournalExplorerCorePlugin extends AbstractUIPlugin {
      */
     @Override
     public void stop(BundleContext context) throws Exception {
+        MetaDataCache.dispose();
         plugin = null;
         super.stop(context);
     }
@@ -124,6 +127,7 @@ public class ISphereJournalExplorerCorePlugin extends AbstractUIPlugin {
         reg.put(IMAGE_OUTPUT_FILE, getImageDescriptor(IMAGE_OUTPUT_FILE));
         reg.put(IMAGE_OPEN_FILE, getImageDescriptor(IMAGE_OPEN_FILE));
         reg.put(IMAGE_SAVE, getImageDescriptor(IMAGE_SAVE));
+        reg.put(IMAGE_LIVE_TAIL, getImageDescriptor(IMAGE_LIVE_TAIL));
 
         reg.put(IMAGE_COPY_NAME_VALUE, getImageDescriptor(IMAGE_COPY_NAME_VALUE));
         reg.put(IMAGE_COPY_NAME_VALUE_TRIMMED, getImageDescriptor(IMAGE_COPY_NAME_VALUE_TRIMMED));
@@ -61,6 +61,8 @@ public class Messages extends NLS {
     public static String JournalExplorerView_Export_to_Excel;
     public static String JournalExplorerView_Export_to_Excel_Tooltip;
     public static String JournalExplorerView_HighlightUserEntries;
+    public static String JournalExplorerView_Live_tail;
+    public static String JournalExplorerView_Live_tail_Tooltip;
     public static String JournalExplorerView_Import_from_Json;
     public static String JournalExplorerView_Import_from_Json_Tooltip;
     public static String JournalExplorerView_Export_to_Json;
@@ -125,6 +127,7 @@ public class Messages extends NLS {
     public static String Number_of_journal_entries_A_of_B;
     public static String Number_of_journal_entries_A_more_items_available;
     public static String subsetted_list;
+    public static String live_tail;
 
     public static String CompareSideBySideDialog_Label_Changed_records_only;
     public static String CompareSideBySideDialog_Tooltip_Changed_records_only;
@@ -273,6 +276,16 @@ public class Messages extends NLS {
     public static String Maximum_number_of_rows_to_fetch_tooltip;
     public static String Buffer_size;
     public static String Buffer_size_tooltip;
+    public static String Pipelined_retrieval;
+    public static String Pipelined_retrieval_tooltip;
+    public static String Persist_meta_data;
+    public static String Persist_meta_data_tooltip;
+    public static String Live_tail_interval;
+    public static String Live_tail_interval_tooltip;
+    public static String Live_tail_maximum_number_of_entries;
+    public static String Live_tail_maximum_number_of_entries_tooltip;
+    public static String Buffer_retries_saved;
+    public static String Buffer_retries_saved_tooltip;
 
     public static String Excel_Export;
     public static String Export_Export_column_headings;
@@ -292,6 +305,7 @@ public class Messages extends NLS {
 
     public static String ExcelExport_Headline;
     public static String Finished_exporting_data_to_file_A;
+    public static String Only_journal_entries_matching_filter_A_loaded_Save_anyway;
     public static String Exporting_to_Excel;
     public static String Exporting_to_Json;
     public static String Display_Export_Result;
@@ -301,6 +315,7 @@ public class Messages extends NLS {
     public static String Status_Loading_journal_entries;
     public static String Status_Filtering_journal_entries;
     public static String Status_Loading_meta_data;
+    public static String Status_Tailing_journal_entries;
 
     static {
         // initialize resource bundle
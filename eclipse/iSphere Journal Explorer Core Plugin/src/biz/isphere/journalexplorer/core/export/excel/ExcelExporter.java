@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012-2021 iSphere Project Owners
+ * Copyright (c) 2012-2023 iSphere Project Owners
  * All rights reserved. This program and the accompanying materials 
  * are made available under the terms of the Common Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,16 +8,18 @@
 
 package biz.isphere.journalexplorer.core.export.excel;
 
-import java.io.File;
-
-import jxl.Workbook;
-import jxl.write.WritableSheet;
-import jxl.write.WritableWorkbook;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Shell;
 
 import biz.isphere.base.internal.FileHelper;
+import biz.isphere.core.spreadsheet.SpreadsheetWriter;
 import biz.isphere.core.swt.widgets.WidgetFactory;
 import biz.isphere.core.swt.widgets.extension.point.IFileDialog;
 import biz.isphere.journalexplorer.core.Messages;
@@ -26,24 +28,52 @@ import biz.isphere.journalexplorer.core.model.JournalEntry;
 import biz.isphere.journalexplorer.core.model.MetaColumn;
 import biz.isphere.journalexplorer.core.model.MetaDataCache;
 import biz.isphere.journalexplorer.core.model.MetaTable;
-import biz.isphere.journalexplorer.core.model.adapters.JOESDProperty;
 import biz.isphere.journalexplorer.core.model.dao.ColumnsDAO;
 import biz.isphere.journalexplorer.core.preferences.Preferences;
 import biz.isphere.journalexplorer.core.ui.model.JournalEntryColumn;
-import biz.isphere.journalexplorer.core.ui.model.JournalEntryColumnUI;
-
-import com.ibm.as400.access.Record;
 
+/**
+ * Exports journal entries to a spreadsheet file. The rows are streamed to the
+ * file one by one. The format of the file is chosen by the file extension, see
+ * {@link SpreadsheetWriter}.
+ */
 public class ExcelExporter {
 
+    /*
+     * Number of rows between two progress updates.
+     */
+    private static final int PROGRESS_INTERVAL = 1000;
+
+    private Map<JoesdParser, int[]> fieldIndexes;
+
+    public ExcelExporter() {
+        this.fieldIndexes = new HashMap<JoesdParser, int[]>();
+    }
+
     public String export(Shell shell, JournalEntryColumn[] columns, JournalEntry[] journalEntries, String file) throws Exception {
+        return export(shell, columns, journalEntries, file, null);
+    }
+
+    /**
+     * Exports journal entries to a spreadsheet file.
+     * 
+     * @param shell - parent shell of the file dialog
+     * @param columns - columns that are exported
+     * @param journalEntries - journal entries that are exported
+     * @param file - path of the file or <code>null</code> to prompt for it
+     * @param monitor - progress monitor
+     * @return path of the file or <code>null</code>, when canceled
+     * @throws Exception
+     */
+    public String export(Shell shell, JournalEntryColumn[] columns, JournalEntry[] journalEntries, String file, IProgressMonitor monitor)
+        throws Exception {
 
         if (file == null) {
             IFileDialog dialog = WidgetFactory.getFileDialog(shell, SWT.SAVE);
-            dialog.setFilterNames(new String[] { "Excel Files", FileHelper.getAllFilesText() }); //$NON-NLS-1$ //$NON-NLS-2$
-            dialog.setFilterExtensions(new String[] { "*.xls", FileHelper.getAllFilesFilter() }); //$NON-NLS-1$ //$NON-NLS-2$
+            dialog.setFilterNames(SpreadsheetWriter.getFilterNames());
+            dialog.setFilterExtensions(SpreadsheetWriter.getFilterExtensions());
             dialog.setFilterPath(FileHelper.getDefaultRootDirectory());
-            dialog.setFileName("export.xls"); //$NON-NLS-1$
+            dialog.setFileName("export" + SpreadsheetWriter.XLSX_EXTENSION); //$NON-NLS-1$
             dialog.setOverwrite(true);
             file = dialog.open();
         }
@@ -52,35 +82,70 @@ public class ExcelExporter {
             return null;
         }
 
-        return performExportToExcel(columns, journalEntries, file);
+        if (monitor == null) {
+            monitor = new NullProgressMonitor();
+        }
+
+        return performExportToExcel(columns, journalEntries, file, monitor);
     }
 
-    private String performExportToExcel(JournalEntryColumn[] columns, JournalEntry[] journalEntries, String file) throws Exception {
+    private String performExportToExcel(JournalEntryColumn[] columns, JournalEntry[] journalEntries, String file, IProgressMonitor monitor)
+        throws Exception {
+
+        SpreadsheetWriter writer = SpreadsheetWriter.create(file, journalEntries.length);
 
-        WritableWorkbook workbook = Workbook.createWorkbook(new File(file));
+        try {
 
-        WritableSheet sheet;
+            monitor.beginTask(Messages.Exporting_to_Excel, journalEntries.length);
 
-        sheet = workbook.createSheet(Messages.ExcelExport_Headline, 0);
+            // Read meta data of journaled file for displaying the column
+            // headings
+            MetaTable metaData = null;
+            if (Preferences.getInstance().isExportColumnHeadings() && displayColumnHeadings(journalEntries)) {
+                metaData = MetaDataCache.getInstance().retrieveMetaData(journalEntries[0]);
+            }
+
+            writer.addSheet(Messages.ExcelExport_Headline, getHeadings(columns, metaData));
+
+            int count = 0;
+            for (JournalEntry journalEntry : journalEntries) {
 
-        int line = 0;
-        int col = 0;
+                if (monitor.isCanceled()) {
+                    writer.abort();
+                    return null;
+                }
+
+                writer.addRow(getValues(columns, journalEntry));
+                count++;
 
-        // Read meta data of journaled file for displaying the column headings
-        MetaTable metaData = null;
-        if (Preferences.getInstance().isExportColumnHeadings() && displayColumnHeadings(journalEntries)) {
-            metaData = MetaDataCache.getInstance().retrieveMetaData(journalEntries[0]);
+                if (count % PROGRESS_INTERVAL == 0) {
+                    monitor.worked(PROGRESS_INTERVAL);
+                    monitor.subTask(writer.getProgressText());
+                }
+            }
+
+            writer.close();
+
+        } catch (Exception e) {
+            writer.abort();
+            throw e;
+        } finally {
+            monitor.done();
         }
 
-        // Add headline
+        return file;
+    }
+
+    private String[] getHeadings(JournalEntryColumn[] columns, MetaTable metaData) {
+
+        List<String> headings = new ArrayList<String>();
+
         for (JournalEntryColumn column : columns) {
             if (!ColumnsDAO.JOESD.equals(column.getName())) {
-                sheet.addCell(new jxl.write.Label(col, line, column.getColumnHeading()));
-                col++;
+                headings.add(column.getColumnHeading());
             } else {
                 if (metaData != null && !metaData.hasColumns()) {
-                    sheet.addCell(new jxl.write.Label(col, line, column.getColumnHeading()));
-                    col++;
+                    headings.add(column.getColumnHeading());
                 }
             }
         }
@@ -88,51 +153,63 @@ public class ExcelExporter {
         if (metaData != null) {
             MetaColumn[] journaledObjectColumns = metaData.getColumns();
             for (MetaColumn metaColumn : journaledObjectColumns) {
-                sheet.addCell(new jxl.write.Label(col, line, metaColumn.getName()));
-                col++;
+                headings.add(metaColumn.getName());
             }
         }
 
-        line++;
+        return headings.toArray(new String[headings.size()]);
+    }
 
-        // Add data
-        for (JournalEntry journalEntry : journalEntries) {
+    /*
+     * Returns the values of a row. The entry specific data is decoded once
+     * per journal entry. Only the fields of the table are converted.
+     */
+    private String[] getValues(JournalEntryColumn[] columns, JournalEntry journalEntry) throws Exception {
 
-            MetaTable metatable = MetaDataCache.getInstance().retrieveMetaData(journalEntry);
-            Record parsedJOESD = new JoesdParser(metatable).execute(journalEntry);
+        MetaTable metatable = MetaDataCache.getInstance().retrieveMetaData(journalEntry);
+        MetaColumn[] metaColumns = metatable.getColumns();
 
-            col = 0;
-            for (JournalEntryColumn column : columns) {
-                if (!ColumnsDAO.JOESD.equals(column.getName())) {
-                    sheet.addCell(new jxl.write.Label(col, line, journalEntry.getValueForUi(column.getName())));
-                    col++;
-                } else {
-                    if (metatable != null && !metatable.hasColumns()) {
-                        sheet.addCell(new jxl.write.Label(col, line, journalEntry.getValueForUi(column.getName())));
-                        col++;
-                    }
+        List<String> values = new ArrayList<String>(columns.length + metaColumns.length);
+
+        for (JournalEntryColumn column : columns) {
+            if (!ColumnsDAO.JOESD.equals(column.getName())) {
+                values.add(journalEntry.getValueForUi(column.getName()));
+            } else {
+                if (!metatable.hasColumns()) {
+                    values.add(journalEntry.getValueForUi(column.getName()));
                 }
             }
+        }
 
-            for (MetaColumn column : metatable.getColumns()) {
-                JOESDProperty property = new JOESDProperty(JournalEntryColumnUI.JOESD, journalEntry);
-                property.executeParsing();
-                if (journalEntry.isRecordEntryType()) {
-                    sheet.addCell(new jxl.write.Label(col, line, parsedJOESD.getField(column.getName()).toString()));
-                } else {
-                    sheet.addCell(new jxl.write.Label(col, line, Messages.Error_No_record_level_operation));
-                    break;
+        if (metaColumns.length > 0) {
+            if (journalEntry.isRecordEntryType()) {
+                JoesdParser parser = metatable.getJoesdParser();
+                JoesdParser.RecordData recordData = parser.getRecordData(journalEntry);
+                int[] indexes = getFieldIndexes(parser, metaColumns);
+                for (int index : indexes) {
+                    Object value = parser.getFieldValue(recordData, index);
+                    values.add(value.toString());
                 }
-                col++;
+            } else {
+                values.add(Messages.Error_No_record_level_operation);
             }
-
-            line++;
         }
 
-        workbook.write();
-        workbook.close();
+        return values.toArray(new String[values.size()]);
+    }
 
-        return file;
+    private int[] getFieldIndexes(JoesdParser parser, MetaColumn[] metaColumns) {
+
+        int[] indexes = fieldIndexes.get(parser);
+        if (indexes == null) {
+            indexes = new int[metaColumns.length];
+            for (int i = 0; i < metaColumns.length; i++) {
+                indexes[i] = parser.getFieldIndex(metaColumns[i].getName());
+            }
+            fieldIndexes.put(parser, indexes);
+        }
+
+        return indexes;
     }
 
     private boolean displayColumnHeadings(JournalEntry[] journalEntries) {
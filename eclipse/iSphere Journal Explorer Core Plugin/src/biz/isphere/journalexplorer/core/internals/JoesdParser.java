@@ -37,12 +37,31 @@ import com.ibm.as400.access.Record;
 import com.ibm.as400.access.RecordFormat;
 import com.ibm.as400.access.ZonedDecimalFieldDescription;
 
+/**
+ * Class to parse the entry specific data (JOESD) of a record level journal
+ * entry.
+ * <p>
+ * A parser is compiled once per {@link MetaTable} and is cached by the meta
+ * table. Use {@link MetaTable#getJoesdParser()} to get the parser. Fields that
+ * are located at a fixed offset are decoded directly from the entry specific
+ * data with {@link #getFieldValue(RecordData, int)}, without creating a
+ * {@link Record}. The remaining fields are decoded with a {@link Record}, that
+ * is created once per journal entry.
+ */
 public class JoesdParser {
 
     private MetaTable metadata;
 
     private RecordFormat joesdRecordFormat;
 
+    /*
+     * Offsets of the fields in the entry specific data. The offset is -1 for
+     * variable length fields and the fields that follow a variable length
+     * field. These fields are decoded with a Record.
+     */
+    private int[] fieldOffsets;
+    private int recordLength;
+
     private IJoesdParserDelegate joesdParserDelegate = new JoesdParserDelegate();
 
     public JoesdParser(MetaTable metadata) throws Exception {
@@ -218,19 +237,112 @@ public class JoesdParser {
             }
         }
 
+        initializeFieldOffsets();
+
         return;
     }
 
+    private void initializeFieldOffsets() {
+
+        int numFields = joesdRecordFormat.getNumberOfFields();
+
+        fieldOffsets = new int[numFields];
+
+        int offset = metadata.getParsingOffset();
+        for (int i = 0; i < numFields; i++) {
+            FieldDescription fieldDescription = joesdRecordFormat.getFieldDescription(i);
+            if (fieldDescription.getVARLEN() > 0) {
+                offset = -1;
+            }
+            fieldOffsets[i] = offset;
+            if (offset >= 0) {
+                offset += fieldDescription.getDataType().getByteLength();
+            }
+        }
+
+        recordLength = joesdRecordFormat.getNewRecord().getRecordLength();
+    }
+
     public Record execute(JournalEntry journal) throws Exception {
+        return getJoesdRecordFormat().getNewRecord(getRecordData(journal), metadata.getParsingOffset());
+    }
+
+    /**
+     * Returns the entry specific data of a journal entry, padded to the record
+     * length of the table.
+     * 
+     * @param journalEntry - journal entry of the table of this parser
+     * @return entry specific data
+     * @throws Exception, if the journal entry does not belong to the table
+     */
+    public RecordData getRecordData(JournalEntry journalEntry) throws Exception {
 
-        if (verifyJournalEntry(journal)) {
-            byte[] recordData = journal.getSpecificData(metadata.getRecordLength());
-            return getJoesdRecordFormat().getNewRecord(recordData, metadata.getParsingOffset());
+        if (verifyJournalEntry(journalEntry)) {
+            return new RecordData(journalEntry.getSpecificData(metadata.getRecordLength()));
         } else {
             throw new Exception(Messages.JoesdParser_TableMetadataDontMatchEntry);
         }
     }
 
+    /**
+     * Decodes a single field of the entry specific data. Only the requested
+     * field is converted, unless it follows a variable length field. In that
+     * case the {@link Record} of the journal entry is created on the first
+     * access and reused for the other fields of the journal entry.
+     * 
+     * @param recordData - entry specific data as returned by
+     *        {@link #getRecordData(JournalEntry)}
+     * @param index - index of the field
+     * @return field value
+     * @throws Exception
+     */
+    public Object getFieldValue(RecordData recordData, int index) throws Exception {
+
+        int offset = fieldOffsets[index];
+        if (offset >= 0) {
+            return joesdRecordFormat.getFieldDescription(index).getDataType().toObject(recordData.bytes, offset);
+        }
+
+        if (recordData.record == null) {
+            recordData.record = joesdRecordFormat.getNewRecord(recordData.bytes, metadata.getParsingOffset());
+        }
+
+        return recordData.record.getField(index);
+    }
+
+    /**
+     * Returns the index of the field with the specified name.
+     * 
+     * @param name - field name
+     * @return index of the field
+     */
+    public int getFieldIndex(String name) {
+        return joesdRecordFormat.getIndexOfFieldName(name);
+    }
+
+    /**
+     * Returns the instance type of the data type of a given field.
+     * 
+     * @param index - index of the field
+     * @return instance type, such as AS400DataType.TYPE_TEXT
+     */
+    public int getDataType(int index) {
+        return joesdRecordFormat.getFieldDescription(index).getDataType().getInstanceType();
+    }
+
+    public int getNumberOfFields() {
+        return joesdRecordFormat.getNumberOfFields();
+    }
+
+    /**
+     * Returns the length of a record of the table.
+     * 
+     * @return record length
+     */
+    public int getRecordLength() {
+        return recordLength;
+    }
+
     private boolean verifyJournalEntry(JournalEntry journalEntry) {
         return metadata.getName().equals(journalEntry.getObjectName()) && metadata.getLibrary().equals(journalEntry.getObjectLibrary());
     }
@@ -241,4 +353,19 @@ public class JoesdParser {
     public RecordFormat getJoesdRecordFormat() {
         return joesdRecordFormat;
     }
+
+    /**
+     * Entry specific data of a single journal entry. Keeps the {@link Record},
+     * once it has been created for the fields at variable offsets.
+     */
+    public static class RecordData {
+
+        private byte[] bytes;
+        private Record record;
+
+        private RecordData(byte[] bytes) {
+            this.bytes = bytes;
+            this.record = null;
+        }
+    }
 }
@@ -8,6 +8,8 @@
 
 package biz.isphere.journalexplorer.core.model;
 
+import java.math.BigInteger;
+
 import org.eclipse.core.runtime.IProgressMonitor;
 
 public abstract class AbstractJournalExplorerInput {
@@ -49,4 +51,61 @@ public abstract class AbstractJournalExplorerInput {
     }
 
     public abstract JournalEntries load(IProgressMonitor monitor) throws Exception;
+
+    /**
+     * Loads the journal entries and notifies the specified listener, when
+     * chunks of journal entries have been added. Inputs, that cannot provide
+     * partial results, ignore the listener.
+     * 
+     * @param monitor - progress monitor
+     * @param listener - listener that is notified about added journal entries
+     * @return journal entries
+     * @throws Exception
+     */
+    public JournalEntries load(IProgressMonitor monitor, IJournalEntriesLoadListener listener) throws Exception {
+        return load(monitor);
+    }
+
+    /**
+     * Loads the journal entries, that may match the specified filter clause.
+     * Inputs, that can evaluate the filter clause on the server, load a subset
+     * of the journal entries and call
+     * {@link JournalEntries#setPushedDownClause(SQLWhereClause)}. The filter
+     * clause must still be applied to the returned journal entries. By default
+     * the filter clause is ignored.
+     * 
+     * @param monitor - progress monitor
+     * @param listener - listener that is notified about added journal entries
+     * @param filterClause - filter clause of the journal entries
+     * @return journal entries
+     * @throws Exception
+     */
+    public JournalEntries load(IProgressMonitor monitor, IJournalEntriesLoadListener listener, SQLWhereClause filterClause) throws Exception {
+        return load(monitor, listener);
+    }
+
+    /**
+     * Returns <code>true</code>, when the input can retrieve journal entries,
+     * that have been added after the last load, which is required by the live
+     * tail mode.
+     * 
+     * @return <code>true</code>, when live tail is supported
+     */
+    public boolean isLiveTailSupported() {
+        return false;
+    }
+
+    /**
+     * Loads the journal entries, that follow the specified sequence number.
+     * 
+     * @param lastSequenceNumber - sequence number of the last journal entry
+     *        already loaded or <code>null</code>, when no entries have been
+     *        loaded yet
+     * @param monitor - progress monitor
+     * @return new journal entries
+     * @throws Exception
+     */
+    public JournalEntries loadNewEntries(BigInteger lastSequenceNumber, IProgressMonitor monitor) throws Exception {
+        throw new UnsupportedOperationException("Live tail is not supported by: " + getClass().getName()); //$NON-NLS-1$
+    }
 }
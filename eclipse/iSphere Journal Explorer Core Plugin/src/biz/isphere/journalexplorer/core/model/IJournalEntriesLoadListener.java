@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.journalexplorer.core.model;
+
+import java.util.List;
+
+/**
+ * Listener, that is notified when a chunk of journal entries has been added to
+ * a {@link JournalEntries} object, while the journal entries are still being
+ * loaded.
+ * <p>
+ * The listener is called from the loading thread. It receives a copy of the
+ * journal entries, that have been added since the previous notification. The
+ * copy is not changed by the loader and can be handed over to the UI thread,
+ * whereas the {@link JournalEntries} object of the loader must not be accessed
+ * until loading has finished.
+ */
+public interface IJournalEntriesLoadListener {
+
+    /**
+     * Called after a chunk of journal entries has been added.
+     *
+     * @param outputFile - output file of the journal entries
+     * @param newEntries - copy of the journal entries, that have been added
+     */
+    public void journalEntriesAdded(OutputFile outputFile, List<JournalEntry> newEntries);
+}
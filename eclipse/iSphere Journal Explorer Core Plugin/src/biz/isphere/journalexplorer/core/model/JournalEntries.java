@@ -8,21 +8,22 @@
 
 package biz.isphere.journalexplorer.core.model;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.medfoster.sqljep.ParseException;
-import org.medfoster.sqljep.RowJEP;
 
 import com.google.gson.annotations.Expose;
 
 import biz.isphere.base.internal.StringHelper;
 import biz.isphere.core.ISpherePlugin;
 import biz.isphere.core.json.JsonSerializable;
-import biz.isphere.journalexplorer.core.Messages;
 import biz.isphere.journalexplorer.core.helpers.TimeTaken;
 import biz.isphere.journalexplorer.core.internals.JournalExplorerHelper;
 import biz.isphere.journalexplorer.core.model.adapters.JOESDProperty;
@@ -31,6 +32,7 @@ import biz.isphere.journalexplorer.core.model.adapters.JournalProperty;
 import biz.isphere.journalexplorer.core.model.api.IBMiMessage;
 import biz.isphere.journalexplorer.core.model.shared.JournaledFile;
 import biz.isphere.journalexplorer.core.model.shared.JournaledObject;
+import biz.isphere.journalexplorer.core.model.sqljep.JournalEntriesFilter;
 
 /**
  * Class to hold the {@link JournalEntry} as received from a journal or a
@@ -67,9 +69,12 @@ public class JournalEntries implements JsonSerializable {
 
     // Transient values
     private transient List<JournalEntry> filteredJournalEntries;
-    private transient HashSet<JournaledObject> journaledObjects;
+    private transient volatile SQLWhereClause filterClause;
+    private transient SQLWhereClause pushedDownClause;
+    private transient Map<JournaledObject, Integer> journaledObjects;
     private transient OutputFile outputFile;
     private transient boolean isOverflow;
+    private transient StringDictionary dictionary;
 
     /**
      * Produces a JournalEntries object without an output file name and hence
@@ -104,8 +109,11 @@ public class JournalEntries implements JsonSerializable {
 
         // Transient values
         this.filteredJournalEntries = null;
-        this.journaledObjects = new HashSet<JournaledObject>();
+        this.filterClause = null;
+        this.pushedDownClause = null;
+        this.journaledObjects = new HashMap<JournaledObject, Integer>();
         this.outputFile = null;
+        this.dictionary = new StringDictionary();
     }
 
     public String getConnectionName() {
@@ -134,7 +142,7 @@ public class JournalEntries implements JsonSerializable {
 
         Set<JournaledFile> journaledFiles = new HashSet<JournaledFile>();
 
-        for (JournaledObject journaledObject : journaledObjects) {
+        for (JournaledObject journaledObject : journaledObjects.keySet()) {
             if (journaledObject instanceof JournaledFile) {
                 JournaledFile journaledFile = (JournaledFile)journaledObject;
                 String connectionName = journaledFile.getConnectionName();
@@ -157,50 +165,205 @@ public class JournalEntries implements JsonSerializable {
 
         TimeTaken timeTaken = TimeTaken.start("Filtering journal entries"); // //$NON-NLS-1$
 
-        filteredJournalEntries = new ArrayList<JournalEntry>(journalEntries.size());
+        filteredJournalEntries = new JournalEntriesFilter(whereClause).filter(journalEntries, monitor);
+        filterClause = whereClause;
 
-        boolean isFound;
+        timeTaken.stop();
+    }
 
-        int count = 0;
-        for (JournalEntry journalEntry : journalEntries) {
+    public void removeFilter() {
+        this.filteredJournalEntries = null;
+        this.filterClause = null;
+    }
 
-            count++;
+    /**
+     * Returns the where clause of the active filter.
+     * 
+     * @return where clause or <code>null</code>, when no filter is active
+     */
+    public SQLWhereClause getFilterClause() {
+        return filterClause;
+    }
 
-            if (monitor != null && count % 50 == 0) {
-                monitor.setTaskName(Messages.Status_Filtering_journal_entries + "(" + count + ")"); //$NON-NLS-1$ //$NON-NLS-2$
-            }
+    /**
+     * Sets the filter clause, whose predicates have been evaluated by the
+     * server, when the journal entries were loaded. In that case the list does
+     * not contain the journal entries, that do not match the filter.
+     * 
+     * @param whereClause - filter clause pushed down to the server
+     */
+    public void setPushedDownClause(SQLWhereClause whereClause) {
+        this.pushedDownClause = whereClause;
+    }
 
-            RowJEP sqljep = new RowJEP(whereClause.getClause());
-            if (whereClause.hasSpecificFields() && tableDoesNotMatch(whereClause, journalEntry)) {
-                // Always not found, when the where clause includes record
-                // specific fields and the table does not match.
-                isFound = false;
-            } else {
-                // Compare JO* and record specific fields
-                sqljep.parseExpression(journalEntry.getColumnMapping());
-                Comparable<?>[] row = journalEntry.getRow();
-                isFound = (Boolean)sqljep.getValue(row);
-            }
+    /**
+     * Returns the filter clause, whose predicates have been evaluated by the
+     * server, when the journal entries were loaded.
+     * 
+     * @return where clause or <code>null</code>, when all journal entries
+     *         have been loaded
+     */
+    public SQLWhereClause getPushedDownClause() {
+        return pushedDownClause;
+    }
 
-            if (isFound) {
-                filteredJournalEntries.add(journalEntry);
-            }
+    /**
+     * Returns <code>true</code>, when the specified filter can be applied to
+     * the loaded journal entries. Returns <code>false</code>, when the journal
+     * entries have been reduced by the server with a different filter and
+     * must be loaded again.
+     * 
+     * @param whereClause - filter clause that is going to be applied
+     * @return <code>true</code>, if the filter can be applied locally
+     */
+    public boolean canApplyFilter(SQLWhereClause whereClause) {
+
+        if (pushedDownClause == null) {
+            return true;
         }
 
-        timeTaken.stop();
+        if (whereClause == null || !whereClause.hasClause()) {
+            return false;
+        }
+
+        return pushedDownClause.getClause().equals(whereClause.getClause())
+            && pushedDownClause.getFile().equals(whereClause.getFile())
+            && pushedDownClause.getLibrary().equals(whereClause.getLibrary());
+    }
+
+    /**
+     * Removes the journal entries, that do not match the filter clause pushed
+     * down to the server, from journal entries retrieved after the initial
+     * load. That way the list keeps containing the same subset of journal
+     * entries, that has been loaded by the server. Can be called from a
+     * background job.
+     * 
+     * @param newEntries - journal entries that are going to be appended
+     * @return journal entries matching the pushed down filter clause
+     * @throws ParseException
+     */
+    public List<JournalEntry> filterPushedDownEntries(List<JournalEntry> newEntries) throws ParseException {
+
+        if (pushedDownClause == null) {
+            return newEntries;
+        }
+
+        return new JournalEntriesFilter(pushedDownClause).filter(newEntries, null);
     }
 
-    private boolean tableDoesNotMatch(SQLWhereClause whereClause, JournalEntry journalEntry) {
+    /**
+     * Filters journal entries, that are going to be appended with
+     * {@link #appendEntries(List, List, SQLWhereClause, int)}. Can be called
+     * from a background job, because the list of journal entries is not
+     * changed.
+     * 
+     * @param newEntries - journal entries that are filtered
+     * @param whereClause - where clause returned by {@link #getFilterClause()}
+     * @return journal entries matching the filter or <code>null</code>, when
+     *         no filter is active
+     * @throws ParseException
+     */
+    public List<JournalEntry> filterNewEntries(List<JournalEntry> newEntries, SQLWhereClause whereClause) throws ParseException {
 
-        if (!whereClause.getFile().equals(journalEntry.getObjectName()) || !whereClause.getLibrary().equals(journalEntry.getObjectLibrary())) {
-            return true;
+        if (whereClause == null) {
+            return null;
         }
 
-        return false;
+        return new JournalEntriesFilter(whereClause).filter(newEntries, null);
     }
 
-    public void removeFilter() {
-        this.filteredJournalEntries = null;
+    /**
+     * Appends journal entries, that have been retrieved after the initial
+     * load. The oldest journal entries are removed, when the number of journal
+     * entries exceeds the specified maximum. The journal entries are kept in
+     * ring buffers, so that removing the oldest journal entries does not move
+     * the remaining journal entries. Journaled objects, whose last journal
+     * entry has been removed, are removed, too.
+     * <p>
+     * Must be called from the UI thread, because the lists of journal entries
+     * are changed.
+     * 
+     * @param newEntries - journal entries that are appended
+     * @param newFilteredEntries - new journal entries, that match the filter
+     *        or <code>null</code>
+     * @param whereClause - where clause, that has been used to filter the new
+     *        journal entries
+     * @param maxNumEntries - maximum number of journal entries that are kept.
+     *        Zero means no limit.
+     * @return number of journal entries removed from the displayed list
+     * @throws ParseException
+     */
+    public int appendEntries(List<JournalEntry> newEntries, List<JournalEntry> newFilteredEntries, SQLWhereClause whereClause,
+        int maxNumEntries) throws ParseException {
+
+        if (whereClause != filterClause) {
+            newFilteredEntries = filterNewEntries(newEntries, filterClause);
+        }
+
+        if (!(journalEntries instanceof JournalEntryRingBuffer)) {
+            journalEntries = new JournalEntryRingBuffer(journalEntries);
+        }
+
+        if (filteredJournalEntries != null && !(filteredJournalEntries instanceof JournalEntryRingBuffer)) {
+            filteredJournalEntries = new JournalEntryRingBuffer(filteredJournalEntries);
+        }
+
+        int id;
+        if (journalEntries.isEmpty()) {
+            id = 0;
+        } else {
+            id = journalEntries.get(journalEntries.size() - 1).getId();
+        }
+
+        for (JournalEntry journalEntry : newEntries) {
+            id++;
+            journalEntry.setId(id);
+            journalEntry.compact(dictionary);
+            journalEntries.add(journalEntry);
+            addJournaledObject(journalEntry);
+        }
+
+        if (filteredJournalEntries != null && newFilteredEntries != null) {
+            filteredJournalEntries.addAll(newFilteredEntries);
+        }
+
+        if (maxNumEntries <= 0 || journalEntries.size() <= maxNumEntries) {
+            return 0;
+        }
+
+        int sizeBefore = size();
+
+        int numRemoved = journalEntries.size() - maxNumEntries;
+        int firstId = journalEntries.get(numRemoved).getId();
+        for (int i = 0; i < numRemoved; i++) {
+            removeJournaledObject(journalEntries.get(i));
+        }
+        ((JournalEntryRingBuffer)journalEntries).removeFirst(numRemoved);
+
+        if (filteredJournalEntries != null) {
+            int numFilteredRemoved = 0;
+            while (numFilteredRemoved < filteredJournalEntries.size() && filteredJournalEntries.get(numFilteredRemoved).getId() < firstId) {
+                numFilteredRemoved++;
+            }
+            ((JournalEntryRingBuffer)filteredJournalEntries).removeFirst(numFilteredRemoved);
+        }
+
+        return sizeBefore - size();
+    }
+
+    /**
+     * Returns the sequence number of the last journal entry, regardless of an
+     * active filter.
+     * 
+     * @return sequence number or <code>null</code>, when the list is empty
+     */
+    public BigInteger getLastSequenceNumber() {
+
+        if (journalEntries.isEmpty()) {
+            return null;
+        }
+
+        return journalEntries.get(journalEntries.size() - 1).getSequenceNumber();
     }
 
     public boolean isCanceled() {
@@ -217,10 +380,43 @@ public class JournalEntries implements JsonSerializable {
             throw new IllegalAccessError("Cannot add entry when filter is active."); //$NON-NLS-1$
         }
 
+        journalEntry.compact(dictionary);
+
         getItems().add(journalEntry);
         addJournaledObject(journalEntry);
     }
 
+    /**
+     * Adds journal entries, that have already been compacted by the
+     * {@link JournalEntries} object of the loader, such as the journal entries
+     * published to a {@link IJournalEntriesLoadListener}.
+     * 
+     * @param newEntries - journal entries that are added
+     */
+    public void addAll(List<JournalEntry> newEntries) {
+
+        if (filteredJournalEntries != null) {
+            throw new IllegalAccessError("Cannot add entries when filter is active."); //$NON-NLS-1$
+        }
+
+        journalEntries.addAll(newEntries);
+        for (JournalEntry journalEntry : newEntries) {
+            addJournaledObject(journalEntry);
+        }
+    }
+
+    /**
+     * Returns a copy of the journal entries, that follow the specified number
+     * of journal entries, regardless of an active filter. Used for publishing
+     * the journal entries, while they are still being loaded.
+     * 
+     * @param fromIndex - index of the first journal entry
+     * @return copy of the journal entries
+     */
+    public List<JournalEntry> copyUnfilteredItems(int fromIndex) {
+        return new ArrayList<JournalEntry>(journalEntries.subList(fromIndex, journalEntries.size()));
+    }
+
     public List<JournalEntry> getItems() {
 
         if (filteredJournalEntries != null) {
@@ -230,6 +426,15 @@ public class JournalEntries implements JsonSerializable {
         }
     }
 
+    /**
+     * Returns all journal entries, regardless of an active filter.
+     * 
+     * @return list of journal entries
+     */
+    public List<JournalEntry> getUnfilteredItems() {
+        return journalEntries;
+    }
+
     public JournalEntry getItem(int index) {
 
         if (getItems().size() < 0) {
@@ -271,6 +476,8 @@ public class JournalEntries implements JsonSerializable {
 
         removeFilter();
         getItems().clear();
+        journaledObjects.clear();
+        dictionary.clear();
     }
 
     public void setMessages(List<IBMiMessage> messages) {
@@ -296,19 +503,7 @@ public class JournalEntries implements JsonSerializable {
              */
             if (whereClause.hasClause()) {
 
-                List<JournalEntry> filteredJournalEntries = new ArrayList<JournalEntry>();
-
-                RowJEP sqljep = new RowJEP(whereClause.getClause());
-
-                for (JournalEntry journalEntry : journalEntries) {
-
-                    sqljep.parseExpression(journalEntry.getColumnMapping());
-                    Comparable<?>[] row = journalEntry.getRow();
-                    if ((Boolean)sqljep.getValue(row)) {
-                        filteredJournalEntries.add(journalEntry);
-                    }
-
-                }
+                List<JournalEntry> filteredJournalEntries = new JournalEntriesFilter(whereClause).filter(journalEntries, null);
 
                 journalEntries = filteredJournalEntries;
             }
@@ -318,11 +513,13 @@ public class JournalEntries implements JsonSerializable {
         }
 
         /* Build a distinct list of journaled objects */
-        journaledObjects = new HashSet<JournaledObject>();
+        journaledObjects = new HashMap<JournaledObject, Integer>();
+        dictionary = new StringDictionary();
         for (JournalEntry journalEntry : journalEntries) {
             if (!StringHelper.isNullOrEmpty(connectionName)) {
                 journalEntry.overwriteConnectionName(connectionName);
             }
+            journalEntry.compact(dictionary);
             addJournaledObject(journalEntry);
         }
 
@@ -345,20 +542,60 @@ public class JournalEntries implements JsonSerializable {
         }
     }
 
+    /*
+     * Adds the journaled object of a journal entry. The journal entries of
+     * each journaled object are counted, so that the journaled object can be
+     * removed together with its last journal entry.
+     */
     private void addJournaledObject(JournalEntry journalEntry) {
 
+        JournaledObject journaledObject = getJournaledObject(journalEntry);
+        if (journaledObject == null) {
+            return;
+        }
+
+        Integer numEntries = journaledObjects.get(journaledObject);
+        if (numEntries == null) {
+            journaledObjects.put(journaledObject, 1);
+        } else {
+            journaledObjects.put(journaledObject, numEntries + 1);
+        }
+    }
+
+    private void removeJournaledObject(JournalEntry journalEntry) {
+
+        JournaledObject journaledObject = getJournaledObject(journalEntry);
+        if (journaledObject == null) {
+            return;
+        }
+
+        Integer numEntries = journaledObjects.get(journaledObject);
+        if (numEntries == null) {
+            return;
+        }
+
+        if (numEntries <= 1) {
+            journaledObjects.remove(journaledObject);
+        } else {
+            journaledObjects.put(journaledObject, numEntries - 1);
+        }
+    }
+
+    private JournaledObject getJournaledObject(JournalEntry journalEntry) {
+
         String objectType = journalEntry.getObjectType();
-        if (JournalExplorerHelper.isValidObjectType(objectType)) {
-            String connectionName = journalEntry.getConnectionName();
-            String objectName = journalEntry.getObjectName();
-            String libraryName = journalEntry.getObjectLibrary();
-            if (journalEntry.isFile()) {
-                String memberName = journalEntry.getMemberName();
-                journaledObjects.add(new JournaledFile(connectionName, libraryName, objectName, memberName));
-            } else {
-                journaledObjects.add(new JournaledObject(connectionName, libraryName, objectName, objectType));
-            }
+        if (!JournalExplorerHelper.isValidObjectType(objectType)) {
+            return null;
         }
 
+        String connectionName = journalEntry.getConnectionName();
+        String objectName = journalEntry.getObjectName();
+        String libraryName = journalEntry.getObjectLibrary();
+        if (journalEntry.isFile()) {
+            String memberName = journalEntry.getMemberName();
+            return new JournaledFile(connectionName, libraryName, objectName, memberName);
+        } else {
+            return new JournaledObject(connectionName, libraryName, objectName, objectType);
+        }
     }
 }
@@ -23,6 +23,8 @@ import java.util.Map;
 
 import biz.isphere.base.internal.IntHelper;
 import biz.isphere.base.internal.StringHelper;
+import biz.isphere.core.json.IJsonStreamElement;
+import biz.isphere.core.sqljep.IColumnAccessor;
 import biz.isphere.core.swt.widgets.ContentAssistProposal;
 import biz.isphere.journalexplorer.base.interfaces.IDatatypeConverterDelegate;
 import biz.isphere.journalexplorer.core.Messages;
@@ -42,7 +44,7 @@ import com.ibm.as400.access.AS400Text;
  * or a journal output file. Journal entries the children of a
  * {@link JournalEntries} and can be serialized in Json format.
  */
-public class JournalEntry {
+public class JournalEntry implements IJsonStreamElement {
 
     private static final String ADDRESS_FAMILY_UNKNOWN = "0";
     private static final String ADDRESS_FAMILY_IPV4 = "4";
@@ -73,6 +75,46 @@ public class JournalEntry {
     private static final int JOCCID = 19;
     private static final int JOCTRR = 20;
 
+    /*
+     * Formatters and helpers are shared by all journal entries of a thread,
+     * because a set of formatters per entry used several kilobytes of heap.
+     */
+    private static final IDatatypeConverterDelegate datatypeConverterDelegate = new DatatypeConverterDelegate();
+
+    private static final ThreadLocal<DecimalFormat> bin8Formatter = new ThreadLocal<DecimalFormat>() {
+        @Override
+        protected DecimalFormat initialValue() {
+            return new DecimalFormat("00000000000000000000"); //$NON-NLS-1$
+        }
+    };
+
+    private static final ThreadLocal<DecimalFormat> nestedCommitLevelFormatter = new ThreadLocal<DecimalFormat>() {
+        @Override
+        protected DecimalFormat initialValue() {
+            return new DecimalFormat("0000000"); //$NON-NLS-1$
+        }
+    };
+
+    private static final ThreadLocal<SimpleDateFormat> timestampFormatter = new ThreadLocal<SimpleDateFormat>() {
+        @Override
+        protected SimpleDateFormat initialValue() {
+            return new SimpleDateFormat("yyyy-MM-dd-HH.mm.ss.SSS"); //$NON-NLS-1$
+        }
+    };
+
+    private static final ThreadLocal<Calendar> calendar = new ThreadLocal<Calendar>() {
+        @Override
+        protected Calendar initialValue() {
+            return Calendar.getInstance();
+        }
+    };
+
+    private static final IColumnAccessor<JournalEntry> columnAccessor = new IColumnAccessor<JournalEntry>() {
+        public Comparable<?> getColumnValue(JournalEntry journalEntry, int column) {
+            return journalEntry.getColumnValue(column);
+        }
+    };
+
     private static HashMap<String, Integer> basicColumnMappings;
     static {
         basicColumnMappings = new HashMap<String, Integer>();
@@ -328,15 +370,12 @@ public class JournalEntry {
     private transient String qualifiedObjectName;
     private transient JournaledFile journaledFile;
     private transient String stringSpecificDataForUI;
+    private transient String specificDataCcsid;
+    private transient boolean isStringSpecificDataDerived;
 
-    // Transient values
-    private transient IDatatypeConverterDelegate datatypeConverterDelegate;
-    private transient DecimalFormat bin8Formatter;
-    private transient DecimalFormat nestedCommitLevelFormatter;
+    // Transient values, set on demand
     private transient SimpleDateFormat dateFormatter;
     private transient SimpleDateFormat timeFormatter;
-    private transient SimpleDateFormat timestampFormatter;
-    private transient Calendar calendar;
 
     private transient JOESDProperty joesdProperty;
     private transient HashMap<String, Integer> fullColumnMapping;
@@ -370,16 +409,8 @@ public class JournalEntry {
         this.qualifiedObjectName = null;
         this.journaledFile = null;
         this.stringSpecificDataForUI = null;
-
-        // Transient values
-        this.datatypeConverterDelegate = new DatatypeConverterDelegate();
-        this.bin8Formatter = new DecimalFormat("00000000000000000000");
-        this.nestedCommitLevelFormatter = new DecimalFormat("0000000");
-
-        this.dateFormatter = biz.isphere.core.preferences.Preferences.getInstance().getDateFormatter();
-        this.timeFormatter = biz.isphere.core.preferences.Preferences.getInstance().getTimeFormatter();
-        this.timestampFormatter = new SimpleDateFormat("yyyy-MM-dd-HH.mm.ss.SSS"); //$NON-NLS-1$
-        this.calendar = Calendar.getInstance();
+        this.dateFormatter = null;
+        this.timeFormatter = null;
 
         this.joesdProperty = null;
         this.fullColumnMapping = null;
@@ -418,6 +449,16 @@ public class JournalEntry {
         return basicColumnMappings;
     }
 
+    /**
+     * Returns the accessor, that reads the column values of a journal entry
+     * when a compiled where clause is evaluated.
+     * 
+     * @return column accessor
+     */
+    public static IColumnAccessor<JournalEntry> getColumnAccessor() {
+        return columnAccessor;
+    }
+
     public static ContentAssistProposal[] getBasicContentAssistProposals() {
         return basicProposals.toArray(new ContentAssistProposal[basicProposals.size()]);
     }
@@ -541,6 +582,76 @@ public class JournalEntry {
         return row;
     }
 
+    /**
+     * Returns the value of the column with the specified index of the column
+     * mapping returned by {@link #getColumnMapping()}. Same as
+     * <code>getRow()[column]</code>, but without building the row.
+     * 
+     * @param column - index of the column
+     * @return column value
+     */
+    public Comparable<?> getColumnValue(int column) {
+
+        if (column > JOCTRR) {
+            JournalProperty rowProperty = getJOESDProperty().getProperty(column - JOCTRR - 1);
+            if (rowProperty == null) {
+                return null;
+            } else if (rowProperty.value instanceof String) {
+                return StringHelper.trimR((String)rowProperty.value);
+            } else {
+                return (Comparable<?>)rowProperty.value;
+            }
+        }
+
+        switch (column) {
+        case JOCODE:
+            return getJournalCode();
+        case JOENTT:
+            return getEntryType();
+        case JOJOB:
+            return getJobName();
+        case JOUSER:
+            return getJobUserName();
+        case JONBR:
+            return getJobNumber();
+        case JOLIB:
+            return getObjectLibrary();
+        case JOOBJ:
+            return getObjectName();
+        case JOMBR:
+            return getMemberName();
+        case JODATE:
+            return new java.sql.Date(getDate().getTime());
+        case JOTIME:
+            return getTime();
+        case JOTSTP:
+            return getTimestamp();
+        case JOPGM:
+            return getProgramName();
+        case JOPGMLIB:
+            return getProgramLibrary();
+        case JOOBJTYP:
+            return getObjectType();
+        case JOFILTYP:
+            return getFileTypeIndicator();
+        case JOSYNM:
+            return getSystemName();
+        case JORCV:
+            return getReceiver();
+        case JOUSPF:
+            // JORCVLIB shares the index of JOUSPF, see getBasicRow().
+            return getUserProfile();
+        case JOSEQN:
+            return getSequenceNumber();
+        case JOCCID:
+            return getCommitmentCycle();
+        case JOCTRR:
+            return getCountRrn();
+        default:
+            return null;
+        }
+    }
+
     // //////////////////////////////////////////////////////////
     // / Getters / Setters
     // //////////////////////////////////////////////////////////
@@ -656,6 +767,7 @@ public class JournalEntry {
 
     private void setDate(java.sql.Timestamp timestamp) {
 
+        Calendar calendar = JournalEntry.calendar.get();
         calendar.clear();
         calendar.setTime(timestamp);
 
@@ -686,6 +798,7 @@ public class JournalEntry {
 
     private void setTime(java.sql.Timestamp timestamp) {
 
+        Calendar calendar = JournalEntry.calendar.get();
         calendar.clear();
         calendar.setTime(timestamp);
         calendar.set(Calendar.MILLISECOND, 0);
@@ -698,6 +811,7 @@ public class JournalEntry {
 
     public void setTimestamp(java.sql.Date date, java.sql.Time time) {
 
+        Calendar calendar = JournalEntry.calendar.get();
         calendar.clear();
         calendar.setTime(time);
 
@@ -1209,7 +1323,7 @@ public class JournalEntry {
     }
 
     public void setSystemSequenceNumber(BigInteger systemSequenceNumber) {
-        String tSystemSequenceNumber = bin8Formatter.format(systemSequenceNumber);
+        String tSystemSequenceNumber = bin8Formatter.get().format(systemSequenceNumber);
         this.systemSequenceNumber = tSystemSequenceNumber;
     }
 
@@ -1522,14 +1636,46 @@ public class JournalEntry {
     }
 
     /**
-     * Returns the string representation of field 'Entry Specific Data'.
+     * Returns the string representation of field 'Entry Specific Data'. The
+     * string is derived from the raw 'Entry Specific Data' on each call, using
+     * the CCSID that was set when the journal entry was loaded. It is not kept,
+     * because it would double the heap used by the 'Entry Specific Data'.
      * 
      * @return value of field 'JOESD'.
      */
     public String getStringSpecificData() {
+
+        if (stringSpecificData == null && specificData != null) {
+            return toStringSpecificData(specificData);
+        }
+
         return stringSpecificData;
     }
 
+    /**
+     * Sets the string representation of field 'Entry Specific Data', because
+     * it is written to the Json file.
+     */
+    public void prepareJsonSerialization() {
+
+        if (stringSpecificData == null && specificData != null) {
+            stringSpecificData = toStringSpecificData(specificData);
+            isStringSpecificDataDerived = true;
+        }
+    }
+
+    /**
+     * Removes the string representation of field 'Entry Specific Data', when
+     * it has been set by {@link #prepareJsonSerialization()}.
+     */
+    public void finishJsonSerialization() {
+
+        if (isStringSpecificDataDerived) {
+            stringSpecificData = null;
+            isStringSpecificDataDerived = false;
+        }
+    }
+
     /**
      * Returns the 'Entry Specific Data'.
      * 
@@ -1550,10 +1696,35 @@ public class JournalEntry {
         return specificData;
     }
 
+    /**
+     * Sets the string representation of field 'Entry Specific Data'. The
+     * string is not stored, when it can be derived from the raw 'Entry Specific
+     * Data'. In that case it is derived on demand with the CCSID, that is
+     * current when this method is called.
+     * 
+     * @param specificData - entry specific data
+     */
     public void setStringSpecificData(byte[] specificData) {
 
-        AS400Text text = new AS400Text(specificData.length, Preferences.getInstance().getJournalEntryCcsid());
-        this.stringSpecificData = StringHelper.trimR((String)text.toObject(specificData));
+        this.specificDataCcsid = Preferences.getInstance().getJournalEntryCcsid();
+
+        if (specificData == this.specificData || Arrays.equals(specificData, this.specificData)) {
+            this.stringSpecificData = null;
+        } else {
+            this.stringSpecificData = toStringSpecificData(specificData);
+        }
+    }
+
+    private String toStringSpecificData(byte[] specificData) {
+
+        String ccsid = specificDataCcsid;
+        if (ccsid == null) {
+            ccsid = Preferences.getInstance().getJournalEntryCcsid();
+        }
+
+        AS400Text text = new AS400Text(specificData.length, ccsid);
+
+        return StringHelper.trimR((String)text.toObject(specificData));
     }
 
     public void setStringSpecificData(String specificData) {
@@ -1585,19 +1756,19 @@ public class JournalEntry {
             if (timestamp == null) {
                 return ""; //$NON-NLS-1$
             }
-            return timestampFormatter.format(timestamp);
+            return timestampFormatter.get().format(timestamp);
         } else if (ColumnsDAO.JODATE.name().equals(name)) {
             java.sql.Date date = getDate();
             if (date == null) {
                 return ""; //$NON-NLS-1$
             }
-            return dateFormatter.format(date);
+            return getDateFormatter().format(date);
         } else if (ColumnsDAO.JOTIME.name().equals(name)) {
             java.sql.Time time = getTime();
             if (time == null) {
                 return ""; //$NON-NLS-1$
             }
-            return timeFormatter.format(time);
+            return getTimeFormatter().format(time);
         } else if (ColumnsDAO.JOJOB.name().equals(name)) {
             return getJobName();
         } else if (ColumnsDAO.JOUSER.name().equals(name)) {
@@ -1699,11 +1870,81 @@ public class JournalEntry {
     }
 
     private String toString(BigInteger unsignedBin8Value) {
-        return bin8Formatter.format(unsignedBin8Value);
+        return bin8Formatter.get().format(unsignedBin8Value);
     }
 
     private String toStringNestedCommitLevel(long longValue) {
-        return nestedCommitLevelFormatter.format(longValue);
+        return nestedCommitLevelFormatter.get().format(longValue);
+    }
+
+    private SimpleDateFormat getDateFormatter() {
+
+        if (dateFormatter == null) {
+            dateFormatter = biz.isphere.core.preferences.Preferences.getInstance().getDateFormatter();
+        }
+
+        return dateFormatter;
+    }
+
+    private SimpleDateFormat getTimeFormatter() {
+
+        if (timeFormatter == null) {
+            timeFormatter = biz.isphere.core.preferences.Preferences.getInstance().getTimeFormatter();
+        }
+
+        return timeFormatter;
+    }
+
+    /**
+     * Replaces the names of this journal entry, such as job, user, program and
+     * object names, with the equal instances of the specified dictionary. Names
+     * repeat across the journal entries of a load operation and sharing them
+     * saves a lot of heap.
+     * 
+     * @param dictionary - dictionary of the journal entries
+     */
+    public void compact(StringDictionary dictionary) {
+
+        connectionName = dictionary.get(connectionName);
+        outputFileName = dictionary.get(outputFileName);
+        outputFileLibraryName = dictionary.get(outputFileLibraryName);
+        outputFileMemberName = dictionary.get(outputFileMemberName);
+
+        journalCode = dictionary.get(journalCode);
+        entryType = dictionary.get(entryType);
+        jobName = dictionary.get(jobName);
+        jobUserName = dictionary.get(jobUserName);
+        programName = dictionary.get(programName);
+        programLibrary = dictionary.get(programLibrary);
+        programAspDevice = dictionary.get(programAspDevice);
+        objectName = dictionary.get(objectName);
+        objectLibrary = dictionary.get(objectLibrary);
+        memberName = dictionary.get(memberName);
+        flag = dictionary.get(flag);
+        userProfile = dictionary.get(userProfile);
+        systemName = dictionary.get(systemName);
+        journalID = dictionary.get(journalID);
+        referentialConstraint = dictionary.get(referentialConstraint);
+        trigger = dictionary.get(trigger);
+        incompleteData = dictionary.get(incompleteData);
+        apyRmvJrnChg = dictionary.get(apyRmvJrnChg);
+        minimizedSpecificData = dictionary.get(minimizedSpecificData);
+        objectIndicator = dictionary.get(objectIndicator);
+        receiver = dictionary.get(receiver);
+        receiverLibrary = dictionary.get(receiverLibrary);
+        receiverAspDevice = dictionary.get(receiverAspDevice);
+        addressFamily = dictionary.get(addressFamily);
+        remoteAddress = dictionary.get(remoteAddress);
+        objectType = dictionary.get(objectType);
+        fileTypeIndicator = dictionary.get(fileTypeIndicator);
+
+        if (BigInteger.ZERO.equals(countRrn)) {
+            countRrn = BigInteger.ZERO;
+        }
+
+        if (BigInteger.ZERO.equals(commitmentCycle)) {
+            commitmentCycle = BigInteger.ZERO;
+        }
     }
 
     public synchronized String getQualifiedObjectName() {
@@ -1841,7 +2082,9 @@ public class JournalEntry {
         result = prime * result + remotePort;
         result = prime * result + ((sequenceNumber == null) ? 0 : sequenceNumber.hashCode());
         result = prime * result + Arrays.hashCode(specificData);
-        result = prime * result + ((stringSpecificData == null) ? 0 : stringSpecificData.hashCode());
+        if (specificData == null) {
+            result = prime * result + ((stringSpecificData == null) ? 0 : stringSpecificData.hashCode());
+        }
         result = prime * result + ((systemName == null) ? 0 : systemName.hashCode());
         result = prime * result + ((systemSequenceNumber == null) ? 0 : systemSequenceNumber.hashCode());
         result = prime * result + ((threadId == null) ? 0 : threadId.hashCode());
@@ -1989,10 +2232,13 @@ public class JournalEntry {
         if (sequenceNumber == null) {
             if (other.sequenceNumber != null) return false;
         } else if (!sequenceNumber.equals(other.sequenceNumber)) return false;
+        // The string 'Entry Specific Data' is derived from the raw bytes.
         if (!Arrays.equals(specificData, other.specificData)) return false;
-        if (stringSpecificData == null) {
-            if (other.stringSpecificData != null) return false;
-        } else if (!stringSpecificData.equals(other.stringSpecificData)) return false;
+        if (specificData == null) {
+            if (stringSpecificData == null) {
+                if (other.stringSpecificData != null) return false;
+            } else if (!stringSpecificData.equals(other.stringSpecificData)) return false;
+        }
         if (systemName == null) {
             if (other.systemName != null) return false;
         } else if (!systemName.equals(other.systemName)) return false;
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.journalexplorer.core.model;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * List of journal entries, that is stored in a ring buffer. Journal entries
+ * are appended at the end and removed from the beginning of the list in
+ * constant time, without moving the remaining journal entries. Used in live
+ * tail mode, where the oldest journal entries are removed, whenever new
+ * journal entries are appended.
+ * <p>
+ * Other than removing journal entries from the beginning of the list, only
+ * appending, replacing and clearing journal entries are supported.
+ */
+class JournalEntryRingBuffer extends AbstractList<JournalEntry> implements RandomAccess {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private JournalEntry[] journalEntries;
+    private int head;
+    private int size;
+
+    public JournalEntryRingBuffer(Collection<JournalEntry> journalEntries) {
+
+        this.journalEntries = new JournalEntry[Math.max(MIN_CAPACITY, journalEntries.size() * 3 / 2)];
+        this.head = 0;
+        this.size = 0;
+
+        addAll(journalEntries);
+    }
+
+    @Override
+    public JournalEntry get(int index) {
+
+        checkIndex(index);
+
+        return journalEntries[getPosition(index)];
+    }
+
+    @Override
+    public JournalEntry set(int index, JournalEntry journalEntry) {
+
+        checkIndex(index);
+
+        int position = getPosition(index);
+        JournalEntry oldJournalEntry = journalEntries[position];
+        journalEntries[position] = journalEntry;
+
+        return oldJournalEntry;
+    }
+
+    @Override
+    public boolean add(JournalEntry journalEntry) {
+
+        if (size == journalEntries.length) {
+            grow();
+        }
+
+        journalEntries[getPosition(size)] = journalEntry;
+        size++;
+        modCount++;
+
+        return true;
+    }
+
+    /**
+     * Removes the specified number of journal entries from the beginning of
+     * the list.
+     *
+     * @param count - number of journal entries that are removed
+     */
+    public void removeFirst(int count) {
+
+        if (count < 0 || count > size) {
+            throw new IndexOutOfBoundsException("Count: " + count + ", Size: " + size); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        for (int i = 0; i < count; i++) {
+            journalEntries[head] = null;
+            head = (head + 1) % journalEntries.length;
+        }
+
+        size = size - count;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+
+        for (int i = 0; i < size; i++) {
+            journalEntries[getPosition(i)] = null;
+        }
+
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+
+        if (fromIndex == 0) {
+            removeFirst(toIndex);
+        } else {
+            super.removeRange(fromIndex, toIndex);
+        }
+    }
+
+    private void checkIndex(int index) {
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    private int getPosition(int index) {
+        return (head + index) % journalEntries.length;
+    }
+
+    /*
+     * Doubles the capacity of the ring buffer. The journal entries are copied
+     * to the beginning of the new buffer.
+     */
+    private void grow() {
+
+        JournalEntry[] newJournalEntries = new JournalEntry[journalEntries.length * 2];
+
+        int numTail = journalEntries.length - head;
+        System.arraycopy(journalEntries, head, newJournalEntries, 0, numTail);
+        System.arraycopy(journalEntries, 0, newJournalEntries, numTail, head);
+
+        journalEntries = newJournalEntries;
+        head = 0;
+    }
+}
@@ -8,6 +8,8 @@
 
 package biz.isphere.journalexplorer.core.model;
 
+import java.math.BigInteger;
+
 import org.eclipse.core.runtime.IProgressMonitor;
 
 import biz.isphere.journalexplorer.core.Messages;
@@ -18,6 +20,7 @@ import biz.isphere.journalexplorer.core.internals.QualifiedName;
 import biz.isphere.journalexplorer.core.model.api.JrneToRtv;
 import biz.isphere.journalexplorer.core.model.dao.JournalDAO;
 import biz.isphere.journalexplorer.core.model.shared.Journal;
+import biz.isphere.journalexplorer.core.model.sqljep.FilterPlanner;
 
 public class JournalExplorerJournalInput extends AbstractJournalExplorerInput {
 
@@ -88,8 +91,47 @@ public class JournalExplorerJournalInput extends AbstractJournalExplorerInput {
 
     @Override
     public JournalEntries load(IProgressMonitor monitor) throws Exception {
+        return load(monitor, null);
+    }
+
+    @Override
+    public JournalEntries load(IProgressMonitor monitor, IJournalEntriesLoadListener listener) throws Exception {
 
         JournalDAO journalDAO = new JournalDAO(jrneToRtv);
+        JournalEntries data = journalDAO.load(getWhereClause(), monitor, listener);
+
+        return data;
+    }
+
+    @Override
+    public JournalEntries load(IProgressMonitor monitor, IJournalEntriesLoadListener listener, SQLWhereClause filterClause) throws Exception {
+
+        JrneToRtv filterJrneToRtv = jrneToRtv.clone();
+        if (!new FilterPlanner(filterClause).pushDown(filterJrneToRtv)) {
+            return load(monitor, listener);
+        }
+
+        JournalDAO journalDAO = new JournalDAO(filterJrneToRtv);
+        JournalEntries data = journalDAO.load(getWhereClause(), monitor, listener);
+        data.setPushedDownClause(filterClause);
+
+        return data;
+    }
+
+    @Override
+    public boolean isLiveTailSupported() {
+        return true;
+    }
+
+    @Override
+    public JournalEntries loadNewEntries(BigInteger lastSequenceNumber, IProgressMonitor monitor) throws Exception {
+
+        JrneToRtv tailJrneToRtv = jrneToRtv.clone();
+        if (lastSequenceNumber != null) {
+            tailJrneToRtv.setFromEnt(Long.valueOf(lastSequenceNumber.add(BigInteger.ONE).longValue()));
+        }
+
+        JournalDAO journalDAO = new JournalDAO(tailJrneToRtv);
         JournalEntries data = journalDAO.load(getWhereClause(), monitor);
 
         return data;
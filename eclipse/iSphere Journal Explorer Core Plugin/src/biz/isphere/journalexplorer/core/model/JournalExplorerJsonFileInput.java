@@ -12,12 +12,20 @@ import java.io.File;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
-import biz.isphere.core.json.JsonImporter;
+import biz.isphere.base.internal.StringHelper;
+import biz.isphere.core.json.IJsonStreamListener;
+import biz.isphere.core.json.JsonStreamImporter;
 
 public class JournalExplorerJsonFileInput extends AbstractJournalExplorerInput {
 
     private static final String INPUT_TYPE = "file://"; //$NON-NLS-1$
 
+    /*
+     * Number of journal entries between two notifications of the load
+     * listener.
+     */
+    private static final int NOTIFICATION_INTERVAL = 1000;
+
     private String connectionName;
     private File file;
 
@@ -62,10 +70,31 @@ public class JournalExplorerJsonFileInput extends AbstractJournalExplorerInput {
 
     @Override
     public JournalEntries load(IProgressMonitor monitor) throws Exception {
+        return load(monitor, null);
+    }
+
+    /**
+     * Loads the journal entries from the Json file. The journal entries are
+     * read one by one. The listener is notified about the entries read so far,
+     * provided that the output file has been read before the journal entries
+     * and that no SQL where clause must be applied.
+     */
+    @Override
+    public JournalEntries load(IProgressMonitor monitor, IJournalEntriesLoadListener listener) throws Exception {
 
-        JsonImporter<JournalEntries> importer = new JsonImporter<JournalEntries>(JournalEntries.class);
+        if (getWhereClause() != null && getWhereClause().hasClause()) {
+            listener = null;
+        }
+
+        JournalEntries data = new JournalEntries();
 
-        JournalEntries data = importer.execute(null, getPath());
+        JsonStreamImporter<JournalEntries, JournalEntry> importer = new JsonStreamImporter<JournalEntries, JournalEntry>(JournalEntries.class,
+            JournalEntry.class, "journalEntries"); //$NON-NLS-1$
+        importer.execute(file, data, new JournalEntryListener(data, this.connectionName, listener), monitor);
+
+        if (importer.isCanceled()) {
+            data.setCanceled(true);
+        }
 
         // Overwrite connection name, if passed in
         data.finalizeJsonLoading(this.connectionName, getWhereClause());
@@ -73,4 +102,39 @@ public class JournalExplorerJsonFileInput extends AbstractJournalExplorerInput {
         return data;
     }
 
+    /**
+     * Adds the journal entries read from the Json file and notifies the load
+     * listener. The connection name is overwritten before the journal entries
+     * are published, because they must not be changed afterwards.
+     */
+    private class JournalEntryListener implements IJsonStreamListener<JournalEntry> {
+
+        private JournalEntries journalEntries;
+        private String connectionName;
+        private IJournalEntriesLoadListener listener;
+        private int numEntriesPublished;
+
+        public JournalEntryListener(JournalEntries journalEntries, String connectionName, IJournalEntriesLoadListener listener) {
+            this.journalEntries = journalEntries;
+            this.connectionName = connectionName;
+            this.listener = listener;
+            this.numEntriesPublished = 0;
+        }
+
+        public void elementRead(JournalEntry journalEntry) {
+
+            if (!StringHelper.isNullOrEmpty(connectionName)) {
+                journalEntry.overwriteConnectionName(connectionName);
+            }
+
+            journalEntries.add(journalEntry);
+
+            int numEntries = journalEntries.getNumberOfRowsDownloaded();
+            if (listener != null && numEntries % NOTIFICATION_INTERVAL == 0 && journalEntries.getOutputFile() != null) {
+                listener.journalEntriesAdded(journalEntries.getOutputFile(), journalEntries.copyUnfilteredItems(numEntriesPublished));
+                numEntriesPublished = numEntries;
+            }
+        }
+    }
+
 }
@@ -13,6 +13,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import biz.isphere.journalexplorer.core.Messages;
 import biz.isphere.journalexplorer.core.internals.QualifiedName;
 import biz.isphere.journalexplorer.core.model.dao.OutputFileDAO;
+import biz.isphere.journalexplorer.core.model.sqljep.FilterPlanner;
 
 public class JournalExplorerOutputFileInput extends AbstractJournalExplorerInput {
 
@@ -61,4 +62,20 @@ public class JournalExplorerOutputFileInput extends AbstractJournalExplorerInput
         return data;
     }
 
+    @Override
+    public JournalEntries load(IProgressMonitor monitor, IJournalEntriesLoadListener listener, SQLWhereClause filterClause) throws Exception {
+
+        OutputFileDAO journalDAO = new OutputFileDAO(outputFile);
+
+        SQLWhereClause whereClause = new FilterPlanner(filterClause).pushDown(getWhereClause(), journalDAO.getSqlStatement());
+        if (whereClause == null) {
+            return load(monitor, listener);
+        }
+
+        JournalEntries data = journalDAO.getJournalData(whereClause, monitor);
+        data.setPushedDownClause(filterClause);
+
+        return data;
+    }
+
 }
@@ -11,9 +11,13 @@
 
 package biz.isphere.journalexplorer.core.model;
 
+import java.io.Serializable;
+
 import biz.isphere.journalexplorer.core.api.retrievefielddescription.RVFD0100;
 
-public class MetaColumn {
+public class MetaColumn implements Serializable {
+
+    private static final long serialVersionUID = 3816236150742913658L;
 
     public enum DataType {
         INTEGER,
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012-2021 iSphere Project Owners
+ * Copyright (c) 2012-2023 iSphere Project Owners
  * All rights reserved. This program and the accompanying materials 
  * are made available under the terms of the Common Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,8 +11,26 @@
 
 package biz.isphere.journalexplorer.core.model;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -21,25 +39,66 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.swt.widgets.Shell;
 
 import biz.isphere.base.internal.ExceptionHelper;
+import biz.isphere.core.ISpherePlugin;
 import biz.isphere.core.internal.ISeries;
 import biz.isphere.core.internal.MessageDialogAsync;
+import biz.isphere.journalexplorer.core.ISphereJournalExplorerCorePlugin;
 import biz.isphere.journalexplorer.core.Messages;
 import biz.isphere.journalexplorer.core.helpers.TimeTaken;
 import biz.isphere.journalexplorer.core.internals.QualifiedName;
 import biz.isphere.journalexplorer.core.model.dao.MetaTableDAO;
 import biz.isphere.journalexplorer.core.model.shared.JournaledFile;
-
+import biz.isphere.journalexplorer.core.preferences.Preferences;
+
+/**
+ * Cache of the meta data of the tables, whose journal entries are displayed.
+ * <p>
+ * Meta data of different tables are loaded concurrently. Concurrent requests
+ * for the same table share a single load operation. The number of cached
+ * tables is limited. When the limit is exceeded, the least recently used table
+ * is removed from the cache.
+ * <p>
+ * Optionally the column definitions are saved in the state location of the
+ * plug-in, when the plug-in is stopped, and are restored in the next session,
+ * instead of retrieving them from the host. The saved column definitions are
+ * only used, as long as the level of the file, which is made of its creation
+ * and change timestamps, has not changed.
+ */
 public final class MetaDataCache {
 
+    private static final String FILE_NAME = "metaDataCache.ser"; //$NON-NLS-1$
+
+    /*
+     * Version of the file format. Must be incremented, when the persisted
+     * classes change.
+     */
+    private static final int FILE_VERSION = 2;
+
+    /*
+     * Maximum number of tables kept in the cache.
+     */
+    private static final int MAX_CACHE_SIZE = 250;
+
+    private static final int NUM_PREFETCH_THREADS = 4;
+
     /**
      * The instance of this Singleton class.
      */
     private static MetaDataCache instance;
 
-    private HashMap<String, MetaTable> cache;
+    private LinkedHashMap<String, MetaTable> cache;
+    private ConcurrentHashMap<String, FutureTask<MetaTable>> loadingTables;
+    private ExecutorService prefetchExecutor;
+
+    private LinkedHashMap<String, PersistedTable> persistedTables;
+    private boolean isDirty;
 
     private MetaDataCache() {
-        this.cache = new HashMap<String, MetaTable>();
+        this.cache = new LinkedHashMap<String, MetaTable>(16, 0.75f, true);
+        this.loadingTables = new ConcurrentHashMap<String, FutureTask<MetaTable>>();
+        this.prefetchExecutor = null;
+        this.persistedTables = null;
+        this.isDirty = false;
     }
 
     /**
@@ -52,11 +111,59 @@ public final class MetaDataCache {
         return instance;
     }
 
+    /**
+     * Saves the cached column definitions, if enabled in the preferences, and
+     * releases the resources of the cache. Must be called when the plug-in is
+     * stopped.
+     */
+    public synchronized static void dispose() {
+        if (instance != null) {
+            instance.shutdown();
+            instance = null;
+        }
+    }
+
     public void prepareMetaData(JournalEntry journalEntry) throws Exception {
 
         String key = produceKey(journalEntry);
-        if (!this.cache.containsKey(key)) {
-            saveMetaData(produceMetaTable(journalEntry));
+        synchronized (cache) {
+            if (!this.cache.containsKey(key)) {
+                saveMetaData(produceMetaTable(journalEntry));
+            }
+        }
+    }
+
+    /**
+     * Starts loading the meta data of the specified files in the background.
+     * Files, whose meta data has already been loaded or are currently being
+     * loaded, are ignored.
+     * 
+     * @param files - journaled files, e.g. the files of the first buffer of
+     *        journal entries
+     */
+    public void prefetchMetaData(JournaledFile[] files) {
+
+        for (JournaledFile file : files) {
+
+            final String connectionName = file.getConnectionName();
+            final String libraryName = file.getLibraryName();
+            final String fileName = file.getFileName();
+
+            String key = produceKey(connectionName, libraryName, fileName, ISeries.FILE);
+            if (isLoadedOrLoading(key)) {
+                continue;
+            }
+
+            getPrefetchExecutor().submit(new Runnable() {
+                public void run() {
+                    try {
+                        loadMetadata(connectionName, libraryName, fileName, ISeries.FILE);
+                    } catch (Exception e) {
+                        // Ignore errors. They are reported, when the meta data
+                        // is actually used.
+                    }
+                }
+            });
         }
     }
 
@@ -73,21 +180,75 @@ public final class MetaDataCache {
             journalEntry.getObjectType());
     }
 
-    private synchronized MetaTable loadMetadata(String connectionName, String objectLibrary, String objectName, String objectType) throws Exception {
+    private MetaTable loadMetadata(String connectionName, String objectLibrary, String objectName, String objectType) throws Exception {
+
+        final String key = produceKey(connectionName, objectLibrary, objectName, objectType);
+        final MetaTable metatable;
+
+        synchronized (cache) {
+            MetaTable cachedMetaTable = this.cache.get(key);
+            if (cachedMetaTable == null) {
+                metatable = produceMetaTable(connectionName, objectLibrary, objectName, objectType);
+                this.saveMetaData(metatable);
+            } else {
+                metatable = cachedMetaTable;
+            }
+        }
+
+        if (metatable.isLoaded()) {
+            return metatable;
+        }
+
+        FutureTask<MetaTable> task = new FutureTask<MetaTable>(new Callable<MetaTable>() {
+            public MetaTable call() throws Exception {
+                if (!metatable.isLoaded()) {
+                    MetaTableDAO metaTableDAO = getMetaTableDAO(metatable.getConnectionName());
+                    String fileLevel = retrieveFileLevel(metatable, metaTableDAO);
+                    if (restoreMetaData(key, metatable, fileLevel)) {
+                        return metatable;
+                    }
+                    metatable.clearColumns();
+                    loadMetadata(metatable, metaTableDAO);
+                    storeMetaData(key, metatable, fileLevel);
+                }
+                return metatable;
+            }
+        });
+
+        FutureTask<MetaTable> loadingTask = loadingTables.putIfAbsent(key, task);
+        if (loadingTask == null) {
+            loadingTask = task;
+            try {
+                task.run();
+            } finally {
+                loadingTables.remove(key, task);
+            }
+        }
+
+        try {
+            return loadingTask.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception)e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private boolean isLoadedOrLoading(String key) {
 
-        String key = produceKey(connectionName, objectLibrary, objectName, objectType);
-        MetaTable metatable = this.cache.get(key);
+        if (loadingTables.containsKey(key)) {
+            return true;
+        }
 
-        if (metatable == null) {
-            metatable = produceMetaTable(connectionName, objectLibrary, objectName, objectType);
-            this.saveMetaData(metatable);
-            this.loadMetadata(metatable, getMetaTableDAO(connectionName));
-        } else if (!metatable.isLoaded()) {
-            metatable.clearColumns();
-            this.loadMetadata(metatable, getMetaTableDAO(connectionName));
+        synchronized (cache) {
+            MetaTable metaTable = this.cache.get(key);
+            if (metaTable != null && metaTable.isLoaded()) {
+                return true;
+            }
         }
 
-        return metatable;
+        return false;
     }
 
     private MetaTableDAO getMetaTableDAO(String connectionName) throws Exception {
@@ -151,16 +312,40 @@ public final class MetaDataCache {
         }
     }
 
+    /*
+     * Must be called while holding the lock of the cache.
+     */
     private void saveMetaData(MetaTable metaTable) {
         this.cache.put(produceKey(metaTable), metaTable);
+        evictLeastRecentlyUsed();
+    }
+
+    /*
+     * Removes the least recently used tables, that are not being loaded and
+     * that do not use an overridden definition, which has been set by the
+     * user.
+     */
+    private void evictLeastRecentlyUsed() {
+
+        Iterator<Map.Entry<String, MetaTable>> iterator = this.cache.entrySet().iterator();
+        while (this.cache.size() > MAX_CACHE_SIZE && iterator.hasNext()) {
+            Map.Entry<String, MetaTable> entry = iterator.next();
+            if (!loadingTables.containsKey(entry.getKey()) && !isOverridden(entry.getValue())) {
+                iterator.remove();
+            }
+        }
     }
 
     public void removeMetaData(MetaTable metaTable) {
-        this.cache.remove(produceKey(metaTable));
+        synchronized (cache) {
+            this.cache.remove(produceKey(metaTable));
+        }
     }
 
     public Collection<MetaTable> getCachedParsers() {
-        return this.cache.values();
+        synchronized (cache) {
+            return new ArrayList<MetaTable>(this.cache.values());
+        }
     }
 
     public void preloadTables(Shell shell, JournaledFile[] files) {
@@ -169,6 +354,247 @@ public final class MetaDataCache {
         job.schedule();
     }
 
+    private boolean isOverridden(MetaTable metaTable) {
+
+        if (!metaTable.getConnectionName().equals(metaTable.getDefinitionConnectionName())) {
+            return true;
+        }
+
+        if (!metaTable.getLibrary().equals(metaTable.getDefinitionLibrary())) {
+            return true;
+        }
+
+        if (!metaTable.getName().equals(metaTable.getDefinitionName())) {
+            return true;
+        }
+
+        return false;
+    }
+
+    private synchronized ExecutorService getPrefetchExecutor() {
+
+        if (prefetchExecutor == null) {
+            prefetchExecutor = Executors.newFixedThreadPool(NUM_PREFETCH_THREADS, new ThreadFactory() {
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "iSphere meta data prefetch"); //$NON-NLS-1$
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        return prefetchExecutor;
+    }
+
+    private synchronized void shutdown() {
+
+        if (prefetchExecutor != null) {
+            prefetchExecutor.shutdownNow();
+            prefetchExecutor = null;
+        }
+
+        save();
+    }
+
+    /*
+     * Returns the level of the file of a table, for checking whether the
+     * persisted column definitions are still valid. Returns null, if the
+     * column definitions of the table are not persisted.
+     */
+    private String retrieveFileLevel(MetaTable metaTable, MetaTableDAO metaTableDAO) {
+
+        if (!isPersistenceEnabled() || isOverridden(metaTable)) {
+            return null;
+        }
+
+        try {
+            return metaTableDAO.retrieveFileLevel(metaTable);
+        } catch (Exception e) {
+            ISpherePlugin.logError("*** Could not retrieve file level of table " + produceKey(metaTable) + " ***", e); //$NON-NLS-1$ //$NON-NLS-2$
+            return null;
+        }
+    }
+
+    /*
+     * Restores the columns of a table from the persisted column definitions,
+     * if the file has not changed since the column definitions have been
+     * persisted. Tables, that have been reset by the user, still have their
+     * columns and are always loaded from the host.
+     */
+    private boolean restoreMetaData(String key, MetaTable metaTable, String fileLevel) {
+
+        if (fileLevel == null || metaTable.hasColumns()) {
+            return false;
+        }
+
+        PersistedTable persistedTable;
+        synchronized (this) {
+            persistedTable = getPersistedTables().get(key);
+        }
+
+        if (persistedTable == null || !fileLevel.equals(persistedTable.fileLevel)) {
+            return false;
+        }
+
+        MetaColumn[] metaColumns = persistedTable.columns;
+        if (metaColumns == null || metaColumns.length == 0) {
+            return false;
+        }
+
+        for (MetaColumn metaColumn : metaColumns) {
+            metaTable.addColumn(metaColumn);
+        }
+
+        metaTable.setLoaded(true);
+
+        return metaTable.isLoaded();
+    }
+
+    /*
+     * Remembers the columns of a table, that has been loaded from the host,
+     * together with the level of the file.
+     */
+    private void storeMetaData(String key, MetaTable metaTable, String fileLevel) {
+
+        if (fileLevel == null || !metaTable.isLoaded()) {
+            return;
+        }
+
+        synchronized (this) {
+            getPersistedTables().put(key, new PersistedTable(fileLevel, metaTable.getColumns()));
+            isDirty = true;
+        }
+    }
+
+    private boolean isPersistenceEnabled() {
+        return Preferences.getInstance().isPersistMetaData();
+    }
+
+    private synchronized LinkedHashMap<String, PersistedTable> getPersistedTables() {
+
+        if (persistedTables == null) {
+            persistedTables = new LinkedHashMap<String, PersistedTable>(16, 0.75f, true) {
+                private static final long serialVersionUID = -2207437262584419815L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PersistedTable> eldest) {
+                    return size() > MAX_CACHE_SIZE;
+                }
+            };
+            load();
+        }
+
+        return persistedTables;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load() {
+
+        File file = getFile();
+        if (file == null || !file.exists()) {
+            return;
+        }
+
+        InputStream in = null;
+
+        try {
+
+            ObjectInputStream objectIn = new ObjectInputStream(new FileInputStream(file));
+            in = objectIn;
+
+            int version = objectIn.readInt();
+            if (version == FILE_VERSION) {
+                persistedTables.putAll((Map<String, PersistedTable>)objectIn.readObject());
+            }
+
+        } catch (Throwable e) {
+            ISpherePlugin.logError("*** Could not load meta data cache from file: " + file.getAbsolutePath() + " ***", e); //$NON-NLS-1$ //$NON-NLS-2$
+        } finally {
+            close(in);
+        }
+    }
+
+    private void save() {
+
+        File file = getFile();
+        if (file == null) {
+            return;
+        }
+
+        if (!isPersistenceEnabled()) {
+            if (file.exists()) {
+                file.delete();
+            }
+            return;
+        }
+
+        if (!isDirty) {
+            return;
+        }
+
+        OutputStream out = null;
+
+        try {
+
+            ObjectOutputStream objectOut = new ObjectOutputStream(new FileOutputStream(file));
+            out = objectOut;
+
+            objectOut.writeInt(FILE_VERSION);
+            objectOut.writeObject(new LinkedHashMap<String, PersistedTable>(persistedTables));
+
+            isDirty = false;
+
+        } catch (Throwable e) {
+            ISpherePlugin.logError("*** Could not save meta data cache to file: " + file.getAbsolutePath() + " ***", e); //$NON-NLS-1$ //$NON-NLS-2$
+        } finally {
+            close(out);
+        }
+    }
+
+    private File getFile() {
+
+        if (ISphereJournalExplorerCorePlugin.getDefault() == null) {
+            return null;
+        }
+
+        return new File(ISphereJournalExplorerCorePlugin.getDefault().getStateLocation().toFile(), FILE_NAME);
+    }
+
+    private void close(InputStream in) {
+        try {
+            if (in != null) {
+                in.close();
+            }
+        } catch (Throwable e) {
+        }
+    }
+
+    private void close(OutputStream out) {
+        try {
+            if (out != null) {
+                out.close();
+            }
+        } catch (Throwable e) {
+        }
+    }
+
+    /**
+     * Column definitions of a table, that are saved in the state location of
+     * the plug-in, and the level of the file, when they have been retrieved.
+     */
+    private static class PersistedTable implements Serializable {
+
+        private static final long serialVersionUID = 5417843961370158322L;
+
+        private String fileLevel;
+        private MetaColumn[] columns;
+
+        public PersistedTable(String fileLevel, MetaColumn[] columns) {
+            this.fileLevel = fileLevel;
+            this.columns = columns;
+        }
+    }
+
     private class PreloadTableJob extends Job {
 
         private Shell shell;
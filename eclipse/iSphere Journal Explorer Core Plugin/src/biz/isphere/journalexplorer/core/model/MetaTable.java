@@ -22,8 +22,6 @@ import biz.isphere.journalexplorer.core.internals.QualifiedName;
 import biz.isphere.journalexplorer.core.model.dao.JournalOutputType;
 import biz.isphere.journalexplorer.core.ui.widgets.contentassist.TableColumnContentAssistProposal;
 
-import com.ibm.as400.access.Record;
-
 /**
  * This class represents the meta data of a table. It contains the name and
  * library of the table and a list of its fields. Also it contains the name and
@@ -51,12 +49,13 @@ public class MetaTable {
 
     private LinkedHashMap<String, MetaColumn> columns;
 
-    private boolean loaded;
+    private volatile boolean loaded;
     private int parsingOffset;
     private JournalOutputType outfileType;
     private int countNullableFields;
     private int lastNullableFieldIndex;
     private int recordLength;
+    private JoesdParser joesdParser;
 
     private Set<String> warningMessages;
 
@@ -150,28 +149,52 @@ public class MetaTable {
         return loaded;
     }
 
-    public void setLoaded(boolean loaded) {
+    public synchronized void setLoaded(boolean loaded) {
+
+        JoesdParser parser = null;
 
-        Record record = null;
+        resetJoesdParser();
 
         if (loaded) {
             try {
-                JoesdParser parser = new JoesdParser(this);
-                record = parser.getJoesdRecordFormat().getNewRecord();
+                parser = getJoesdParser();
             } catch (Exception e) {
                 ISpherePlugin.logError("*** Failed to set 'loaded' attribute ***", e); //$NON-NLS-1$
                 loaded = false;
             }
         }
 
-        this.loaded = loaded;
-
         if (loaded) {
-            recordLength = record.getRecordLength();
+            recordLength = parser.getRecordLength();
         } else {
             recordLength = 0;
             warningMessages.clear();
         }
+
+        // Set last, because other threads read the columns of a loaded table
+        // without synchronization.
+        this.loaded = loaded;
+    }
+
+    /**
+     * Returns the parser of the entry specific data of the journal entries of
+     * this table. The parser is compiled once and reused until the columns of
+     * the table change.
+     * 
+     * @return JOESD parser
+     * @throws Exception
+     */
+    public synchronized JoesdParser getJoesdParser() throws Exception {
+
+        if (joesdParser == null) {
+            joesdParser = new JoesdParser(this);
+        }
+
+        return joesdParser;
+    }
+
+    private synchronized void resetJoesdParser() {
+        joesdParser = null;
     }
 
     public ContentAssistProposal[] getContentAssistProposals() {
@@ -210,10 +233,12 @@ public class MetaTable {
 
     public void setParsingOffset(int parsingOffset) {
         this.parsingOffset = parsingOffset;
+        resetJoesdParser();
     }
 
     public void addColumn(MetaColumn column) {
         columns.put(column.getName(), column);
+        resetJoesdParser();
 
         if (column.isNullable()) {
             countNullableFields++;
@@ -241,6 +266,7 @@ public class MetaTable {
 
     public void clearColumns() {
         this.columns.clear();
+        resetJoesdParser();
     }
 
     public boolean hasColumn(String columnName) {
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.journalexplorer.core.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary of the strings used by the journal entries of a
+ * {@link JournalEntries} object. Equal strings are replaced by a single shared
+ * instance.
+ * <p>
+ * Unlike {@link String#intern()}, the dictionary is released together with
+ * the journal entries.
+ */
+public class StringDictionary {
+
+    private Map<String, String> strings;
+
+    public StringDictionary() {
+        this.strings = new HashMap<String, String>();
+    }
+
+    /**
+     * Returns the shared instance of the specified string.
+     *
+     * @param value - string value
+     * @return shared instance of the string or <code>null</code>, if the value
+     *         is <code>null</code>
+     */
+    public synchronized String get(String value) {
+
+        if (value == null) {
+            return null;
+        }
+
+        String sharedValue = strings.get(value);
+        if (sharedValue == null) {
+            strings.put(value, value);
+            sharedValue = value;
+        }
+
+        return sharedValue;
+    }
+
+    /**
+     * Returns the number of distinct strings of the dictionary.
+     *
+     * @return number of strings
+     */
+    public synchronized int size() {
+        return strings.size();
+    }
+
+    public synchronized void clear() {
+        strings.clear();
+    }
+}
@@ -23,8 +23,6 @@ import biz.isphere.journalexplorer.core.model.MetaDataCache;
 import biz.isphere.journalexplorer.core.model.MetaTable;
 import biz.isphere.journalexplorer.core.ui.model.JournalEntryColumnUI;
 
-import com.ibm.as400.access.Record;
-
 /**
  * The JOESDProperty groups the entry specific fields of a {@link JournalEntry}.
  * It is a child of {@link JournalProperties}.
@@ -37,7 +35,9 @@ public class JOESDProperty extends JournalProperty {
 
     private ArrayList<JournalProperty> specificProperties;
 
-    private Record parsedJOESD;
+    private JoesdParser parser;
+
+    private JoesdParser.RecordData recordData;
 
     public JOESDProperty(JournalEntryColumnUI columnDef, JournalEntry journalEntry) {
         super(columnDef, null, null);
@@ -76,7 +76,8 @@ public class JOESDProperty extends JournalProperty {
 
         metatable = null;
 
-        parsedJOESD = null;
+        parser = null;
+        recordData = null;
 
         if (specificProperties != null) {
             specificProperties.clear();
@@ -110,7 +111,8 @@ public class JOESDProperty extends JournalProperty {
 
             metatable = MetaDataCache.getInstance().retrieveMetaData(journalEntry);
 
-            parsedJOESD = new JoesdParser(metatable).execute(journalEntry);
+            parser = metatable.getJoesdParser();
+            recordData = parser.getRecordData(journalEntry);
 
             if (!metatable.hasColumns()) {
                 value = Messages.bind(Messages.Error_Meta_data_not_available_Check_file_A_B, metatable.getLibrary(), metatable.getName());
@@ -126,8 +128,6 @@ public class JOESDProperty extends JournalProperty {
                     columnLabel = ""; //$NON-NLS-1$
                 }
 
-                // parsedJOESD.getRecordFormat().getFieldDescription(column.getName()).getDataType().TYPE_ARRAY;
-
                 if (column.getOutputBufferOffset() + column.getBufferLength() > journalEntry.getSpecificDataLength()) {
                     JournalProperty journalProperty = new JournalProperty(columnName, columnLabel, Messages.JournalPropertyValue_not_available, this);
                     journalProperty.setErrorParsing(true);
@@ -141,12 +141,14 @@ public class JOESDProperty extends JournalProperty {
                     journalProperty.setErrorParsing(true);
                     specificProperties.add(journalProperty);
                 } else if (MetaColumn.DataType.LOB.equals(column.getType())) {
-                    JournalProperty journalProperty = new JournalProperty(columnName, columnLabel, parsedJOESD.getField(column.getName()).toString()
-                        .trim(), getDataType(column.getName()), this);
+                    int index = parser.getFieldIndex(column.getName());
+                    JournalProperty journalProperty = new JournalProperty(columnName, columnLabel, parser.getFieldValue(recordData, index).toString()
+                        .trim(), parser.getDataType(index), this);
                     specificProperties.add(journalProperty);
                 } else {
-                    JournalProperty journalProperty = new JournalProperty(columnName, columnLabel, parsedJOESD.getField(column.getName()).toString(),
-                        getDataType(column.getName()), this);
+                    int index = parser.getFieldIndex(column.getName());
+                    JournalProperty journalProperty = new JournalProperty(columnName, columnLabel, parser.getFieldValue(recordData, index).toString(),
+                        parser.getDataType(index), this);
                     specificProperties.add(journalProperty);
                 }
             }
@@ -154,8 +156,28 @@ public class JOESDProperty extends JournalProperty {
         }
     }
 
-    private int getDataType(String name) {
-        return parsedJOESD.getRecordFormat().getFieldDescription(name).getDataType().getInstanceType();
+    /**
+     * Returns the record specific field at the specified index, without
+     * copying the fields to an array.
+     * 
+     * @param index - index of the field
+     * @return record specific field or <code>null</code>, if not available
+     */
+    public JournalProperty getProperty(int index) {
+
+        if (isErrorParsing()) {
+            try {
+                executeParsing();
+            } catch (Exception e) {
+                // Ignore errors
+            }
+        }
+
+        if (specificProperties == null || index < 0 || index >= specificProperties.size()) {
+            return null;
+        }
+
+        return specificProperties.get(index);
     }
 
     public JournalProperty[] toPropertyArray() {
@@ -181,11 +203,11 @@ public class JOESDProperty extends JournalProperty {
         if (comparable instanceof JOESDProperty) {
             JOESDProperty joesdSpecificProperty = (JOESDProperty)comparable;
 
-            if (joesdSpecificProperty.parsedJOESD == null || parsedJOESD == null) {
+            if (joesdSpecificProperty.parser == null || parser == null) {
                 highlighted = comparable.highlighted = true;
                 return -1;
 
-            } else if (joesdSpecificProperty.parsedJOESD.getNumberOfFields() != parsedJOESD.getNumberOfFields()) {
+            } else if (joesdSpecificProperty.parser.getNumberOfFields() != parser.getNumberOfFields()) {
                 highlighted = comparable.highlighted = true;
                 return -1;
 
@@ -65,6 +65,7 @@ public class JrneToRtv implements Serializable, Cloneable {
     public static final String JRNCDE_CTL = "*CTL";
     public static final String JRNCDE_ALL = "*ALL";
     public static final String FRMENT_FIRST = "*FIRST";
+    public static final String TOENT_LAST = "*LAST";
     public static final String RCVRNG_CURRENT = "*CURRENT";
     public static final String RCVRNG_CURCHAIN = "*CURCHAIN";
     public static final String NULLINDLEN_VARLEN = "*VARLEN";
@@ -495,6 +496,28 @@ public class JrneToRtv implements Serializable, Cloneable {
         addSelectionCriterion(rtvKey, temp2Structure, temp2);
     }
 
+    /**
+     * Add retrieval criterion 09: Job.
+     * 
+     * @param aJobName - name of the job that deposited the journal entries
+     * @param aUserName - user name of the job
+     * @param aJobNumber - job number of the job
+     */
+    public void setJob(String aJobName, String aUserName, String aJobNumber) {
+        String temp = padRight(aJobName, 10) + padRight(aUserName, 10) + padLeftZero(aJobNumber, 6);
+        addSelectionCriterion(RetrieveKey.JOB, new AS400Text(26), temp);
+    }
+
+    /**
+     * Add retrieval criterion 10: Program.
+     * 
+     * @param aProgramName - name of the program that deposited the journal
+     *        entries
+     */
+    public void setPgm(String aProgramName) {
+        addSelectionCriterion(RetrieveKey.PGM, new AS400Text(10), padRight(aProgramName, 10));
+    }
+
     /**
      * Add retrieval criterion 15: Null value indicators length.
      * 
@@ -536,6 +559,7 @@ public class JrneToRtv implements Serializable, Cloneable {
 
         fileCriterions.clear();
         fileCriterions.add(fileCriterion);
+        isDirty = true;
     }
 
     /**
@@ -696,6 +720,74 @@ public class JrneToRtv implements Serializable, Cloneable {
         return ensureNbrEnt(nbrEnt);
     }
 
+    /**
+     * Returns <code>true</code>, when the journal entries are not restricted
+     * by the specified selection criterion. That is the case, when the
+     * criterion has not been specified or has been set to a special value,
+     * such as <code>*ALL</code>, <code>*FIRST</code> or <code>*LAST</code>.
+     * 
+     * @param aRtvKey - retrieve key
+     * @return <code>true</code>, if the criterion does not restrict the
+     *         journal entries
+     */
+    public boolean isUnrestricted(RetrieveKey aRtvKey) {
+
+        Object value = getSelectionValue(aRtvKey);
+        if (value == null) {
+            return true;
+        }
+
+        if (value instanceof Object[]) {
+            Object[] values = (Object[])value;
+            if (values.length == 2 && new Integer(1).equals(values[0])) {
+                value = values[1];
+            }
+        }
+
+        if (value instanceof String) {
+            // Special values of sequence numbers are padded with zeros
+            String specialValue = ((String)value).trim();
+            if (specialValue.startsWith(JRNCDE_ALL) || specialValue.startsWith(FRMENT_FIRST) || specialValue.startsWith(TOENT_LAST)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the starting time stamp.
+     * 
+     * @return starting time stamp or <code>null</code>, if not specified
+     */
+    public java.sql.Timestamp getFromTime() {
+        return getTimeValue(RetrieveKey.FROMTIME);
+    }
+
+    /**
+     * Returns the ending time stamp.
+     * 
+     * @return ending time stamp or <code>null</code>, if not specified
+     */
+    public java.sql.Timestamp getToTime() {
+        return getTimeValue(RetrieveKey.TOTIME);
+    }
+
+    private java.sql.Timestamp getTimeValue(RetrieveKey aRtvKey) {
+
+        Object value = getSelectionValue(aRtvKey);
+        if (!(value instanceof String)) {
+            return null;
+        }
+
+        try {
+            // Time stamps are stored with 6 zero digits of microseconds
+            return getTime(((String)value).substring(0, 19));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     private int ensureNbrEnt(Integer nbrEnt) {
         if (nbrEnt == null || nbrEnt.intValue() < 0) {
             return Preferences.getInstance().getMaximumNumberOfRowsToFetch();
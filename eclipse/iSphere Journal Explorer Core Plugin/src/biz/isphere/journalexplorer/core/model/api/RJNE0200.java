@@ -210,6 +210,67 @@ public class RJNE0200 {
         return bufferSize;
     }
 
+    /**
+     * Returns the minimum size of the receiver buffer that is required to
+     * retrieve the first journal entry of this buffer. Returns 0, if no entries
+     * have been retrieved.
+     * <p>
+     * The position of the reader is not changed.
+     * 
+     * @return minimum buffer size
+     */
+    public int getMinimumBufferSize() {
+
+        int[] entryLengths = getEntryLengths();
+        if (entryLengths.length == 0) {
+            return 0;
+        }
+
+        return getOffsetToFirstJrneHeader() + entryLengths[0];
+    }
+
+    /**
+     * Returns the length of the largest journal entry of this buffer, including
+     * its header, null value indicators, entry specific data and receiver
+     * information. Returns 0, if no entries have been retrieved.
+     * <p>
+     * The position of the reader is not changed.
+     * 
+     * @return length of the largest journal entry
+     */
+    public int getLargestEntryLength() {
+
+        int largestEntryLength = 0;
+        for (int entryLength : getEntryLengths()) {
+            largestEntryLength = Math.max(largestEntryLength, entryLength);
+        }
+
+        return largestEntryLength;
+    }
+
+    private int[] getEntryLengths() {
+
+        if (getOutputData() == null) {
+            return new int[0];
+        }
+
+        int numEntries = getNbrOfEntriesRetrieved();
+        int[] entryLengths = new int[numEntries];
+
+        AS400UnsignedBin4 displacementToNextEntry = new AS400UnsignedBin4();
+        int position = getOffsetToFirstJrneHeader();
+        for (int i = 0; i < numEntries; i++) {
+            if (i < numEntries - 1) {
+                entryLengths[i] = ((Long)displacementToNextEntry.toObject(getOutputData(), position)).intValue();
+            } else {
+                entryLengths[i] = getBytesReturned() - position;
+            }
+            position += entryLengths[i];
+        }
+
+        return entryLengths;
+    }
+
     // ----------------------------------------------------
     // Header Information
     // ----------------------------------------------------
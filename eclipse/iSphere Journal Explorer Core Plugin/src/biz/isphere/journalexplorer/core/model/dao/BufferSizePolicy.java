@@ -0,0 +1,359 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.journalexplorer.core.model.dao;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import biz.isphere.base.internal.IntHelper;
+import biz.isphere.core.ISpherePlugin;
+import biz.isphere.journalexplorer.core.ISphereJournalExplorerCorePlugin;
+import biz.isphere.journalexplorer.core.model.api.JrneToRtv;
+import biz.isphere.journalexplorer.core.model.api.RJNE0200;
+
+/**
+ * Class that learns the size of the journal entries from the buffers returned
+ * by the QjoRetrieveJournalEntries API. The learned sizes are used to choose
+ * the size of the receiver buffer, so that the buffer is large enough on the
+ * first or second call of the API.
+ * <p>
+ * The largest entry length is stored per connection and journal. It is saved
+ * in the state location of the plug-in and is restored on the next session.
+ * <p>
+ * The policy also counts the API calls that have been saved compared to the
+ * old strategy, that increased the buffer by a fixed size of 64k.
+ */
+public final class BufferSizePolicy {
+
+    private static final String FILE_NAME = "journalBufferSizes.properties"; //$NON-NLS-1$
+    private static final String RETRIES_SAVED = "*RETRIES_SAVED"; //$NON-NLS-1$
+
+    /*
+     * Number of largest entries the buffer must be able to hold.
+     */
+    private static final int NUM_LARGEST_ENTRIES = 2;
+
+    /**
+     * The instance of this Singleton class.
+     */
+    private static BufferSizePolicy instance;
+
+    private Map<String, Integer> largestEntryLengths;
+    private int numRetriesSaved;
+    private boolean isDirty;
+
+    /**
+     * Private constructor to ensure the Singleton pattern.
+     */
+    private BufferSizePolicy() {
+        this.largestEntryLengths = new HashMap<String, Integer>();
+        this.numRetriesSaved = 0;
+        this.isDirty = false;
+
+        load();
+    }
+
+    /**
+     * Thread-safe method that returns the instance of this Singleton class.
+     */
+    public synchronized static BufferSizePolicy getInstance() {
+        if (instance == null) {
+            instance = new BufferSizePolicy();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns a buffer size object, that is used to retrieve the journal
+     * entries of the specified journal.
+     *
+     * @param jrneToRtv - selection criteria of the journal entries
+     * @param isDynamic - specifies whether the buffer size may be changed
+     * @param configuredSize - buffer size of the preferences
+     * @param incrementSize - fixed increment size of the old strategy
+     * @param maximumSize - maximum buffer size
+     * @return buffer size object
+     */
+    public AdaptiveBufferSize createBufferSize(JrneToRtv jrneToRtv, boolean isDynamic, int configuredSize, int incrementSize, int maximumSize) {
+
+        String key = jrneToRtv.getConnectionName() + ":" + jrneToRtv.getQualifiedJournalName(); //$NON-NLS-1$
+
+        return new AdaptiveBufferSize(key, isDynamic, configuredSize, incrementSize, maximumSize);
+    }
+
+    /**
+     * Returns the total number of API calls, that have been saved by the
+     * adaptive buffer size.
+     *
+     * @return number of retries saved
+     */
+    public synchronized int getNumRetriesSaved() {
+        return numRetriesSaved;
+    }
+
+    /**
+     * Removes all learned entry lengths and resets the metric.
+     */
+    public synchronized void clear() {
+
+        largestEntryLengths.clear();
+        numRetriesSaved = 0;
+        isDirty = true;
+
+        save();
+    }
+
+    private synchronized int getLargestEntryLength(String key) {
+
+        Integer largestEntryLength = largestEntryLengths.get(key);
+        if (largestEntryLength == null) {
+            return 0;
+        }
+
+        return largestEntryLength.intValue();
+    }
+
+    private synchronized void store(String key, int largestEntryLength, int retriesSaved) {
+
+        if (largestEntryLength > getLargestEntryLength(key)) {
+            largestEntryLengths.put(key, new Integer(largestEntryLength));
+            isDirty = true;
+        }
+
+        if (retriesSaved > 0) {
+            numRetriesSaved += retriesSaved;
+            isDirty = true;
+        }
+
+        save();
+    }
+
+    private void load() {
+
+        File file = getFile();
+        if (file == null || !file.exists()) {
+            return;
+        }
+
+        InputStream in = null;
+
+        try {
+
+            Properties properties = new Properties();
+            in = new FileInputStream(file);
+            properties.load(in);
+
+            for (Object key : properties.keySet()) {
+                int value = IntHelper.tryParseInt(properties.getProperty((String)key), 0);
+                if (RETRIES_SAVED.equals(key)) {
+                    numRetriesSaved = value;
+                } else if (value > 0) {
+                    largestEntryLengths.put((String)key, new Integer(value));
+                }
+            }
+
+        } catch (Throwable e) {
+            ISpherePlugin.logError("*** Could not load journal buffer sizes from file: " + file.getAbsolutePath() + " ***", e); //$NON-NLS-1$ //$NON-NLS-2$
+        } finally {
+            close(in);
+        }
+    }
+
+    private void save() {
+
+        if (!isDirty) {
+            return;
+        }
+
+        File file = getFile();
+        if (file == null) {
+            return;
+        }
+
+        OutputStream out = null;
+
+        try {
+
+            Properties properties = new Properties();
+            for (Map.Entry<String, Integer> entry : largestEntryLengths.entrySet()) {
+                properties.setProperty(entry.getKey(), entry.getValue().toString());
+            }
+            properties.setProperty(RETRIES_SAVED, Integer.toString(numRetriesSaved));
+
+            out = new FileOutputStream(file);
+            properties.store(out, "Largest journal entry lengths"); //$NON-NLS-1$
+
+            isDirty = false;
+
+        } catch (Throwable e) {
+            ISpherePlugin.logError("*** Could not save journal buffer sizes to file: " + file.getAbsolutePath() + " ***", e); //$NON-NLS-1$ //$NON-NLS-2$
+        } finally {
+            close(out);
+        }
+    }
+
+    private File getFile() {
+
+        if (ISphereJournalExplorerCorePlugin.getDefault() == null) {
+            return null;
+        }
+
+        return new File(ISphereJournalExplorerCorePlugin.getDefault().getStateLocation().toFile(), FILE_NAME);
+    }
+
+    private void close(InputStream in) {
+        try {
+            if (in != null) {
+                in.close();
+            }
+        } catch (Throwable e) {
+        }
+    }
+
+    private void close(OutputStream out) {
+        try {
+            if (out != null) {
+                out.close();
+            }
+        } catch (Throwable e) {
+        }
+    }
+
+    /**
+     * Buffer size of a single load operation.
+     * <p>
+     * The initial size is large enough for the largest journal entries seen so
+     * far. When the buffer is too small, the size is doubled instead of being
+     * increased by a fixed amount. In parallel the size of the old strategy is
+     * tracked to compute the number of API calls saved.
+     * <p>
+     * When the dynamic buffer size is disabled, the configured size is used
+     * and the entry lengths are only learned.
+     */
+    public class AdaptiveBufferSize {
+
+        private String key;
+        private boolean isDynamic;
+        private int incrementSize;
+        private int maximumSize;
+
+        private int bufferSize;
+        private int largestEntryLength;
+        private int numRetries;
+
+        private int legacyBufferSize;
+        private int numLegacyRetries;
+
+        private AdaptiveBufferSize(String key, boolean isDynamic, int configuredSize, int incrementSize, int maximumSize) {
+
+            this.key = key;
+            this.isDynamic = isDynamic;
+            this.incrementSize = incrementSize;
+            this.maximumSize = maximumSize;
+
+            this.largestEntryLength = getLargestEntryLength(key);
+            if (isDynamic) {
+                this.bufferSize = Math.max(configuredSize, getRequiredBufferSize(largestEntryLength));
+            } else {
+                this.bufferSize = configuredSize;
+            }
+            this.bufferSize = align16Bytes(Math.min(bufferSize, maximumSize));
+            this.numRetries = 0;
+
+            this.legacyBufferSize = configuredSize;
+            this.numLegacyRetries = 0;
+        }
+
+        /**
+         * Returns the current buffer size.
+         *
+         * @return buffer size
+         */
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        /**
+         * Increases the buffer size, after the API returned no entries because
+         * the buffer was too small.
+         *
+         * @return <code>false</code>, if the buffer size could not be increased
+         *         because the maximum size has been reached or the dynamic
+         *         buffer size is disabled, else <code>true</code>
+         */
+        public boolean increase() {
+
+            if (!isDynamic || bufferSize >= maximumSize) {
+                return false;
+            }
+
+            numRetries++;
+
+            long nextBufferSize = Math.max(2L * bufferSize, getRequiredBufferSize(largestEntryLength));
+            bufferSize = align16Bytes((int)Math.min(nextBufferSize, maximumSize));
+
+            return true;
+        }
+
+        /**
+         * Learns the entry lengths from a buffer returned by the API.
+         *
+         * @param rjne0200 - buffer returned by the API
+         */
+        public void update(RJNE0200 rjne0200) {
+
+            if (rjne0200 == null || rjne0200.getNbrOfEntriesRetrieved() == 0) {
+                return;
+            }
+
+            largestEntryLength = Math.max(largestEntryLength, rjne0200.getLargestEntryLength());
+
+            int minimumBufferSize = rjne0200.getMinimumBufferSize();
+            while (legacyBufferSize < minimumBufferSize && legacyBufferSize < maximumSize) {
+                legacyBufferSize += incrementSize;
+                numLegacyRetries++;
+            }
+        }
+
+        /**
+         * Stores the learned entry length and the number of saved API calls.
+         * Must be called when all entries have been retrieved.
+         */
+        public void finish() {
+            if (isDynamic) {
+                store(key, largestEntryLength, numLegacyRetries - numRetries);
+            } else {
+                store(key, largestEntryLength, 0);
+            }
+        }
+
+        private int getRequiredBufferSize(int entryLength) {
+
+            long requiredSize = (long)entryLength * NUM_LARGEST_ENTRIES;
+
+            return (int)Math.min(requiredSize, Integer.MAX_VALUE);
+        }
+
+        private int align16Bytes(int size) {
+
+            int alignedSize = IntHelper.align16Bytes(size);
+            if (alignedSize > maximumSize) {
+                alignedSize = alignedSize - 16;
+            }
+
+            return alignedSize;
+        }
+    }
+}
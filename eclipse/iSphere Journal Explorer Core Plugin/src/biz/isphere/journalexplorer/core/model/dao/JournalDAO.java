@@ -9,8 +9,18 @@
 package biz.isphere.journalexplorer.core.model.dao;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
@@ -18,6 +28,7 @@ import biz.isphere.base.internal.Buffer;
 import biz.isphere.base.internal.IntHelper;
 import biz.isphere.journalexplorer.core.Messages;
 import biz.isphere.journalexplorer.core.exceptions.BufferTooSmallException;
+import biz.isphere.journalexplorer.core.model.IJournalEntriesLoadListener;
 import biz.isphere.journalexplorer.core.model.JournalEntries;
 import biz.isphere.journalexplorer.core.model.JournalEntry;
 import biz.isphere.journalexplorer.core.model.MetaDataCache;
@@ -27,11 +38,21 @@ import biz.isphere.journalexplorer.core.model.api.IBMiMessage;
 import biz.isphere.journalexplorer.core.model.api.JrneToRtv;
 import biz.isphere.journalexplorer.core.model.api.QjoRetrieveJournalEntries;
 import biz.isphere.journalexplorer.core.model.api.RJNE0200;
+import biz.isphere.journalexplorer.core.model.dao.BufferSizePolicy.AdaptiveBufferSize;
 import biz.isphere.journalexplorer.core.preferences.Preferences;
 
 /**
  * This class retrieves journal entries from the journal a given object is
  * associated to.
+ * <p>
+ * When pipelined retrieval is enabled in the preferences, the next buffer of
+ * journal entries is retrieved from the host, while the previous buffers are
+ * still being decoded by a pool of worker threads. Decoded journal entries
+ * are added in chunks and an optional {@link IJournalEntriesLoadListener} is
+ * notified after each chunk.
+ * <p>
+ * The meta data of the journaled files found in the first buffer is loaded in
+ * the background, while the remaining buffers are retrieved.
  */
 public class JournalDAO {
 
@@ -42,6 +63,14 @@ public class JournalDAO {
     private static final int BUFFER_MAXIMUM_SIZE = IntHelper.align16Bytes((int)(1024 * 1024 * 15.5)); // 15.5MB;
     private static final int BUFFER_INCREMENT_SIZE = IntHelper.align16Bytes(Buffer.size("64k")); //$NON-NLS-1$
 
+    /*
+     * Number of retrieved buffers, that may wait for being decoded. Limits the
+     * memory used by the pipeline.
+     */
+    private static final int PIPELINE_QUEUE_SIZE = 2;
+    private static final int PIPELINE_NUM_DECODERS = 2;
+    private static final long PIPELINE_POLL_MILLIS = 100;
+
     private String connectionName;
     private int maxNumRows;
     private JrneToRtv jrneToRtv;
@@ -55,6 +84,31 @@ public class JournalDAO {
     }
 
     public JournalEntries load(SQLWhereClause whereClause, IProgressMonitor monitor) throws Exception {
+        return load(whereClause, monitor, null);
+    }
+
+    /**
+     * Loads the journal entries. The specified listener is notified whenever
+     * a chunk of journal entries has been added, provided that pipelined
+     * retrieval is enabled.
+     * 
+     * @param whereClause - SQL where clause (not used)
+     * @param monitor - progress monitor
+     * @param listener - listener that is notified about added journal entries
+     *        or <code>null</code>
+     * @return journal entries
+     * @throws Exception
+     */
+    public JournalEntries load(SQLWhereClause whereClause, IProgressMonitor monitor, IJournalEntriesLoadListener listener) throws Exception {
+
+        if (Preferences.getInstance().isRetrieveJournalEntriesPipelined()) {
+            return loadPipelined(monitor, listener);
+        }
+
+        return loadSequentially(monitor);
+    }
+
+    private JournalEntries loadSequentially(IProgressMonitor monitor) throws Exception {
 
         JournalEntries journalEntries = new JournalEntries(new OutputFile(connectionName, "QSYS", "QADSPJR5"), maxNumRows);
 
@@ -63,10 +117,9 @@ public class JournalDAO {
         List<IBMiMessage> messages = null;
         RJNE0200 rjne0200 = null;
         int id = 0;
+        boolean isPrefetched = false;
 
-        boolean isDynamicBufferSize = Preferences.getInstance().isRetrieveJournalEntriesDynamicBufferSize();
-        int bufferSize = Math.min(Preferences.getInstance().getRetrieveJournalEntriesBufferSize(), BUFFER_MAXIMUM_SIZE);
-        bufferSize = IntHelper.align16Bytes(bufferSize);
+        AdaptiveBufferSize bufferSize = createBufferSize();
 
         do {
 
@@ -74,11 +127,10 @@ public class JournalDAO {
 
             do {
                 monitor.setTaskName(Messages.Calling_API);
-                rjne0200 = tRetriever.execute(bufferSize, maxNumRows + 1);
-                if (isBufferTooSmall(rjne0200) && isDynamicBufferSize) {
-                    bufferSize = bufferSize + BUFFER_INCREMENT_SIZE;
-                }
-            } while (isDynamicBufferSize && isBufferTooSmall(rjne0200) && !isBufferTooBig(bufferSize) && !isCanceled(monitor, journalEntries));
+                rjne0200 = tRetriever.execute(bufferSize.getBufferSize(), maxNumRows + 1);
+            } while (isBufferTooSmall(rjne0200) && bufferSize.increase() && !isCanceled(monitor, journalEntries));
+
+            bufferSize.update(rjne0200);
 
             // timeTaken1.stop();
 
@@ -108,6 +160,11 @@ public class JournalDAO {
                         }
 
                     }
+
+                    if (!isPrefetched) {
+                        MetaDataCache.getInstance().prefetchMetaData(journalEntries.getJournaledFiles());
+                        isPrefetched = true;
+                    }
                 }
             } else {
                 messages = tRetriever.getMessages();
@@ -118,6 +175,8 @@ public class JournalDAO {
 
         // broker.join();
 
+        bufferSize.finish();
+
         if (rjne0200 != null && (rjne0200.hasNext() || rjne0200.moreEntriesAvailable())) {
             journalEntries.setOverflow(true, -1);
         }
@@ -127,6 +186,124 @@ public class JournalDAO {
         return journalEntries;
     }
 
+    private JournalEntries loadPipelined(IProgressMonitor monitor, IJournalEntriesLoadListener listener) throws Exception {
+
+        JournalEntries journalEntries = new JournalEntries(new OutputFile(connectionName, "QSYS", "QADSPJR5"), maxNumRows);
+
+        BlockingQueue<Future<DecodedBuffer>> decodedBuffers = new ArrayBlockingQueue<Future<DecodedBuffer>>(PIPELINE_QUEUE_SIZE);
+
+        ExecutorService decoders = Executors.newFixedThreadPool(PIPELINE_NUM_DECODERS);
+        ExecutorService fetcher = Executors.newSingleThreadExecutor();
+
+        BufferFetcher bufferFetcher = new BufferFetcher(journalEntries.getOutputFile(), decodedBuffers, decoders, monitor);
+
+        List<IBMiMessage> messages = null;
+        boolean isOverflow = false;
+        boolean isPrefetched = false;
+        int id = 0;
+
+        try {
+
+            fetcher.submit(bufferFetcher);
+
+            DecodedBuffer decodedBuffer;
+            do {
+
+                decodedBuffer = waitForNextBuffer(decodedBuffers, monitor, journalEntries);
+                if (decodedBuffer == null) {
+                    break;
+                }
+
+                monitor.setTaskName(Messages.Status_Loading_journal_entries);
+
+                int numEntriesBefore = journalEntries.getNumberOfRowsDownloaded();
+
+                for (JournalEntry journalEntry : decodedBuffer.getJournalEntries()) {
+
+                    if (journalEntries.getNumberOfRowsDownloaded() >= maxNumRows) {
+                        isOverflow = true;
+                        break;
+                    }
+
+                    id++;
+
+                    journalEntry.setId(id);
+                    journalEntries.add(journalEntry);
+
+                    if (id % 50 == 0) {
+                        monitor.setTaskName(Messages.Status_Loading_journal_entries + "(" + id + ")"); //$NON-NLS-1$ //$NON-NLS-2$
+                    }
+
+                    if (journalEntry.isRecordEntryType()) {
+                        MetaDataCache.getInstance().prepareMetaData(journalEntry);
+                    }
+                }
+
+                if (!isPrefetched && decodedBuffer.getJournalEntries().size() > 0) {
+                    MetaDataCache.getInstance().prefetchMetaData(journalEntries.getJournaledFiles());
+                    isPrefetched = true;
+                }
+
+                if (listener != null && journalEntries.getNumberOfRowsDownloaded() > numEntriesBefore) {
+                    listener.journalEntriesAdded(journalEntries.getOutputFile(), journalEntries.copyUnfilteredItems(numEntriesBefore));
+                }
+
+                if (decodedBuffer.isLastBuffer()) {
+                    messages = decodedBuffer.getMessages();
+                    if (decodedBuffer.isMoreEntriesAvailable()) {
+                        isOverflow = true;
+                    }
+                }
+
+            } while (!decodedBuffer.isLastBuffer() && !isOverflow && !isCanceled(monitor, journalEntries));
+
+        } finally {
+            bufferFetcher.stop();
+            fetcher.shutdownNow();
+            decoders.shutdownNow();
+        }
+
+        if (isOverflow) {
+            journalEntries.setOverflow(true, -1);
+        }
+
+        journalEntries.setMessages(messages);
+
+        return journalEntries;
+    }
+
+    private DecodedBuffer waitForNextBuffer(BlockingQueue<Future<DecodedBuffer>> decodedBuffers, IProgressMonitor monitor,
+        JournalEntries journalEntries) throws Exception {
+
+        try {
+
+            Future<DecodedBuffer> decodedBuffer = null;
+            while (decodedBuffer == null) {
+                if (isCanceled(monitor, journalEntries)) {
+                    return null;
+                }
+                decodedBuffer = decodedBuffers.poll(PIPELINE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+
+            return decodedBuffer.get();
+
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception)e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private int getNumEntriesToRetrieve(int numEntriesRetrieved) {
+
+        if (maxNumRows == Integer.MAX_VALUE) {
+            return -1;
+        }
+
+        return maxNumRows + 1 - numEntriesRetrieved;
+    }
+
     private boolean isCanceled(IProgressMonitor monitor, JournalEntries journalEntries) {
         if (monitor.isCanceled()) {
             journalEntries.setCanceled(true);
@@ -144,13 +321,14 @@ public class JournalDAO {
         return false;
     }
 
-    private boolean isBufferTooBig(int bufferSize) {
+    private AdaptiveBufferSize createBufferSize() {
 
-        if (bufferSize >= BUFFER_MAXIMUM_SIZE) {
-            return true;
-        }
+        boolean isDynamicBufferSize = Preferences.getInstance().isRetrieveJournalEntriesDynamicBufferSize();
+        int bufferSize = Math.min(Preferences.getInstance().getRetrieveJournalEntriesBufferSize(), BUFFER_MAXIMUM_SIZE);
+        bufferSize = IntHelper.align16Bytes(bufferSize);
 
-        return false;
+        return BufferSizePolicy.getInstance().createBufferSize(jrneToRtv, isDynamicBufferSize, bufferSize, BUFFER_INCREMENT_SIZE,
+            BUFFER_MAXIMUM_SIZE);
     }
 
     private JournalEntry populateJournalEntry(String connectionName, int id, RJNE0200 journalEntryData, JournalEntry journalEntry) throws Exception {
@@ -234,4 +412,188 @@ public class JournalDAO {
     protected String getJournalEntryCcsid() {
         return Preferences.getInstance().getJournalEntryCcsid();
     }
+
+    /**
+     * Pipeline stage, that retrieves the buffers of journal entries from the
+     * host. Each retrieved buffer is handed over to a decoder. The decoders are
+     * queued in the order the buffers have been retrieved. The last element of
+     * the queue is a {@link DecodedBuffer}, that signals the end of data.
+     */
+    private class BufferFetcher implements Runnable {
+
+        private OutputFile outputFile;
+        private BlockingQueue<Future<DecodedBuffer>> decodedBuffers;
+        private ExecutorService decoders;
+        private IProgressMonitor monitor;
+        private volatile boolean isStopped;
+
+        public BufferFetcher(OutputFile outputFile, BlockingQueue<Future<DecodedBuffer>> decodedBuffers, ExecutorService decoders,
+            IProgressMonitor monitor) {
+            this.outputFile = outputFile;
+            this.decodedBuffers = decodedBuffers;
+            this.decoders = decoders;
+            this.monitor = monitor;
+            this.isStopped = false;
+        }
+
+        public void stop() {
+            isStopped = true;
+        }
+
+        public void run() {
+
+            try {
+
+                QjoRetrieveJournalEntries tRetriever = new QjoRetrieveJournalEntries(jrneToRtv);
+
+                RJNE0200 rjne0200 = null;
+                int numEntriesRetrieved = 0;
+
+                AdaptiveBufferSize bufferSize = createBufferSize();
+
+                do {
+
+                    do {
+                        rjne0200 = tRetriever.execute(bufferSize.getBufferSize(), getNumEntriesToRetrieve(numEntriesRetrieved));
+                    } while (isBufferTooSmall(rjne0200) && bufferSize.increase() && !isStopped());
+
+                    bufferSize.update(rjne0200);
+
+                    if (rjne0200 == null) {
+                        bufferSize.finish();
+                        endOfData(tRetriever.getMessages(), false);
+                        return;
+                    }
+
+                    if (rjne0200.moreEntriesAvailable() && rjne0200.getNbrOfEntriesRetrieved() == 0) {
+                        List<IBMiMessage> messages = new LinkedList<IBMiMessage>();
+                        messages.add(new IBMiMessage(BufferTooSmallException.ID,
+                            Messages.Exception_Buffer_too_small_to_retrieve_next_journal_entry_Check_preferences));
+                        bufferSize.finish();
+                        endOfData(messages, true);
+                        return;
+                    }
+
+                    numEntriesRetrieved += rjne0200.getNbrOfEntriesRetrieved();
+
+                    enqueue(decoders.submit(new BufferDecoder(outputFile, rjne0200)));
+
+                } while (rjne0200.moreEntriesAvailable() && numEntriesRetrieved <= maxNumRows && !isStopped());
+
+                bufferSize.finish();
+                endOfData(null, rjne0200.moreEntriesAvailable());
+
+            } catch (final Exception e) {
+                enqueue(createCompletedTask(new Callable<DecodedBuffer>() {
+                    public DecodedBuffer call() throws Exception {
+                        throw e;
+                    }
+                }));
+            }
+        }
+
+        private boolean isStopped() {
+            return isStopped || monitor.isCanceled();
+        }
+
+        private void endOfData(final List<IBMiMessage> messages, final boolean isMoreEntriesAvailable) {
+
+            enqueue(createCompletedTask(new Callable<DecodedBuffer>() {
+                public DecodedBuffer call() throws Exception {
+                    return new DecodedBuffer(messages, isMoreEntriesAvailable);
+                }
+            }));
+        }
+
+        private FutureTask<DecodedBuffer> createCompletedTask(Callable<DecodedBuffer> callable) {
+
+            FutureTask<DecodedBuffer> task = new FutureTask<DecodedBuffer>(callable);
+            task.run();
+
+            return task;
+        }
+
+        private void enqueue(Future<DecodedBuffer> decodedBuffer) {
+
+            try {
+                while (!isStopped()) {
+                    if (decodedBuffers.offer(decodedBuffer, PIPELINE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                isStopped = true;
+            }
+        }
+    }
+
+    /**
+     * Pipeline stage, that decodes the journal entries of a buffer retrieved
+     * from the host.
+     */
+    private class BufferDecoder implements Callable<DecodedBuffer> {
+
+        private OutputFile outputFile;
+        private RJNE0200 rjne0200;
+
+        public BufferDecoder(OutputFile outputFile, RJNE0200 rjne0200) {
+            this.outputFile = outputFile;
+            this.rjne0200 = rjne0200;
+        }
+
+        public DecodedBuffer call() throws Exception {
+
+            List<JournalEntry> journalEntries = new ArrayList<JournalEntry>(rjne0200.getNbrOfEntriesRetrieved());
+
+            while (rjne0200.nextEntry() && !Thread.currentThread().isInterrupted()) {
+                JournalEntry journalEntry = new JournalEntry(outputFile);
+                journalEntries.add(populateJournalEntry(connectionName, 0, rjne0200, journalEntry));
+            }
+
+            return new DecodedBuffer(journalEntries);
+        }
+    }
+
+    /**
+     * Result of a {@link BufferDecoder}. The last buffer of the pipeline does
+     * not contain journal entries, but the API messages and the continuation
+     * status.
+     */
+    private static class DecodedBuffer {
+
+        private List<JournalEntry> journalEntries;
+        private List<IBMiMessage> messages;
+        private boolean isLastBuffer;
+        private boolean isMoreEntriesAvailable;
+
+        public DecodedBuffer(List<JournalEntry> journalEntries) {
+            this.journalEntries = journalEntries;
+            this.messages = null;
+            this.isLastBuffer = false;
+            this.isMoreEntriesAvailable = true;
+        }
+
+        public DecodedBuffer(List<IBMiMessage> messages, boolean isMoreEntriesAvailable) {
+            this.journalEntries = new ArrayList<JournalEntry>(0);
+            this.messages = messages;
+            this.isLastBuffer = true;
+            this.isMoreEntriesAvailable = isMoreEntriesAvailable;
+        }
+
+        public List<JournalEntry> getJournalEntries() {
+            return journalEntries;
+        }
+
+        public List<IBMiMessage> getMessages() {
+            return messages;
+        }
+
+        public boolean isLastBuffer() {
+            return isLastBuffer;
+        }
+
+        public boolean isMoreEntriesAvailable() {
+            return isMoreEntriesAvailable;
+        }
+    }
 }
@@ -13,11 +13,16 @@ package biz.isphere.journalexplorer.core.model.dao;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.text.SimpleDateFormat;
+import java.util.Date;
 
 import biz.isphere.journalexplorer.core.api.retrievefielddescription.IQDBRTVFD;
 import biz.isphere.journalexplorer.core.model.MetaColumn;
 import biz.isphere.journalexplorer.core.model.MetaTable;
 
+import com.ibm.as400.access.ObjectDescription;
+import com.ibm.as400.access.QSYSObjectPathName;
+
 public class MetaTableDAO extends DAOBase {
 
     public MetaTableDAO(String connectionName) throws Exception {
@@ -45,4 +50,34 @@ public class MetaTableDAO extends DAOBase {
             super.destroy(sqlStatement);
         }
     }
+
+    /**
+     * Returns the level of the file, that defines the columns of a given
+     * table. The level is made of the creation and change timestamps of the
+     * file. It changes, when the file is created again or changed, e.g. by
+     * ALTER TABLE or CHGPF.
+     * 
+     * @param metaTable - table whose file level is returned
+     * @return file level
+     * @throws Exception
+     */
+    public String retrieveFileLevel(MetaTable metaTable) throws Exception {
+
+        String path = new QSYSObjectPathName(metaTable.getDefinitionLibrary(), metaTable.getDefinitionName(), "FILE").getPath(); //$NON-NLS-1$
+        ObjectDescription objectDescription = new ObjectDescription(getSystem(), path);
+
+        Date creationDate = (Date)objectDescription.getValue(ObjectDescription.CREATION_DATE);
+        Date changeDate = (Date)objectDescription.getValue(ObjectDescription.CHANGE_DATE);
+
+        return format(creationDate) + "/" + format(changeDate); //$NON-NLS-1$
+    }
+
+    private String format(Date date) {
+
+        if (date == null) {
+            return ""; //$NON-NLS-1$
+        }
+
+        return new SimpleDateFormat("yyyyMMddHHmmss").format(date); //$NON-NLS-1$
+    }
 }
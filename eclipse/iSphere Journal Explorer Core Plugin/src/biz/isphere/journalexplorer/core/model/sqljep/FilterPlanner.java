@@ -0,0 +1,992 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.journalexplorer.core.model.sqljep;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.medfoster.sqljep.ASTArray;
+import org.medfoster.sqljep.ASTFunNode;
+import org.medfoster.sqljep.ASTVarNode;
+import org.medfoster.sqljep.BaseJEP;
+import org.medfoster.sqljep.Node;
+import org.medfoster.sqljep.ParseException;
+import org.medfoster.sqljep.function.Between;
+import org.medfoster.sqljep.function.ComparativeEQ;
+import org.medfoster.sqljep.function.ComparativeGE;
+import org.medfoster.sqljep.function.ComparativeGT;
+import org.medfoster.sqljep.function.ComparativeLE;
+import org.medfoster.sqljep.function.ComparativeLT;
+import org.medfoster.sqljep.function.ComparativeNE;
+import org.medfoster.sqljep.function.In;
+import org.medfoster.sqljep.function.LogicalAND;
+import org.medfoster.sqljep.function.PostfixCommandI;
+
+import biz.isphere.journalexplorer.core.model.JournalCode;
+import biz.isphere.journalexplorer.core.model.JournalEntry;
+import biz.isphere.journalexplorer.core.model.SQLWhereClause;
+import biz.isphere.journalexplorer.core.model.api.JrneToRtv;
+import biz.isphere.journalexplorer.core.model.api.RetrieveKey;
+import biz.isphere.journalexplorer.core.model.dao.ColumnsDAO;
+import biz.isphere.journalexplorer.core.model.sqljep.WhereClausePredicate.Operator;
+
+/**
+ * Class to push the filter of the Journal Explorer down to the server. The
+ * filter clause is split into the predicates, that are connected by
+ * <code>AND</code> at the top level. Simple predicates on journal entry
+ * columns are translated into selection criteria of the QjoRetrieveJournalEntries
+ * API or into a SQL where clause of an output file.
+ * <p>
+ * The server selects a superset of the journal entries, that match the
+ * filter. The filter clause is still evaluated locally, which removes the
+ * remaining journal entries and takes care of all predicates, that cannot be
+ * pushed down, such as <code>OR</code>, <code>NOT</code>, <code>LIKE</code> or
+ * record specific fields.
+ */
+public class FilterPlanner {
+
+    private static final int MAX_NAME_LENGTH = 10;
+    private static final int MAX_JOB_NUMBER_LENGTH = 6;
+
+    /*
+     * Columns, whose predicates are pushed down to the SQL where clause of an
+     * output file. JODATE and JOTIME are not included, because their local
+     * data types differ from the data types of the output file.
+     */
+    private static final ColumnsDAO[] SQL_COLUMNS = new ColumnsDAO[] { ColumnsDAO.JOSEQN, ColumnsDAO.JOCODE, ColumnsDAO.JOENTT,
+        ColumnsDAO.JOTSTP, ColumnsDAO.JOJOB, ColumnsDAO.JOUSER, ColumnsDAO.JONBR, ColumnsDAO.JOPGM };
+
+    private SQLWhereClause filterClause;
+    private List<WhereClausePredicate> predicates;
+
+    public FilterPlanner(SQLWhereClause filterClause) {
+
+        this.filterClause = filterClause;
+
+        if (filterClause == null || !filterClause.hasClause()) {
+            this.predicates = new ArrayList<WhereClausePredicate>();
+        } else {
+            this.predicates = parsePredicates(filterClause.getClause());
+        }
+    }
+
+    /**
+     * Returns the predicates of the filter clause, that can be evaluated by
+     * the server.
+     *
+     * @return simple predicates connected by <code>AND</code>
+     */
+    public List<WhereClausePredicate> getPredicates() {
+        return Collections.unmodifiableList(predicates);
+    }
+
+    /**
+     * Adds the predicates of the filter clause to the selection criteria of
+     * the specified JrneToRtv object. Selection criteria, that have already
+     * been restricted, for example by the 'Load Journal Entries' dialog, are
+     * only narrowed, never widened.
+     *
+     * @param jrneToRtv - selection criteria of the QjoRetrieveJournalEntries
+     *        API
+     * @return <code>true</code>, when a selection criterion has been changed
+     */
+    public boolean pushDown(JrneToRtv jrneToRtv) {
+
+        boolean isPushedDown = false;
+
+        if (pushDownJournalCodes(jrneToRtv)) {
+            isPushedDown = true;
+        }
+
+        if (pushDownEntryTypes(jrneToRtv)) {
+            isPushedDown = true;
+        }
+
+        if (pushDownJob(jrneToRtv)) {
+            isPushedDown = true;
+        }
+
+        if (pushDownProgram(jrneToRtv)) {
+            isPushedDown = true;
+        }
+
+        if (pushDownSequenceNumbers(jrneToRtv)) {
+            isPushedDown = true;
+        }
+
+        if (pushDownTimestamps(jrneToRtv)) {
+            isPushedDown = true;
+        }
+
+        if (pushDownFile(jrneToRtv)) {
+            isPushedDown = true;
+        }
+
+        return isPushedDown;
+    }
+
+    /**
+     * Returns the where clause for loading the journal entries from an output
+     * file. The predicates of the filter clause are appended to the specified
+     * where clause, if the columns are selected by the SQL statement.
+     *
+     * @param whereClause - where clause of the output file
+     * @param sqlStatement - SQL statement that loads the journal entries
+     * @return where clause including the predicates of the filter clause or
+     *         <code>null</code>, when there is nothing to push down
+     */
+    public SQLWhereClause pushDown(SQLWhereClause whereClause, String sqlStatement) {
+
+        StringBuilder buffer = new StringBuilder();
+
+        for (WhereClausePredicate predicate : predicates) {
+            ColumnsDAO column = getSqlColumn(predicate.getColumn());
+            if (column == null || sqlStatement.indexOf("result." + column.name()) < 0) { //$NON-NLS-1$
+                continue;
+            }
+            String sql = toSql(column, predicate);
+            if (sql != null) {
+                if (buffer.length() > 0) {
+                    buffer.append(" AND "); //$NON-NLS-1$
+                }
+                buffer.append(sql);
+            }
+        }
+
+        if (buffer.length() == 0) {
+            return null;
+        }
+
+        String clause;
+        if (whereClause != null && whereClause.hasClause()) {
+            clause = "(" + whereClause.getClause() + ") AND (" + buffer.toString() + ")"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        } else {
+            clause = buffer.toString();
+        }
+
+        if (whereClause == null) {
+            return new SQLWhereClause(clause);
+        }
+
+        SQLWhereClause pushedDownClause = new SQLWhereClause(whereClause.getFile(), whereClause.getLibrary(), clause);
+        pushedDownClause.setSpecificFields(whereClause.hasSpecificFields());
+
+        return pushedDownClause;
+    }
+
+    private boolean pushDownJournalCodes(JrneToRtv jrneToRtv) {
+
+        if (!jrneToRtv.isUnrestricted(RetrieveKey.JRNCDE)) {
+            return false;
+        }
+
+        WhereClausePredicate predicate = findEqualsOrIn(ColumnsDAO.JOCODE);
+        if (predicate == null) {
+            return false;
+        }
+
+        JournalCode[] journalCodes = new JournalCode[predicate.getValues().length];
+        for (int i = 0; i < journalCodes.length; i++) {
+            journalCodes[i] = JournalCode.find(predicate.getValues()[i]);
+            if (journalCodes[i] == null) {
+                return false;
+            }
+        }
+
+        jrneToRtv.setJrnCde(journalCodes);
+
+        return true;
+    }
+
+    private boolean pushDownEntryTypes(JrneToRtv jrneToRtv) {
+
+        if (!jrneToRtv.isUnrestricted(RetrieveKey.ENTTYP)) {
+            return false;
+        }
+
+        WhereClausePredicate predicate = findEqualsOrIn(ColumnsDAO.JOENTT);
+        if (predicate == null) {
+            return false;
+        }
+
+        for (String entryType : predicate.getValues()) {
+            if (entryType.length() != 2 || entryType.startsWith("*") || !isUpperCaseName(entryType)) { //$NON-NLS-1$
+                return false;
+            }
+        }
+
+        jrneToRtv.setEntTyp(predicate.getValues().clone());
+
+        return true;
+    }
+
+    private boolean pushDownJob(JrneToRtv jrneToRtv) {
+
+        if (!jrneToRtv.isUnrestricted(RetrieveKey.JOB)) {
+            return false;
+        }
+
+        // The API requires the qualified job name.
+        String jobName = getEqualsName(ColumnsDAO.JOJOB);
+        String userName = getEqualsName(ColumnsDAO.JOUSER);
+        WhereClausePredicate jobNumber = findEquals(ColumnsDAO.JONBR);
+        if (jobName == null || userName == null || jobNumber == null) {
+            return false;
+        }
+
+        String number = jobNumber.getValue();
+        if (number.length() == 0 || number.length() > MAX_JOB_NUMBER_LENGTH || !isDigits(number)) {
+            return false;
+        }
+
+        jrneToRtv.setJob(jobName, userName, number);
+
+        return true;
+    }
+
+    private boolean pushDownProgram(JrneToRtv jrneToRtv) {
+
+        if (!jrneToRtv.isUnrestricted(RetrieveKey.PGM)) {
+            return false;
+        }
+
+        String program = getEqualsName(ColumnsDAO.JOPGM);
+        if (program == null) {
+            return false;
+        }
+
+        jrneToRtv.setPgm(program);
+
+        return true;
+    }
+
+    private boolean pushDownSequenceNumbers(JrneToRtv jrneToRtv) {
+
+        Long fromEnt = null;
+        Long toEnt = null;
+
+        for (WhereClausePredicate predicate : getPredicates(ColumnsDAO.JOSEQN)) {
+
+            long[] values = new long[predicate.getValues().length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = parseLong(predicate.getValues()[i]);
+                if (values[i] < 0) {
+                    return false;
+                }
+            }
+
+            switch (predicate.getOperator()) {
+            case EQ:
+                fromEnt = max(fromEnt, values[0]);
+                toEnt = min(toEnt, values[0]);
+                break;
+            case GT:
+                fromEnt = max(fromEnt, values[0] + 1);
+                break;
+            case GE:
+                fromEnt = max(fromEnt, values[0]);
+                break;
+            case LT:
+                toEnt = min(toEnt, values[0] - 1);
+                break;
+            case LE:
+                toEnt = min(toEnt, values[0]);
+                break;
+            case BETWEEN:
+                fromEnt = max(fromEnt, values[0]);
+                toEnt = min(toEnt, values[1]);
+                break;
+            default:
+                break;
+            }
+        }
+
+        if (fromEnt != null && toEnt != null && fromEnt.longValue() > toEnt.longValue()) {
+            // Let the local filter produce the empty result.
+            return false;
+        }
+
+        boolean isPushedDown = false;
+
+        // Sequence numbers and time stamps are mutually exclusive.
+        if (fromEnt != null && fromEnt.longValue() > 0 && jrneToRtv.getFromTime() == null && jrneToRtv.isUnrestricted(RetrieveKey.FROMENT)) {
+            jrneToRtv.setFromEnt(fromEnt);
+            isPushedDown = true;
+        }
+
+        if (toEnt != null && toEnt.longValue() > 0 && jrneToRtv.getToTime() == null && jrneToRtv.isUnrestricted(RetrieveKey.TOENT)) {
+            jrneToRtv.setToEnt(toEnt);
+            isPushedDown = true;
+        }
+
+        return isPushedDown;
+    }
+
+    private boolean pushDownTimestamps(JrneToRtv jrneToRtv) {
+
+        Timestamp fromTime = null;
+        Timestamp toTime = null;
+
+        for (WhereClausePredicate predicate : getPredicates(ColumnsDAO.JOTSTP)) {
+
+            Timestamp[] values = new Timestamp[predicate.getValues().length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = parseTimestamp(predicate.getValues()[i]);
+                if (values[i] == null) {
+                    return false;
+                }
+            }
+
+            switch (predicate.getOperator()) {
+            case EQ:
+                fromTime = max(fromTime, floorToSecond(values[0]));
+                toTime = min(toTime, ceilToSecond(values[0]));
+                break;
+            case GT:
+            case GE:
+                fromTime = max(fromTime, floorToSecond(values[0]));
+                break;
+            case LT:
+            case LE:
+                toTime = min(toTime, ceilToSecond(values[0]));
+                break;
+            case BETWEEN:
+                fromTime = max(fromTime, floorToSecond(values[0]));
+                toTime = min(toTime, ceilToSecond(values[1]));
+                break;
+            default:
+                break;
+            }
+        }
+
+        // Narrow the time stamps of the 'Load Journal Entries' dialog.
+        Timestamp currentFromTime = jrneToRtv.getFromTime();
+        Timestamp currentToTime = jrneToRtv.getToTime();
+
+        if (fromTime != null && (currentFromTime != null && !fromTime.after(currentFromTime))) {
+            fromTime = null;
+        }
+
+        if (toTime != null && (currentToTime != null && !toTime.before(currentToTime))) {
+            toTime = null;
+        }
+
+        Timestamp effectiveFromTime = fromTime != null ? fromTime : currentFromTime;
+        Timestamp effectiveToTime = toTime != null ? toTime : currentToTime;
+        if (effectiveFromTime != null && effectiveToTime != null && effectiveFromTime.after(effectiveToTime)) {
+            // Let the local filter produce the empty result.
+            return false;
+        }
+
+        boolean isPushedDown = false;
+
+        // Sequence numbers and time stamps are mutually exclusive.
+        if (fromTime != null && jrneToRtv.isUnrestricted(RetrieveKey.FROMENT)) {
+            jrneToRtv.setFromTime(fromTime);
+            isPushedDown = true;
+        }
+
+        if (toTime != null && jrneToRtv.isUnrestricted(RetrieveKey.TOENT)) {
+            jrneToRtv.setToTime(toTime);
+            isPushedDown = true;
+        }
+
+        return isPushedDown;
+    }
+
+    private boolean pushDownFile(JrneToRtv jrneToRtv) {
+
+        // Record specific fields match the journal entries of a single file.
+        if (filterClause == null || !filterClause.hasSpecificFields()) {
+            return false;
+        }
+
+        if (!isUpperCaseName(filterClause.getFile()) || !isUpperCaseName(filterClause.getLibrary())) {
+            return false;
+        }
+
+        if (jrneToRtv.getFiles().length > 0 || jrneToRtv.getObjects().length > 0) {
+            return false;
+        }
+
+        jrneToRtv.setFile(filterClause.getLibrary(), filterClause.getFile(), "*ALL"); //$NON-NLS-1$
+
+        return true;
+    }
+
+    private WhereClausePredicate findEqualsOrIn(ColumnsDAO column) {
+
+        for (WhereClausePredicate predicate : getPredicates(column)) {
+            if (predicate.getOperator() == Operator.EQ || predicate.getOperator() == Operator.IN) {
+                if (isStringValues(predicate)) {
+                    return predicate;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private WhereClausePredicate findEquals(ColumnsDAO column) {
+
+        for (WhereClausePredicate predicate : getPredicates(column)) {
+            if (predicate.getOperator() == Operator.EQ) {
+                return predicate;
+            }
+        }
+
+        return null;
+    }
+
+    private String getEqualsName(ColumnsDAO column) {
+
+        WhereClausePredicate predicate = findEquals(column);
+        if (predicate == null || !predicate.isString(0) || !isUpperCaseName(predicate.getValue())) {
+            return null;
+        }
+
+        return predicate.getValue();
+    }
+
+    private List<WhereClausePredicate> getPredicates(ColumnsDAO column) {
+
+        List<WhereClausePredicate> columnPredicates = new LinkedList<WhereClausePredicate>();
+        for (WhereClausePredicate predicate : predicates) {
+            if (column.name().equals(predicate.getColumn())) {
+                columnPredicates.add(predicate);
+            }
+        }
+
+        return columnPredicates;
+    }
+
+    private ColumnsDAO getSqlColumn(String name) {
+
+        for (ColumnsDAO column : SQL_COLUMNS) {
+            if (column.name().equals(name)) {
+                return column;
+            }
+        }
+
+        return null;
+    }
+
+    private String toSql(ColumnsDAO column, WhereClausePredicate predicate) {
+
+        boolean isNumeric = column.sqlType().startsWith("NUMERIC") || column.sqlType().startsWith("DECIMAL"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        String[] values = predicate.getValues();
+        String[] sqlValues = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (isNumeric) {
+                if (!isNumber(values[i])) {
+                    return null;
+                }
+                sqlValues[i] = values[i];
+            } else {
+                if (!predicate.isString(i)) {
+                    return null;
+                }
+                sqlValues[i] = "'" + values[i].replaceAll("'", "''") + "'"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+            }
+        }
+
+        StringBuilder buffer = new StringBuilder();
+        buffer.append(column.name());
+        buffer.append(" "); //$NON-NLS-1$
+        buffer.append(predicate.getOperator().sql());
+        buffer.append(" "); //$NON-NLS-1$
+
+        switch (predicate.getOperator()) {
+        case IN:
+            buffer.append("("); //$NON-NLS-1$
+            for (int i = 0; i < sqlValues.length; i++) {
+                if (i > 0) {
+                    buffer.append(", "); //$NON-NLS-1$
+                }
+                buffer.append(sqlValues[i]);
+            }
+            buffer.append(")"); //$NON-NLS-1$
+            break;
+        case BETWEEN:
+            buffer.append(sqlValues[0]);
+            buffer.append(" AND "); //$NON-NLS-1$
+            buffer.append(sqlValues[1]);
+            break;
+        default:
+            buffer.append(sqlValues[0]);
+            break;
+        }
+
+        return buffer.toString();
+    }
+
+    private boolean isStringValues(WhereClausePredicate predicate) {
+
+        for (int i = 0; i < predicate.getValues().length; i++) {
+            if (!predicate.isString(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /*
+     * Returns true for names, that can be passed to the API as they are. The
+     * local filter compares case sensitive, therefore lower case names would
+     * not match any journal entry.
+     */
+    private boolean isUpperCaseName(String name) {
+
+        if (name == null || name.length() == 0 || name.length() > MAX_NAME_LENGTH) {
+            return false;
+        }
+
+        if (name.indexOf(' ') >= 0 || name.startsWith("*")) { //$NON-NLS-1$
+            return false;
+        }
+
+        return name.equals(name.toUpperCase());
+    }
+
+    private boolean isDigits(String value) {
+
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isNumber(String value) {
+
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private long parseLong(String value) {
+
+        if (value.length() == 0 || !isDigits(value)) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /*
+     * Parses time stamps in the formats 'yyyy-MM-dd-HH.mm.ss.ffffff' and
+     * 'yyyy-MM-dd HH:mm:ss.ffffff'.
+     */
+    private Timestamp parseTimestamp(String value) {
+
+        if (value.length() < 19) {
+            return null;
+        }
+
+        StringBuilder buffer = new StringBuilder(value);
+        if (buffer.charAt(10) == '-') {
+            buffer.setCharAt(10, ' ');
+        }
+
+        if (buffer.charAt(13) == '.' && buffer.charAt(16) == '.') {
+            buffer.setCharAt(13, ':');
+            buffer.setCharAt(16, ':');
+        }
+
+        try {
+            return Timestamp.valueOf(buffer.toString());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /*
+     * The API accepts time stamps with a precision of seconds.
+     */
+    private Timestamp floorToSecond(Timestamp timestamp) {
+
+        Timestamp floor = new Timestamp(timestamp.getTime());
+        floor.setNanos(0);
+
+        return floor;
+    }
+
+    private Timestamp ceilToSecond(Timestamp timestamp) {
+
+        Timestamp ceil = floorToSecond(timestamp);
+        if (timestamp.getNanos() > 0) {
+            ceil = new Timestamp(ceil.getTime() + 1000);
+        }
+
+        return ceil;
+    }
+
+    private Long max(Long current, long value) {
+
+        if (current == null || value > current.longValue()) {
+            return Long.valueOf(value);
+        }
+
+        return current;
+    }
+
+    private Long min(Long current, long value) {
+
+        if (current == null || value < current.longValue()) {
+            return Long.valueOf(value);
+        }
+
+        return current;
+    }
+
+    private Timestamp max(Timestamp current, Timestamp value) {
+
+        if (current == null || value.after(current)) {
+            return value;
+        }
+
+        return current;
+    }
+
+    private Timestamp min(Timestamp current, Timestamp value) {
+
+        if (current == null || value.before(current)) {
+            return value;
+        }
+
+        return current;
+    }
+
+    /*
+     * Parses the where clause with SQLJEP and splits the parse tree into the
+     * predicates, that are connected by AND at the top level. Returns an empty
+     * list, if the where clause cannot be parsed. The filter is evaluated
+     * locally in that case, which reports the error.
+     */
+    private List<WhereClausePredicate> parsePredicates(String clause) {
+
+        List<WhereClausePredicate> result = new ArrayList<WhereClausePredicate>();
+
+        try {
+
+            PlannerJEP jep = new PlannerJEP(clause);
+            jep.parse();
+            if (jep.getTopNode() == null) {
+                return result;
+            }
+
+            List<Node> conjuncts = new ArrayList<Node>();
+            addConjuncts(conjuncts, jep.getTopNode());
+
+            for (Node conjunct : conjuncts) {
+                WhereClausePredicate predicate = createPredicate(jep, conjunct);
+                if (predicate != null) {
+                    result.add(predicate);
+                }
+            }
+
+        } catch (ParseException e) {
+            result.clear();
+        }
+
+        return result;
+    }
+
+    /*
+     * Collects the operands of nested AND nodes. Any other node, including
+     * OR, is a conjunct of its own, which is ignored later on, if it is not a
+     * simple predicate.
+     */
+    private void addConjuncts(List<Node> conjuncts, Node node) {
+
+        if (node instanceof ASTFunNode && ((ASTFunNode)node).getPFMC() instanceof LogicalAND) {
+            for (int i = 0; i < node.jjtGetNumChildren(); i++) {
+                addConjuncts(conjuncts, node.jjtGetChild(i));
+            }
+            return;
+        }
+
+        conjuncts.add(node);
+    }
+
+    /*
+     * Creates predicates of the forms 'COL op literal', 'literal op COL',
+     * 'COL IN (literal, ...)' and 'COL BETWEEN literal AND literal'.
+     */
+    private WhereClausePredicate createPredicate(PlannerJEP jep, Node node) throws ParseException {
+
+        if (!(node instanceof ASTFunNode)) {
+            return null;
+        }
+
+        PostfixCommandI function = ((ASTFunNode)node).getPFMC();
+
+        if (function instanceof In) {
+            if (node.jjtGetNumChildren() != 2 || !(node.jjtGetChild(1) instanceof ASTArray)) {
+                return null;
+            }
+            return createPredicate(jep, node.jjtGetChild(0), Operator.IN, getChildren(node.jjtGetChild(1)));
+        }
+
+        if (function instanceof Between) {
+            if (node.jjtGetNumChildren() != 3) {
+                return null;
+            }
+            return createPredicate(jep, node.jjtGetChild(0), Operator.BETWEEN, getChildren(node, 1));
+        }
+
+        Operator operator = getOperator(function);
+        if (operator == null || node.jjtGetNumChildren() != 2) {
+            return null;
+        }
+
+        if (node.jjtGetChild(0) instanceof ASTVarNode) {
+            return createPredicate(jep, node.jjtGetChild(0), operator, getChildren(node, 1));
+        }
+
+        return createPredicate(jep, node.jjtGetChild(1), swap(operator), getChildren(node, 0, 1));
+    }
+
+    private WhereClausePredicate createPredicate(PlannerJEP jep, Node columnNode, Operator operator, List<Node> valueNodes)
+        throws ParseException {
+
+        String column = jep.getColumnName(columnNode);
+        if (column == null || valueNodes.isEmpty()) {
+            return null;
+        }
+
+        String[] values = new String[valueNodes.size()];
+        boolean[] isString = new boolean[valueNodes.size()];
+        for (int i = 0; i < values.length; i++) {
+            Comparable<?> value = jep.getConstantValue(valueNodes.get(i));
+            if (value instanceof String) {
+                values[i] = (String)value;
+                isString[i] = true;
+            } else if (value instanceof BigDecimal) {
+                values[i] = ((BigDecimal)value).toPlainString();
+            } else if (value instanceof Long || value instanceof Integer) {
+                values[i] = value.toString();
+            } else {
+                return null;
+            }
+        }
+
+        return new WhereClausePredicate(column, operator, values, isString, getText(column, operator, values, isString));
+    }
+
+    private List<Node> getChildren(Node node) {
+        return getChildren(node, 0, node.jjtGetNumChildren());
+    }
+
+    private List<Node> getChildren(Node node, int fromIndex) {
+        return getChildren(node, fromIndex, node.jjtGetNumChildren());
+    }
+
+    private List<Node> getChildren(Node node, int fromIndex, int toIndex) {
+
+        List<Node> children = new ArrayList<Node>();
+        for (int i = fromIndex; i < toIndex; i++) {
+            children.add(node.jjtGetChild(i));
+        }
+
+        return children;
+    }
+
+    private Operator getOperator(PostfixCommandI function) {
+
+        if (function instanceof ComparativeEQ) {
+            return Operator.EQ;
+        } else if (function instanceof ComparativeNE) {
+            return Operator.NE;
+        } else if (function instanceof ComparativeLT) {
+            return Operator.LT;
+        } else if (function instanceof ComparativeLE) {
+            return Operator.LE;
+        } else if (function instanceof ComparativeGT) {
+            return Operator.GT;
+        } else if (function instanceof ComparativeGE) {
+            return Operator.GE;
+        }
+
+        return null;
+    }
+
+    /*
+     * Returns the operator of 'COL op literal' for 'literal op COL'.
+     */
+    private Operator swap(Operator operator) {
+
+        switch (operator) {
+        case LT:
+            return Operator.GT;
+        case LE:
+            return Operator.GE;
+        case GT:
+            return Operator.LT;
+        case GE:
+            return Operator.LE;
+        default:
+            return operator;
+        }
+    }
+
+    private String getText(String column, Operator operator, String[] values, boolean[] isString) {
+
+        StringBuilder text = new StringBuilder();
+        text.append(column);
+        text.append(" "); //$NON-NLS-1$
+        text.append(operator.sql());
+        text.append(" "); //$NON-NLS-1$
+
+        if (operator == Operator.IN) {
+            text.append("("); //$NON-NLS-1$
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                if (operator == Operator.BETWEEN) {
+                    text.append(" AND "); //$NON-NLS-1$
+                } else {
+                    text.append(", "); //$NON-NLS-1$
+                }
+            }
+            if (isString[i]) {
+                text.append("'"); //$NON-NLS-1$
+                text.append(values[i].replaceAll("'", "''")); //$NON-NLS-1$ //$NON-NLS-2$
+                text.append("'"); //$NON-NLS-1$
+            } else {
+                text.append(values[i]);
+            }
+        }
+
+        if (operator == Operator.IN) {
+            text.append(")"); //$NON-NLS-1$
+        }
+
+        return text.toString();
+    }
+
+    /**
+     * SQLJEP expression, that is only parsed, but never evaluated against a
+     * journal entry. The basic columns of a journal entry are mapped to
+     * distinct indexes, because some columns share an index in
+     * {@link JournalEntry#getBasicColumnMapping()}. All other names, such as
+     * record specific fields, are parsed as variables without a value.
+     */
+    private static class PlannerJEP extends BaseJEP {
+
+        private List<String> columnNames;
+
+        public PlannerJEP(String expression) {
+            super(expression);
+
+            this.columnNames = new ArrayList<String>();
+        }
+
+        public void parse() throws ParseException {
+            parseExpression();
+        }
+
+        @Override
+        public int findColumn(String name) {
+
+            if (!isColumn(name)) {
+                return -1;
+            }
+
+            String columnName = name.toUpperCase();
+            int index = columnNames.indexOf(columnName);
+            if (index < 0) {
+                index = columnNames.size();
+                columnNames.add(columnName);
+            }
+
+            return index;
+        }
+
+        @Override
+        public Map.Entry<String, Comparable<?>> getVariable(String name) throws ParseException {
+
+            if (isColumn(name)) {
+                return null;
+            }
+
+            return new NullValueVariable(name);
+        }
+
+        @Override
+        public Comparable<?> getColumnObject(int index) throws ParseException {
+            throw new ParseException("Column values are not available."); //$NON-NLS-1$
+        }
+
+        /*
+         * Returns the name of the column of the specified node or null, if the
+         * node is not a basic column of a journal entry.
+         */
+        public String getColumnName(Node node) {
+
+            if (!(node instanceof ASTVarNode) || ((ASTVarNode)node).variable != null) {
+                return null;
+            }
+
+            return columnNames.get(((ASTVarNode)node).index);
+        }
+
+        /*
+         * Returns the value of a node, that does not reference a column or
+         * variable, such as a literal or a negative number. Returns null for
+         * all other nodes.
+         */
+        public Comparable<?> getConstantValue(Node node) throws ParseException {
+
+            if (!isConstant(node)) {
+                return null;
+            }
+
+            node.jjtAccept(this, null);
+
+            return runtime.stack.pop();
+        }
+
+        private boolean isColumn(String name) {
+            return JournalEntry.getBasicColumnMapping().containsKey(name.toUpperCase());
+        }
+
+        private boolean isConstant(Node node) {
+
+            if (node instanceof ASTVarNode || node instanceof ASTArray) {
+                return false;
+            }
+
+            for (int i = 0; i < node.jjtGetNumChildren(); i++) {
+                if (!isConstant(node.jjtGetChild(i))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
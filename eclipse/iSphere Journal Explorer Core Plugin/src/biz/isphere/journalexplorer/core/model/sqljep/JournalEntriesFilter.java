@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2022 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.journalexplorer.core.model.sqljep;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.medfoster.sqljep.ParseException;
+
+import biz.isphere.journalexplorer.core.Messages;
+import biz.isphere.journalexplorer.core.model.JournalEntry;
+import biz.isphere.journalexplorer.core.model.SQLWhereClause;
+
+/**
+ * Filter engine, that applies a SQL where clause to a list of journal entries.
+ * <p>
+ * The list is split into contiguous partitions that are evaluated
+ * concurrently. Each partition uses its own {@link WhereClauseEvaluator},
+ * which compiles the where clause once per record layout. The order of the
+ * journal entries is retained.
+ */
+public class JournalEntriesFilter {
+
+    /**
+     * Lists smaller than this value are filtered on the calling thread.
+     */
+    private static final int MIN_PARALLEL_SIZE = 2000;
+
+    /**
+     * Number of entries processed by a worker between two updates of the
+     * progress counter.
+     */
+    private static final int CHECK_ABORTED_INTERVAL = 500;
+
+    private static final long PROGRESS_INTERVAL_MILLIS = 250;
+
+    private SQLWhereClause whereClause;
+    private int numThreads;
+
+    public JournalEntriesFilter(SQLWhereClause whereClause) {
+        this(whereClause, Runtime.getRuntime().availableProcessors());
+    }
+
+    public JournalEntriesFilter(SQLWhereClause whereClause, int numThreads) {
+
+        this.whereClause = whereClause;
+        this.numThreads = Math.max(1, numThreads);
+    }
+
+    /**
+     * Returns the journal entries that match the where clause.
+     *
+     * @param journalEntries - journal entries that are filtered
+     * @param monitor - progress monitor or <code>null</code>
+     * @return list of matching journal entries
+     * @throws ParseException
+     */
+    public List<JournalEntry> filter(List<JournalEntry> journalEntries, IProgressMonitor monitor) throws ParseException {
+
+        int numPartitions = Math.min(numThreads, journalEntries.size() / (MIN_PARALLEL_SIZE / 2));
+        if (numPartitions <= 1) {
+            return filterSequentially(journalEntries, monitor);
+        }
+
+        return filterConcurrently(journalEntries, numPartitions, monitor);
+    }
+
+    private List<JournalEntry> filterSequentially(List<JournalEntry> journalEntries, IProgressMonitor monitor) throws ParseException {
+
+        List<JournalEntry> filteredJournalEntries = new ArrayList<JournalEntry>(journalEntries.size());
+
+        WhereClauseEvaluator evaluator = new WhereClauseEvaluator(whereClause);
+
+        int count = 0;
+        for (JournalEntry journalEntry : journalEntries) {
+
+            count++;
+
+            if (monitor != null && count % 50 == 0) {
+                setTaskName(monitor, count);
+            }
+
+            if (evaluator.evaluate(journalEntry)) {
+                filteredJournalEntries.add(journalEntry);
+            }
+        }
+
+        return filteredJournalEntries;
+    }
+
+    private List<JournalEntry> filterConcurrently(List<JournalEntry> journalEntries, int numPartitions, IProgressMonitor monitor)
+        throws ParseException {
+
+        AtomicInteger count = new AtomicInteger();
+        AtomicInteger aborted = new AtomicInteger();
+
+        List<Future<List<JournalEntry>>> partitions = new ArrayList<Future<List<JournalEntry>>>(numPartitions);
+
+        ExecutorService executor = Executors.newFixedThreadPool(numPartitions);
+
+        try {
+
+            int size = journalEntries.size();
+            int partitionSize = (size + numPartitions - 1) / numPartitions;
+            for (int fromIndex = 0; fromIndex < size; fromIndex += partitionSize) {
+                int toIndex = Math.min(size, fromIndex + partitionSize);
+                partitions.add(executor.submit(new Partition(journalEntries.subList(fromIndex, toIndex), count, aborted)));
+            }
+
+            List<JournalEntry> filteredJournalEntries = new ArrayList<JournalEntry>(size);
+
+            for (Future<List<JournalEntry>> partition : partitions) {
+                filteredJournalEntries.addAll(waitFor(partition, count, aborted, monitor));
+            }
+
+            return filteredJournalEntries;
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<JournalEntry> waitFor(Future<List<JournalEntry>> partition, AtomicInteger count, AtomicInteger aborted, IProgressMonitor monitor)
+        throws ParseException {
+
+        while (true) {
+            try {
+
+                return partition.get(PROGRESS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+            } catch (TimeoutException e) {
+                if (monitor != null) {
+                    setTaskName(monitor, count.get());
+                }
+            } catch (InterruptedException e) {
+                aborted.set(1);
+                Thread.currentThread().interrupt();
+                return new ArrayList<JournalEntry>();
+            } catch (ExecutionException e) {
+                aborted.set(1);
+                if (e.getCause() instanceof ParseException) {
+                    throw (ParseException)e.getCause();
+                } else if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException)e.getCause();
+                }
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+
+    private void setTaskName(IProgressMonitor monitor, int count) {
+        monitor.setTaskName(Messages.Status_Filtering_journal_entries + "(" + count + ")"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    private class Partition implements Callable<List<JournalEntry>> {
+
+        private List<JournalEntry> journalEntries;
+        private AtomicInteger count;
+        private AtomicInteger aborted;
+
+        public Partition(List<JournalEntry> journalEntries, AtomicInteger count, AtomicInteger aborted) {
+            this.journalEntries = journalEntries;
+            this.count = count;
+            this.aborted = aborted;
+        }
+
+        public List<JournalEntry> call() throws Exception {
+
+            List<JournalEntry> filteredJournalEntries = new ArrayList<JournalEntry>(journalEntries.size());
+
+            WhereClauseEvaluator evaluator = new WhereClauseEvaluator(whereClause);
+
+            int processed = 0;
+            for (JournalEntry journalEntry : journalEntries) {
+
+                if (evaluator.evaluate(journalEntry)) {
+                    filteredJournalEntries.add(journalEntry);
+                }
+
+                processed++;
+                if (processed % CHECK_ABORTED_INTERVAL == 0) {
+                    count.addAndGet(CHECK_ABORTED_INTERVAL);
+                    if (aborted.get() != 0) {
+                        break;
+                    }
+                }
+            }
+
+            return filteredJournalEntries;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2022 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.journalexplorer.core.model.sqljep;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.medfoster.sqljep.ParseException;
+
+import biz.isphere.core.sqljep.CompiledPredicate;
+import biz.isphere.core.sqljep.PredicateCache;
+import biz.isphere.journalexplorer.core.model.JournalEntry;
+import biz.isphere.journalexplorer.core.model.SQLWhereClause;
+
+/**
+ * Class to evaluate a SQL where clause against journal entries. The where
+ * clause is compiled once per record layout (column mapping) and the compiled
+ * predicate is reused for all journal entries of the same layout. Compiled
+ * predicates are taken from the shared {@link PredicateCache}.
+ * <p>
+ * The predicates of the record layouts seen by an evaluator are kept in an
+ * unsynchronized map. Therefore an evaluator must not be shared between
+ * threads. Use one evaluator per thread instead.
+ */
+public class WhereClauseEvaluator {
+
+    private SQLWhereClause whereClause;
+    private Map<HashMap<String, Integer>, CompiledPredicate<JournalEntry>> compiledExpressions;
+
+    private int numCompiled;
+
+    public WhereClauseEvaluator(SQLWhereClause whereClause) {
+
+        this.whereClause = whereClause;
+        this.compiledExpressions = new HashMap<HashMap<String, Integer>, CompiledPredicate<JournalEntry>>();
+        this.numCompiled = 0;
+    }
+
+    /**
+     * Returns <code>true</code> when the specified journal entry matches the
+     * where clause, else <code>false</code>.
+     *
+     * @param journalEntry - journal entry that is evaluated
+     * @return <code>true</code>, if the journal entry matches the where clause
+     * @throws ParseException
+     */
+    public boolean evaluate(JournalEntry journalEntry) throws ParseException {
+
+        if (whereClause.hasSpecificFields() && tableDoesNotMatch(journalEntry)) {
+            // Always not found, when the where clause includes record
+            // specific fields and the table does not match.
+            return false;
+        }
+
+        // Compare JO* and record specific fields
+        CompiledPredicate<JournalEntry> predicate = getCompiledExpression(journalEntry.getColumnMapping());
+
+        return predicate.matches(journalEntry);
+    }
+
+    /**
+     * Returns the number of times the where clause has been compiled, which is
+     * the number of distinct record layouts seen by this evaluator.
+     *
+     * @return number of compiled expressions
+     */
+    public int getNumCompiled() {
+        return numCompiled;
+    }
+
+    private CompiledPredicate<JournalEntry> getCompiledExpression(HashMap<String, Integer> columnMapping) throws ParseException {
+
+        CompiledPredicate<JournalEntry> predicate = compiledExpressions.get(columnMapping);
+        if (predicate == null) {
+            predicate = PredicateCache.getInstance().getPredicate(whereClause.getClause(), columnMapping, JournalEntry.getColumnAccessor());
+            compiledExpressions.put(columnMapping, predicate);
+            numCompiled++;
+        }
+
+        return predicate;
+    }
+
+    private boolean tableDoesNotMatch(JournalEntry journalEntry) {
+
+        if (!whereClause.getFile().equals(journalEntry.getObjectName()) || !whereClause.getLibrary().equals(journalEntry.getObjectLibrary())) {
+            return true;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.journalexplorer.core.model.sqljep;
+
+/**
+ * Simple predicate of a SQL where clause, that compares a column with one or
+ * more literal values, such as <code>JOCODE = 'R'</code>,
+ * <code>JOENTT IN ('PT', 'UP')</code> or
+ * <code>JOSEQN BETWEEN 100 AND 200</code>.
+ */
+public class WhereClausePredicate {
+
+    public enum Operator {
+        EQ ("="),
+        NE ("<>"),
+        LT ("<"),
+        LE ("<="),
+        GT (">"),
+        GE (">="),
+        IN ("IN"),
+        BETWEEN ("BETWEEN");
+
+        private String sql;
+
+        private Operator(String sql) {
+            this.sql = sql;
+        }
+
+        public String sql() {
+            return sql;
+        }
+    }
+
+    private String column;
+    private Operator operator;
+    private String[] values;
+    private boolean[] isString;
+    private String text;
+
+    /**
+     * Produces a new predicate.
+     *
+     * @param column - name of the column
+     * @param operator - comparison operator
+     * @param values - unquoted literal values
+     * @param isString - specifies for each value, whether it has been a
+     *        quoted string literal
+     * @param text - text of the predicate as it appeared in the where clause
+     */
+    public WhereClausePredicate(String column, Operator operator, String[] values, boolean[] isString, String text) {
+        this.column = column.toUpperCase();
+        this.operator = operator;
+        this.values = values;
+        this.isString = isString;
+        this.text = text;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public String[] getValues() {
+        return values;
+    }
+
+    public String getValue() {
+        return values[0];
+    }
+
+    public boolean isString(int index) {
+        return isString[index];
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -85,6 +85,14 @@ public final class Preferences {
 
     public static final String DYNAMIC_BUFFER_SIZE = LIMITATIONS + "DYNAMIC_BUFFER_SIZE"; //$NON-NLS-1$
 
+    public static final String PIPELINED_RETRIEVAL = LIMITATIONS + "PIPELINED_RETRIEVAL"; //$NON-NLS-1$
+
+    public static final String PERSIST_META_DATA = LIMITATIONS + "PERSIST_META_DATA"; //$NON-NLS-1$
+
+    public static final String LIVE_TAIL_INTERVAL = LIMITATIONS + "LIVE_TAIL_INTERVAL"; //$NON-NLS-1$
+
+    public static final String LIVE_TAIL_MAX_ENTRIES = LIMITATIONS + "LIVE_TAIL_MAX_ENTRIES"; //$NON-NLS-1$
+
     public static final String LOAD_JOURNAL_ENTRIES = DOMAIN + "LOAD_JOURNAL_ENTRIES."; //$NON-NLS-1$
 
     public static final String EXPORT_JOURNAL_ENTRIES = DOMAIN + "EXPORT_JOURNAL_ENTRIES."; //$NON-NLS-1$
@@ -236,6 +244,31 @@ public final class Preferences {
         return preferenceStore.getBoolean(DYNAMIC_BUFFER_SIZE);
     }
 
+    public boolean isRetrieveJournalEntriesPipelined() {
+
+        return preferenceStore.getBoolean(PIPELINED_RETRIEVAL);
+    }
+
+    public boolean isPersistMetaData() {
+
+        return preferenceStore.getBoolean(PERSIST_META_DATA);
+    }
+
+    public int getLiveTailInterval() {
+
+        int interval = preferenceStore.getInt(LIVE_TAIL_INTERVAL);
+        if (interval <= 0) {
+            interval = getInitialLiveTailInterval();
+        }
+
+        return interval;
+    }
+
+    public int getLiveTailMaximumNumberOfEntries() {
+
+        return preferenceStore.getInt(LIVE_TAIL_MAX_ENTRIES);
+    }
+
     public String getExportPath() {
 
         return preferenceStore.getString(EXPORT_PATH);
@@ -302,6 +335,22 @@ public final class Preferences {
         preferenceStore.setValue(DYNAMIC_BUFFER_SIZE, enabled);
     }
 
+    public void setRetrieveJournalEntriesPipelined(boolean enabled) {
+        preferenceStore.setValue(PIPELINED_RETRIEVAL, enabled);
+    }
+
+    public void setPersistMetaData(boolean enabled) {
+        preferenceStore.setValue(PERSIST_META_DATA, enabled);
+    }
+
+    public void setLiveTailInterval(int seconds) {
+        preferenceStore.setValue(LIVE_TAIL_INTERVAL, seconds);
+    }
+
+    public void setLiveTailMaximumNumberOfEntries(int maxNumEntries) {
+        preferenceStore.setValue(LIVE_TAIL_MAX_ENTRIES, maxNumEntries);
+    }
+
     public void setExportPath(String exportPath) {
 
         preferenceStore.setValue(EXPORT_PATH, exportPath);
@@ -422,6 +471,10 @@ public final class Preferences {
         preferenceStore.setDefault(MAX_NUM_ROWS_TO_FETCH, getInitialMaximumNumberOfRowsToFetch());
         preferenceStore.setDefault(BUFFER_SIZE, getInitialRetrieveJournalEntriesBufferSize());
         preferenceStore.setDefault(DYNAMIC_BUFFER_SIZE, getInitialRetrieveJournalEntriesIsDynamicBufferSize());
+        preferenceStore.setDefault(PIPELINED_RETRIEVAL, getInitialRetrieveJournalEntriesIsPipelined());
+        preferenceStore.setDefault(PERSIST_META_DATA, getInitialPersistMetaData());
+        preferenceStore.setDefault(LIVE_TAIL_INTERVAL, getInitialLiveTailInterval());
+        preferenceStore.setDefault(LIVE_TAIL_MAX_ENTRIES, getInitialLiveTailMaximumNumberOfEntries());
 
         preferenceStore.setDefault(EXPORT_PATH, getInitialExportPath());
         preferenceStore.setDefault(EXPORT_FILE_EXCEL, getInitialExportFileExcel());
@@ -541,6 +594,22 @@ public final class Preferences {
         return false;
     }
 
+    public boolean getInitialRetrieveJournalEntriesIsPipelined() {
+        return false;
+    }
+
+    public boolean getInitialPersistMetaData() {
+        return false;
+    }
+
+    public int getInitialLiveTailInterval() {
+        return 5;
+    }
+
+    public int getInitialLiveTailMaximumNumberOfEntries() {
+        return 50000;
+    }
+
     public String getInitialExportPath() {
         return FileHelper.getDefaultRootDirectory();
     }
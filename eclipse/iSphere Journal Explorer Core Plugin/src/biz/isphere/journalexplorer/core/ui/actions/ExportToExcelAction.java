@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012-2017 iSphere Project Owners
+ * Copyright (c) 2012-2023 iSphere Project Owners
  * All rights reserved. This program and the accompanying materials 
  * are made available under the terms of the Common Public License v1.0
  * which accompanies this distribution, and is available at
@@ -26,6 +26,7 @@ import org.eclipse.ui.progress.UIJob;
 
 import biz.isphere.base.internal.ExceptionHelper;
 import biz.isphere.base.internal.FileHelper;
+import biz.isphere.core.spreadsheet.SpreadsheetWriter;
 import biz.isphere.core.swt.widgets.WidgetFactory;
 import biz.isphere.core.swt.widgets.extension.point.IFileDialog;
 import biz.isphere.journalexplorer.core.ISphereJournalExplorerCorePlugin;
@@ -90,8 +91,8 @@ public class ExportToExcelAction extends Action {
     private void performExportToExcel() {
 
         IFileDialog dialog = WidgetFactory.getFileDialog(shell, SWT.SAVE);
-        dialog.setFilterNames(new String[] { "Excel Files", FileHelper.getAllFilesText() }); //$NON-NLS-1$ //$NON-NLS-2$
-        dialog.setFilterExtensions(new String[] { "*.xls", FileHelper.getAllFilesFilter() }); //$NON-NLS-1$ //$NON-NLS-2$
+        dialog.setFilterNames(SpreadsheetWriter.getFilterNames());
+        dialog.setFilterExtensions(SpreadsheetWriter.getFilterExtensions());
         dialog.setFilterPath(Preferences.getInstance().getExportPath());
         dialog.setFileName(Preferences.getInstance().getExportFileExcel()); //$NON-NLS-1$
         dialog.setOverwrite(true);
@@ -110,14 +111,16 @@ public class ExportToExcelAction extends Action {
         Job exportJob = new Job(Messages.Exporting_to_Excel) {
 
             @Override
-            protected IStatus run(IProgressMonitor arg0) {
+            protected IStatus run(IProgressMonitor monitor) {
 
                 UIJob displayResultJob = null;
 
                 try {
 
                     ExcelExporter exporter = new ExcelExporter();
-                    exporter.export(shell, columns, selectedItems, exportPath);
+                    if (exporter.export(shell, columns, selectedItems, exportPath, monitor) == null) {
+                        return Status.CANCEL_STATUS;
+                    }
 
                     displayResultJob = new UIJob(Messages.Display_Export_Result) {
                         @Override
@@ -21,12 +21,14 @@ import org.eclipse.ui.progress.UIJob;
 
 import biz.isphere.base.internal.ExceptionHelper;
 import biz.isphere.base.internal.FileHelper;
-import biz.isphere.core.json.JsonExporter;
+import biz.isphere.core.json.JsonStreamExporter;
 import biz.isphere.core.swt.widgets.WidgetFactory;
 import biz.isphere.core.swt.widgets.extension.point.IFileDialog;
 import biz.isphere.journalexplorer.core.ISphereJournalExplorerCorePlugin;
 import biz.isphere.journalexplorer.core.Messages;
 import biz.isphere.journalexplorer.core.model.JournalEntries;
+import biz.isphere.journalexplorer.core.model.JournalEntry;
+import biz.isphere.journalexplorer.core.model.SQLWhereClause;
 import biz.isphere.journalexplorer.core.preferences.Preferences;
 
 public class SaveJournalEntriesAction extends Action {
@@ -64,9 +66,17 @@ public class SaveJournalEntriesAction extends Action {
             return;
         }
 
+        SQLWhereClause pushedDownClause = selectedItems.getPushedDownClause();
+        if (pushedDownClause != null) {
+            if (!MessageDialog.openQuestion(shell, Messages.Warning,
+                Messages.bind(Messages.Only_journal_entries_matching_filter_A_loaded_Save_anyway, pushedDownClause.getClause()))) {
+                return;
+            }
+        }
+
         IFileDialog dialog = WidgetFactory.getFileDialog(shell, SWT.SAVE);
-        dialog.setFilterNames(new String[] { "Json Files", FileHelper.getAllFilesText() }); //$NON-NLS-1$
-        dialog.setFilterExtensions(new String[] { "*.json", FileHelper.getAllFilesFilter() }); //$NON-NLS-1$
+        dialog.setFilterNames(new String[] { "Json Files", "Json Files (gzip)", FileHelper.getAllFilesText() }); //$NON-NLS-1$ //$NON-NLS-2$
+        dialog.setFilterExtensions(new String[] { "*.json", "*.json.gz", FileHelper.getAllFilesFilter() }); //$NON-NLS-1$ //$NON-NLS-2$
         dialog.setFilterPath(Preferences.getInstance().getExportPath());
         dialog.setFileName(Preferences.getInstance().getExportFileJson());
         dialog.setOverwrite(true);
@@ -87,8 +97,11 @@ public class SaveJournalEntriesAction extends Action {
 
                 try {
 
-                    JsonExporter<JournalEntries> exporter = new JsonExporter<JournalEntries>();
-                    exporter.execute(shell, selectedItems, exportPath);
+                    JsonStreamExporter<JournalEntries, JournalEntry> exporter = new JsonStreamExporter<JournalEntries, JournalEntry>(
+                        JournalEntry.class, "journalEntries"); //$NON-NLS-1$
+                    if (exporter.execute(selectedItems, selectedItems.getUnfilteredItems(), exportPath, arg0) == null) {
+                        return Status.CANCEL_STATUS;
+                    }
 
                     displayResultJob = new UIJob(Messages.Display_Export_Result) {
                         @Override
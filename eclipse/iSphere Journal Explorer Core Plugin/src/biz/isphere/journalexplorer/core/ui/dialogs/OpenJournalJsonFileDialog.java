@@ -222,8 +222,8 @@ public class OpenJournalJsonFileDialog extends XDialog {
             @Override
             public void widgetSelected(SelectionEvent e) {
                 IFileDialog dialog = WidgetFactory.getFileDialog(getShell(), SWT.OPEN);
-                dialog.setFilterNames(new String[] { "Json Files", FileHelper.getAllFilesText() }); //$NON-NLS-1$
-                dialog.setFilterExtensions(new String[] { "*.json", FileHelper.getAllFilesFilter() }); //$NON-NLS-1$
+                dialog.setFilterNames(new String[] { "Json Files", "Json Files (gzip)", FileHelper.getAllFilesText() }); //$NON-NLS-1$ //$NON-NLS-2$
+                dialog.setFilterExtensions(new String[] { "*.json", "*.json.gz", FileHelper.getAllFilesFilter() }); //$NON-NLS-1$ //$NON-NLS-2$
 
                 dialog.setFilterPath(Preferences.getInstance().getExportPath());
                 dialog.setFileName(Preferences.getInstance().getExportFileJson());
@@ -31,6 +31,7 @@ import biz.isphere.base.internal.IntHelper;
 import biz.isphere.core.swt.widgets.WidgetFactory;
 import biz.isphere.journalexplorer.core.ISphereJournalExplorerCorePlugin;
 import biz.isphere.journalexplorer.core.Messages;
+import biz.isphere.journalexplorer.core.model.dao.BufferSizePolicy;
 import biz.isphere.journalexplorer.core.preferences.Preferences;
 import biz.isphere.journalexplorer.core.ui.model.JournalEntryAppearanceAttributes;
 import biz.isphere.journalexplorer.core.ui.widgets.JournalEntryAppearanceAttributesEditor;
@@ -42,6 +43,10 @@ public class JournalExplorerPreferencePage extends PreferencePage implements IWo
     private String defaultDate;
     private int maxNumRowsToFetch;
     private int bufferSize;
+    private boolean pipelinedRetrieval;
+    private boolean persistMetaData;
+    private int liveTailInterval;
+    private int liveTailMaxEntries;
     private boolean exportColumnHeadings;
 
     private Preferences preferences;
@@ -54,6 +59,10 @@ public class JournalExplorerPreferencePage extends PreferencePage implements IWo
     private Combo comboDefaultDate;
     private Text textMaxNumRowsToFetch;
     private Combo comboBufferSize;
+    private Button chkboxPipelinedRetrieval;
+    private Button chkboxPersistMetaData;
+    private Text textLiveTailInterval;
+    private Text textLiveTailMaxEntries;
     private Button chkboxEportColumnHeadings;
 
     public JournalExplorerPreferencePage() {
@@ -169,6 +178,71 @@ public class JournalExplorerPreferencePage extends PreferencePage implements IWo
             }
         });
         comboBufferSize.setItems(preferences.getRetrieveJournalEntriesBufferSizeLabels());
+
+        chkboxPipelinedRetrieval = WidgetFactory.createCheckbox(groupLimits, Messages.Pipelined_retrieval);
+        chkboxPipelinedRetrieval.setToolTipText(Messages.Pipelined_retrieval_tooltip);
+        chkboxPipelinedRetrieval.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 2, 1));
+        chkboxPipelinedRetrieval.addSelectionListener(new SelectionListener() {
+            public void widgetSelected(SelectionEvent event) {
+                pipelinedRetrieval = chkboxPipelinedRetrieval.getSelection();
+            }
+
+            public void widgetDefaultSelected(SelectionEvent event) {
+                widgetSelected(event);
+            }
+        });
+
+        chkboxPersistMetaData = WidgetFactory.createCheckbox(groupLimits, Messages.Persist_meta_data);
+        chkboxPersistMetaData.setToolTipText(Messages.Persist_meta_data_tooltip);
+        chkboxPersistMetaData.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 2, 1));
+        chkboxPersistMetaData.addSelectionListener(new SelectionListener() {
+            public void widgetSelected(SelectionEvent event) {
+                persistMetaData = chkboxPersistMetaData.getSelection();
+            }
+
+            public void widgetDefaultSelected(SelectionEvent event) {
+                widgetSelected(event);
+            }
+        });
+
+        Label labelLiveTailInterval = new Label(groupLimits, SWT.NONE);
+        labelLiveTailInterval.setText(Messages.Live_tail_interval);
+        labelLiveTailInterval.setToolTipText(Messages.Live_tail_interval_tooltip);
+
+        textLiveTailInterval = WidgetFactory.createDecimalText(groupLimits);
+        textLiveTailInterval.setToolTipText(Messages.Live_tail_interval_tooltip);
+        textLiveTailInterval.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+        textLiveTailInterval.setTextLimit(4);
+        textLiveTailInterval.addModifyListener(new ModifyListener() {
+
+            public void modifyText(ModifyEvent event) {
+                liveTailInterval = IntHelper.tryParseInt(textLiveTailInterval.getText(), preferences.getInitialLiveTailInterval());
+            }
+        });
+
+        Label labelLiveTailMaxEntries = new Label(groupLimits, SWT.NONE);
+        labelLiveTailMaxEntries.setText(Messages.Live_tail_maximum_number_of_entries);
+        labelLiveTailMaxEntries.setToolTipText(Messages.Live_tail_maximum_number_of_entries_tooltip);
+
+        textLiveTailMaxEntries = WidgetFactory.createDecimalText(groupLimits);
+        textLiveTailMaxEntries.setToolTipText(Messages.Live_tail_maximum_number_of_entries_tooltip);
+        textLiveTailMaxEntries.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
+        textLiveTailMaxEntries.setTextLimit(7);
+        textLiveTailMaxEntries.addModifyListener(new ModifyListener() {
+
+            public void modifyText(ModifyEvent event) {
+                liveTailMaxEntries = IntHelper.tryParseInt(textLiveTailMaxEntries.getText(),
+                    preferences.getInitialLiveTailMaximumNumberOfEntries());
+            }
+        });
+
+        Label labelRetriesSaved = new Label(groupLimits, SWT.NONE);
+        labelRetriesSaved.setText(Messages.Buffer_retries_saved);
+        labelRetriesSaved.setToolTipText(Messages.Buffer_retries_saved_tooltip);
+
+        Label labelRetriesSavedValue = new Label(groupLimits, SWT.NONE);
+        labelRetriesSavedValue.setText(Integer.toString(BufferSizePolicy.getInstance().getNumRetriesSaved()));
+        labelRetriesSavedValue.setToolTipText(Messages.Buffer_retries_saved_tooltip);
     }
 
     private void createGroupExcelExport(Composite container) {
@@ -219,6 +293,10 @@ public class JournalExplorerPreferencePage extends PreferencePage implements IWo
         preferences.setDefaultDateGUILabel(defaultDate);
         preferences.setMaximumNumberOfRowsToFetch(maxNumRowsToFetch);
         preferences.setRetrieveJournalEntriesBufferSize(bufferSize);
+        preferences.setRetrieveJournalEntriesPipelined(pipelinedRetrieval);
+        preferences.setPersistMetaData(persistMetaData);
+        preferences.setLiveTailInterval(liveTailInterval);
+        preferences.setLiveTailMaximumNumberOfEntries(liveTailMaxEntries);
         preferences.setExportColumnHeadings(exportColumnHeadings);
     }
 
@@ -230,6 +308,10 @@ public class JournalExplorerPreferencePage extends PreferencePage implements IWo
         defaultDate = preferences.getDefaultDateGUILabel();
         maxNumRowsToFetch = preferences.getMaximumNumberOfRowsToFetch();
         bufferSize = preferences.getRetrieveJournalEntriesBufferSize();
+        pipelinedRetrieval = preferences.isRetrieveJournalEntriesPipelined();
+        persistMetaData = preferences.isPersistMetaData();
+        liveTailInterval = preferences.getLiveTailInterval();
+        liveTailMaxEntries = preferences.getLiveTailMaximumNumberOfEntries();
         exportColumnHeadings = preferences.isExportColumnHeadings();
 
         setScreenValues();
@@ -243,6 +325,10 @@ public class JournalExplorerPreferencePage extends PreferencePage implements IWo
         defaultDate = preferences.getInitialDefaultDateGUILabel();
         maxNumRowsToFetch = preferences.getInitialMaximumNumberOfRowsToFetch();
         bufferSize = preferences.getInitialRetrieveJournalEntriesBufferSize();
+        pipelinedRetrieval = preferences.getInitialRetrieveJournalEntriesIsPipelined();
+        persistMetaData = preferences.getInitialPersistMetaData();
+        liveTailInterval = preferences.getInitialLiveTailInterval();
+        liveTailMaxEntries = preferences.getInitialLiveTailMaximumNumberOfEntries();
         exportColumnHeadings = preferences.getInitialExportColumnHeadings();
 
         setScreenValues();
@@ -259,6 +345,10 @@ public class JournalExplorerPreferencePage extends PreferencePage implements IWo
             bufferSizeLabel = Long.toString(bufferSize);
         }
         comboBufferSize.setText(bufferSizeLabel);
+        chkboxPipelinedRetrieval.setSelection(pipelinedRetrieval);
+        chkboxPersistMetaData.setSelection(persistMetaData);
+        textLiveTailInterval.setText(Integer.toString(liveTailInterval));
+        textLiveTailMaxEntries.setText(Integer.toString(liveTailMaxEntries));
         chkboxEportColumnHeadings.setSelection(exportColumnHeadings);
 
         setControlsEnablement();
@@ -59,6 +59,7 @@ import biz.isphere.journalexplorer.core.ui.actions.ConfigureParsersAction;
 import biz.isphere.journalexplorer.core.ui.actions.EditSqlAction;
 import biz.isphere.journalexplorer.core.ui.actions.ExportToExcelAction;
 import biz.isphere.journalexplorer.core.ui.actions.GenericRefreshAction;
+import biz.isphere.journalexplorer.core.ui.actions.LiveTailAction;
 import biz.isphere.journalexplorer.core.ui.actions.LoadJournalEntriesFromJsonFileAction;
 import biz.isphere.journalexplorer.core.ui.actions.LoadJournalEntriesFromOutputFileAction;
 import biz.isphere.journalexplorer.core.ui.actions.SaveJournalEntriesAction;
@@ -78,6 +79,7 @@ public class JournalExplorerView extends XViewPart implements ISelectionChangedL
     private ToggleHighlightUserEntriesAction toggleHighlightUserEntriesAction;
     private ConfigureParsersAction configureParsersAction;
     private GenericRefreshAction reloadEntriesAction;
+    private LiveTailAction liveTailAction;
 
     private LoadJournalEntriesFromJsonFileAction loadJournalEntriesAction;
     private SaveJournalEntriesAction saveJournalEntriesAction;
@@ -200,6 +202,17 @@ public class JournalExplorerView extends XViewPart implements ISelectionChangedL
             }
         };
 
+        liveTailAction = new LiveTailAction() {
+            @Override
+            protected void postRunAction() {
+                JournalExplorerTab tabItem = getSelectedViewer();
+                if (tabItem != null) {
+                    tabItem.setLiveTail(liveTailAction.isChecked(), JournalExplorerView.this);
+                }
+                updateStatusLine();
+            }
+        };
+
         loadJournalEntriesAction = new LoadJournalEntriesFromJsonFileAction(getShell());
         loadJournalEntriesAction.setEnabled(false);
 
@@ -286,6 +299,41 @@ public class JournalExplorerView extends XViewPart implements ISelectionChangedL
         updateStatusLine();
     }
 
+    /**
+     * Called by a tab, when the live tail mode has been stopped because of an
+     * error. Other than {@link #handleDataLoadException(CTabItem, Throwable)}
+     * the tab is not disposed, because it still contains valid data.
+     * 
+     * @param tabItem - tab whose live tail mode has been stopped
+     * @param e - the error
+     */
+    public void handleLiveTailException(JournalExplorerTab tabItem, Throwable e) {
+
+        if (e instanceof BufferTooSmallException) {
+            MessageDialog.openInformation(getShell(), Messages.DisplayJournalEntriesDialog_Title, e.getLocalizedMessage());
+        } else {
+            ISpherePlugin.logError("*** Error in method JournalExplorerView.handleLiveTailException() ***", e);
+            MessageDialog.openError(getShell(), Messages.E_R_R_O_R, ExceptionHelper.getLocalizedMessage(e));
+        }
+
+        if (tabItem == getSelectedViewer()) {
+            updateStatusLine();
+        }
+    }
+
+    /**
+     * Called by a tab, when new journal entries have been appended in live
+     * tail mode.
+     * 
+     * @param tabItem - tab whose journal entries have changed
+     */
+    public void finishLiveTailUpdate(JournalExplorerTab tabItem) {
+
+        if (tabItem == getSelectedViewer()) {
+            updateStatusLine();
+        }
+    }
+
     /**
      * Returns the tab folder.
      * 
@@ -374,6 +422,10 @@ public class JournalExplorerView extends XViewPart implements ISelectionChangedL
             message += " (" + Messages.subsetted_list + ")";
         }
 
+        if (tabItem.isLiveTail()) {
+            message += " (" + Messages.live_tail + ")";
+        }
+
         setStatusLineText(message);
         setActionEnablement(tabItem);
     }
@@ -408,6 +460,7 @@ public class JournalExplorerView extends XViewPart implements ISelectionChangedL
         toolBarManager.add(resetColumnSizeAction);
         toolBarManager.add(new Separator());
         toolBarManager.add(reloadEntriesAction);
+        toolBarManager.add(liveTailAction);
     }
 
     @Override
@@ -460,6 +513,14 @@ public class JournalExplorerView extends XViewPart implements ISelectionChangedL
             reloadEntriesAction.setEnabled(true);
         }
 
+        if (tabItem == null || tabItem.isLoading() || !tabItem.isLiveTailSupported()) {
+            liveTailAction.setEnabled(false);
+            liveTailAction.setChecked(false);
+        } else {
+            liveTailAction.setEnabled(true);
+            liveTailAction.setChecked(tabItem.isLiveTail());
+        }
+
         if (numEntries == 0) {
             exportToExcelAction.setColumns(null);
             exportToExcelAction.setEnabled(false);
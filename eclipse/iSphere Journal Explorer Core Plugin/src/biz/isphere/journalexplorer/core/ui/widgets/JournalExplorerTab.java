@@ -11,6 +11,7 @@
 
 package biz.isphere.journalexplorer.core.ui.widgets;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -44,6 +45,7 @@ import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Table;
 import org.medfoster.sqljep.ParseException;
 import org.medfoster.sqljep.RowJEP;
 
@@ -64,6 +66,7 @@ import biz.isphere.journalexplorer.core.helpers.TimeTaken;
 import biz.isphere.journalexplorer.core.internals.QualifiedName;
 import biz.isphere.journalexplorer.core.internals.SelectionProviderIntermediate;
 import biz.isphere.journalexplorer.core.model.AbstractJournalExplorerInput;
+import biz.isphere.journalexplorer.core.model.IJournalEntriesLoadListener;
 import biz.isphere.journalexplorer.core.model.JournalEntries;
 import biz.isphere.journalexplorer.core.model.JournalEntry;
 import biz.isphere.journalexplorer.core.model.JournalExplorerJournalInput;
@@ -118,6 +121,8 @@ public class JournalExplorerTab extends CTabItem
     private SqlEditor sqlEditor;
     private SQLWhereClause filterClause;
 
+    private LiveTailJob liveTailJob;
+
     public JournalExplorerTab(CTabFolder parent, SelectionListener loadJournalEntriesSelectionListener) {
         super(parent, SWT.NONE);
 
@@ -405,6 +410,12 @@ public class JournalExplorerTab extends CTabItem
         storeSqlEditorHistory();
         refreshSqlEditorHistory();
 
+        if (!getInputData().canApplyFilter(filterClause)) {
+            // Journal entries have been reduced by the previous filter.
+            refresh(view);
+            return;
+        }
+
         setEnabled(false);
 
         try {
@@ -451,6 +462,20 @@ public class JournalExplorerTab extends CTabItem
         tableViewer.setSelection(null);
     }
 
+    /**
+     * Displays the journal entries that have been loaded so far. The SQL editor
+     * stays disabled until all journal entries have been loaded.
+     */
+    private void setPartialInputData(JournalEntries data) {
+
+        if (this.data != data) {
+            setInputData(data);
+            setSqlEditorEnabled(false);
+        }
+
+        tableViewer.setItemCount(data.size());
+    }
+
     private void hideTableColumns(TableViewer tableViewer, JournalEntries data) {
 
         AbstractTypeViewerFactory factory = null;
@@ -495,6 +520,8 @@ public class JournalExplorerTab extends CTabItem
     @Override
     public void dispose() {
 
+        stopLiveTail();
+
         if (data != null) {
 
             data.clear();
@@ -580,12 +607,93 @@ public class JournalExplorerTab extends CTabItem
         validateWhereClause(getInput().getWhereClause());
         validateWhereClause(getFilterClause());
 
+        stopLiveTail();
         setEnabled(false);
 
         LoadJournalJob job = new LoadJournalJob(view, getInput(), getFilterClause(), getSelectedItems());
         job.schedule();
     }
 
+    /**
+     * Returns <code>true</code>, when the input of the tab can retrieve new
+     * journal entries in live tail mode.
+     * 
+     * @return <code>true</code>, when live tail is supported
+     */
+    public boolean isLiveTailSupported() {
+
+        if (getInput() == null || getInputData() == null) {
+            return false;
+        }
+
+        return getInput().isLiveTailSupported();
+    }
+
+    public boolean isLiveTail() {
+        return liveTailJob != null;
+    }
+
+    /**
+     * Starts or stops the live tail mode. In live tail mode the journal is
+     * periodically polled for journal entries, that have been added after the
+     * last journal entry of the tab. The new journal entries are appended to
+     * the list and the oldest journal entries are removed, when the maximum
+     * number of entries is exceeded.
+     * 
+     * @param enabled - <code>true</code> to start live tail mode
+     * @param view - view that displays the tab
+     */
+    public void setLiveTail(boolean enabled, JournalExplorerView view) {
+
+        if (!enabled) {
+            stopLiveTail();
+            return;
+        }
+
+        if (isLiveTail() || !isLiveTailSupported()) {
+            return;
+        }
+
+        liveTailJob = new LiveTailJob(view, getInput(), getInputData());
+        liveTailJob.schedule();
+    }
+
+    private void stopLiveTail() {
+
+        if (liveTailJob != null) {
+            liveTailJob.stop();
+            liveTailJob = null;
+        }
+    }
+
+    /**
+     * Appends the journal entries retrieved by the live tail job with a single
+     * update of the viewer. The viewer follows the new entries, unless the user
+     * has selected an entry.
+     */
+    private void appendLiveTailEntries(JournalEntries data, List<JournalEntry> newEntries, List<JournalEntry> newFilteredEntries,
+        SQLWhereClause whereClause) throws ParseException {
+
+        if (this.data != data) {
+            return;
+        }
+
+        Table table = tableViewer.getTable();
+        boolean isFollowing = table.getSelectionCount() == 0;
+
+        int maxNumEntries = Preferences.getInstance().getLiveTailMaximumNumberOfEntries();
+        int numRemoved = data.appendEntries(newEntries, newFilteredEntries, whereClause, maxNumEntries);
+
+        tableViewer.setItemCount(data.size());
+        if (numRemoved > 0) {
+            tableViewer.refresh();
+        }
+
+        if (isFollowing && data.size() > 0) {
+            table.setTopIndex(data.size() - 1);
+        }
+    }
+
     private JournalEntryLabelProvider getLabelProvider() {
         return (JournalEntryLabelProvider)tableViewer.getLabelProvider();
     }
@@ -766,7 +874,14 @@ public class JournalExplorerTab extends CTabItem
 
                 timeTaken = TimeTaken.start("1. Loading journal entries"); // //$NON-NLS-1$
 
-                final JournalEntries data = input.load(monitor);
+                IJournalEntriesLoadListener listener;
+                if (filterWhereClause == null || !filterWhereClause.hasClause()) {
+                    listener = new PartialDataListener();
+                } else {
+                    listener = null;
+                }
+
+                final JournalEntries data = input.load(monitor, listener, filterWhereClause);
 
                 timeTaken.stop(data.size());
 
@@ -831,27 +946,162 @@ public class JournalExplorerTab extends CTabItem
             return Status.OK_STATUS;
         }
 
-        private boolean isBufferTooSmallException(IBMiMessage[] messages) {
+        /**
+         * Collects the journal entries published by the loader in a
+         * {@link JournalEntries} object, that is only accessed by the UI
+         * thread. It is displayed until it is replaced by the journal entries
+         * returned by the loader.
+         */
+        private class PartialDataListener implements IJournalEntriesLoadListener {
 
-            for (IBMiMessage ibmiMessage : messages) {
-                if (BufferTooSmallException.ID.equals(ibmiMessage.getID())) {
-                    return true;
+            private JournalEntries partialData;
+
+            public void journalEntriesAdded(final OutputFile outputFile, final List<JournalEntry> newEntries) {
+
+                if (isDisposed()) {
+                    return;
                 }
+
+                getDisplay().asyncExec(new Runnable() {
+                    public void run() {
+                        if (!isDisposed()) {
+                            if (partialData == null) {
+                                partialData = new JournalEntries(outputFile, newEntries.size());
+                            }
+                            partialData.addAll(newEntries);
+                            setPartialInputData(partialData);
+                        }
+                    }
+                });
             }
+        }
 
-            return false;
+    }
+
+    /**
+     * Periodically retrieves the journal entries, that follow the last journal
+     * entry retrieved so far, and appends them to the journal entries of the
+     * tab.
+     */
+    private class LiveTailJob extends Job {
+
+        private JournalExplorerView view;
+        private AbstractJournalExplorerInput input;
+        private JournalEntries data;
+        private BigInteger lastSequenceNumber;
+        private volatile boolean isStopped;
+
+        public LiveTailJob(JournalExplorerView view, AbstractJournalExplorerInput input, JournalEntries data) {
+            super(Messages.Status_Tailing_journal_entries);
+
+            this.view = view;
+            this.input = input;
+            this.data = data;
+            this.lastSequenceNumber = data.getLastSequenceNumber();
+            this.isStopped = false;
+
+            setSystem(true);
+        }
+
+        public void stop() {
+            isStopped = true;
+            cancel();
+        }
+
+        public IStatus run(IProgressMonitor monitor) {
+
+            if (isStopped || monitor.isCanceled()) {
+                return Status.CANCEL_STATUS;
+            }
+
+            try {
+
+                JournalEntries newData = input.loadNewEntries(lastSequenceNumber, monitor);
+
+                IBMiMessage[] messages = newData.getMessages();
+                if (messages.length != 0) {
+                    if (isBufferTooSmallException(messages)) {
+                        throw new BufferTooSmallException();
+                    } else if (!isNoDataLoadedException(messages)) {
+                        throw new Exception("Error loading journal entries. \n" + messages[0].getID() + ": " + messages[0].getText());
+                    }
+                }
+
+                List<JournalEntry> retrievedEntries = newData.getUnfilteredItems();
+                if (!retrievedEntries.isEmpty() && !isStopped) {
+
+                    lastSequenceNumber = retrievedEntries.get(retrievedEntries.size() - 1).getSequenceNumber();
+
+                    final List<JournalEntry> newEntries = data.filterPushedDownEntries(retrievedEntries);
+                    final SQLWhereClause whereClause = data.getFilterClause();
+                    final List<JournalEntry> newFilteredEntries = data.filterNewEntries(newEntries, whereClause);
+
+                    if (!newEntries.isEmpty() && !isDisposed()) {
+                        getDisplay().asyncExec(new Runnable() {
+                            public void run() {
+                                if (isDisposed() || isStopped) {
+                                    return;
+                                }
+                                try {
+                                    appendLiveTailEntries(data, newEntries, newFilteredEntries, whereClause);
+                                    view.finishLiveTailUpdate(JournalExplorerTab.this);
+                                } catch (ParseException e) {
+                                    handleLiveTailException(e);
+                                }
+                            }
+                        });
+                    }
+                }
+
+                if (!isStopped) {
+                    schedule(Preferences.getInstance().getLiveTailInterval() * 1000L);
+                }
+
+            } catch (Throwable e) {
+                handleLiveTailException(e);
+            }
+
+            return Status.OK_STATUS;
         }
 
-        private boolean isNoDataLoadedException(IBMiMessage[] messages) {
+        private void handleLiveTailException(final Throwable e) {
+
+            if (isStopped || isDisposed()) {
+                return;
+            }
+
+            isStopped = true;
 
-            for (IBMiMessage ibmiMessage : messages) {
-                if (NoJournalEntriesLoadedException.ID.equals(ibmiMessage.getID())) {
-                    return true;
+            getDisplay().asyncExec(new Runnable() {
+                public void run() {
+                    if (!isDisposed() && liveTailJob == LiveTailJob.this) {
+                        liveTailJob = null;
+                        view.handleLiveTailException(JournalExplorerTab.this, e);
+                    }
                 }
+            });
+        }
+    }
+
+    private boolean isBufferTooSmallException(IBMiMessage[] messages) {
+
+        for (IBMiMessage ibmiMessage : messages) {
+            if (BufferTooSmallException.ID.equals(ibmiMessage.getID())) {
+                return true;
             }
+        }
 
-            return false;
+        return false;
+    }
+
+    private boolean isNoDataLoadedException(IBMiMessage[] messages) {
+
+        for (IBMiMessage ibmiMessage : messages) {
+            if (NoJournalEntriesLoadedException.ID.equals(ibmiMessage.getID())) {
+                return true;
+            }
         }
 
+        return false;
     }
 }
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.junit;
+
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import biz.isphere.joblogexplorer.model.JobLogMessage;
+import biz.isphere.jobtraceexplorer.core.model.JobTraceEntry;
+import biz.isphere.jobtraceexplorer.core.model.dao.ColumnsDAO;
+import biz.isphere.journalexplorer.core.model.JournalEntry;
+
+/**
+ * Produces the synthetic journal entries, job log messages and job trace
+ * entries, that are used by the tests of the filters.
+ */
+public final class JUnitEntryFactory {
+
+    public static final String[] JOURNAL_ENTRY_TYPES = new String[] { "PR", "NR", "SI", "JM" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+    public static final int FIRST_JOB_NUMBER = 400000;
+
+    public static final String[] JOB_LOG_SEVERITIES = new String[] { "00", "10", "30", "40" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+    private JUnitEntryFactory() {
+        // Helper, which must not be instantiated.
+    }
+
+    /**
+     * Produces journal entries with journal code 'J'. The entry types repeat
+     * {@link #JOURNAL_ENTRY_TYPES}. The job number of entry <i>i</i> is
+     * {@link #FIRST_JOB_NUMBER} + <i>i</i>.
+     */
+    public static List<JournalEntry> createJournalEntries(int count) {
+
+        long now = System.currentTimeMillis();
+
+        List<JournalEntry> journalEntries = new ArrayList<JournalEntry>(count);
+        for (int i = 0; i < count; i++) {
+            JournalEntry journalEntry = new JournalEntry(null);
+            journalEntry.setJournalCode("J"); //$NON-NLS-1$
+            journalEntry.setEntryType(JOURNAL_ENTRY_TYPES[i % JOURNAL_ENTRY_TYPES.length]);
+            journalEntry.setJobName("QPADEV0001"); //$NON-NLS-1$
+            journalEntry.setJobUserName("USER" + (i % 10)); //$NON-NLS-1$
+            journalEntry.setJobNumber(FIRST_JOB_NUMBER + i);
+            journalEntry.setObjectLibrary("QSYS"); //$NON-NLS-1$
+            journalEntry.setObjectName("JRN"); //$NON-NLS-1$
+            journalEntry.setMemberName(""); //$NON-NLS-1$
+            journalEntry.setTimestamp(new Timestamp(now + i));
+            journalEntry.setProgramName("PGM"); //$NON-NLS-1$
+            journalEntry.setProgramLibrary("*OMITTED"); //$NON-NLS-1$
+            journalEntry.setObjectType("*JRN"); //$NON-NLS-1$
+            journalEntry.setFileTypeIndicator(""); //$NON-NLS-1$
+            journalEntry.setSystemName("SYSTEM"); //$NON-NLS-1$
+            journalEntry.setReceiverName("JRNRCV"); //$NON-NLS-1$
+            journalEntry.setReceiverLibraryName("QSYS"); //$NON-NLS-1$
+            journalEntry.setUserProfile("USER"); //$NON-NLS-1$
+            journalEntry.setSequenceNumber(BigInteger.valueOf(i + 1));
+            journalEntry.setCommitmentCycle(BigInteger.ZERO);
+            journalEntry.setCountRrn(BigInteger.ZERO);
+            journalEntries.add(journalEntry);
+        }
+
+        return journalEntries;
+    }
+
+    /**
+     * Produces job log messages of 50 messages per page. The severities repeat
+     * {@link #JOB_LOG_SEVERITIES}. The messages are sent from the programs
+     * PGM0 to PGM6.
+     */
+    public static List<JobLogMessage> createJobLogMessages(int count) {
+
+        long now = System.currentTimeMillis();
+
+        List<JobLogMessage> messages = new ArrayList<JobLogMessage>(count);
+        for (int i = 0; i < count; i++) {
+            JobLogMessage message = new JobLogMessage(i / 50);
+            message.setId("CPF" + (1000 + i % 9000)); //$NON-NLS-1$
+            message.setType("Information"); //$NON-NLS-1$
+            message.setSeverity(JOB_LOG_SEVERITIES[i % JOB_LOG_SEVERITIES.length]);
+            message.setFromLibrary("QSYS"); //$NON-NLS-1$
+            message.setFromProgram("PGM" + (i % 7)); //$NON-NLS-1$
+            message.setFromModule("MODULE"); //$NON-NLS-1$
+            message.setFromProcedure("PROCEDURE"); //$NON-NLS-1$
+            message.setFromStatement("1000"); //$NON-NLS-1$
+            message.setToLibrary("QSYS"); //$NON-NLS-1$
+            message.setToProgram("PGM"); //$NON-NLS-1$
+            message.setToModule("MODULE"); //$NON-NLS-1$
+            message.setToProcedure("PROCEDURE"); //$NON-NLS-1$
+            message.setToStatement("2000"); //$NON-NLS-1$
+            message.setText("This is the message text."); //$NON-NLS-1$
+            message.setHelp("This is the message help text."); //$NON-NLS-1$
+            message.setTimestamp(new Timestamp(now + i));
+            messages.add(message);
+        }
+
+        return messages;
+    }
+
+    /**
+     * Produces job trace entries of the procedures PROC_0 to PROC_9 with call
+     * levels 0 to 4.
+     */
+    public static List<JobTraceEntry> createJobTraceEntries(int count) {
+
+        long now = System.currentTimeMillis();
+
+        List<JobTraceEntry> jobTraceEntries = new ArrayList<JobTraceEntry>(count);
+        for (int i = 0; i < count; i++) {
+            JobTraceEntry jobTraceEntry = new JobTraceEntry();
+            jobTraceEntry.setId(i + 1);
+            jobTraceEntry.setNanosSinceStarted(BigInteger.valueOf(i * 1000L));
+            jobTraceEntry.setTimestamp(new Timestamp(now + i));
+            jobTraceEntry.setProgramName("PGM"); //$NON-NLS-1$
+            jobTraceEntry.setProgramLibrary("QSYS"); //$NON-NLS-1$
+            jobTraceEntry.setModuleName("MODULE"); //$NON-NLS-1$
+            jobTraceEntry.setModuleLibrary("QSYS"); //$NON-NLS-1$
+            jobTraceEntry.setHLLStmtNbr(i % 500);
+            jobTraceEntry.setProcedureName("PROC_" + (i % 10)); //$NON-NLS-1$
+            jobTraceEntry.setCallLevel(i % 5);
+            jobTraceEntry.setEventSubType(i % 2 == 0 ? ColumnsDAO.EVENT_SUB_TYPE_PRCENTRY : ColumnsDAO.EVENT_SUB_TYPE_PRCEXIT);
+            jobTraceEntry.setCallerHLLStmtNbr(i % 300);
+            jobTraceEntry.setCallerProcedureName("CALLER"); //$NON-NLS-1$
+            jobTraceEntry.setCallerCallLevel(Math.max(0, i % 5 - 1));
+            jobTraceEntries.add(jobTraceEntry);
+        }
+
+        return jobTraceEntries;
+    }
+}
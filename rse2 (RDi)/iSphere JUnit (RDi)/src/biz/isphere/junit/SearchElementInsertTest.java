@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials 
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.junit;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import com.ibm.as400.access.AS400;
+import com.ibm.as400.access.AS400JDBCDriver;
+import com.ibm.xtq.xslt.runtime.RuntimeError;
+
+import biz.isphere.base.internal.SqlHelper;
+import biz.isphere.core.sourcefilesearch.FNDSTR_clear;
+import biz.isphere.core.sourcefilesearch.FNDSTR_getHandle;
+import biz.isphere.core.sourcefilesearch.SearchElement;
+
+/**
+ * This class is a benchmark for inserting the search elements of the 'iSphere
+ * Source File Search' into file FNDSTRI. It compares the batched prepared
+ * statement of {@link SearchElement} with the multi-row insert statements
+ * with literal values, that have been used before.
+ * 
+ * @see SourceFileSearchTest
+ */
+public class SearchElementInsertTest {
+
+    private static final String ISPHERE_PRODUCT_LIBRARY = "ISPHEREDVP";
+
+    private static final int NUMBER_OF_ELEMENTS = 100000;
+
+    private static AS400 as400;
+    private static Connection jdbcConnection;
+
+    private String currentLibrary = null;
+
+    /**
+     * Initializes the test suite, e.g. gets a JDBC connection to the host.
+     */
+    @org.junit.BeforeClass
+    public static void setupSuite() {
+
+        String hostname = System.getProperty("isphere.junit.as400"); //$NON-NLS-1$
+        String user = System.getProperty("isphere.junit.username"); //$NON-NLS-1$
+        String password = System.getProperty("isphere.junit.password"); //$NON-NLS-1$
+
+        as400 = new AS400(hostname, user, password);
+        jdbcConnection = getJdbcConnection(as400);
+    }
+
+    /**
+     * Terminates the test suite, e.g. drops the JDBC connection.
+     */
+    @org.junit.AfterClass
+    public static void tearDownSuite() {
+
+        try {
+            if (jdbcConnection != null) {
+                jdbcConnection.close();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeError(e);
+        }
+    }
+
+    /**
+     * Initializes a test case, e.g. sets the current library to the iSphere
+     * product library.
+     */
+    @org.junit.Before
+    public void setup() {
+
+        try {
+            currentLibrary = JUnitHelper.getCurrentLibrary(as400);
+            JUnitHelper.setCurrentLibrary(as400, ISPHERE_PRODUCT_LIBRARY);
+        } catch (Exception e) {
+            throw new RuntimeError(e);
+        }
+    }
+
+    /**
+     * Terminates a test case, e.g. restores the current library.
+     */
+    @org.junit.After
+    public void tearDown() {
+
+        try {
+            JUnitHelper.setCurrentLibrary(as400, currentLibrary);
+        } catch (Exception e) {
+            throw new RuntimeError(e);
+        }
+    }
+
+    /**
+     * Compares the elapsed time of inserting synthetic search elements with
+     * literal SQL statements and with prepared statement batches of different
+     * sizes.
+     */
+    @Test
+    public void testInsertSearchElements() throws Exception {
+
+        List<SearchElement> searchElements = createSearchElements(NUMBER_OF_ELEMENTS);
+
+        int handle = new FNDSTR_getHandle().run(as400);
+        try {
+            long startTime = System.currentTimeMillis();
+            insertLiteralValues(handle, searchElements, 500);
+            printElapsedTime("Literal values, 500 rows per statement", startTime);
+            assertEquals(NUMBER_OF_ELEMENTS, countSearchElements(handle));
+        } finally {
+            new FNDSTR_clear().run(as400, handle);
+        }
+
+        int[] batchSizes = new int[] { 100, 500, SearchElement.DEFAULT_BATCH_SIZE, 5000 };
+        for (int batchSize : batchSizes) {
+            handle = new FNDSTR_getHandle().run(as400);
+            try {
+                long startTime = System.currentTimeMillis();
+                SearchElement.setSearchElements(ISPHERE_PRODUCT_LIBRARY, jdbcConnection, handle, searchElements, batchSize, null);
+                printElapsedTime("Prepared statement, " + batchSize + " rows per batch", startTime);
+                assertEquals(NUMBER_OF_ELEMENTS, countSearchElements(handle));
+            } finally {
+                new FNDSTR_clear().run(as400, handle);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBatchSize() throws Exception {
+
+        SearchElement.setSearchElements(ISPHERE_PRODUCT_LIBRARY, jdbcConnection, 0, createSearchElements(1), 0, null);
+    }
+
+    private List<SearchElement> createSearchElements(int count) {
+
+        List<SearchElement> searchElements = new ArrayList<SearchElement>(count);
+
+        for (int i = 0; i < count; i++) {
+            SearchElement element = new SearchElement();
+            element.setLibrary("LIB" + (i / 10000)); //$NON-NLS-1$
+            element.setFile("QRPGLESRC"); //$NON-NLS-1$
+            element.setMember("MBR" + i); //$NON-NLS-1$
+            searchElements.add(element);
+        }
+
+        return searchElements;
+    }
+
+    private void insertLiteralValues(int handle, List<SearchElement> searchElements, int rowsPerStatement) throws SQLException {
+
+        SqlHelper sqlHelper = new SqlHelper(jdbcConnection);
+
+        Statement statement = jdbcConnection.createStatement();
+
+        try {
+
+            for (int start = 0; start < searchElements.size(); start += rowsPerStatement) {
+
+                StringBuilder sqlInsert = new StringBuilder();
+                sqlInsert.append("INSERT INTO " + sqlHelper.getObjectName(ISPHERE_PRODUCT_LIBRARY, "FNDSTRI") + " (XIHDL, XILIB, XIFILE, XIMBR) VALUES");
+
+                int end = Math.min(start + rowsPerStatement, searchElements.size());
+                for (int i = start; i < end; i++) {
+                    if (i > start) {
+                        sqlInsert.append(",");
+                    }
+                    SearchElement element = searchElements.get(i);
+                    sqlInsert.append(" ('" + handle + "', '" + element.getLibrary() + "', '" + element.getFile() + "', '" + element.getMember() + "')");
+                }
+
+                statement.executeUpdate(sqlInsert.toString());
+            }
+
+        } finally {
+            statement.close();
+        }
+    }
+
+    private int countSearchElements(int handle) throws SQLException {
+
+        SqlHelper sqlHelper = new SqlHelper(jdbcConnection);
+
+        PreparedStatement preparedStatement = jdbcConnection.prepareStatement("SELECT COUNT(*) FROM "
+            + sqlHelper.getObjectName(ISPHERE_PRODUCT_LIBRARY, "FNDSTRI") + " WHERE XIHDL = ?");
+
+        try {
+            preparedStatement.setInt(1, handle);
+            ResultSet resultSet = preparedStatement.executeQuery();
+            resultSet.next();
+            return resultSet.getInt(1);
+        } finally {
+            preparedStatement.close();
+        }
+    }
+
+    private void printElapsedTime(String text, long startTime) {
+        System.out.println(text + ": " + (System.currentTimeMillis() - startTime) + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    private static Connection getJdbcConnection(AS400 system) {
+
+        Connection jdbcConnection = null;
+        AS400JDBCDriver as400JDBCDriver = null;
+
+        try {
+
+            try {
+
+                as400JDBCDriver = (AS400JDBCDriver)DriverManager.getDriver("jdbc:as400");
+
+            } catch (SQLException e) {
+
+                as400JDBCDriver = new AS400JDBCDriver();
+                DriverManager.registerDriver(as400JDBCDriver);
+
+            }
+
+            Properties properties = new Properties();
+            properties.put("prompt", "false"); //$NON-NLS-1$ //$NON-NLS-2$
+            properties.put("big decimal", "false"); //$NON-NLS-1$ //$NON-NLS-2$
+
+            jdbcConnection = as400JDBCDriver.connect(system, properties, null);
+
+        } catch (Throwable e) {
+            throw new RuntimeError(e);
+        }
+
+        return jdbcConnection;
+    }
+}
@@ -38,4 +38,14 @@ public class TestStringHelper {
         Assert.assertEquals(expected, actual);
     }
 
+    @Test
+    public void testTrimR() {
+
+        Assert.assertEquals("", StringHelper.trimR(""));
+        Assert.assertEquals("", StringHelper.trimR(" \t\r\n"));
+        Assert.assertEquals("  My   string", StringHelper.trimR("  My   string"));
+        Assert.assertEquals("  My   string", StringHelper.trimR("  My   string   \t\f"));
+        Assert.assertEquals("My string\u00A0", StringHelper.trimR("My string\u00A0 "));
+    }
+
 }
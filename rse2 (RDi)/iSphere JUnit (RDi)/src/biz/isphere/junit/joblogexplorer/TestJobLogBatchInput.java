@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.junit.joblogexplorer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import biz.isphere.joblogexplorer.editor.AbstractJobLogExplorerInput;
+import biz.isphere.joblogexplorer.editor.JobLogExplorerBatchInput;
+import biz.isphere.joblogexplorer.exceptions.BasicJobLogLoaderException;
+import biz.isphere.joblogexplorer.exceptions.JobLogNotLoadedException;
+import biz.isphere.joblogexplorer.model.JobLog;
+import biz.isphere.joblogexplorer.model.JobLogCache;
+import biz.isphere.joblogexplorer.model.JobLogMessage;
+
+/**
+ * Tests the job log cache and the batch mode of the job log explorer. Must be
+ * executed as a "JUnit Plug-in Test", because the cache is stored in the state
+ * location of the plug-in.
+ */
+public class TestJobLogBatchInput {
+
+    private String cacheKey;
+
+    @Before
+    public void setUp() throws Exception {
+        cacheKey = "TEST:" + System.nanoTime(); //$NON-NLS-1$
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        JobLogCache.getInstance().remove(cacheKey);
+    }
+
+    @Test
+    public void testMergeJobLogs() throws Exception {
+
+        List<AbstractJobLogExplorerInput> inputs = new ArrayList<AbstractJobLogExplorerInput>();
+        inputs.add(new TestInput("JOB_A", createJobLog("JOB_A", 2, 3))); //$NON-NLS-1$ //$NON-NLS-2$
+        inputs.add(new TestInput("JOB_B", createJobLog("JOB_B", 1, 4))); //$NON-NLS-1$ //$NON-NLS-2$
+        inputs.add(new TestInput("JOB_C", null)); //$NON-NLS-1$
+
+        JobLog jobLog = new JobLogExplorerBatchInput(inputs).load(null);
+
+        assertEquals(10, jobLog.getMessages().size());
+        assertEquals(3, jobLog.getPages().length);
+        assertEquals(1, jobLog.getErrorCount());
+
+        assertEquals("000001/USER/JOB_A", jobLog.getMessages().get(0).getQualifiedJobName()); //$NON-NLS-1$
+        assertEquals("000001/USER/JOB_B", jobLog.getMessages().get(9).getQualifiedJobName()); //$NON-NLS-1$
+        assertEquals(2, jobLog.getMessages().get(5).getPageNumber());
+        assertEquals(1, jobLog.getMessages().get(6).getPageNumber());
+
+        assertEquals(2, jobLog.getMessageIds().length);
+    }
+
+    @Test
+    public void testCacheRoundTrip() throws Exception {
+
+        JobLog jobLog = createJobLog("JOB_A", 3, 2); //$NON-NLS-1$
+
+        JobLogCache cache = JobLogCache.getInstance();
+        assertNull(cache.get(cacheKey));
+
+        cache.put(cacheKey, jobLog);
+
+        JobLog cachedJobLog = cache.get(cacheKey);
+        assertNotNull(cachedJobLog);
+        assertEquals(jobLog.getQualifiedJobName(), cachedJobLog.getQualifiedJobName());
+        assertEquals(jobLog.getQualifiedJobDescriptionName(), cachedJobLog.getQualifiedJobDescriptionName());
+        assertEquals(jobLog.getPages().length, cachedJobLog.getPages().length);
+        assertEquals(jobLog.getMessages(), cachedJobLog.getMessages());
+        assertEquals(jobLog.getLastPage().getFirstMessage(), cachedJobLog.getLastPage().getFirstMessage());
+    }
+
+    private JobLog createJobLog(String jobName, int numPages, int numMessagesPerPage) {
+
+        JobLog jobLog = new JobLog();
+        jobLog.setSystemName("SYSTEM"); //$NON-NLS-1$
+        jobLog.setJobName(jobName);
+        jobLog.setJobUserName("USER"); //$NON-NLS-1$
+        jobLog.setJobNumber("000001"); //$NON-NLS-1$
+        jobLog.setJobDescriptionName("QDFTJOBD"); //$NON-NLS-1$
+        jobLog.setJobDescriptionLibraryName("QGPL"); //$NON-NLS-1$
+
+        long now = System.currentTimeMillis();
+
+        for (int page = 1; page <= numPages; page++) {
+            jobLog.addPage().setPageNumber(page);
+            for (int i = 0; i < numMessagesPerPage; i++) {
+                JobLogMessage message = jobLog.addMessage();
+                message.setId(i % 2 == 0 ? "CPF9897" : "CPC2191"); //$NON-NLS-1$ //$NON-NLS-2$
+                message.setType("Information"); //$NON-NLS-1$
+                message.setSeverity("40"); //$NON-NLS-1$
+                message.setDate("01.01.23"); //$NON-NLS-1$
+                message.setTime("12:00:00.000000"); //$NON-NLS-1$
+                message.setTimestamp(new Timestamp(now + page * 1000 + i));
+                message.setText("Message " + page + "/" + i); //$NON-NLS-1$ //$NON-NLS-2$
+                message.setHelp("Help text"); //$NON-NLS-1$
+                message.setFromLibrary("QSYS"); //$NON-NLS-1$
+                message.setFromProgram("QCMD"); //$NON-NLS-1$
+                message.setFromStatement("0100"); //$NON-NLS-1$
+                message.setToLibrary("QSYS"); //$NON-NLS-1$
+                message.setToProgram("QCMD"); //$NON-NLS-1$
+                message.setToStatement("0200"); //$NON-NLS-1$
+            }
+        }
+
+        return jobLog;
+    }
+
+    private class TestInput extends AbstractJobLogExplorerInput {
+
+        private String name;
+        private JobLog jobLog;
+
+        public TestInput(String name, JobLog jobLog) {
+            this.name = name;
+            this.jobLog = jobLog;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getToolTipText() {
+            return name;
+        }
+
+        @Override
+        public String getContentId() {
+            return "test://" + name; //$NON-NLS-1$
+        }
+
+        @Override
+        public JobLog load(IProgressMonitor monitor) throws BasicJobLogLoaderException {
+
+            if (jobLog == null) {
+                throw new JobLogNotLoadedException(name, "USER", "000001", "Not found"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            }
+
+            return jobLog;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.junit.joblogexplorer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import biz.isphere.joblogexplorer.model.JobLog;
+import biz.isphere.joblogexplorer.model.JobLogMessage;
+import biz.isphere.joblogexplorer.model.JobLogPage;
+import biz.isphere.joblogexplorer.model.JobLogParser;
+
+/**
+ * Parses a synthetic multi-page job log sequentially as one section and
+ * compares the result with the job log, that is split into sections at the
+ * start-of-page lines and parsed sequentially and concurrently. The messages
+ * cross the page boundaries and one message spans a page without messages.
+ * <p>
+ * Must be executed as a "JUnit Plug-in Test", because the parser accesses the
+ * iSphere preferences.
+ */
+public class TestJobLogParser {
+
+    private static final int NUM_MESSAGES = 300;
+    private static final int NUM_LINES_PER_PAGE = 20;
+
+    /*
+     * Message, whose help text spans a complete page.
+     */
+    private static final int LONG_MESSAGE = 100;
+
+    private static final String INDENTION = "                                     "; //$NON-NLS-1$
+
+    private static final String[] MESSAGE_IDS = new String[] { "CPF9897", "CPC2191", "CPD0912", "*NONE  ", "MCH1211" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+    private static final String[] MESSAGE_TYPES = new String[] { "Completion    ", "Information   ", "Diagnostic    ", "Escape        " }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+    private static final String[] SEVERITIES = new String[] { "  00 ", "  40 ", "     " }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    private static final String[] ATTRIBUTE_NAMES = new String[] { "From module . . . . . . . . ", "From procedure  . . . . . . ", //$NON-NLS-1$ //$NON-NLS-2$
+        "Statement . . . . . . . . . ", "To module . . . . . . . . . ", "To procedure  . . . . . . . ", "Statement . . . . . . . . . ", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        "Message . . . . ", "Cause . . . . . " }; //$NON-NLS-1$ //$NON-NLS-2$
+
+    private File jobLogFile;
+    private List<String> lines;
+    private int numPages;
+
+    @Before
+    public void setUp() throws Exception {
+        jobLogFile = File.createTempFile("isphere_joblog_", ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+        writeJobLog();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        jobLogFile.delete();
+    }
+
+    @Test
+    public void testSequentialSections() throws Exception {
+
+        JobLog expected = parse(0, 0);
+
+        assertEquals(NUM_MESSAGES, expected.getMessages().size());
+        assertEquals(numPages, expected.getPages().length);
+        assertEquals("245231/RADDATZ/TRADDATZA1", expected.getQualifiedJobName()); //$NON-NLS-1$
+
+        assertJobLog(expected, parse(1, 1));
+        assertJobLog(expected, parse(1, NUM_LINES_PER_PAGE - 1));
+        assertJobLog(expected, parse(1, NUM_LINES_PER_PAGE * 3));
+    }
+
+    @Test
+    public void testConcurrentSections() throws Exception {
+
+        JobLog expected = parse(0, 0);
+
+        assertJobLog(expected, parse(4, 1));
+        assertJobLog(expected, parse(4, NUM_LINES_PER_PAGE - 1));
+        assertJobLog(expected, parse(4, NUM_LINES_PER_PAGE * 3));
+        assertJobLog(expected, parse(2, lines.size()));
+    }
+
+    /**
+     * Parses the job log. The parser uses its defaults, when the number of
+     * threads is 0. The job log is too small for splitting it into sections
+     * with the defaults of the parser.
+     */
+    private JobLog parse(int numThreads, int minLinesPerSection) throws Exception {
+
+        JobLogParser parser = new JobLogParser(null);
+        if (numThreads > 0) {
+            parser.setParallelParsing(numThreads, minLinesPerSection);
+        }
+
+        return parser.loadFromStmf(jobLogFile.getAbsolutePath());
+    }
+
+    private void assertJobLog(JobLog expected, JobLog actual) {
+
+        assertEquals(expected.getSystemName(), actual.getSystemName());
+        assertEquals(expected.getQualifiedJobName(), actual.getQualifiedJobName());
+        assertEquals(expected.getQualifiedJobDescriptionName(), actual.getQualifiedJobDescriptionName());
+        assertEquals(expected.getErrorCount(), actual.getErrorCount());
+
+        assertEquals(describePages(expected), describePages(actual));
+        assertEquals(describeMessages(expected), describeMessages(actual));
+    }
+
+    private List<String> describePages(JobLog jobLog) {
+
+        IdentityHashMap<JobLogMessage, Integer> indexes = new IdentityHashMap<JobLogMessage, Integer>();
+        for (JobLogMessage message : jobLog.getMessages()) {
+            indexes.put(message, indexes.size());
+        }
+
+        List<String> pages = new ArrayList<String>();
+        for (JobLogPage page : jobLog.getPages()) {
+            pages.add(page.getPageNumber() + ": " + indexes.get(page.getFirstMessage()) + " - " + indexes.get(page.getLastMessage())); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        return pages;
+    }
+
+    private List<String> describeMessages(JobLog jobLog) {
+
+        List<String> messages = new ArrayList<String>();
+        for (JobLogMessage message : jobLog.getMessages()) {
+            StringBuilder buffer = new StringBuilder();
+            buffer.append(message.getPageNumber()).append("|"); //$NON-NLS-1$
+            buffer.append(message.getId()).append("|"); //$NON-NLS-1$
+            buffer.append(message.getType()).append("|"); //$NON-NLS-1$
+            buffer.append(message.getSeverity()).append("|"); //$NON-NLS-1$
+            buffer.append(message.getTimestamp()).append("|"); //$NON-NLS-1$
+            buffer.append(message.getFromProgram()).append("|"); //$NON-NLS-1$
+            buffer.append(message.getFromModule()).append("|"); //$NON-NLS-1$
+            buffer.append(message.getFromProcedure()).append("|"); //$NON-NLS-1$
+            buffer.append(message.getFromStatement()).append("|"); //$NON-NLS-1$
+            buffer.append(message.getToProgram()).append("|"); //$NON-NLS-1$
+            buffer.append(message.getToModule()).append("|"); //$NON-NLS-1$
+            buffer.append(message.getToProcedure()).append("|"); //$NON-NLS-1$
+            buffer.append(message.getToStatement()).append("|"); //$NON-NLS-1$
+            buffer.append(message.getText()).append("|"); //$NON-NLS-1$
+            buffer.append(message.getHelp()).append("|"); //$NON-NLS-1$
+            buffer.append(message.getError());
+            messages.add(buffer.toString());
+        }
+
+        return messages;
+    }
+
+    /**
+     * Writes a job log of {@link #NUM_LINES_PER_PAGE} lines per page. The
+     * messages have 0 to 8 attributes and up to 3 continuation lines per
+     * attribute.
+     */
+    private void writeJobLog() throws IOException {
+
+        lines = new ArrayList<String>();
+        numPages = 0;
+
+        int numLinesOnPage = NUM_LINES_PER_PAGE;
+
+        for (int i = 0; i < NUM_MESSAGES; i++) {
+
+            List<String> messageLines = new ArrayList<String>();
+            messageLines.add(MESSAGE_IDS[i % MESSAGE_IDS.length] + "    " + MESSAGE_TYPES[i % MESSAGE_TYPES.length] + "      " //$NON-NLS-1$ //$NON-NLS-2$
+                + SEVERITIES[i % SEVERITIES.length] + "   " + String.format("%02d.%02d.16  %02d:%02d:%02d,%06d", 1 + i % 28, 1 + i % 12, i % 24, i % 60, //$NON-NLS-1$ //$NON-NLS-2$
+                    (i * 7) % 60, i * 1001) + "  QP0ZADDE     QSYS        *STMT    START#RZ    RADDATZ     *STMT"); //$NON-NLS-1$
+
+            int numAttributes = new int[] { 0, 1, 2, 4, 5, 7, 8 }[i % 7];
+            int firstAttribute = 0;
+            if (numAttributes == 4 || numAttributes == 5) {
+                firstAttribute = 3;
+            } else if (numAttributes == 1 || numAttributes == 2) {
+                firstAttribute = 6;
+            }
+
+            for (int a = 0; a < numAttributes; a++) {
+                messageLines.add(INDENTION + ATTRIBUTE_NAMES[firstAttribute + a] + ":   value" + i + "_" + a); //$NON-NLS-1$ //$NON-NLS-2$
+                int numContinuationLines = (i + a) % 4;
+                if (i == LONG_MESSAGE && a == numAttributes - 1) {
+                    numContinuationLines = NUM_LINES_PER_PAGE * 2;
+                }
+                for (int c = 0; c < numContinuationLines; c++) {
+                    messageLines.add(INDENTION + "  continued " + i + " " + a + " " + c); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                }
+            }
+
+            for (String line : messageLines) {
+                if (numLinesOnPage >= NUM_LINES_PER_PAGE) {
+                    numPages++;
+                    addPageHeader(numPages);
+                    numLinesOnPage = 0;
+                }
+                lines.add(line);
+                numLinesOnPage++;
+            }
+        }
+
+        BufferedWriter writer = new BufferedWriter(new FileWriter(jobLogFile));
+
+        try {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void addPageHeader(int pageNumber) {
+
+        lines.add(String.format(" 5770SS1 V7R2M0  140418                    Display Job Log                        GFD400    03.11.16  14:58:40 CET     Page %4d", //$NON-NLS-1$
+            pageNumber));
+        lines.add("  Job name . . . . . . . . . . :   TRADDATZA1      User  . . . . . . :   RADDATZ      Number . . . . . . . . . . . :   245231"); //$NON-NLS-1$
+        lines.add("  Job description  . . . . . . :   QDFTJOBD        Library . . . . . :   QGPL"); //$NON-NLS-1$
+        lines.add("MSGID      TYPE                    SEV  DATE      TIME             FROM PGM     LIBRARY     INST     TO PGM      LIBRARY     INST"); //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.junit.jobtraceexplorer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import biz.isphere.jobtraceexplorer.core.model.JobTraceEntry;
+import biz.isphere.jobtraceexplorer.core.model.dao.CollapsedStackDAO;
+import biz.isphere.jobtraceexplorer.core.model.dao.ColumnsDAO;
+import biz.isphere.jobtraceexplorer.core.model.profile.CallEdgeStatistics;
+import biz.isphere.jobtraceexplorer.core.model.profile.JobTraceProfile;
+import biz.isphere.jobtraceexplorer.core.model.profile.JobTraceProfiler;
+import biz.isphere.jobtraceexplorer.core.model.profile.ProfileLevel;
+import biz.isphere.jobtraceexplorer.core.model.profile.ProfileStatistics;
+
+/**
+ * Tests the single pass profiler of the job trace explorer. Must be executed
+ * as a "JUnit Plug-in Test", because job trace entries access the NLS
+ * messages of the plug-in.
+ */
+public class TestJobTraceProfiler {
+
+    private static final int NUM_CALLS = 200;
+    private static final int NUM_PROCEDURES = 50;
+
+    @Test
+    public void testInclusiveAndExclusiveTime() throws Exception {
+
+        JobTraceProfile profile = new JobTraceProfiler().execute("TEST", createCallTree(), null); //$NON-NLS-1$
+
+        assertEquals(8, profile.getNumberOfEntries());
+        assertEquals(100, profile.getTotalNanos());
+
+        ProfileStatistics main = findStatistics(profile, ProfileLevel.PROCEDURE, "MAIN"); //$NON-NLS-1$
+        assertEquals(1, main.getCallCount());
+        assertEquals(100, main.getInclusiveNanos());
+        assertEquals(55, main.getExclusiveNanos());
+
+        ProfileStatistics procA = findStatistics(profile, ProfileLevel.PROCEDURE, "PROC_A"); //$NON-NLS-1$
+        assertEquals(2, procA.getCallCount());
+        assertEquals(30, procA.getInclusiveNanos());
+        assertEquals(30, procA.getExclusiveNanos());
+        assertEquals(25, procA.getMaxInclusiveNanos());
+
+        ProfileStatistics procB = findStatistics(profile, ProfileLevel.PROCEDURE, "PROC_B"); //$NON-NLS-1$
+        assertEquals(1, procB.getCallCount());
+        assertEquals(20, procB.getInclusiveNanos());
+        assertEquals(15, procB.getExclusiveNanos());
+
+        ProfileStatistics program = profile.getStatistics(ProfileLevel.PROGRAM).get(0);
+        assertEquals(1, profile.getStatistics(ProfileLevel.PROGRAM).size());
+        assertEquals(1, program.getCallCount());
+        assertEquals(100, program.getInclusiveNanos());
+        assertEquals(100, program.getExclusiveNanos());
+
+        assertEquals(3, profile.getCallEdges().size());
+        CallEdgeStatistics callEdge = profile.getCallEdges().get(0);
+        assertEquals(main, callEdge.getCallerStatistics());
+        assertEquals(procA, callEdge.getCalleeStatistics());
+        assertEquals(25, callEdge.getInclusiveNanos());
+
+        assertEquals(2, profile.getHotPath().size());
+        assertEquals(main.getLabel(), profile.getHotPath().get(0));
+        assertEquals(procA.getLabel(), profile.getHotPath().get(1));
+    }
+
+    @Test
+    public void testCollapsedStacks() throws Exception {
+
+        JobTraceProfile profile = new JobTraceProfiler().execute("TEST", createCallTree(), null); //$NON-NLS-1$
+
+        File file = File.createTempFile("profile", ".folded"); //$NON-NLS-1$ //$NON-NLS-2$
+        file.deleteOnExit();
+
+        new CollapsedStackDAO(file.getAbsolutePath()).save(profile);
+
+        long total = 0;
+        int numStacks = 0;
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int index = line.lastIndexOf(' ');
+                total += Long.parseLong(line.substring(index + 1));
+                numStacks++;
+            }
+        } finally {
+            reader.close();
+        }
+
+        assertEquals(4, numStacks);
+        assertEquals(100, total);
+    }
+
+    @Test
+    public void testMissingExitEvents() throws Exception {
+
+        List<JobTraceEntry> jobTraceEntries = new ArrayList<JobTraceEntry>();
+        jobTraceEntries.add(createEntry(0, "MAIN", 1, true)); //$NON-NLS-1$
+        jobTraceEntries.add(createEntry(10, "PROC_A", 2, true)); //$NON-NLS-1$
+        jobTraceEntries.add(createEntry(40, "MAIN", 1, false)); //$NON-NLS-1$
+        jobTraceEntries.add(createEntry(50, "PROC_B", 2, false)); //$NON-NLS-1$
+
+        JobTraceProfile profile = new JobTraceProfiler().execute("TEST", jobTraceEntries, null); //$NON-NLS-1$
+
+        assertEquals(30, findStatistics(profile, ProfileLevel.PROCEDURE, "PROC_A").getInclusiveNanos()); //$NON-NLS-1$
+        assertEquals(40, findStatistics(profile, ProfileLevel.PROCEDURE, "MAIN").getInclusiveNanos()); //$NON-NLS-1$
+        assertEquals(2, profile.getStatistics(ProfileLevel.PROCEDURE).size());
+    }
+
+    @Test
+    public void testRepeatedCalls() throws Exception {
+
+        // MAIN is called repeatedly and calls one of the procedures each time.
+        List<JobTraceEntry> jobTraceEntries = new ArrayList<JobTraceEntry>(NUM_CALLS * 4);
+        long nanos = 0;
+        for (int i = 0; i < NUM_CALLS; i++) {
+            jobTraceEntries.add(createEntry(nanos++, "MAIN", 1, true)); //$NON-NLS-1$
+            jobTraceEntries.add(createEntry(nanos++, "PROC_" + (i % NUM_PROCEDURES), 2, true)); //$NON-NLS-1$
+            jobTraceEntries.add(createEntry(nanos++, "PROC_" + (i % NUM_PROCEDURES), 2, false)); //$NON-NLS-1$
+            jobTraceEntries.add(createEntry(nanos++, "MAIN", 1, false)); //$NON-NLS-1$
+        }
+
+        JobTraceProfile profile = new JobTraceProfiler().execute("TEST", jobTraceEntries, null); //$NON-NLS-1$
+
+        assertEquals(NUM_PROCEDURES + 1, profile.getStatistics(ProfileLevel.PROCEDURE).size());
+
+        ProfileStatistics main = findStatistics(profile, ProfileLevel.PROCEDURE, "MAIN"); //$NON-NLS-1$
+        assertEquals(NUM_CALLS, main.getCallCount());
+        assertEquals(3 * NUM_CALLS, main.getInclusiveNanos());
+        assertEquals(2 * NUM_CALLS, main.getExclusiveNanos());
+
+        ProfileStatistics procedure = findStatistics(profile, ProfileLevel.PROCEDURE, "PROC_7"); //$NON-NLS-1$
+        assertEquals(NUM_CALLS / NUM_PROCEDURES, procedure.getCallCount());
+        assertEquals(NUM_CALLS / NUM_PROCEDURES, procedure.getInclusiveNanos());
+        assertEquals(NUM_CALLS / NUM_PROCEDURES, procedure.getExclusiveNanos());
+        assertEquals(1, procedure.getMaxInclusiveNanos());
+
+        assertEquals(NUM_PROCEDURES, profile.getCallEdges().size());
+    }
+
+    /*
+     * MAIN calls PROC_A and PROC_B. PROC_B calls PROC_A.
+     */
+    private List<JobTraceEntry> createCallTree() {
+
+        List<JobTraceEntry> jobTraceEntries = new ArrayList<JobTraceEntry>();
+        jobTraceEntries.add(createEntry(0, "MAIN", 1, true)); //$NON-NLS-1$
+        jobTraceEntries.add(createEntry(10, "PROC_A", 2, true)); //$NON-NLS-1$
+        jobTraceEntries.add(createEntry(35, "PROC_A", 2, false)); //$NON-NLS-1$
+        jobTraceEntries.add(createEntry(40, "PROC_B", 2, true)); //$NON-NLS-1$
+        jobTraceEntries.add(createEntry(45, "PROC_A", 3, true)); //$NON-NLS-1$
+        jobTraceEntries.add(createEntry(50, "PROC_A", 3, false)); //$NON-NLS-1$
+        jobTraceEntries.add(createEntry(60, "PROC_B", 2, false)); //$NON-NLS-1$
+        jobTraceEntries.add(createEntry(100, "MAIN", 1, false)); //$NON-NLS-1$
+
+        return jobTraceEntries;
+    }
+
+    private JobTraceEntry createEntry(long nanos, String procedureName, int callLevel, boolean isEntry) {
+
+        JobTraceEntry jobTraceEntry = new JobTraceEntry();
+        jobTraceEntry.setNanosSinceStarted(BigInteger.valueOf(nanos));
+        jobTraceEntry.setProgramLibrary("ISPHEREDVP"); //$NON-NLS-1$
+        jobTraceEntry.setProgramName("PGM"); //$NON-NLS-1$
+        jobTraceEntry.setModuleName("MOD"); //$NON-NLS-1$
+        jobTraceEntry.setProcedureName(procedureName);
+        jobTraceEntry.setCallLevel(callLevel);
+
+        if (isEntry) {
+            jobTraceEntry.setEventSubType(ColumnsDAO.EVENT_SUB_TYPE_PRCENTRY);
+        } else {
+            jobTraceEntry.setEventSubType(ColumnsDAO.EVENT_SUB_TYPE_PRCEXIT);
+        }
+
+        return jobTraceEntry;
+    }
+
+    private ProfileStatistics findStatistics(JobTraceProfile profile, ProfileLevel level, String procedureName) {
+
+        ProfileStatistics found = null;
+        for (ProfileStatistics statistics : profile.getStatistics(level)) {
+            if (procedureName.equals(statistics.getProcedureName())) {
+                found = statistics;
+            }
+        }
+
+        assertNotNull(found);
+
+        return found;
+    }
+}
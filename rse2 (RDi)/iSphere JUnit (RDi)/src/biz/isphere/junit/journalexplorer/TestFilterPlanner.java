@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.junit.journalexplorer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import biz.isphere.journalexplorer.core.model.SQLWhereClause;
+import biz.isphere.journalexplorer.core.model.sqljep.FilterPlanner;
+import biz.isphere.journalexplorer.core.model.sqljep.WhereClausePredicate;
+import biz.isphere.journalexplorer.core.model.sqljep.WhereClausePredicate.Operator;
+
+/**
+ * Checks, which predicates of a filter clause are pushed down to the server
+ * and which are left to the local filter.
+ */
+public class TestFilterPlanner {
+
+    private static final String SQL_STATEMENT = "SELECT result.JOSEQN, result.JOCODE, result.JOENTT, result.JOTSTP, result.JOPGM FROM QSYS.JRNOUT result"; //$NON-NLS-1$
+
+    @Test
+    public void testComparisons() throws Exception {
+
+        List<WhereClausePredicate> predicates = getPredicates("JOCODE = 'R' AND JOSEQN > 5 AND JOSEQN <> 7 AND 10 >= JOSEQN"); //$NON-NLS-1$
+
+        assertEquals(4, predicates.size());
+        assertPredicate("JOCODE", Operator.EQ, "JOCODE = 'R'", predicates.get(0)); //$NON-NLS-1$ //$NON-NLS-2$
+        assertPredicate("JOSEQN", Operator.GT, "JOSEQN > 5", predicates.get(1)); //$NON-NLS-1$ //$NON-NLS-2$
+        assertPredicate("JOSEQN", Operator.NE, "JOSEQN <> 7", predicates.get(2)); //$NON-NLS-1$ //$NON-NLS-2$
+        assertPredicate("JOSEQN", Operator.LE, "JOSEQN <= 10", predicates.get(3)); //$NON-NLS-1$ //$NON-NLS-2$
+
+        assertTrue(predicates.get(0).isString(0));
+        assertFalse(predicates.get(1).isString(0));
+    }
+
+    @Test
+    public void testNestedConjuncts() throws Exception {
+
+        List<WhereClausePredicate> predicates = getPredicates("(JOCODE = 'R' AND (JOENTT IN ('PT', 'UP'))) AND JOSEQN BETWEEN 1 AND 200"); //$NON-NLS-1$
+
+        assertEquals(3, predicates.size());
+        assertPredicate("JOCODE", Operator.EQ, "JOCODE = 'R'", predicates.get(0)); //$NON-NLS-1$ //$NON-NLS-2$
+        assertPredicate("JOENTT", Operator.IN, "JOENTT IN ('PT', 'UP')", predicates.get(1)); //$NON-NLS-1$ //$NON-NLS-2$
+        assertPredicate("JOSEQN", Operator.BETWEEN, "JOSEQN BETWEEN 1 AND 200", predicates.get(2)); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testLiterals() throws Exception {
+
+        List<WhereClausePredicate> predicates = getPredicates("joseqn >= -5 AND JOSEQN <= 1.50"); //$NON-NLS-1$
+
+        assertEquals(2, predicates.size());
+        assertPredicate("JOSEQN", Operator.GE, "JOSEQN >= -5", predicates.get(0)); //$NON-NLS-1$ //$NON-NLS-2$
+        assertPredicate("JOSEQN", Operator.LE, "JOSEQN <= 1.50", predicates.get(1)); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testColumnsSharingAnIndex() throws Exception {
+
+        // JOUSPF and JORCVLIB share the same index of the column mapping.
+        List<WhereClausePredicate> predicates = getPredicates("JOUSPF = 'A' AND JORCVLIB = 'B'"); //$NON-NLS-1$
+
+        assertEquals(2, predicates.size());
+        assertPredicate("JOUSPF", Operator.EQ, "JOUSPF = 'A'", predicates.get(0)); //$NON-NLS-1$ //$NON-NLS-2$
+        assertPredicate("JORCVLIB", Operator.EQ, "JORCVLIB = 'B'", predicates.get(1)); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testNotPushedDown() throws Exception {
+
+        assertEquals(0, getPredicates("JOCODE = 'R' OR JOCODE = 'F'").size()); //$NON-NLS-1$
+        assertEquals(0, getPredicates("JOPGM LIKE 'A%'").size()); //$NON-NLS-1$
+        assertEquals(0, getPredicates("NOT JOCODE = 'R'").size()); //$NON-NLS-1$
+        assertEquals(0, getPredicates("UPPER(JOUSER) = 'TOM'").size()); //$NON-NLS-1$
+        assertEquals(0, getPredicates("JOENTT IS NULL").size()); //$NON-NLS-1$
+        assertEquals(0, getPredicates("JOCODE = JOENTT").size()); //$NON-NLS-1$
+        assertEquals(0, getPredicates("JOSEQN NOT BETWEEN 1 AND 5").size()); //$NON-NLS-1$
+        assertEquals(0, getPredicates("CUSTNO = 5").size()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testPartiallyPushedDown() throws Exception {
+
+        List<WhereClausePredicate> predicates = getPredicates("JOCODE = 'R' AND (JOENTT = 'PT' OR JOENTT = 'UP') AND CUSTNO = 5"); //$NON-NLS-1$
+
+        assertEquals(1, predicates.size());
+        assertPredicate("JOCODE", Operator.EQ, "JOCODE = 'R'", predicates.get(0)); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testInvalidClause() throws Exception {
+
+        assertEquals(0, getPredicates("JOCODE = ").size()); //$NON-NLS-1$
+        assertEquals(0, getPredicates("JOCODE = 'R' AND AND").size()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testPushDownSQLWhereClause() throws Exception {
+
+        SQLWhereClause whereClause = new SQLWhereClause("JRNOUT", "QSYS", "JOLIB = 'MYLIB'"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        FilterPlanner planner = new FilterPlanner(new SQLWhereClause(
+            "JOCODE = 'R' AND JOPGM LIKE 'A%' AND JOSEQN BETWEEN 1 AND 200 AND JOLIB = 'X' AND JOUSER = 'TOM'")); //$NON-NLS-1$
+
+        SQLWhereClause pushedDownClause = planner.pushDown(whereClause, SQL_STATEMENT);
+
+        // JOLIB is not pushed down and JOUSER is not selected.
+        assertEquals("(JOLIB = 'MYLIB') AND (JOCODE = 'R' AND JOSEQN BETWEEN 1 AND 200)", pushedDownClause.getClause()); //$NON-NLS-1$
+        assertEquals("JRNOUT", pushedDownClause.getFile()); //$NON-NLS-1$
+        assertEquals("QSYS", pushedDownClause.getLibrary()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testPushDownSQLWhereClauseTypeMismatch() throws Exception {
+
+        assertNull(new FilterPlanner(new SQLWhereClause("JOSEQN = 'ABC'")).pushDown(null, SQL_STATEMENT)); //$NON-NLS-1$
+        assertNull(new FilterPlanner(new SQLWhereClause("JOCODE = 1")).pushDown(null, SQL_STATEMENT)); //$NON-NLS-1$
+        assertNull(new FilterPlanner(new SQLWhereClause("JOCODE = 'R' OR JOSEQN = 1")).pushDown(null, SQL_STATEMENT)); //$NON-NLS-1$
+    }
+
+    private List<WhereClausePredicate> getPredicates(String clause) {
+        return new FilterPlanner(new SQLWhereClause(clause)).getPredicates();
+    }
+
+    private void assertPredicate(String column, Operator operator, String text, WhereClausePredicate predicate) {
+
+        assertEquals(column, predicate.getColumn());
+        assertEquals(operator, predicate.getOperator());
+        assertEquals(text, predicate.getText());
+    }
+}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2022 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.junit.journalexplorer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.medfoster.sqljep.RowJEP;
+
+import biz.isphere.journalexplorer.core.model.JournalEntry;
+import biz.isphere.journalexplorer.core.model.SQLWhereClause;
+import biz.isphere.journalexplorer.core.model.sqljep.JournalEntriesFilter;
+import biz.isphere.junit.JUnitEntryFactory;
+
+/**
+ * Compares the compile-once filter engine with the original approach, that
+ * compiled the where clause for each journal entry. Must be executed as a
+ * "JUnit Plug-in Test", because journal entries access the iSphere
+ * preferences.
+ */
+public class TestJournalEntriesFilter {
+
+    private static final int NUM_ENTRIES = 1000;
+    private static final int MIN_JOB_NUMBER = JUnitEntryFactory.FIRST_JOB_NUMBER + 500;
+    private static final String WHERE_CLAUSE = "JOCODE = 'J' AND JOENTT IN ('PR', 'NR') AND JONBR > " + MIN_JOB_NUMBER; //$NON-NLS-1$
+
+    @Test
+    public void testFilter() throws Exception {
+
+        List<JournalEntry> journalEntries = JUnitEntryFactory.createJournalEntries(NUM_ENTRIES);
+        SQLWhereClause whereClause = new SQLWhereClause(WHERE_CLAUSE);
+
+        List<JournalEntry> expected = getExpectedEntries(journalEntries);
+        assertEquals(248, expected.size());
+
+        assertSameEntries(expected, filterPerEntry(journalEntries, whereClause));
+        assertSameEntries(expected, new JournalEntriesFilter(whereClause, 1).filter(journalEntries, null));
+        assertSameEntries(expected, new JournalEntriesFilter(whereClause).filter(journalEntries, null));
+    }
+
+    /*
+     * Returns the journal entries, that match the where clause, without using
+     * SQLJEP.
+     */
+    private List<JournalEntry> getExpectedEntries(List<JournalEntry> journalEntries) {
+
+        List<String> entryTypes = Arrays.asList(new String[] { "PR", "NR" }); //$NON-NLS-1$ //$NON-NLS-2$
+
+        List<JournalEntry> expectedEntries = new ArrayList<JournalEntry>();
+        for (JournalEntry journalEntry : journalEntries) {
+            if ("J".equals(journalEntry.getJournalCode()) && entryTypes.contains(journalEntry.getEntryType()) //$NON-NLS-1$
+                && journalEntry.getJobNumber() > MIN_JOB_NUMBER) {
+                expectedEntries.add(journalEntry);
+            }
+        }
+
+        return expectedEntries;
+    }
+
+    private List<JournalEntry> filterPerEntry(List<JournalEntry> journalEntries, SQLWhereClause whereClause) throws Exception {
+
+        List<JournalEntry> filteredJournalEntries = new ArrayList<JournalEntry>();
+
+        for (JournalEntry journalEntry : journalEntries) {
+            RowJEP sqljep = new RowJEP(whereClause.getClause());
+            sqljep.parseExpression(journalEntry.getColumnMapping());
+            if ((Boolean)sqljep.getValue(journalEntry.getRow())) {
+                filteredJournalEntries.add(journalEntry);
+            }
+        }
+
+        return filteredJournalEntries;
+    }
+
+    private void assertSameEntries(List<JournalEntry> expected, List<JournalEntry> actual) {
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i));
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.junit.journalexplorer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigInteger;
+import java.text.DecimalFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import biz.isphere.journalexplorer.core.model.DatatypeConverterDelegate;
+import biz.isphere.journalexplorer.core.model.JournalEntries;
+import biz.isphere.journalexplorer.core.model.JournalEntry;
+import biz.isphere.journalexplorer.core.model.OutputFile;
+
+/**
+ * Compares the heap used by journal entries of the old representation with the
+ * heap used by journal entries added to a {@link JournalEntries} object. The
+ * old representation is modeled by the same journal entries plus the objects,
+ * that each entry used to keep: the string copy of JOESD, two DecimalFormats,
+ * three SimpleDateFormats, a Calendar and a converter delegate. Names, that
+ * are shared by the new representation, are separate copies in the old one.
+ * <p>
+ * The heap is not measured with the garbage collector, but computed from the
+ * object graph, so that the results do not vary between runs. The sizes
+ * assume a 64-bit JVM with compressed references. Objects, whose fields
+ * cannot be accessed, are counted without the objects they reference.
+ * <p>
+ * Must be executed as a "JUnit Plug-in Test", because journal entries access
+ * the iSphere preferences.
+ */
+public class TestJournalEntriesHeapUsage {
+
+    private static final int NUM_ENTRIES = 10000;
+    private static final int SPECIFIC_DATA_LENGTH = 200;
+
+    @Test
+    public void testHeapUsage() throws Exception {
+
+        HeapSizeEstimator oldEstimator = new HeapSizeEstimator();
+        long oldBytes = oldEstimator.sizeOf(new ArrayList<JournalEntry>(NUM_ENTRIES));
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            JournalEntry journalEntry = createJournalEntry(i);
+            oldBytes += oldEstimator.sizeOf(journalEntry);
+            oldBytes += oldEstimator.sizeOf(journalEntry.getStringSpecificData());
+            oldBytes += oldEstimator.sizeOf(createOldTransientValues());
+        }
+
+        JournalEntries compactEntries = new JournalEntries(new OutputFile("CONNECTION", "QSYS", "QADSPJR5"), NUM_ENTRIES); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            compactEntries.add(createJournalEntry(i));
+        }
+        long newBytes = new HeapSizeEstimator().sizeOf(compactEntries);
+
+        assertEquals(NUM_ENTRIES, compactEntries.size());
+
+        print("Old journal entries", oldBytes); //$NON-NLS-1$
+        print("JournalEntries", newBytes); //$NON-NLS-1$
+
+        assertTrue(newBytes < oldBytes);
+    }
+
+    @Test
+    public void testStringSpecificDataIsNotKept() throws Exception {
+
+        JournalEntry journalEntry = createJournalEntry(0);
+        long bytes = new HeapSizeEstimator().sizeOf(journalEntry);
+
+        assertNotNull(journalEntry.getStringSpecificData());
+        journalEntry.hashCode();
+        assertTrue(journalEntry.equals(createJournalEntry(0)));
+
+        assertEquals(bytes, new HeapSizeEstimator().sizeOf(journalEntry));
+    }
+
+    @Test
+    public void testJsonSerialization() throws Exception {
+
+        JournalEntry journalEntry = createJournalEntry(0);
+        long bytes = new HeapSizeEstimator().sizeOf(journalEntry);
+
+        journalEntry.prepareJsonSerialization();
+        assertTrue(new HeapSizeEstimator().sizeOf(journalEntry) > bytes);
+
+        journalEntry.finishJsonSerialization();
+        assertEquals(bytes, new HeapSizeEstimator().sizeOf(journalEntry));
+    }
+
+    /*
+     * Creates a journal entry with new string instances, the same way the
+     * journal entries are decoded from the API buffer.
+     */
+    private JournalEntry createJournalEntry(int i) {
+
+        JournalEntry journalEntry = new JournalEntry(new OutputFile(copy("CONNECTION"), "QSYS", "QADSPJR5")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        journalEntry.setId(i + 1);
+        journalEntry.setJournalCode(copy("R")); //$NON-NLS-1$
+        journalEntry.setEntryType(copy("UP")); //$NON-NLS-1$
+        journalEntry.setJobName(copy("QPADEV000" + (i % 10))); //$NON-NLS-1$
+        journalEntry.setJobUserName(copy("USER" + (i % 10))); //$NON-NLS-1$
+        journalEntry.setJobNumber(400000 + (i % 1000));
+        journalEntry.setObjectLibrary(copy("MYLIB")); //$NON-NLS-1$
+        journalEntry.setObjectName(copy("MYFILE" + (i % 5))); //$NON-NLS-1$
+        journalEntry.setMemberName(copy("MYFILE" + (i % 5))); //$NON-NLS-1$
+        journalEntry.setTimestamp(new java.sql.Timestamp(1700000000000L + i));
+        journalEntry.setProgramName(copy("MYPGM" + (i % 20))); //$NON-NLS-1$
+        journalEntry.setProgramLibrary(copy("MYLIB")); //$NON-NLS-1$
+        journalEntry.setObjectType(copy("*QDDS")); //$NON-NLS-1$
+        journalEntry.setFileTypeIndicator(copy("0")); //$NON-NLS-1$
+        journalEntry.setSystemName(copy("SYSTEM")); //$NON-NLS-1$
+        journalEntry.setReceiverName(copy("JRNRCV0001")); //$NON-NLS-1$
+        journalEntry.setReceiverLibraryName(copy("MYLIB")); //$NON-NLS-1$
+        journalEntry.setUserProfile(copy("USER" + (i % 10))); //$NON-NLS-1$
+        journalEntry.setSequenceNumber(BigInteger.valueOf(i + 1));
+        journalEntry.setCommitmentCycle(new BigInteger("0")); //$NON-NLS-1$
+        journalEntry.setCountRrn(BigInteger.valueOf(i % 5000));
+
+        byte[] specificData = new byte[SPECIFIC_DATA_LENGTH];
+        for (int b = 0; b < specificData.length; b++) {
+            specificData[b] = (byte)0xC1; // EBCDIC 'A'
+        }
+        journalEntry.setSpecificData(specificData);
+        journalEntry.setStringSpecificData(specificData);
+
+        return journalEntry;
+    }
+
+    /*
+     * Transient values, that each journal entry created in its constructor,
+     * before the formatters were shared.
+     */
+    private Object[] createOldTransientValues() {
+        return new Object[] { new DatatypeConverterDelegate(), new DecimalFormat("00000000000000000000"), new DecimalFormat("0000000"), //$NON-NLS-1$ //$NON-NLS-2$
+            new SimpleDateFormat("dd.MM.yyyy"), new SimpleDateFormat("HH:mm:ss"), new SimpleDateFormat("yyyy-MM-dd-HH.mm.ss.SSS"), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            Calendar.getInstance() };
+    }
+
+    private String copy(String value) {
+        return new String(value.toCharArray());
+    }
+
+    private void print(String label, long bytes) {
+        System.out.println(label + ": " + (bytes / 1024) + " kB, " + (bytes / NUM_ENTRIES) + " bytes/entry"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    /**
+     * Computes the heap used by an object graph. Objects, that have already
+     * been counted by the same estimator, are not counted again.
+     */
+    private static class HeapSizeEstimator {
+
+        private static final int OBJECT_HEADER = 12;
+        private static final int ARRAY_HEADER = 16;
+        private static final int REFERENCE = 4;
+        private static final int ALIGNMENT = 8;
+
+        private Map<Object, Object> visited = new IdentityHashMap<Object, Object>();
+        private Map<Class<?>, Field[]> fields = new HashMap<Class<?>, Field[]>();
+        private Map<Class<?>, Long> shallowSizes = new HashMap<Class<?>, Long>();
+
+        public long sizeOf(Object root) throws IllegalAccessException {
+
+            long bytes = 0;
+
+            List<Object> stack = new ArrayList<Object>();
+            stack.add(root);
+
+            while (!stack.isEmpty()) {
+
+                Object object = stack.remove(stack.size() - 1);
+                if (object == null || visited.containsKey(object) || object instanceof Class || object instanceof Thread
+                    || object instanceof ClassLoader) {
+                    continue;
+                }
+
+                visited.put(object, object);
+
+                Class<?> clazz = object.getClass();
+                if (clazz.isArray()) {
+                    int length = Array.getLength(object);
+                    Class<?> componentType = clazz.getComponentType();
+                    bytes += align(ARRAY_HEADER + (long)length * sizeOfType(componentType));
+                    if (!componentType.isPrimitive()) {
+                        for (int i = 0; i < length; i++) {
+                            stack.add(Array.get(object, i));
+                        }
+                    }
+                } else {
+                    bytes += getShallowSize(clazz);
+                    for (Field field : getFields(clazz)) {
+                        stack.add(field.get(object));
+                    }
+                }
+            }
+
+            return bytes;
+        }
+
+        private long getShallowSize(Class<?> clazz) {
+
+            Long size = shallowSizes.get(clazz);
+            if (size == null) {
+                long bytes = OBJECT_HEADER;
+                for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+                    for (Field field : current.getDeclaredFields()) {
+                        if (!Modifier.isStatic(field.getModifiers())) {
+                            bytes += sizeOfType(field.getType());
+                        }
+                    }
+                }
+                size = align(bytes);
+                shallowSizes.put(clazz, size);
+            }
+
+            return size;
+        }
+
+        /*
+         * Returns the accessible reference fields of a class and its
+         * superclasses.
+         */
+        private Field[] getFields(Class<?> clazz) {
+
+            Field[] referenceFields = fields.get(clazz);
+            if (referenceFields == null) {
+                List<Field> list = new ArrayList<Field>();
+                for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+                    for (Field field : current.getDeclaredFields()) {
+                        if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive() && setAccessible(field)) {
+                            list.add(field);
+                        }
+                    }
+                }
+                referenceFields = list.toArray(new Field[list.size()]);
+                fields.put(clazz, referenceFields);
+            }
+
+            return referenceFields;
+        }
+
+        private boolean setAccessible(Field field) {
+
+            try {
+                field.setAccessible(true);
+                return true;
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+
+        private long sizeOfType(Class<?> type) {
+
+            if (type == long.class || type == double.class) {
+                return 8;
+            } else if (type == int.class || type == float.class) {
+                return 4;
+            } else if (type == short.class || type == char.class) {
+                return 2;
+            } else if (type == byte.class || type == boolean.class) {
+                return 1;
+            }
+
+            return REFERENCE;
+        }
+
+        private long align(long bytes) {
+            return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.junit.journalexplorer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import biz.isphere.journalexplorer.core.model.JournalEntries;
+import biz.isphere.journalexplorer.core.model.JournalEntry;
+import biz.isphere.journalexplorer.core.model.OutputFile;
+import biz.isphere.journalexplorer.core.model.shared.JournaledFile;
+
+/**
+ * Appends journal entries the same way the live tail job does. Checks, that
+ * the oldest journal entries are removed, when the maximum number of journal
+ * entries is exceeded, and that the journaled files are removed together with
+ * their last journal entry.
+ * <p>
+ * Must be executed as a "JUnit Plug-in Test", because journal entries access
+ * the iSphere preferences.
+ */
+public class TestJournalEntriesLiveTail {
+
+    private static final int MAX_NUM_ENTRIES = 100;
+
+    @Test
+    public void testAppendEntries() throws Exception {
+
+        JournalEntries journalEntries = createJournalEntries();
+
+        int sequenceNumber = 0;
+        for (int i = 0; i < 50; i++) {
+            List<JournalEntry> newEntries = new ArrayList<JournalEntry>();
+            for (int j = 0; j < 7; j++) {
+                sequenceNumber++;
+                newEntries.add(createJournalEntry(sequenceNumber, "FILE" + (sequenceNumber / 50))); //$NON-NLS-1$
+            }
+
+            int expectedNumRemoved = Math.max(0, journalEntries.size() + newEntries.size() - MAX_NUM_ENTRIES);
+            assertEquals(expectedNumRemoved, journalEntries.appendEntries(newEntries, null, null, MAX_NUM_ENTRIES));
+        }
+
+        assertEquals(MAX_NUM_ENTRIES, journalEntries.size());
+
+        int firstSequenceNumber = sequenceNumber - MAX_NUM_ENTRIES + 1;
+        for (int i = 0; i < MAX_NUM_ENTRIES; i++) {
+            JournalEntry journalEntry = journalEntries.getItem(i);
+            assertEquals(firstSequenceNumber + i, journalEntry.getSequenceNumber().intValue());
+            assertEquals(firstSequenceNumber + i, journalEntry.getId());
+        }
+
+        // Sequence numbers 251 - 350: FILE5, FILE6, FILE7
+        JournaledFile[] journaledFiles = journalEntries.getJournaledFiles();
+        assertEquals(3, journaledFiles.length);
+    }
+
+    @Test
+    public void testRemoveAllEntries() throws Exception {
+
+        JournalEntries journalEntries = createJournalEntries();
+
+        List<JournalEntry> newEntries = new ArrayList<JournalEntry>();
+        for (int i = 1; i <= MAX_NUM_ENTRIES; i++) {
+            newEntries.add(createJournalEntry(i, "FILEA")); //$NON-NLS-1$
+        }
+        assertEquals(0, journalEntries.appendEntries(newEntries, null, null, MAX_NUM_ENTRIES));
+        assertEquals(1, journalEntries.getJournaledFiles().length);
+
+        newEntries.clear();
+        for (int i = MAX_NUM_ENTRIES + 1; i <= MAX_NUM_ENTRIES * 2; i++) {
+            newEntries.add(createJournalEntry(i, "FILEB")); //$NON-NLS-1$
+        }
+        assertEquals(MAX_NUM_ENTRIES, journalEntries.appendEntries(newEntries, null, null, MAX_NUM_ENTRIES));
+
+        assertEquals(MAX_NUM_ENTRIES, journalEntries.size());
+        assertEquals(MAX_NUM_ENTRIES + 1, journalEntries.getItem(0).getSequenceNumber().intValue());
+
+        JournaledFile[] journaledFiles = journalEntries.getJournaledFiles();
+        assertEquals(1, journaledFiles.length);
+        assertEquals("FILEB", journaledFiles[0].getName()); //$NON-NLS-1$
+
+        journalEntries.clear();
+        assertEquals(0, journalEntries.size());
+        assertEquals(0, journalEntries.getJournaledFiles().length);
+    }
+
+    private JournalEntries createJournalEntries() {
+        return new JournalEntries(new OutputFile("CONNECTION", "QSYS", "QADSPJR5"), 0); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    private JournalEntry createJournalEntry(int sequenceNumber, String fileName) {
+
+        JournalEntry journalEntry = new JournalEntry(new OutputFile("CONNECTION", "QSYS", "QADSPJR5")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        journalEntry.setJournalCode("R"); //$NON-NLS-1$
+        journalEntry.setEntryType("PT"); //$NON-NLS-1$
+        journalEntry.setObjectLibrary("MYLIB"); //$NON-NLS-1$
+        journalEntry.setObjectName(fileName);
+        journalEntry.setMemberName(fileName);
+        journalEntry.setObjectType("*QDDS"); //$NON-NLS-1$
+        journalEntry.setSequenceNumber(BigInteger.valueOf(sequenceNumber));
+
+        return journalEntry;
+    }
+}
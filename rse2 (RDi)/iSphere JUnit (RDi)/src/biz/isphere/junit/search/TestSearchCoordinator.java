@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.junit.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import biz.isphere.core.search.ISearchPartition;
+import biz.isphere.core.search.SearchCoordinator;
+
+/**
+ * Tests the search coordinator with partitions, that stand in for the host
+ * jobs of the search.
+ */
+public class TestSearchCoordinator {
+
+    @Test
+    public void testSplit() {
+
+        List<Integer> elements = new ArrayList<Integer>();
+        for (int i = 0; i < 10; i++) {
+            elements.add(i);
+        }
+
+        List<List<Integer>> partitions = SearchCoordinator.split(elements, 4);
+        assertEquals(4, partitions.size());
+        assertEquals(2, partitions.get(0).size());
+        assertEquals(2, partitions.get(1).size());
+        assertEquals(3, partitions.get(2).size());
+        assertEquals(3, partitions.get(3).size());
+
+        List<Integer> merged = new ArrayList<Integer>();
+        for (List<Integer> partition : partitions) {
+            merged.addAll(partition);
+        }
+        assertEquals(elements, merged);
+
+        assertEquals(2, SearchCoordinator.split(elements.subList(0, 2), 4).size());
+        assertEquals(1, SearchCoordinator.split(new ArrayList<Integer>(), 4).size());
+    }
+
+    @Test
+    public void testSearch() throws Exception {
+
+        List<LocalPartition> partitions = new ArrayList<LocalPartition>();
+        partitions.add(new LocalPartition(30, true));
+        partitions.add(new LocalPartition(20, true));
+        partitions.add(new LocalPartition(10, true));
+
+        SearchCoordinator coordinator = new SearchCoordinator(partitions);
+        coordinator.start();
+
+        int lastCounter = 0;
+        int counter = coordinator.getCounter();
+        while (counter != -1) {
+            assertTrue(counter >= lastCounter);
+            assertTrue(counter <= 60);
+            lastCounter = counter;
+            Thread.sleep(10);
+            counter = coordinator.getCounter();
+        }
+
+        assertFalse(coordinator.isFailed());
+
+        int maxConcurrentPartitions = 0;
+        for (LocalPartition partition : partitions) {
+            maxConcurrentPartitions = Math.max(maxConcurrentPartitions, partition.maxConcurrentPartitions);
+        }
+        assertTrue(maxConcurrentPartitions > 1);
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+
+        List<LocalPartition> partitions = new ArrayList<LocalPartition>();
+        partitions.add(new LocalPartition(100000, true));
+        partitions.add(new LocalPartition(100000, true));
+
+        SearchCoordinator coordinator = new SearchCoordinator(partitions);
+        coordinator.start();
+
+        Thread.sleep(50);
+        coordinator.cancel();
+
+        long timeout = System.currentTimeMillis() + 5000;
+        while (coordinator.getCounter() != -1) {
+            assertTrue(System.currentTimeMillis() < timeout);
+            Thread.sleep(10);
+        }
+
+        for (LocalPartition partition : partitions) {
+            assertTrue(partition.isCanceled);
+        }
+    }
+
+    @Test
+    public void testFailed() throws Exception {
+
+        List<LocalPartition> partitions = new ArrayList<LocalPartition>();
+        partitions.add(new LocalPartition(10, true));
+        partitions.add(new LocalPartition(10, false));
+
+        SearchCoordinator coordinator = new SearchCoordinator(partitions);
+        coordinator.start();
+
+        while (coordinator.getCounter() != -1) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(coordinator.isFailed());
+    }
+
+    /**
+     * Stand-in for a host job, that searches one member per millisecond.
+     */
+    private static class LocalPartition implements ISearchPartition {
+
+        private static int concurrentPartitions;
+
+        private int numberOfSearchElements;
+        private boolean isSuccessful;
+        private volatile int counter;
+        private volatile boolean isCanceled;
+        private volatile int maxConcurrentPartitions;
+
+        public LocalPartition(int numberOfSearchElements, boolean isSuccessful) {
+            this.numberOfSearchElements = numberOfSearchElements;
+            this.isSuccessful = isSuccessful;
+            this.counter = 0;
+        }
+
+        public int getNumberOfSearchElements() {
+            return numberOfSearchElements;
+        }
+
+        public boolean search() {
+
+            synchronized (LocalPartition.class) {
+                concurrentPartitions++;
+            }
+
+            try {
+
+                for (int i = 0; i < numberOfSearchElements && !isCanceled; i++) {
+                    synchronized (LocalPartition.class) {
+                        maxConcurrentPartitions = Math.max(maxConcurrentPartitions, concurrentPartitions);
+                    }
+                    Thread.sleep(1);
+                    counter++;
+                }
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                synchronized (LocalPartition.class) {
+                    concurrentPartitions--;
+                }
+                counter = -1;
+            }
+
+            return isSuccessful;
+        }
+
+        public int getCounter() {
+            return counter;
+        }
+
+        public void cancel() {
+            isCanceled = true;
+        }
+    }
+}
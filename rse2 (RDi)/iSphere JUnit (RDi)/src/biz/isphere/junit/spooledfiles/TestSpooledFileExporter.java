@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.junit.spooledfiles;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import biz.isphere.core.preferences.IPreferences;
+import biz.isphere.core.spooledfiles.SpooledFile;
+import biz.isphere.core.spooledfiles.SpooledFileExporter;
+
+import com.ibm.as400.access.AS400;
+
+/**
+ * Saves stubbed spooled files with the {@link SpooledFileExporter}. The stubs
+ * replace the conversion on the host and can fail with a given exception, to
+ * check the retries of I/O errors, the handling of other errors, the
+ * cancellation and the progress and throughput counters.
+ * <p>
+ * Must be executed as a "JUnit Plug-in Test", because the exporter accesses
+ * the iSphere preferences.
+ */
+public class TestSpooledFileExporter {
+
+    /*
+     * Number of retries of the exporter plus the first attempt.
+     */
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final int FILE_SIZE = 1024;
+
+    private File directory;
+    private AS400 system;
+
+    @Before
+    public void setUp() throws Exception {
+
+        directory = File.createTempFile("isphere_export_", ""); //$NON-NLS-1$ //$NON-NLS-2$
+        directory.delete();
+        directory.mkdir();
+
+        system = new AS400();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testExport() throws Exception {
+
+        StubSpooledFile[] spooledFiles = createSpooledFiles(10);
+        CountingMonitor monitor = new CountingMonitor();
+
+        SpooledFileExporter exporter = new SpooledFileExporter(IPreferences.OUTPUT_FORMAT_TEXT, directory.getPath(), 3);
+        assertTrue(exporter.export(spooledFiles, monitor));
+
+        assertEquals(spooledFiles.length, exporter.getNumFilesSaved());
+        assertEquals(0, exporter.getNumFilesFailed());
+        assertEquals(0, exporter.getErrors().length);
+        assertEquals(spooledFiles.length, monitor.getWorked());
+        assertTrue(exporter.getFilesPerSecond() > 0);
+        assertTrue(exporter.getBytesPerSecond() >= exporter.getFilesPerSecond() * FILE_SIZE);
+
+        for (StubSpooledFile spooledFile : spooledFiles) {
+            assertEquals(1, spooledFile.getNumAttempts());
+            assertEquals(FILE_SIZE, spooledFile.getTarget().length());
+        }
+    }
+
+    @Test
+    public void testRetryIOException() throws Exception {
+
+        StubSpooledFile[] spooledFiles = createSpooledFiles(3);
+        spooledFiles[0].setFailure(new IOException("Connection dropped"), MAX_ATTEMPTS - 1); //$NON-NLS-1$
+        spooledFiles[1].setFailure(new Exception("Wrapped", new IOException("Connection dropped")), 1); //$NON-NLS-1$ //$NON-NLS-2$
+
+        SpooledFileExporter exporter = new SpooledFileExporter(IPreferences.OUTPUT_FORMAT_TEXT, directory.getPath(), 2);
+        assertTrue(exporter.export(spooledFiles, new NullProgressMonitor()));
+
+        assertEquals(3, exporter.getNumFilesSaved());
+        assertEquals(0, exporter.getNumFilesFailed());
+        assertEquals(MAX_ATTEMPTS, spooledFiles[0].getNumAttempts());
+        assertEquals(2, spooledFiles[1].getNumAttempts());
+        assertEquals(1, spooledFiles[2].getNumAttempts());
+    }
+
+    @Test
+    public void testIOExceptionRetriesExhausted() throws Exception {
+
+        StubSpooledFile[] spooledFiles = createSpooledFiles(2);
+        spooledFiles[0].setFailure(new IOException("Connection dropped"), Integer.MAX_VALUE); //$NON-NLS-1$
+
+        SpooledFileExporter exporter = new SpooledFileExporter(IPreferences.OUTPUT_FORMAT_TEXT, directory.getPath(), 1);
+        assertFalse(exporter.export(spooledFiles, new NullProgressMonitor()));
+
+        assertEquals(1, exporter.getNumFilesSaved());
+        assertEquals(1, exporter.getNumFilesFailed());
+        assertEquals(MAX_ATTEMPTS, spooledFiles[0].getNumAttempts());
+
+        String[] errors = exporter.getErrors();
+        assertEquals(1, errors.length);
+        assertEquals(spooledFiles[0].getAbsoluteName() + ": Connection dropped", errors[0]); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testOtherErrorsAreNotRetried() throws Exception {
+
+        StubSpooledFile[] spooledFiles = createSpooledFiles(3);
+        spooledFiles[0].setFailure(new Exception("Spooled file not found"), Integer.MAX_VALUE); //$NON-NLS-1$
+        spooledFiles[1].setFailure(new IllegalStateException(), Integer.MAX_VALUE);
+
+        SpooledFileExporter exporter = new SpooledFileExporter(IPreferences.OUTPUT_FORMAT_TEXT, directory.getPath(), 2);
+        assertFalse(exporter.export(spooledFiles, new NullProgressMonitor()));
+
+        assertEquals(1, exporter.getNumFilesSaved());
+        assertEquals(2, exporter.getNumFilesFailed());
+        assertEquals(1, spooledFiles[0].getNumAttempts());
+        assertEquals(1, spooledFiles[1].getNumAttempts());
+        assertEquals(1, spooledFiles[2].getNumAttempts());
+        assertEquals(2, exporter.getErrors().length);
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+
+        StubSpooledFile[] spooledFiles = createSpooledFiles(10);
+        CountingMonitor monitor = new CountingMonitor();
+
+        SpooledFileExporter exporter = new SpooledFileExporter(IPreferences.OUTPUT_FORMAT_TEXT, directory.getPath(), 1);
+
+        // The second spooled file cancels the export and waits until the
+        // exporter has noticed it.
+        spooledFiles[1].setCancel(monitor, exporter);
+
+        assertFalse(exporter.export(spooledFiles, monitor));
+
+        assertTrue(exporter.isCanceled());
+        assertEquals(2, exporter.getNumFilesSaved());
+        assertEquals(0, exporter.getNumFilesFailed());
+        assertEquals(2, monitor.getWorked());
+        for (int i = 2; i < spooledFiles.length; i++) {
+            assertEquals(0, spooledFiles[i].getNumAttempts());
+        }
+    }
+
+    private StubSpooledFile[] createSpooledFiles(int count) {
+
+        StubSpooledFile[] spooledFiles = new StubSpooledFile[count];
+        for (int i = 0; i < count; i++) {
+            spooledFiles[i] = new StubSpooledFile(system, "QSYSPRT", i + 1); //$NON-NLS-1$
+        }
+
+        return spooledFiles;
+    }
+
+    /**
+     * Progress monitor, that counts the work done and can be canceled.
+     */
+    private static class CountingMonitor extends NullProgressMonitor {
+
+        private AtomicInteger worked = new AtomicInteger();
+
+        @Override
+        public void worked(int work) {
+            worked.addAndGet(work);
+        }
+
+        public int getWorked() {
+            return worked.get();
+        }
+    }
+
+    /**
+     * Spooled file, that writes a file of {@link TestSpooledFileExporter#FILE_SIZE}
+     * bytes instead of converting the spooled file on the host. The exporter
+     * saves the copies of the spooled files, therefore the stub returns itself
+     * as its copy.
+     */
+    private class StubSpooledFile extends SpooledFile {
+
+        private AtomicInteger numAttempts = new AtomicInteger();
+        private Exception failure;
+        private int numFailures;
+        private CountingMonitor monitorToCancel;
+        private SpooledFileExporter exporter;
+
+        public StubSpooledFile(AS400 system, String file, int fileNumber) {
+            setAS400(system);
+            setFile(file);
+            setFileNumber(fileNumber);
+        }
+
+        public void setFailure(Exception failure, int numFailures) {
+            this.failure = failure;
+            this.numFailures = numFailures;
+        }
+
+        public void setCancel(CountingMonitor monitor, SpooledFileExporter exporter) {
+            this.monitorToCancel = monitor;
+            this.exporter = exporter;
+        }
+
+        public int getNumAttempts() {
+            return numAttempts.get();
+        }
+
+        public File getTarget() {
+            return new File(getFileInDirectory(IPreferences.OUTPUT_FORMAT_TEXT, directory.getPath()));
+        }
+
+        @Override
+        public SpooledFile copy(AS400 system) {
+            return this;
+        }
+
+        @Override
+        public String getFileInDirectory(String format, String directory) {
+            return new File(directory, getFile() + "_" + getFileNumber() + ".txt").getPath(); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        @Override
+        public void exportToFile(String format, String file) throws Exception {
+
+            if (numAttempts.incrementAndGet() <= numFailures) {
+                throw failure;
+            }
+
+            if (monitorToCancel != null) {
+                monitorToCancel.setCanceled(true);
+                long timeout = System.currentTimeMillis() + 10000;
+                while (!exporter.isCanceled() && System.currentTimeMillis() < timeout) {
+                    Thread.sleep(10);
+                }
+            }
+
+            OutputStream out = new FileOutputStream(file);
+            try {
+                out.write(new byte[FILE_SIZE]);
+            } finally {
+                out.close();
+            }
+        }
+    }
+}
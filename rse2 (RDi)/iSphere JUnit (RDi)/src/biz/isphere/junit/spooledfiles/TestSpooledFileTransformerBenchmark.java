@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.junit.spooledfiles;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Test;
+
+import biz.isphere.core.spooledfiles.SpooledFileTransformerHTML;
+import biz.isphere.core.spooledfiles.SpooledFileTransformerPDF;
+
+/**
+ * Transforms a synthetic spooled file of 100,000 pages to HTML and PDF. The
+ * data stream is generated while it is read and looks like the data stream
+ * returned by the *WSCST objects of iSphere: pages start with FF and each line
+ * ends with DC1. Bold and underlined lines are printed twice.
+ * <p>
+ * The heap is measured every 10,000 pages, to verify that it does not grow
+ * with the number of pages. The throughput is printed in pages per second.
+ * Must be executed as a "JUnit Plug-in Test",
+ * because the PDF transformer accesses the iSphere preferences.
+ */
+public class TestSpooledFileTransformerBenchmark {
+
+    private static final int NUM_PAGES = 100000;
+    private static final int NUM_LINES_PER_PAGE = 60;
+    private static final int LINE_WIDTH = 132;
+    private static final int MEASURE_INTERVAL = 10000;
+
+    private static final char FF = '\f';
+    private static final char DC1 = 0x11;
+
+    @Test
+    public void testHTML() throws Exception {
+
+        // HTML pages are written to the file at once.
+        runBenchmark("HTML", new HTMLTransformer(), ".html", 32); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testPDF() throws Exception {
+
+        // PDF keeps the cross reference table of the document in memory.
+        runBenchmark("PDF", new PDFTransformer(NUM_PAGES), ".pdf", 512); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Test
+    public void testPDFUnknownNumberOfPages() throws Exception {
+
+        // The page bookmarks must be limited, when the number of pages is not
+        // known.
+        runBenchmark("PDF (unknown number of pages)", new PDFTransformer(0), ".pdf", 512); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    private void runBenchmark(String label, BenchmarkTransformer transformer, String extension, int maxBytesPerPage) throws Exception {
+
+        File target = File.createTempFile("isphere_splf_", extension); //$NON-NLS-1$
+
+        try {
+
+            HeapMonitor monitor = new HeapMonitor();
+
+            long startTime = System.currentTimeMillis();
+            boolean isTransformed = transformer.transform(new BufferedReader(new SyntheticSpooledFileReader()), target.getAbsolutePath(),
+                monitor);
+            long elapsed = System.currentTimeMillis() - startTime - monitor.getMeasuringTime();
+
+            assertTrue(isTransformed);
+            assertEquals(NUM_PAGES, monitor.getNumPages());
+            assertTrue(target.length() > 0);
+
+            long bytesPerPage = monitor.getHeapGrowth() / (NUM_PAGES - MEASURE_INTERVAL);
+
+            System.out.println(label + ": " + NUM_PAGES + " pages, " + (NUM_PAGES * 1000L / Math.max(1, elapsed)) + " pages/s, " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + (target.length() / 1024) + " kB, heap growth " + (monitor.getHeapGrowth() / 1024) + " kB, " + bytesPerPage + " bytes/page"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+            assertTrue(bytesPerPage < maxBytesPerPage);
+
+        } finally {
+            target.delete();
+        }
+    }
+
+    /**
+     * Progress monitor, that counts the pages and measures the heap every
+     * {@link TestSpooledFileTransformerBenchmark#MEASURE_INTERVAL} pages.
+     */
+    private static class HeapMonitor extends NullProgressMonitor {
+
+        private int numPages;
+        private List<Long> usedMemory = new ArrayList<Long>();
+        private long measuringTime;
+
+        @Override
+        public void worked(int work) {
+
+            numPages += work;
+            if (numPages % MEASURE_INTERVAL == 0) {
+                long startTime = System.currentTimeMillis();
+                usedMemory.add(usedMemory());
+                measuringTime += System.currentTimeMillis() - startTime;
+            }
+        }
+
+        public int getNumPages() {
+            return numPages;
+        }
+
+        public long getMeasuringTime() {
+            return measuringTime;
+        }
+
+        /*
+         * Returns the growth of the heap between the first and the last
+         * measurement. The first measurement is taken after the first
+         * MEASURE_INTERVAL pages, to exclude the memory allocated once.
+         */
+        public long getHeapGrowth() {
+            return Math.max(0, usedMemory.get(usedMemory.size() - 1) - usedMemory.get(0));
+        }
+
+        private long usedMemory() {
+
+            Runtime runtime = Runtime.getRuntime();
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+            }
+
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+
+    /**
+     * Reader, that produces the data stream of the synthetic spooled file
+     * line by line.
+     */
+    private static class SyntheticSpooledFileReader extends Reader {
+
+        private int page;
+        private int line;
+        private String buffer;
+        private int offset;
+
+        public SyntheticSpooledFileReader() {
+            this.page = 1;
+            this.line = 0;
+            this.buffer = ""; //$NON-NLS-1$
+            this.offset = 0;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+
+            if (offset >= buffer.length()) {
+                if (page > NUM_PAGES) {
+                    return -1;
+                }
+                buffer = nextLine();
+                offset = 0;
+            }
+
+            int count = Math.min(len, buffer.length() - offset);
+            buffer.getChars(offset, offset + count, cbuf, off);
+            offset += count;
+
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+
+        private String nextLine() {
+
+            StringBuilder text = new StringBuilder();
+
+            if (line == 0 && page > 1) {
+                text.append(FF);
+            }
+
+            if (line == 0) {
+                String header = "SYNTHETIC SPOOLED FILE" + pad("PAGE " + page, LINE_WIDTH - 22); //$NON-NLS-1$ //$NON-NLS-2$
+                // Bold header
+                text.append(header).append(DC1).append(header).append(DC1);
+            } else if (line == 1) {
+                // Underlined header
+                String header = "ITEM      DESCRIPTION                         QUANTITY"; //$NON-NLS-1$
+                text.append(header).append(DC1).append(underline(header.length())).append(DC1);
+            } else {
+                text.append(pad(Integer.toString(line), 10)).append(pad("Item " + page + "/" + line, LINE_WIDTH - 20)) //$NON-NLS-1$ //$NON-NLS-2$
+                    .append(pad(Integer.toString(page * line), 10)).append(DC1);
+            }
+
+            text.append('\n');
+
+            line++;
+            if (line >= NUM_LINES_PER_PAGE) {
+                line = 0;
+                page++;
+            }
+
+            return text.toString();
+        }
+
+        private String pad(String value, int length) {
+
+            StringBuilder buffer = new StringBuilder(value);
+            while (buffer.length() < length) {
+                buffer.append(' ');
+            }
+
+            return buffer.toString();
+        }
+
+        private String underline(int length) {
+
+            StringBuilder buffer = new StringBuilder();
+            while (buffer.length() < length) {
+                buffer.append('_');
+            }
+
+            return buffer.toString();
+        }
+    }
+
+    private interface BenchmarkTransformer {
+
+        public boolean transform(BufferedReader reader, String target, IProgressMonitor monitor) throws Exception;
+    }
+
+    private static class HTMLTransformer extends SpooledFileTransformerHTML implements BenchmarkTransformer {
+
+        public HTMLTransformer() {
+            super(null, null);
+        }
+
+        public boolean transform(BufferedReader reader, String target, IProgressMonitor monitor) throws Exception {
+            return transformSpooledFile(reader, target, monitor);
+        }
+
+        @Override
+        protected String getName() {
+            return "SYNTHETIC"; //$NON-NLS-1$
+        }
+
+        @Override
+        protected int getNumberOfPages() {
+            return NUM_PAGES;
+        }
+    }
+
+    private static class PDFTransformer extends SpooledFileTransformerPDF implements BenchmarkTransformer {
+
+        private int numberOfPages;
+
+        public PDFTransformer(int numberOfPages) {
+            super(null, null);
+            this.numberOfPages = numberOfPages;
+        }
+
+        public boolean transform(BufferedReader reader, String target, IProgressMonitor monitor) throws Exception {
+            return transformSpooledFile(reader, target, monitor);
+        }
+
+        @Override
+        protected String getName() {
+            return "SYNTHETIC"; //$NON-NLS-1$
+        }
+
+        @Override
+        protected String getJob() {
+            return "000001/USER/SYNTHETIC"; //$NON-NLS-1$
+        }
+
+        @Override
+        protected int getNumberOfPages() {
+            return numberOfPages;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.junit.spooledfiles;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import biz.isphere.core.spooledfiles.SpooledFileTransformerHTML;
+import biz.isphere.core.spooledfiles.SpooledFileTransformerPDF;
+
+/**
+ * Transforms a small synthetic spooled file page by page to HTML and PDF. The
+ * data stream looks like the data stream returned by the *WSCST objects of
+ * iSphere: pages start with FF and each line ends with DC1. Bold lines are
+ * printed twice and underlined lines are followed by a line of underscores.
+ * <p>
+ * Must be executed as a "JUnit Plug-in Test", because the PDF transformer
+ * accesses the iSphere preferences.
+ */
+public class TestSpooledFileTransformerStreaming {
+
+    private static final int NUM_PAGES = 3;
+    private static final int NUM_LINES_PER_PAGE = 4;
+
+    private static final String CR_LF = "\r\n"; //$NON-NLS-1$
+    private static final char FF = '\f';
+    private static final char DC1 = 0x11;
+
+    private static final String COLUMN_HEADINGS = "ITEM      DESCRIPTION"; //$NON-NLS-1$
+
+    private File target;
+
+    @Before
+    public void setUp() throws Exception {
+        target = File.createTempFile("isphere_splf_", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        target.delete();
+    }
+
+    @Test
+    public void testHTML() throws Exception {
+
+        PageMonitor monitor = new PageMonitor();
+
+        assertTrue(new HTMLTransformer().transform(getSpooledFileReader(), target.getAbsolutePath(), monitor));
+        monitor.assertPages();
+
+        StringBuilder expected = new StringBuilder();
+        expected.append("<html><head><title></title></head><body><table><tr><td><pre>"); //$NON-NLS-1$
+        for (int page = 1; page <= NUM_PAGES; page++) {
+            if (page > 1) {
+                expected.append("</pre><hr/><pre>"); //$NON-NLS-1$
+            }
+            expected.append(getPageHeader(page)).append(CR_LF);
+            expected.append(COLUMN_HEADINGS).append(CR_LF);
+            for (int line = 2; line < NUM_LINES_PER_PAGE; line++) {
+                expected.append(getItemLine(page, line)).append(CR_LF);
+            }
+        }
+        expected.append("</pre></td></tr></table></body></html>"); //$NON-NLS-1$
+
+        assertEquals(expected.toString(), readTarget());
+    }
+
+    @Test
+    public void testPDF() throws Exception {
+
+        PageMonitor monitor = new PageMonitor();
+
+        assertTrue(new PDFTransformer().transform(getSpooledFileReader(), target.getAbsolutePath(), monitor));
+        monitor.assertPages();
+
+        String pdf = readTarget();
+        assertTrue(pdf.startsWith("%PDF-")); //$NON-NLS-1$
+        assertTrue(pdf.trim().endsWith("%%EOF")); //$NON-NLS-1$
+
+        // One bookmark per page plus the title of the document.
+        assertEquals(NUM_PAGES + 1, count(pdf, "/Title(")); //$NON-NLS-1$
+    }
+
+    private BufferedReader getSpooledFileReader() {
+
+        StringBuilder dataStream = new StringBuilder();
+
+        for (int page = 1; page <= NUM_PAGES; page++) {
+            for (int line = 0; line < NUM_LINES_PER_PAGE; line++) {
+
+                if (line == 0 && page > 1) {
+                    dataStream.append(FF);
+                }
+
+                if (line == 0) {
+                    // Bold header
+                    String header = getPageHeader(page);
+                    dataStream.append(header).append(DC1).append(header).append(DC1);
+                } else if (line == 1) {
+                    // Underlined column headings
+                    dataStream.append(COLUMN_HEADINGS).append(DC1).append(underline(COLUMN_HEADINGS.length())).append(DC1);
+                } else {
+                    dataStream.append(getItemLine(page, line)).append(DC1);
+                }
+
+                dataStream.append('\n');
+            }
+        }
+
+        return new BufferedReader(new StringReader(dataStream.toString()));
+    }
+
+    private String getPageHeader(int page) {
+        return "SYNTHETIC SPOOLED FILE    PAGE " + page; //$NON-NLS-1$
+    }
+
+    private String getItemLine(int page, int line) {
+        return line + "         Item " + page + "/" + line; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    private String underline(int length) {
+
+        StringBuilder buffer = new StringBuilder();
+        while (buffer.length() < length) {
+            buffer.append('_');
+        }
+
+        return buffer.toString();
+    }
+
+    private String readTarget() throws IOException {
+
+        InputStream in = new FileInputStream(target);
+
+        try {
+
+            byte[] bytes = new byte[(int)target.length()];
+            int offset = 0;
+            int count;
+            while (offset < bytes.length && (count = in.read(bytes, offset, bytes.length - offset)) > 0) {
+                offset += count;
+            }
+
+            return new String(bytes, 0, offset, "ISO-8859-1"); //$NON-NLS-1$
+
+        } finally {
+            in.close();
+        }
+    }
+
+    private int count(String text, String value) {
+
+        int count = 0;
+        int index = text.indexOf(value);
+        while (index >= 0) {
+            count++;
+            index = text.indexOf(value, index + value.length());
+        }
+
+        return count;
+    }
+
+    /**
+     * Progress monitor, that checks that the transformer reports each page
+     * with <code>worked(1)</code>.
+     */
+    private static class PageMonitor extends NullProgressMonitor {
+
+        private int totalWork;
+        private int numPages;
+
+        @Override
+        public void beginTask(String name, int totalWork) {
+            this.totalWork = totalWork;
+        }
+
+        @Override
+        public void worked(int work) {
+
+            assertEquals(1, work);
+            numPages++;
+        }
+
+        public void assertPages() {
+
+            assertEquals(NUM_PAGES, totalWork);
+            assertEquals(NUM_PAGES, numPages);
+        }
+    }
+
+    private static class HTMLTransformer extends SpooledFileTransformerHTML {
+
+        public HTMLTransformer() {
+            super(null, null);
+        }
+
+        public boolean transform(BufferedReader reader, String target, IProgressMonitor monitor) throws Exception {
+            return transformSpooledFile(reader, target, monitor);
+        }
+
+        @Override
+        protected String getName() {
+            return "SYNTHETIC"; //$NON-NLS-1$
+        }
+
+        @Override
+        protected int getNumberOfPages() {
+            return NUM_PAGES;
+        }
+    }
+
+    private static class PDFTransformer extends SpooledFileTransformerPDF {
+
+        public PDFTransformer() {
+            super(null, null);
+        }
+
+        public boolean transform(BufferedReader reader, String target, IProgressMonitor monitor) throws Exception {
+            return transformSpooledFile(reader, target, monitor);
+        }
+
+        @Override
+        protected String getName() {
+            return "SYNTHETIC"; //$NON-NLS-1$
+        }
+
+        @Override
+        protected String getJob() {
+            return "000001/USER/SYNTHETIC"; //$NON-NLS-1$
+        }
+
+        @Override
+        protected int getNumberOfPages() {
+            return NUM_PAGES;
+        }
+    }
+}
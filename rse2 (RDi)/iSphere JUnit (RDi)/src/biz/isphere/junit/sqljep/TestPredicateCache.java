@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.junit.sqljep;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+import org.medfoster.sqljep.ParseException;
+import org.medfoster.sqljep.RowJEP;
+
+import biz.isphere.core.sqljep.CompiledPredicate;
+import biz.isphere.core.sqljep.IColumnAccessor;
+import biz.isphere.core.sqljep.PredicateCache;
+import biz.isphere.joblogexplorer.model.JobLogMessage;
+import biz.isphere.jobtraceexplorer.core.model.JobTraceEntry;
+import biz.isphere.journalexplorer.core.model.JournalEntry;
+import biz.isphere.junit.JUnitEntryFactory;
+
+/**
+ * Compares the cached predicates, that read the column values directly from
+ * the entries, with a {@link RowJEP}, that evaluates the row arrays of the
+ * entries. Must be executed as a "JUnit Plug-in Test", because the entries
+ * access the preferences and NLS messages of the plug-ins.
+ */
+public class TestPredicateCache {
+
+    private static final int NUM_ENTRIES = 1000;
+
+    private static final int MIN_JOB_NUMBER = JUnitEntryFactory.FIRST_JOB_NUMBER + 500;
+
+    private static final String JOURNAL_WHERE_CLAUSE = "JOCODE = 'J' AND JOENTT IN ('PR', 'NR') AND JONBR > " + MIN_JOB_NUMBER; //$NON-NLS-1$
+    private static final String JOB_LOG_WHERE_CLAUSE = "SEVERITY >= 30 AND FROM_PROGRAM = 'PGM3'"; //$NON-NLS-1$
+    private static final String JOB_TRACE_WHERE_CLAUSE = "PROC_NAME = 'PROC_7' AND CALL_LEVEL > 1"; //$NON-NLS-1$
+
+    @Test
+    public void testPredicatesAreCached() throws Exception {
+
+        PredicateCache cache = PredicateCache.getInstance();
+        cache.clear();
+
+        CompiledPredicate<JobTraceEntry> predicate1 = cache.getPredicate(JOB_TRACE_WHERE_CLAUSE, JobTraceEntry.getColumnMapping(),
+            JobTraceEntry.getColumnAccessor());
+        CompiledPredicate<JobTraceEntry> predicate2 = cache.getPredicate(JOB_TRACE_WHERE_CLAUSE,
+            new HashMap<String, Integer>(JobTraceEntry.getColumnMapping()), JobTraceEntry.getColumnAccessor());
+
+        assertSame(predicate1, predicate2);
+        assertEquals(1, cache.getNumCompiled());
+
+        cache.getPredicate(JOB_LOG_WHERE_CLAUSE, JobLogMessage.getColumnMapping(), JobLogMessage.getColumnAccessor());
+        assertEquals(2, cache.getNumCompiled());
+    }
+
+    @Test(expected = ParseException.class)
+    public void testInvalidWhereClause() throws Exception {
+        PredicateCache.getInstance().getPredicate("PROC_NAME = ", JobTraceEntry.getColumnMapping(), JobTraceEntry.getColumnAccessor()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void testJournalEntries() throws Exception {
+
+        List<JournalEntry> journalEntries = JUnitEntryFactory.createJournalEntries(NUM_ENTRIES);
+
+        List<JournalEntry> expected = new ArrayList<JournalEntry>();
+        for (JournalEntry journalEntry : journalEntries) {
+            if (("PR".equals(journalEntry.getEntryType()) || "NR".equals(journalEntry.getEntryType())) //$NON-NLS-1$ //$NON-NLS-2$
+                && journalEntry.getJobNumber() > MIN_JOB_NUMBER) {
+                expected.add(journalEntry);
+            }
+        }
+
+        compare(expected, journalEntries, JOURNAL_WHERE_CLAUSE, journalEntries.get(0).getColumnMapping(), JournalEntry.getColumnAccessor(),
+            new IRowProvider<JournalEntry>() {
+                public Comparable<?>[] getRow(JournalEntry journalEntry) {
+                    return journalEntry.getRow();
+                }
+            });
+    }
+
+    @Test
+    public void testJobLogMessages() throws Exception {
+
+        List<JobLogMessage> messages = JUnitEntryFactory.createJobLogMessages(NUM_ENTRIES);
+
+        List<JobLogMessage> expected = new ArrayList<JobLogMessage>();
+        for (JobLogMessage message : messages) {
+            if (message.getSeverityInt() >= 30 && "PGM3".equals(message.getFromProgram())) { //$NON-NLS-1$
+                expected.add(message);
+            }
+        }
+
+        compare(expected, messages, JOB_LOG_WHERE_CLAUSE, JobLogMessage.getColumnMapping(), JobLogMessage.getColumnAccessor(),
+            new IRowProvider<JobLogMessage>() {
+                public Comparable<?>[] getRow(JobLogMessage message) {
+                    return message.getRow();
+                }
+            });
+    }
+
+    @Test
+    public void testJobTraceEntries() throws Exception {
+
+        List<JobTraceEntry> jobTraceEntries = JUnitEntryFactory.createJobTraceEntries(NUM_ENTRIES);
+
+        List<JobTraceEntry> expected = new ArrayList<JobTraceEntry>();
+        for (JobTraceEntry jobTraceEntry : jobTraceEntries) {
+            if ("PROC_7".equals(jobTraceEntry.getProcedureName()) && jobTraceEntry.getCallLevel() > 1) { //$NON-NLS-1$
+                expected.add(jobTraceEntry);
+            }
+        }
+
+        compare(expected, jobTraceEntries, JOB_TRACE_WHERE_CLAUSE, JobTraceEntry.getColumnMapping(), JobTraceEntry.getColumnAccessor(),
+            new IRowProvider<JobTraceEntry>() {
+                public Comparable<?>[] getRow(JobTraceEntry jobTraceEntry) {
+                    return jobTraceEntry.getRow();
+                }
+            });
+    }
+
+    /*
+     * Checks that both the RowJEP and the cached predicate return the
+     * expected entries. The expected entries must not be empty, so that the
+     * where clause is actually tested.
+     */
+    private <E> void compare(List<E> expected, List<E> entries, String whereClause, HashMap<String, Integer> columnMapping,
+        IColumnAccessor<E> columnAccessor, IRowProvider<E> rowProvider) throws Exception {
+
+        assertFalse(expected.isEmpty());
+
+        assertSameEntries(expected, filterRowJEP(entries, whereClause, columnMapping, rowProvider));
+        assertSameEntries(expected, filterPredicate(entries, whereClause, columnMapping, columnAccessor));
+    }
+
+    private <E> List<E> filterRowJEP(List<E> entries, String whereClause, HashMap<String, Integer> columnMapping, IRowProvider<E> rowProvider)
+        throws Exception {
+
+        RowJEP sqljep = new RowJEP(whereClause);
+        sqljep.parseExpression(columnMapping);
+
+        List<E> filteredEntries = new ArrayList<E>();
+        for (E entry : entries) {
+            if ((Boolean)sqljep.getValue(rowProvider.getRow(entry))) {
+                filteredEntries.add(entry);
+            }
+        }
+
+        return filteredEntries;
+    }
+
+    private <E> List<E> filterPredicate(List<E> entries, String whereClause, HashMap<String, Integer> columnMapping,
+        IColumnAccessor<E> columnAccessor) throws Exception {
+
+        CompiledPredicate<E> predicate = PredicateCache.getInstance().getPredicate(whereClause, columnMapping, columnAccessor);
+
+        List<E> filteredEntries = new ArrayList<E>();
+        for (E entry : entries) {
+            if (predicate.matches(entry)) {
+                filteredEntries.add(entry);
+            }
+        }
+
+        return filteredEntries;
+    }
+
+    private <E> void assertSameEntries(List<E> expected, List<E> actual) {
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i));
+        }
+    }
+
+    private interface IRowProvider<E> {
+        public Comparable<?>[] getRow(E entry);
+    }
+}
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2023 iSphere Project Owners
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Common Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/cpl-v10.html
+ *******************************************************************************/
+
+package biz.isphere.junit.sqljep;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+import org.medfoster.sqljep.RowJEP;
+
+import biz.isphere.core.sqljep.CompiledPredicate;
+import biz.isphere.core.sqljep.IColumnAccessor;
+import biz.isphere.core.sqljep.PredicateCache;
+import biz.isphere.joblogexplorer.model.JobLogMessage;
+import biz.isphere.jobtraceexplorer.core.model.JobTraceEntry;
+import biz.isphere.journalexplorer.core.model.JournalEntry;
+import biz.isphere.junit.JUnitEntryFactory;
+
+/**
+ * Measures the throughput of a {@link RowJEP}, that evaluates the row arrays
+ * of the entries, and of a cached {@link CompiledPredicate}, that reads the
+ * column values directly from the entries. The throughput is printed in
+ * entries per second for journal entries, job log messages and job trace
+ * entries. The correctness of the predicates is checked by
+ * {@link TestPredicateCache}.
+ * <p>
+ * Must be executed as a "JUnit Plug-in Test", because the entries access the
+ * preferences and NLS messages of the plug-ins.
+ */
+public class TestPredicateCacheBenchmark {
+
+    private static final int NUM_ENTRIES = 200000;
+    private static final int NUM_RUNS = 5;
+
+    private static final String JOURNAL_WHERE_CLAUSE = "JOCODE = 'J' AND JOENTT IN ('PR', 'NR') AND JONBR > " //$NON-NLS-1$
+        + (JUnitEntryFactory.FIRST_JOB_NUMBER + NUM_ENTRIES / 2);
+    private static final String JOB_LOG_WHERE_CLAUSE = "SEVERITY >= 30 AND FROM_PROGRAM = 'PGM3'"; //$NON-NLS-1$
+    private static final String JOB_TRACE_WHERE_CLAUSE = "PROC_NAME = 'PROC_7' AND CALL_LEVEL > 1"; //$NON-NLS-1$
+
+    @Test
+    public void testJournalEntries() throws Exception {
+
+        List<JournalEntry> journalEntries = JUnitEntryFactory.createJournalEntries(NUM_ENTRIES);
+
+        runBenchmark("Journal entries", journalEntries, JOURNAL_WHERE_CLAUSE, journalEntries.get(0).getColumnMapping(), //$NON-NLS-1$
+            JournalEntry.getColumnAccessor(), new IRowProvider<JournalEntry>() {
+                public Comparable<?>[] getRow(JournalEntry journalEntry) {
+                    return journalEntry.getRow();
+                }
+            });
+    }
+
+    @Test
+    public void testJobLogMessages() throws Exception {
+
+        runBenchmark("Job log messages", JUnitEntryFactory.createJobLogMessages(NUM_ENTRIES), JOB_LOG_WHERE_CLAUSE, //$NON-NLS-1$
+            JobLogMessage.getColumnMapping(), JobLogMessage.getColumnAccessor(), new IRowProvider<JobLogMessage>() {
+                public Comparable<?>[] getRow(JobLogMessage message) {
+                    return message.getRow();
+                }
+            });
+    }
+
+    @Test
+    public void testJobTraceEntries() throws Exception {
+
+        runBenchmark("Job trace entries", JUnitEntryFactory.createJobTraceEntries(NUM_ENTRIES), JOB_TRACE_WHERE_CLAUSE, //$NON-NLS-1$
+            JobTraceEntry.getColumnMapping(), JobTraceEntry.getColumnAccessor(), new IRowProvider<JobTraceEntry>() {
+                public Comparable<?>[] getRow(JobTraceEntry jobTraceEntry) {
+                    return jobTraceEntry.getRow();
+                }
+            });
+    }
+
+    /*
+     * Takes the best of several runs, because the first runs warm up the JIT
+     * compiler. The cached predicate must not be slower than the RowJEP, which
+     * builds and boxes a complete row per entry.
+     */
+    private <E> void runBenchmark(String label, List<E> entries, String whereClause, HashMap<String, Integer> columnMapping,
+        IColumnAccessor<E> columnAccessor, IRowProvider<E> rowProvider) throws Exception {
+
+        List<E> expected = null;
+        List<E> actual = null;
+        long rowJEPNanos = Long.MAX_VALUE;
+        long predicateNanos = Long.MAX_VALUE;
+
+        for (int i = 0; i < NUM_RUNS; i++) {
+
+            long start = System.nanoTime();
+            expected = filterRowJEP(entries, whereClause, columnMapping, rowProvider);
+            rowJEPNanos = Math.min(rowJEPNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            actual = filterPredicate(entries, whereClause, columnMapping, columnAccessor);
+            predicateNanos = Math.min(predicateNanos, System.nanoTime() - start);
+        }
+
+        print(label + ", RowJEP", rowJEPNanos); //$NON-NLS-1$
+        print(label + ", cached predicate", predicateNanos); //$NON-NLS-1$
+        System.out.println(label + ", speed-up: " + (rowJEPNanos * 10 / Math.max(1, predicateNanos)) / 10.0); //$NON-NLS-1$
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i));
+        }
+
+        assertTrue(predicateNanos <= rowJEPNanos);
+    }
+
+    private <E> List<E> filterRowJEP(List<E> entries, String whereClause, HashMap<String, Integer> columnMapping, IRowProvider<E> rowProvider)
+        throws Exception {
+
+        RowJEP sqljep = new RowJEP(whereClause);
+        sqljep.parseExpression(columnMapping);
+
+        List<E> filteredEntries = new ArrayList<E>();
+        for (E entry : entries) {
+            if ((Boolean)sqljep.getValue(rowProvider.getRow(entry))) {
+                filteredEntries.add(entry);
+            }
+        }
+
+        return filteredEntries;
+    }
+
+    private <E> List<E> filterPredicate(List<E> entries, String whereClause, HashMap<String, Integer> columnMapping,
+        IColumnAccessor<E> columnAccessor) throws Exception {
+
+        CompiledPredicate<E> predicate = PredicateCache.getInstance().getPredicate(whereClause, columnMapping, columnAccessor);
+
+        List<E> filteredEntries = new ArrayList<E>();
+        for (E entry : entries) {
+            if (predicate.matches(entry)) {
+                filteredEntries.add(entry);
+            }
+        }
+
+        return filteredEntries;
+    }
+
+    private void print(String label, long nanos) {
+
+        long millis = Math.max(1, nanos / 1000000);
+        long entriesPerSecond = NUM_ENTRIES * 1000L / millis;
+
+        System.out.println(label + ": " + millis + " mSecs, " + entriesPerSecond + " entries/sec"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    private interface IRowProvider<E> {
+        public Comparable<?>[] getRow(E entry);
+    }
+}
@@ -10,10 +10,13 @@ package biz.isphere.rse.spooledfiles;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 
 import biz.isphere.core.spooledfiles.SpooledFile;
+import biz.isphere.core.spooledfiles.SpooledFileExporter;
+import biz.isphere.rse.ISphereRSEPlugin;
 import biz.isphere.rse.Messages;
 
 /**
@@ -43,8 +46,8 @@ public class SaveSpooledFilesToDirectoryExec {
         }
 
         /**
-         * Deletes spooled files while displaying a progress monitor to keep the
-         * user up to date.
+         * Saves spooled files while displaying a progress monitor to keep the
+         * user up to date. The spooled files are saved concurrently.
          */
         @Override
         public IStatus run(IProgressMonitor aMonitor) {
@@ -53,16 +56,19 @@ public class SaveSpooledFilesToDirectoryExec {
 
             aMonitor.beginTask("", spooledFiles.length); //$NON-NLS-1$
 
-            for (SpooledFile spooledFile : spooledFiles) {
-
-                if (aMonitor.isCanceled()) {
-                    status = Status.CANCEL_STATUS;
-                    break;
+            SpooledFileExporter exporter = new SpooledFileExporter(format, directory, SpooledFileExporter.DEFAULT_NUMBER_OF_WORKERS);
+            exporter.export(spooledFiles, aMonitor);
+
+            if (exporter.isCanceled()) {
+                status = Status.CANCEL_STATUS;
+            } else if (exporter.getNumFilesFailed() > 0) {
+                String message = biz.isphere.core.Messages.bind(biz.isphere.core.Messages.Could_not_save_A_of_B_spooled_files,
+                    exporter.getNumFilesFailed(), spooledFiles.length);
+                MultiStatus multiStatus = new MultiStatus(ISphereRSEPlugin.PLUGIN_ID, IStatus.ERROR, message, null);
+                for (String error : exporter.getErrors()) {
+                    multiStatus.add(new Status(IStatus.ERROR, ISphereRSEPlugin.PLUGIN_ID, error));
                 }
-
-                spooledFile.saveToDirectory(format, directory);
-
-                aMonitor.worked(1);
+                status = multiStatus;
             }
 
             aMonitor.done();